@@ -22,10 +22,15 @@ import explore.Experiment;
 import explore.statistics.StatisticsCalculator;
 import io.CommandLineArguments;
 import io.FolderManager;
+import utils.linalg.LinearAlgebra;
 
 public class RunExperiment {
     public static void main(String[] args) {
         CommandLineArguments arguments = CommandLineArguments.parseCommandLineArgs(args);
+        if (arguments.getLinearAlgebraBackend() != null) {
+            LinearAlgebra.setBackend(arguments.getLinearAlgebraBackend());
+        }
+
         FolderManager experimentFolder = new FolderManager(arguments.getExperimentDirectory());
         Experiment experiment = new Experiment(experimentFolder);
 
@@ -39,6 +39,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Map;
 
@@ -75,7 +76,9 @@ public class ChooseSessionOptionServel extends HttpServlet {
 
         CSVParser parser = new CSVParser();
 
-        IndexedDataset dataset = parser.buildIndexedDataset(sessionPath + "/data.csv", columnIds, keyColumnId);
+        IndexedDataset dataset = configuration.useDatasetSnapshot()
+                ? parser.buildIndexedDataset(sessionPath + "/data.csv", columnIds, keyColumnId, Paths.get(sessionPath, "data.snapshot"))
+                : parser.buildIndexedDataset(sessionPath + "/data.csv", columnIds, keyColumnId);
 
         Learner learner;
         if  (configuration.getActiveLearner() instanceof SimpleMargin){
@@ -28,6 +28,7 @@ import explore.metrics.ConfusionMatrix;
 import explore.metrics.ConfusionMatrixCalculator;
 import explore.metrics.MetricStorage;
 import explore.metrics.ThreeSetMetricCalculator;
+import explore.sampling.ShuffledCursor;
 import explore.statistics.Statistics;
 import explore.user.GuiUserLabel;
 import explore.user.UserLabel;
@@ -85,6 +86,11 @@ public class ExplorationManager {
 
     private boolean isInitialSamplingStep;
 
+    /**
+     * Cursor used for subsampling points never scored before in this session, or null if independent subsamples are drawn
+     */
+    private final ShuffledCursor cursor;
+
 
     /**
      * @param dataset: collection of unlabeled points
@@ -96,13 +102,14 @@ public class ExplorationManager {
         this.isInitialSamplingStep = true;
         this.configuration = configuration;
         this.learner = learner;
+        this.cursor = configuration.useShuffledSubsampling() ? new ShuffledCursor() : null;
 
 
         this.rawDataset = dataset;
         IndexedDataset scaledDataset = this.scaleDataset(rawDataset);
 
         if (configuration.hasFactorizationInformation()){
-            scaledDataset.setFactorizationStructure(configuration.getTsmConfiguration().getColumnPartitionIndexes());
+            scaledDataset.setFactorizationStructure(configuration.getTsmConfiguration().getColumnPartitionIndexes(), configuration.useColumnGroupViews());
         }
 
         this.partitionedDataset = getPartitionedDataset(scaledDataset);
@@ -133,6 +140,22 @@ public class ExplorationManager {
         this.partitionedDataset.addLabeledPointToDataset(point);
     }
 
+    /**
+     * Appends a batch of rows newly inserted into the explored data source, without restarting the session. The new rows
+     * are scaled with the scaler fitted at the start of the session, classified right away by the current TSM model,
+     * and can be proposed for labeling from the next iteration on. Neither the scaler nor the existing partitions are
+     * recomputed.
+     * @param newRows: the new rows, in the original (unscaled) feature space
+     * @throws IllegalArgumentException if the dimensions differ, or any row index is repeated or already present
+     */
+    public void appendRows(IndexedDataset newRows) {
+        this.partitionedDataset.append(scaler.transform(newRows));
+
+        for (DataPoint row : newRows) {
+            this.rawDataset.add(row.getId(), row.getData());
+        }
+    }
+
     public List<DataPoint> getNextPointsToLabel(List<LabeledPoint> labeledPoints){
 
 
@@ -246,8 +269,8 @@ public class ExplorationManager {
 
         // select new point to be labeled
         boolean useUnknown = partitionedDataset.hasUnknownPoints() && RandomState.newInstance().nextDouble() <= configuration.getTsmConfiguration().getSearchUnknownRegionProbability();
-        IndexedDataset unlabeledData = useUnknown ? partitionedDataset.getUnknownPoints() : partitionedDataset.getUnlabeledPoints();
-        IndexedDataset sample = unlabeledData.sample(configuration.getSubsampleSize());
+        int sampleSize = configuration.getSubsampleSize();
+        IndexedDataset sample = useUnknown ? partitionedDataset.sampleUnknownPoints(sampleSize, cursor) : partitionedDataset.sampleUnlabeledPoints(sampleSize, cursor);
         return ranker.top(sample);
     }
 
@@ -278,7 +301,7 @@ public class ExplorationManager {
 
     protected IndexedDataset scaleDataset(IndexedDataset dataset){
         this.scaler = StandardScaler.fit(dataset.getData());
-        return scaler.transform(dataset);
+        return configuration.useLazyScaling() ? scaler.transformLazily(dataset) : scaler.transform(dataset);
     }
 
     public ArrayList<LabeledPoint> labelPoints(IndexedDataset pointsToLabel, IndexedDataset rawPoints, boolean scaleDataset){
@@ -298,20 +321,13 @@ public class ExplorationManager {
 
         ArrayList<LabeledPoint> labeledDataset = new ArrayList<>();
 
+        Label[] labels = classifier.predict(datasetToLabel);
 
         for (int i=0;i < datasetToLabel.length(); i++)
         {
-
-
-            DataPoint point = datasetToLabel.get(i);
-
             DataPoint rawPoint = rawPoints.get(i);
 
-            long pointId = point.getId();
-
-
-            Label label = classifier.predict(point.getData());
-            LabeledPoint labeledPoint = new LabeledPoint(rawPoint, label);
+            LabeledPoint labeledPoint = new LabeledPoint(rawPoint, labels[i]);
 
             labeledDataset.add(labeledPoint);
         }
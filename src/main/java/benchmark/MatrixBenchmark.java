@@ -31,8 +31,11 @@ import java.util.concurrent.TimeUnit;
 
 public class MatrixBenchmark extends AbstractBenchmark {
 
-    private Matrix a, b, spd;
-    private Vector c;
+    // pool-shaped operands: many low-dimensional points scored against a few hypothesis samples
+    private static final int POOL_DIM = 16, NUM_SAMPLES = 64;
+
+    private Matrix a, b, spd, pool, samples;
+    private Vector c, w;
 
     @Setup(Level.Trial)  // fixture method. Used for initializing the class attributes. Executed once before the entire benchmark run
     public void doSetup() {
@@ -40,6 +43,9 @@ public class MatrixBenchmark extends AbstractBenchmark {
         b = getRandomMatrix(size, size,4321);
         c = getRandomVector(size, 5678);
         spd = getRandomSPDMatrix(size, 8765);
+        pool = getRandomMatrix(100 * size, POOL_DIM, 2468);
+        samples = getRandomMatrix(NUM_SAMPLES, POOL_DIM, 1357);
+        w = getRandomVector(POOL_DIM, 9753);
     }
 
     @Benchmark
@@ -71,6 +77,25 @@ public class MatrixBenchmark extends AbstractBenchmark {
         return a.multiplyTranspose(b);
     }
 
+    @Benchmark
+    public Vector poolVectorMultiply() {
+        return pool.multiply(w);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
+    public Matrix poolMultiplyTranspose() {
+        return pool.multiplyTranspose(samples);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
+    public Matrix poolMatrixMultiply() {
+        return pool.matrixMultiply(samples.transpose());
+    }
+
     @Benchmark
     @Warmup(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
     @Measurement(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
@@ -31,6 +31,14 @@ public final class ExperimentConfiguration {
     private ActiveLearner activeLearner;
     private int subsampleSize = Integer.MAX_VALUE;
     private boolean useFactorizationInformation = false;
+    private boolean useSinglePrecision = false;
+    private boolean useOffHeapStorage = false;
+    private boolean useColumnGroupViews = false;
+    private boolean useShuffledSubsampling = false;
+    private boolean useLazyScaling = false;
+    private boolean useDatasetSnapshot = false;
+    private boolean useEncodedStorage = false;
+    private boolean useDuplicateCollapsing = false;
     private TsmConfiguration multiTSM = new TsmConfiguration(false);
     private InitialSampler initialSampler = new StratifiedSampler(1, 1);
 
@@ -58,6 +66,68 @@ public final class ExperimentConfiguration {
         return useFactorizationInformation;
     }
 
+    /**
+     * @return whether the data points should be stored in single-precision, halving the memory used by the data pool
+     */
+    public boolean useSinglePrecision() {
+        return useSinglePrecision;
+    }
+
+    /**
+     * @return whether the data points should be stored outside of the JVM heap, allowing pools larger than the heap
+     */
+    public boolean useOffHeapStorage() {
+        return useOffHeapStorage;
+    }
+
+    /**
+     * @return whether each feature group of the factorization structure should be a zero-copy view over the data points,
+     * instead of a separate copy of its columns
+     */
+    public boolean useColumnGroupViews() {
+        return useColumnGroupViews;
+    }
+
+    /**
+     * @return whether consecutive iterations should subsample points never scored before in the current session, instead
+     * of drawing independent uniform subsamples
+     */
+    public boolean useShuffledSubsampling() {
+        return useShuffledSubsampling;
+    }
+
+    /**
+     * @return whether the data points should be standardized on the fly, through a view over the raw data, instead of
+     * holding a standardized copy of the data pool
+     */
+    public boolean useLazyScaling() {
+        return useLazyScaling;
+    }
+
+    /**
+     * @return whether the data pool should be read from a binary snapshot (see {@link io.DatasetSnapshot}), written on the
+     * first run, instead of being read from its original source every time
+     */
+    public boolean useDatasetSnapshot() {
+        return useDatasetSnapshot;
+    }
+
+    /**
+     * @return whether low-cardinality columns of the data pool should be stored in compressed encodings (see
+     * {@link utils.linalg.EncodedMatrix})
+     */
+    public boolean useEncodedStorage() {
+        return useEncodedStorage;
+    }
+
+    /**
+     * @return whether exact duplicate data points should be collapsed into a single point (see
+     * {@link data.DeduplicatedDataset}), so that models only score and predict unique points
+     */
+    public boolean useDuplicateCollapsing() {
+        return useDuplicateCollapsing;
+    }
+
     public boolean hasMultiTSM() {
         return multiTSM.hasTsm();
     }
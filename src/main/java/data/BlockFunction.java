@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
+import utils.linalg.Matrix;
+
+import java.util.function.Function;
+
+/**
+ * A computation over a block of data points, with one method per storage format in which an {@link IndexedDataset} hands
+ * out its data points (see {@link IndexedDataset#forEachBlock}). Only the double-precision method must be implemented:
+ * by default, blocks in any other format are converted to double-precision first.
+ *
+ * @param <T> type of the result computed for each block
+ */
+@FunctionalInterface
+public interface BlockFunction<T> {
+    /**
+     * @param block: a double-precision matrix of data points (one per row)
+     * @return the result for this block
+     */
+    T apply(Matrix block);
+
+    /**
+     * @param block: a single-precision matrix of data points (one per row)
+     * @return the result for this block
+     */
+    default T apply(FloatMatrix block) {
+        return apply(block.toMatrix());
+    }
+
+    /**
+     * @param matrix: an encoded matrix of data points (one per row)
+     * @param rows: rows of {@code matrix} forming the block, in order
+     * @return the result for this block
+     */
+    default T apply(EncodedMatrix matrix, int[] rows) {
+        return apply(matrix.getRows(rows).toMatrix());
+    }
+
+    /**
+     * @param function: function computing the result of a double-precision block
+     * @param singlePrecisionFunction: function computing the result of a single-precision block
+     * @return a BlockFunction computing single-precision blocks without converting them to double-precision
+     */
+    static <T> BlockFunction<T> of(Function<Matrix, T> function, Function<FloatMatrix, T> singlePrecisionFunction) {
+        return new BlockFunction<T>() {
+            @Override
+            public T apply(Matrix block) {
+                return function.apply(block);
+            }
+
+            @Override
+            public T apply(FloatMatrix block) {
+                return singlePrecisionFunction.apply(block);
+            }
+        };
+    }
+}
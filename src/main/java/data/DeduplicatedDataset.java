@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import machinelearning.classifier.LabelVector;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A dataset whose exact duplicate feature vectors are collapsed into a single unique row. It holds the unique rows, the
+ * multiplicity of each unique row, and the unique row of every original data point.
+ *
+ * Models only need to score, partition and predict the unique rows, since duplicate points always receive the same
+ * score and label; results are expanded back to the original data points (see {@link #expand}) only when needed, such
+ * as when computing metrics over all points. Each unique row keeps the index of its first occurrence in the data.
+ */
+public final class DeduplicatedDataset {
+    /**
+     * Original data points
+     */
+    private final IndexedDataset allPoints;
+
+    /**
+     * Unique data points, in order of first occurrence
+     */
+    private final IndexedDataset uniquePoints;
+
+    /**
+     * The row in {@link #uniquePoints} of each original data point
+     */
+    private final int[] uniqueRows;
+
+    /**
+     * Number of occurrences of each unique row
+     */
+    private final int[] multiplicities;
+
+    private DeduplicatedDataset(IndexedDataset allPoints, IndexedDataset uniquePoints, int[] uniqueRows, int[] multiplicities) {
+        this.allPoints = allPoints;
+        this.uniquePoints = uniquePoints;
+        this.uniqueRows = uniqueRows;
+        this.multiplicities = multiplicities;
+    }
+
+    /**
+     * Collapses the exact duplicate feature vectors of a dataset. Feature vectors are compared value by value, so it
+     * runs in expected O(n * dim) time.
+     * @param dataset: dataset to deduplicate. Its storage is shared, not copied.
+     * @return the deduplicated dataset
+     */
+    public static DeduplicatedDataset of(IndexedDataset dataset) {
+        int[] uniqueRows = new int[dataset.length()];
+        int[] firstRows = new int[dataset.length()];
+        Map<Row, Integer> uniqueRowOfVector = new HashMap<>();
+
+        for (int from = 0; from < dataset.length(); from += IndexedDataset.BLOCK_SIZE) {
+            int to = Math.min(dataset.length(), from + IndexedDataset.BLOCK_SIZE);
+            Matrix block = dataset.getData(from, to);
+
+            for (int i = from; i < to; i++) {
+                Row row = new Row(block.getRow(i - from).toArray());
+                Integer uniqueRow = uniqueRowOfVector.putIfAbsent(row, uniqueRowOfVector.size());
+                if (uniqueRow == null) {
+                    uniqueRow = uniqueRowOfVector.size() - 1;
+                    firstRows[uniqueRow] = i;
+                }
+                uniqueRows[i] = uniqueRow;
+            }
+        }
+
+        int[] multiplicities = new int[uniqueRowOfVector.size()];
+        for (int uniqueRow : uniqueRows) {
+            multiplicities[uniqueRow]++;
+        }
+
+        IndexedDataset allPoints = dataset.shallowCopy();
+        IndexedDataset uniquePoints = multiplicities.length == dataset.length()
+                ? allPoints.shallowCopy()
+                : dataset.getRows(Arrays.copyOf(firstRows, multiplicities.length));
+
+        return new DeduplicatedDataset(allPoints, uniquePoints, uniqueRows, multiplicities);
+    }
+
+    /**
+     * A feature vector, compared by value
+     */
+    private static final class Row {
+        private final double[] values;
+        private final int hash;
+
+        Row(double[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Row && hash == ((Row) o).hash && Arrays.equals(values, ((Row) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @return the original data points
+     */
+    public IndexedDataset getAllPoints() {
+        return allPoints;
+    }
+
+    /**
+     * @return the unique data points, in order of first occurrence
+     */
+    public IndexedDataset getUniquePoints() {
+        return uniquePoints;
+    }
+
+    /**
+     * @return number of original data points
+     */
+    public int length() {
+        return uniqueRows.length;
+    }
+
+    /**
+     * @return number of unique data points
+     */
+    public int uniqueLength() {
+        return multiplicities.length;
+    }
+
+    /**
+     * @param row: row of an original data point
+     * @return the row of its feature vector in {@link #getUniquePoints()}
+     * @throws IndexOutOfBoundsException if row is out-of-bounds
+     */
+    public int getUniqueRow(int row) {
+        return uniqueRows[row];
+    }
+
+    /**
+     * @param index: index of an original data point
+     * @return the row of its feature vector in {@link #getUniquePoints()}, or -1 if there is no such point
+     */
+    public int getUniqueRowOfIndex(long index) {
+        int row = allPoints.getRowOfIndex(index);
+        return row < 0 ? -1 : uniqueRows[row];
+    }
+
+    /**
+     * @param uniqueRow: row in {@link #getUniquePoints()}
+     * @return number of original data points having this feature vector
+     * @throws IndexOutOfBoundsException if uniqueRow is out-of-bounds
+     */
+    public int getMultiplicity(int uniqueRow) {
+        return multiplicities[uniqueRow];
+    }
+
+    /**
+     * @param values: a value for each unique row
+     * @return the value of each original data point, i.e. the value of its unique row
+     * @throws IllegalArgumentException if values.length is different from uniqueLength()
+     */
+    public <T> T[] expand(T[] values) {
+        if (values.length != uniqueLength()) {
+            throw new IllegalArgumentException("Expected " + uniqueLength() + " values, received " + values.length);
+        }
+
+        T[] expanded = Arrays.copyOf(values, uniqueRows.length);
+        for (int i = 0; i < expanded.length; i++) {
+            expanded[i] = values[uniqueRows[i]];
+        }
+        return expanded;
+    }
+
+    /**
+     * @param labels: a label for each unique row
+     * @return the label of each original data point, i.e. the label of its unique row
+     * @throws IllegalArgumentException if labels.length() is different from uniqueLength()
+     */
+    public LabelVector expand(LabelVector labels) {
+        if (labels.length() != uniqueLength()) {
+            throw new IllegalArgumentException("Expected " + uniqueLength() + " values, received " + labels.length());
+        }
+
+        return labels.select(uniqueRows);
+    }
+
+    /**
+     * @param values: a value for each unique row
+     * @return the value of each original data point, i.e. the value of its unique row
+     * @throws IllegalArgumentException if values.dim() is different from uniqueLength()
+     */
+    public Vector expand(Vector values) {
+        if (values.dim() != uniqueLength()) {
+            throw new IllegalArgumentException("Expected " + uniqueLength() + " values, received " + values.dim());
+        }
+
+        double[] expanded = new double[uniqueRows.length];
+        for (int i = 0; i < expanded.length; i++) {
+            expanded[i] = values.get(uniqueRows[i]);
+        }
+        return Vector.FACTORY.make(expanded);
+    }
+}
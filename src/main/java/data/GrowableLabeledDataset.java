@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import explore.user.UserLabel;
+import machinelearning.classifier.Label;
+import utils.Validator;
+import utils.linalg.ColumnGroupView;
+import utils.linalg.DataMatrix;
+import utils.linalg.GrowableMatrix;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An append-only store of labeled data points, holding their indexes, features, labels and (for factorized data) the
+ * features and labels of each subspace. Appending a labeled point takes amortized O(dim) time, so the training set of an
+ * exploration grows by one row per new label instead of being rebuilt from scratch at every iteration.
+ *
+ * Its contents are exposed as a {@link LabeledDataset} view, which is cached until the next modification. Views share the
+ * buffers of this store, so taking one costs O(1): appended points are written past the end of every view, and labels are
+ * copied before an existing one is replaced.
+ *
+ * @see PartitionedDataset#getLabeledPoints()
+ */
+final class GrowableLabeledDataset {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The column indexes of each feature group, or null if the data has no factorization structure
+     */
+    private final int[][] partitionIndexes;
+
+    /**
+     * Whether feature groups are {@link ColumnGroupView}s over the data, instead of compact copies
+     */
+    private final boolean useColumnGroupViews;
+
+    private long[] indexes;
+    private GrowableMatrix data;
+
+    /**
+     * Compact copy of each feature group (null if there is no factorization structure, or feature groups are views)
+     */
+    private GrowableMatrix[] partitionedData;
+
+    private UserLabel[] labels;
+
+    /**
+     * Label of each data point in each subspace (null if there is no factorization structure)
+     */
+    private Label[][] partialLabels;
+
+    private int size;
+
+    /**
+     * The last result of {@link #view()}, or null if this store has been modified since then
+     */
+    private LabeledDataset view;
+
+    /**
+     * Whether the label arrays are shared with a view, and must be copied before an existing label is replaced
+     */
+    private boolean areLabelsShared;
+
+    /**
+     * @param points: the data points being labeled, whose factorization structure will be followed by this store
+     */
+    GrowableLabeledDataset(IndexedDataset points) {
+        this.partitionIndexes = points.hasFactorizationStructure() ? points.getPartitionIndexes() : null;
+        this.useColumnGroupViews = points.hasFactorizationStructure() && points.usesColumnGroupViews();
+
+        this.indexes = new long[INITIAL_CAPACITY];
+        this.labels = new UserLabel[INITIAL_CAPACITY];
+        if (partitionIndexes != null) {
+            this.partialLabels = new Label[partitionIndexes.length][INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * @return number of labeled data points
+     */
+    int length() {
+        return size;
+    }
+
+    /**
+     * Appends a new labeled point
+     * @param index: index of the data point
+     * @param features: features of the data point
+     * @param label: the data point's label
+     * @throws IllegalArgumentException if the features or the subspace labels have incompatible dimensions
+     */
+    void append(long index, Vector features, UserLabel label) {
+        if (size == indexes.length) {
+            int capacity = 2 * size;
+            indexes = Arrays.copyOf(indexes, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            if (partialLabels != null) {
+                for (int i = 0; i < partialLabels.length; i++) {
+                    partialLabels[i] = Arrays.copyOf(partialLabels[i], capacity);
+                }
+            }
+            areLabelsShared = false;
+        }
+
+        appendFeatures(features);
+        indexes[size] = index;
+        setLabelAt(size, label);
+        size++;
+    }
+
+    private void appendFeatures(Vector features) {
+        if (data == null) {
+            data = GrowableMatrix.FACTORY.make(Matrix.FACTORY.make(1, features.dim(), features.toArray()), INITIAL_CAPACITY);
+            if (partitionIndexes != null && !useColumnGroupViews) {
+                partitionedData = Arrays.stream(partitionIndexes)
+                        .map(cols -> GrowableMatrix.FACTORY.make(Matrix.FACTORY.make(1, cols.length, select(features, cols)), INITIAL_CAPACITY))
+                        .toArray(GrowableMatrix[]::new);
+            }
+            return;
+        }
+
+        data.appendRow(features);
+        if (partitionedData != null) {
+            for (int i = 0; i < partitionedData.length; i++) {
+                partitionedData[i].appendRow(Vector.FACTORY.make(select(features, partitionIndexes[i])));
+            }
+        }
+    }
+
+    private static double[] select(Vector features, int[] cols) {
+        double[] values = new double[cols.length];
+        for (int j = 0; j < cols.length; j++) {
+            values[j] = features.get(cols[j]);
+        }
+        return values;
+    }
+
+    /**
+     * Replaces the label of an already stored data point
+     * @param i: row of the data point
+     * @param label: its new label
+     * @throws IndexOutOfBoundsException if i is out-of-bounds
+     */
+    void setLabel(int i, UserLabel label) {
+        Validator.assertIndexInBounds(i, 0, size);
+
+        if (areLabelsShared) {
+            labels = labels.clone();
+            if (partialLabels != null) {
+                partialLabels = Arrays.stream(partialLabels).map(Label[]::clone).toArray(Label[][]::new);
+            }
+            areLabelsShared = false;
+        }
+
+        setLabelAt(i, label);
+    }
+
+    private void setLabelAt(int i, UserLabel label) {
+        labels[i] = label;
+
+        if (partialLabels != null) {
+            Label[] subspaceLabels = label.getLabelsForEachSubspace();
+            Validator.assertEquals(partialLabels.length, subspaceLabels.length);
+            for (int k = 0; k < partialLabels.length; k++) {
+                partialLabels[k][i] = subspaceLabels[k];
+            }
+        }
+
+        view = null;
+    }
+
+    /**
+     * @return a LabeledDataset holding the current contents of this store. It is not affected by later modifications, and
+     * it shares the buffers of this store instead of copying them.
+     * @throws IllegalArgumentException if the store is empty
+     */
+    LabeledDataset view() {
+        Validator.assertPositive(size);
+
+        if (view == null) {
+            GrowableMatrix snapshot = data.snapshot();
+
+            IndexedDataset dataset;
+            if (partitionIndexes == null) {
+                dataset = IndexedDataset.sharing(indexes, snapshot, new DataMatrix[] {snapshot}, new int[][] {IntStream.range(0, snapshot.cols()).toArray()});
+            } else {
+                DataMatrix[] partition = new DataMatrix[partitionIndexes.length];
+                for (int i = 0; i < partition.length; i++) {
+                    partition[i] = useColumnGroupViews ? new ColumnGroupView(snapshot, partitionIndexes[i]) : partitionedData[i].snapshot();
+                }
+                dataset = IndexedDataset.sharing(indexes, snapshot, partition, partitionIndexes);
+            }
+
+            view = new LabeledDataset(dataset, labels, partialLabels);
+            areLabelsShared = true;
+        }
+
+        return view;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing (linear probing) hash index from {@code long} ids to their row in a {@code long[]} array of ids. It
+ * gives O(1) id lookups without boxing, and is built once for a given array of ids. Ids appended to the array can be
+ * added to the index in O(1) amortized time each (see {@link #appended}).
+ *
+ * Since the ids array may be permuted after the index is built (for instance, by {@link IndexedDataset#swap}), every
+ * lookup is validated against the ids array: a stale entry is detected and the index is rebuilt.
+ */
+final class IdIndex {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * The indexed ids. Only the first {@link #size} positions are in use.
+     */
+    private long[] ids;
+    private int size;
+
+    /**
+     * Hash table: slot s holds id keys[s] at row rows[s], or is empty when rows[s] is negative
+     */
+    private long[] keys;
+    private int[] rows;
+    private int mask;
+
+    /**
+     * Row of the id {@link #EMPTY}, which cannot be stored in the table (-1 if absent)
+     */
+    private int emptyKeyRow;
+
+    IdIndex(long[] ids) {
+        this(ids, ids.length);
+    }
+
+    IdIndex(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+        rebuild();
+    }
+
+    private IdIndex(long[] ids, IdIndex other) {
+        this.ids = ids;
+        this.size = other.size;
+        this.keys = other.keys.clone();
+        this.rows = other.rows.clone();
+        this.mask = other.mask;
+        this.emptyKeyRow = other.emptyKeyRow;
+    }
+
+    private void rebuild() {
+        int capacity = Integer.highestOneBit(Math.max(2, 2 * size - 1)) << 1;
+
+        keys = new long[capacity];
+        rows = new int[capacity];
+        mask = capacity - 1;
+        emptyKeyRow = -1;
+        Arrays.fill(rows, -1);
+
+        // insert in reverse order so that, for repeated ids, the first occurrence wins
+        for (int row = size - 1; row >= 0; row--) {
+            put(ids[row], row);
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        int slot = hash(key) & mask;
+        while (rows[slot] >= 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void put(long key, int row) {
+        if (key == EMPTY) {
+            emptyKeyRow = row;
+            return;
+        }
+
+        int slot = slot(key);
+        keys[slot] = key;
+        rows[slot] = row;
+    }
+
+    private int lookup(long id) {
+        return id == EMPTY ? emptyKeyRow : rows[slot(id)];
+    }
+
+    /**
+     * @param id: id to look up
+     * @return the row of the given id, or -1 if it is not present
+     */
+    synchronized int rowOf(long id) {
+        int row = lookup(id);
+
+        if (row >= 0 && ids[row] != id) {
+            rebuild();
+            row = lookup(id);
+        }
+
+        return row;
+    }
+
+    /**
+     * Updates the index after new ids have been appended to the ids array
+     * @param ids: the ids array. It may be a new (larger) array, whose first positions hold the previously indexed ids.
+     * @param size: the new number of ids
+     */
+    synchronized void appended(long[] ids, int size) {
+        int previousSize = this.size;
+        this.ids = ids;
+        this.size = size;
+
+        // keep the load factor at most 1/2
+        if (2 * size > keys.length) {
+            rebuild();
+            return;
+        }
+
+        for (int row = previousSize; row < size; row++) {
+            if (lookup(ids[row]) < 0) {
+                put(ids[row], row);
+            }
+        }
+    }
+
+    /**
+     * @param ids: a copy of the ids array, holding the same ids in its first positions
+     * @return a copy of this index over the given array, which can be updated independently of this one. This takes
+     * linear time, but avoids hashing every id again.
+     */
+    synchronized IdIndex copy(long[] ids) {
+        return new IdIndex(ids, this);
+    }
+
+    /**
+     * Updates the index after the ids at rows row1 and row2 have been swapped in the ids array
+     */
+    synchronized void swapped(int row1, int row2) {
+        long id1 = ids[row1], id2 = ids[row2];
+
+        if (lookup(id1) == row2) {
+            put(id1, row1);
+        }
+        if (lookup(id2) == row1) {
+            put(id2, row2);
+        }
+    }
+}
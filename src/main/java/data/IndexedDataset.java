@@ -20,12 +20,24 @@
 
 package data;
 
-import explore.sampling.ReservoirSampler;
+import explore.sampling.IndexSampler;
+import utils.RandomState;
 import utils.Validator;
+import utils.linalg.ColumnGroupView;
+import utils.linalg.DataMatrix;
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
+import utils.linalg.GrowableMatrix;
 import utils.linalg.Matrix;
+import utils.linalg.OffHeapMatrix;
+import utils.linalg.RowSelectionView;
+import utils.linalg.ScaledView;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -39,16 +51,52 @@ import java.util.stream.StreamSupport;
  */
 public class IndexedDataset implements Iterable<DataPoint> {
     /**
-     * The index of each data point
+     * Number of rows brought into the heap at once when processing off-heap data in blocks
      */
-    private final List<Long> indexes;
+    public static final int BLOCK_SIZE = 4096;
 
     /**
-     * The underlying data (each row is a data point)
+     * The index of each data point. For datasets created by {@link #selectRows}, this is the array of indexes of the
+     * parent dataset, and the index of row i is found at {@code rowSelection.parentRow(i)}. After data points have been
+     * added (see {@link #add}), it may have spare capacity at its end.
      */
-    private Matrix data;
+    private long[] indexes;
 
-    private Matrix[] partitionedData;
+    /**
+     * The rows of the parent dataset selected by this one, or null if this dataset is not a row selection
+     */
+    private final RowSelectionView rowSelection;
+
+    /**
+     * The index of each data point as a contiguous array, for row selections and datasets whose {@link #indexes} have
+     * spare capacity. It is built on first use, and discarded whenever the indexes change.
+     */
+    private volatile long[] compactIndexes;
+
+    /**
+     * Whether the storage (indexes and data) is shared with another dataset (see {@link #shallowCopy()}), and must be
+     * copied before being modified
+     */
+    private boolean isStorageShared;
+
+    /**
+     * Hash index from each data point's index to its row, built on the first lookup
+     */
+    private IdIndex indexLookup;
+
+    /**
+     * The underlying data (each row is a data point). It is either a double-precision {@link Matrix}, a
+     * single-precision {@link FloatMatrix} (see {@link #toSinglePrecision()}), or an {@link OffHeapMatrix} (see
+     * {@link #toOffHeap()}). The feature groups returned by {@link #getPartitionedData()} may also be backed by a
+     * {@link ColumnGroupView}.
+     */
+    private DataMatrix data;
+
+    /**
+     * The data of each feature group. Groups are either compact copies of their columns, or zero-copy
+     * {@link ColumnGroupView}s over {@link #data} (see {@link #setFactorizationStructure(int[][], boolean)}).
+     */
+    private DataMatrix[] partitionedData;
 
     private int[][] partitionIndexes;
 
@@ -107,32 +155,126 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * @param data: feature matrix (each row represents a data point)
      * @throws IllegalArgumentException if indexes.size() is different from data.rows()
      */
-    public IndexedDataset(List<Long> indexes, Matrix data) {
-        this(indexes, data, new Matrix[]{data}, new int[][] {IntStream.range(0, data.cols()).toArray()});
+    public IndexedDataset(List<Long> indexes, DataMatrix data) {
+        this(toArray(indexes), data);
+    }
+
+    /**
+     * @param indexes: index of each data point
+     * @param data: feature matrix (each row represents a data point)
+     * @throws IllegalArgumentException if indexes.length is different from data.rows()
+     */
+    public IndexedDataset(long[] indexes, DataMatrix data) {
+        this(indexes, data, new DataMatrix[]{data}, new int[][] {IntStream.range(0, data.cols()).toArray()});
+    }
+
+    /**
+     * @param indexes: index of each data point
+     * @param data: feature matrix (each row represents a data point)
+     * @param partitionedData: the data of each feature group
+     * @param partitionIndexes: the column indexes of each feature group
+     */
+    IndexedDataset(long[] indexes, DataMatrix data, DataMatrix[] partitionedData, int[][] partitionIndexes) {
+        this(indexes, null, data, partitionedData, partitionIndexes);
+        Validator.assertEquals(indexes.length, data.rows());
     }
 
-    private IndexedDataset(List<Long> indexes, Matrix data, Matrix[] partitionedData, int[][] partitionIndexes) {
-        Validator.assertEquals(indexes.size(), data.rows());
+    private IndexedDataset(long[] indexes, RowSelectionView rowSelection, DataMatrix data, DataMatrix[] partitionedData, int[][] partitionIndexes) {
+        if (rowSelection != null) {
+            Validator.assertEquals(rowSelection.rows(), data.rows());
+        }
         Validator.assertEqualLengths(partitionedData, partitionIndexes);
 
         this.indexes = indexes;
+        this.rowSelection = rowSelection;
         this.data = data;
         this.partitionedData = partitionedData;
         this.partitionIndexes = partitionIndexes;
     }
 
-    private List<Long> secondaryIndex;
+    /**
+     * @param indexes: index of each data point, possibly followed by spare capacity
+     * @param data: feature matrix (each row represents a data point)
+     * @param partitionedData: the data of each feature group
+     * @param partitionIndexes: the column indexes of each feature group
+     * @return a dataset sharing the input arrays with their owner, as {@link #shallowCopy()} does: they are copied before
+     * this dataset modifies them, and the owner may only write past the first data.rows() indexes.
+     * @throws IllegalArgumentException if there are fewer indexes than data points
+     */
+    static IndexedDataset sharing(long[] indexes, DataMatrix data, DataMatrix[] partitionedData, int[][] partitionIndexes) {
+        Validator.assertInRange(data.rows(), 0, indexes.length);
+
+        IndexedDataset dataset = new IndexedDataset(indexes, null, data, partitionedData, partitionIndexes);
+        dataset.isStorageShared = true;
+        return dataset;
+    }
 
+    private static long[] toArray(List<Long> indexes) {
+        return indexes.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * The secondary index of each data point, or null if not set. Like {@link #indexes}, it may have spare capacity at its
+     * end after data points have been added.
+     */
+    private long[] secondaryIndex;
+
+    private IdIndex secondaryIndexLookup;
+
+    /**
+     * @throws UnsupportedOperationException if this dataset is a row selection
+     */
     public void setSecondaryIndex(List<Long> secondaryIndex) {
+        if (rowSelection != null) {
+            throw new UnsupportedOperationException("Row selections are read-only.");
+        }
+        setSecondaryIndex(toArray(secondaryIndex));
+    }
+
+    /**
+     * @param secondaryIndex: secondary index of each data point. The array is not copied.
+     * @throws IllegalArgumentException if secondaryIndex.length is different from length()
+     * @throws UnsupportedOperationException if this dataset is a row selection
+     */
+    public void setSecondaryIndex(long[] secondaryIndex) {
+        if (rowSelection != null) {
+            throw new UnsupportedOperationException("Row selections are read-only.");
+        }
+        Validator.assertEquals(secondaryIndex.length, length());
         this.secondaryIndex = secondaryIndex;
+        this.secondaryIndexLookup = null;
+    }
+
+    /**
+     * @return whether a secondary index has been set
+     */
+    public boolean hasSecondaryIndex() {
+        return secondaryIndex != null;
+    }
+
+    /**
+     * @param i: row index
+     * @return the secondary index of the data point at row {@code i}
+     * @throws IllegalStateException if no secondary index has been set
+     * @throws IndexOutOfBoundsException if {@code i} is out-of-bounds
+     */
+    public long getSecondaryIndex(int i) {
+        if (secondaryIndex == null) {
+            throw new IllegalStateException("Secondary index has not been set.");
+        }
+        return rowSelection == null ? secondaryIndex[i] : secondaryIndex[rowSelection.parentRow(i)];
     }
 
     /**
      * @param index: secondary index to retrieve
      * @return DataPoint matching the secondary index
+     * @throws IndexOutOfBoundsException if no data point has the given secondary index
      */
     public DataPoint getFromSecondaryIndex(long index) {
-        return get(secondaryIndex.indexOf(index));
+        if (secondaryIndexLookup == null) {
+            secondaryIndexLookup = rowSelection == null ? new IdIndex(secondaryIndex, length()) : new IdIndex(secondaryIndexes());
+        }
+        return get(secondaryIndexLookup.rowOf(index));
     }
 
     /**
@@ -146,29 +288,102 @@ public class IndexedDataset implements Iterable<DataPoint> {
     }
 
     /**
-     * Add datapoint to Matrix
-     * @param dataPoint
-     * @return
+     * Add datapoint to Matrix. The first call converts the data into a {@link GrowableMatrix}; after that, adding a data
+     * point takes amortized O(dim) time.
+     * @param dataPoint: data point to append. Its index will be length() + 1.
+     * @throws UnsupportedOperationException if this dataset is a row selection
      */
     public void add(Vector dataPoint) {
+        add(length() + 1, dataPoint);
+    }
 
-        long nPoint = this.indexes.size();
-        //indexes.add(nPoint + 1);
-        this.indexes.add((int) nPoint + 1, nPoint + 1);
-        Builder builder = new Builder();
+    /**
+     * Add datapoint with a given index to Matrix (see {@link #add(Vector)}). The uniqueness of the index is not checked.
+     * If a secondary index is set, the given index is also used as the new data point's secondary index.
+     * @param index: index of the new data point
+     * @param dataPoint: data point to append
+     * @throws UnsupportedOperationException if this dataset is a row selection
+     */
+    public void add(long index, Vector dataPoint) {
+        if (rowSelection != null) {
+            throw new UnsupportedOperationException("Row selections are read-only.");
+        }
+
+        int nPoint = length();
+        if (isStorageShared) {
+            // another dataset may append to the spare capacity of the shared arrays
+            copySharedIndexes(indexes.clone());
+        }
+        indexes = appended(indexes, nPoint, index);
+        compactIndexes = null;
+        if (secondaryIndex != null) {
+            secondaryIndex = appended(secondaryIndex, nPoint, index);
+        }
 
-        Vector row;
-        DataPoint point;
-        for (int i =0 ; i < nPoint; i++){
-            row = this.data.getRow(i);
+        growableData().appendRow(dataPoint);
+        if (indexLookup != null) {
+            indexLookup.appended(indexes, nPoint + 1);
+        }
+        if (secondaryIndexLookup != null) {
+            secondaryIndexLookup.appended(secondaryIndex, nPoint + 1);
+        }
+
+        if (partitionSize() == 1) {
+            partitionedData[0] = data;
+        } else if (usesColumnGroupViews()) {
+            partitionedData = Arrays.stream(partitionIndexes).map(cols -> new ColumnGroupView(data, cols)).toArray(DataMatrix[]::new);
+        } else {
+            double[] values = dataPoint.toArray();
+            for (int i = 0; i < partitionedData.length; i++) {
+                if (!(partitionedData[i] instanceof GrowableMatrix) || isStorageShared) {
+                    partitionedData[i] = GrowableMatrix.FACTORY.make(partitionedData[i]);
+                }
+                int[] cols = partitionIndexes[i];
+                ((GrowableMatrix) partitionedData[i]).appendRow(Vector.FACTORY.make(Arrays.stream(cols).mapToDouble(j -> values[j]).toArray()));
+            }
+        }
 
-            point = new DataPoint(i, row);
-            builder.add(point);
+        isStorageShared = false;
+    }
 
+    /**
+     * @return the input array with {@code value} written at position {@code size}, doubling its capacity if it is full
+     */
+    private static long[] appended(long[] array, int size, long value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, 2 * size);
         }
+        array[size] = value;
+        return array;
+    }
 
-        this.data = builder.buildMatrix();
+    /**
+     * Stops sharing the index arrays and hash indexes with another dataset (see {@link #shallowCopy()}). The hash indexes
+     * are copied rather than rebuilt.
+     * @param newIndexes: a copy of the index of each data point
+     */
+    private void copySharedIndexes(long[] newIndexes) {
+        indexes = newIndexes;
+        compactIndexes = null;
+        if (indexLookup != null) {
+            indexLookup = indexLookup.copy(indexes);
+        }
+        if (secondaryIndex != null) {
+            secondaryIndex = secondaryIndex.clone();
+            if (secondaryIndexLookup != null) {
+                secondaryIndexLookup = secondaryIndexLookup.copy(secondaryIndex);
+            }
+        }
+    }
 
+    /**
+     * @return the data as a {@link GrowableMatrix}, converting it if needed
+     */
+    private GrowableMatrix growableData() {
+        if (!(data instanceof GrowableMatrix) || isStorageShared) {
+            data = GrowableMatrix.FACTORY.make(data);
+        }
+        return (GrowableMatrix) data;
     }
 
 
@@ -176,19 +391,296 @@ public class IndexedDataset implements Iterable<DataPoint> {
         return this.get(1);
     }
 
+    /**
+     * @return an unmodifiable view of the index of each data point
+     */
     public List<Long> getIndexes() {
-        return Collections.unmodifiableList(indexes);
+        return new AbstractList<Long>() {
+            @Override
+            public Long get(int i) {
+                return getIndex(i);
+            }
+
+            @Override
+            public int size() {
+                return length();
+            }
+        };
+    }
+
+    /**
+     * @param i: row index
+     * @return the index of the data point at row {@code i}
+     * @throws IndexOutOfBoundsException if {@code i} is out-of-bounds
+     */
+    public long getIndex(int i) {
+        return rowSelection == null ? indexes[i] : indexes[rowSelection.parentRow(i)];
     }
 
+    /**
+     * @return the index of each data point, as a contiguous array. It must not be modified.
+     */
+    private long[] ids() {
+        if (rowSelection == null && indexes.length == length()) {
+            return indexes;
+        }
+
+        long[] ids = compactIndexes;
+        if (ids == null) {
+            ids = rowSelection == null ? Arrays.copyOf(indexes, length()) : gather(indexes);
+            compactIndexes = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * @return the secondary index of each data point, as a contiguous array (or null if not set). It must not be modified.
+     */
+    private long[] secondaryIndexes() {
+        if (secondaryIndex == null) {
+            return null;
+        }
+        if (rowSelection != null) {
+            return gather(secondaryIndex);
+        }
+        return secondaryIndex.length == length() ? secondaryIndex : Arrays.copyOf(secondaryIndex, length());
+    }
+
+    /**
+     * @return the values of a row selection's parent array at the selected rows
+     */
+    private long[] gather(long[] parentValues) {
+        long[] values = new long[length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parentValues[rowSelection.parentRow(i)];
+        }
+        return values;
+    }
+
+    private static long[] gather(long[] values, int[] rows, int from, int to) {
+        long[] gathered = new long[to - from];
+        for (int i = from; i < to; i++) {
+            gathered[i - from] = values[rows[i]];
+        }
+        return gathered;
+    }
+
+    /**
+     * @param index: index of a data point
+     * @return the row of the data point with the given index, or -1 if there is no such point. Runs in O(1) time (the
+     * lookup table is built on the first call).
+     */
+    public int getRowOfIndex(long index) {
+        if (indexLookup == null) {
+            indexLookup = rowSelection == null ? new IdIndex(indexes, length()) : new IdIndex(ids());
+        }
+        return indexLookup.rowOf(index);
+    }
+
+    /**
+     * @return the feature matrix. For single-precision datasets, a double-precision copy is returned; prefer
+     * {@link #getSinglePrecisionData()} when scoring large pools.
+     */
     public Matrix getData() {
-        return data;
+        return data.toMatrix();
+    }
+
+    /**
+     * @return whether the data points are stored in single-precision, or in a row selection over a single-precision matrix
+     */
+    public boolean isSinglePrecision() {
+        return storage() instanceof FloatMatrix;
+    }
+
+    /**
+     * @return the single-precision feature matrix. For row selections, a compact copy of the selected rows is returned,
+     * which stays in single-precision.
+     * @throws IllegalStateException if this dataset is not stored in single-precision
+     */
+    public FloatMatrix getSinglePrecisionData() {
+        if (!isSinglePrecision()) {
+            throw new IllegalStateException("Dataset is not stored in single-precision.");
+        }
+        return data instanceof FloatMatrix ? (FloatMatrix) data : (FloatMatrix) data.copy();
+    }
+
+    /**
+     * @return the matrix holding the data points: the parent matrix for row selections, or {@link #data} otherwise
+     */
+    private DataMatrix storage() {
+        return data instanceof RowSelectionView ? ((RowSelectionView) data).getParent() : data;
+    }
+
+    /**
+     * @return a new IndexedDataset with same indexes and factorization structure as {@code this}, but whose data points
+     * are stored in single-precision. This roughly halves the memory used by the feature matrix, at the cost of rounding
+     * every feature to the nearest float. {@code this} is returned if it is already in single-precision.
+     */
+    public IndexedDataset toSinglePrecision() {
+        if (isSinglePrecision()) {
+            return this;
+        }
+
+        FloatMatrix compactData = FloatMatrix.FACTORY.make(data.toMatrix());
+        DataMatrix[] partition = partitionsOf(compactData, x -> FloatMatrix.FACTORY.make(x.toMatrix()));
+        IndexedDataset dataset = new IndexedDataset(ids().clone(), compactData, partition, partitionIndexes);
+        dataset.secondaryIndex = secondaryIndexes();
+        return dataset;
+    }
+
+    /**
+     * @return whether the data points are stored outside of the JVM heap, possibly behind a row selection
+     */
+    public boolean isOffHeap() {
+        DataMatrix storage = storage() instanceof ColumnGroupView ? ((ColumnGroupView) storage()).getParent() : storage();
+        if (storage instanceof ScaledView) {
+            storage = ((ScaledView) storage).getParent();
+        }
+        return storage instanceof OffHeapMatrix;
+    }
+
+    /**
+     * @return a new IndexedDataset with same indexes and factorization structure as {@code this}, but whose data points
+     * are stored in direct memory. {@code this} is returned if it is already stored off-heap.
+     */
+    public IndexedDataset toOffHeap() {
+        if (isOffHeap()) {
+            return this;
+        }
+
+        OffHeapMatrix offHeapData = OffHeapMatrix.FACTORY.make(data);
+        DataMatrix[] partition = partitionsOf(offHeapData, OffHeapMatrix.FACTORY::make);
+        IndexedDataset dataset = new IndexedDataset(ids().clone(), offHeapData, partition, partitionIndexes);
+        dataset.secondaryIndex = secondaryIndexes();
+        return dataset;
+    }
+
+    /**
+     * @return whether the data points are stored in an {@link EncodedMatrix}, or in a row selection over one
+     */
+    public boolean isEncoded() {
+        return storage() instanceof EncodedMatrix;
+    }
+
+    /**
+     * @return the encoded feature matrix. For row selections, a compact copy of the selected rows is returned, which
+     * stays encoded; use {@link #forEachBlock} to avoid this copy.
+     * @throws IllegalStateException if this dataset is not encoded
+     */
+    public EncodedMatrix getEncodedData() {
+        if (!isEncoded()) {
+            throw new IllegalStateException("Dataset is not encoded.");
+        }
+        return data instanceof EncodedMatrix ? (EncodedMatrix) data : (EncodedMatrix) data.copy();
+    }
+
+    /**
+     * @return a new IndexedDataset with same indexes and factorization structure as {@code this}, but whose data points
+     * are stored in an {@link EncodedMatrix}: low-cardinality columns are dictionary-encoded or bit-packed, without any
+     * loss of precision. {@code this} is returned if it is already encoded.
+     */
+    public IndexedDataset toEncoded() {
+        if (isEncoded()) {
+            return this;
+        }
+
+        EncodedMatrix encodedData = EncodedMatrix.FACTORY.make(data);
+        DataMatrix[] partition = partitionsOf(encodedData, EncodedMatrix.FACTORY::make);
+        IndexedDataset dataset = new IndexedDataset(ids().clone(), encodedData, partition, partitionIndexes);
+        dataset.secondaryIndex = secondaryIndexes();
+        return dataset;
+    }
+
+    /**
+     * @return whether numerical computations over this dataset should run block by block (see {@link #forEachBlock}),
+     * since its data is not held as a single in-heap matrix: it is either stored off-heap, encoded, or a view over other data
+     */
+    public boolean isBlockwise() {
+        return isOffHeap() || isView(data) || data instanceof EncodedMatrix;
+    }
+
+    private static boolean isView(DataMatrix data) {
+        return data instanceof RowSelectionView || data instanceof ColumnGroupView || data instanceof ScaledView;
+    }
+
+    /**
+     * @param from: start index (inclusive)
+     * @param to: end index (exclusive)
+     * @return a double-precision copy of the data points in the specified range of rows
+     * @throws IllegalArgumentException if indexes are out-of-bounds or {@code from} is not smaller than {@code to}
+     */
+    public Matrix getData(int from, int to) {
+        return data.toMatrix(from, to);
+    }
+
+    /**
+     * @param from: start index (inclusive)
+     * @param to: end index (exclusive)
+     * @return a compact in-heap copy of the data points in the specified range of rows, which keeps the storage format of
+     * the data: a {@link FloatMatrix} for single-precision datasets, an {@link EncodedMatrix} for encoded ones, and a
+     * double-precision {@link Matrix} otherwise
+     * @throws IllegalArgumentException if indexes are out-of-bounds or {@code from} is not smaller than {@code to}
+     */
+    public DataMatrix getDataBlock(int from, int to) {
+        return isSinglePrecision() || isEncoded() ? data.getRowSlice(from, to) : data.toMatrix(from, to);
+    }
+
+    /**
+     * Applies a function over consecutive blocks of at most {@link #BLOCK_SIZE} data points, handing each result to an
+     * action along with the position of the block's first data point. Blocks keep the storage format of the data: single-
+     * precision blocks are not converted to double-precision, and encoded blocks are given as rows of the underlying
+     * {@link EncodedMatrix}, without copying them. Datasets which are not blockwise (see {@link #isBlockwise}) are given
+     * as a single block. Blocks are evaluated within a {@link Workspace} scope, so temporaries can be reused from one block
+     * to the next.
+     * @param function: function computing the result of each block
+     * @param action: action receiving the position of each block and its result
+     */
+    public <T> void forEachBlock(BlockFunction<T> function, BiConsumer<Integer, T> action) {
+        Workspace.run(() -> {
+            if (!isBlockwise()) {
+                action.accept(0, data instanceof FloatMatrix ? function.apply((FloatMatrix) data) : function.apply(data.toMatrix()));
+                return;
+            }
+
+            int[] encodedRows = isEncoded() ? parentRows() : null;
+            for (int from = 0; from < length(); from += BLOCK_SIZE) {
+                int to = Math.min(length(), from + BLOCK_SIZE);
+                T block;
+                if (encodedRows != null) {
+                    block = function.apply((EncodedMatrix) storage(), Arrays.copyOfRange(encodedRows, from, to));
+                } else {
+                    DataMatrix rows = getDataBlock(from, to);
+                    block = rows instanceof FloatMatrix ? function.apply((FloatMatrix) rows) : function.apply((Matrix) rows);
+                }
+                action.accept(from, block);
+            }
+        });
+    }
+
+    /**
+     * @return the rows of {@link #storage()} holding each data point
+     */
+    private int[] parentRows() {
+        return data instanceof RowSelectionView ? ((RowSelectionView) data).getParentRows() : IntStream.range(0, length()).toArray();
+    }
+
+    /**
+     * Applies a function over every data point, block by block as in {@link #forEachBlock}, concatenating the results.
+     * This avoids bringing the entire feature matrix into the heap at once.
+     * @param function: function computing one value per row of each block
+     * @return a vector containing the computed values for every data point
+     */
+    public Vector computeByBlocks(BlockFunction<Vector> function) {
+        double[] values = new double[length()];
+        forEachBlock(function, (from, block) -> System.arraycopy(block.toArray(), 0, values, from, block.dim()));
+        return Vector.FACTORY.make(values);
     }
 
     /**
      * @return number of data points
      */
     public int length() {
-        return indexes.size();
+        return data.rows();
     }
 
     /**
@@ -204,7 +696,7 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * @throws IndexOutOfBoundsException if {@code i} is out-of-bounds
      */
     public DataPoint get(int i) {
-        return new DataPoint(indexes.get(i), data.getRow(i));
+        return new DataPoint(getIndex(i), data.getRow(i));
     }
 
 
@@ -212,9 +704,10 @@ public class IndexedDataset implements Iterable<DataPoint> {
     /**
      * @param index: index of data point to be retrieved
      * @return the data point corresponding to the specified index
+     * @throws IndexOutOfBoundsException if no data point has the given index
      */
     public DataPoint getFromIndex(long index) {
-        return get(indexes.indexOf(index));
+        return get(getRowOfIndex(index));
     }
 
     /**
@@ -224,11 +717,13 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * @throws IndexOutOfBoundsException if any row is out-of-bounds
      */
     IndexedDataset getRows(int... rows) {
-        List<Long> sliceIndexes = new ArrayList<>(rows.length);
-        Arrays.stream(rows).forEach(row -> sliceIndexes.add(indexes.get(row)));
+        long[] sliceIndexes = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sliceIndexes[i] = getIndex(rows[i]);
+        }
 
-        Matrix filteredData = data.getRows(rows);
-        Matrix[] partition = partitionSize() == 1 ? new Matrix[] {filteredData} : Arrays.stream(partitionedData).map(x -> x.getRows(rows)).toArray(Matrix[]::new);
+        DataMatrix filteredData = data.getRows(rows);
+        DataMatrix[] partition = partitionsOf(filteredData, x -> x.getRows(rows));
 
         return new IndexedDataset(sliceIndexes, filteredData, partition, partitionIndexes);
     }
@@ -240,9 +735,68 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * @throws IndexOutOfBoundsException if indexes are out-of-bounds or {@code from} is not smaller than {@code to}
      */
     IndexedDataset getRange(int from, int to) {
-        Matrix filteredData = data.getRowSlice(from, to);
-        Matrix[] partition = partitionSize() == 1 ? new Matrix[] {filteredData} : Arrays.stream(partitionedData).map(x -> x.getRowSlice(from, to)).toArray(Matrix[]::new);
-        return new IndexedDataset(indexes.subList(from, to), filteredData, partition, partitionIndexes);
+        DataMatrix filteredData = data.getRowSlice(from, to);
+        DataMatrix[] partition = partitionsOf(filteredData, x -> x.getRowSlice(from, to));
+        return new IndexedDataset(Arrays.copyOfRange(ids(), from, to), filteredData, partition, partitionIndexes);
+    }
+
+    /**
+     * @param from: start index (inclusive)
+     * @param to: end index (exclusive)
+     * @return an in-heap copy of the data points in the specified range of rows, keeping the same factorization structure.
+     * As in {@link #getDataBlock}, single-precision and encoded datasets keep their storage format, so their scoring
+     * kernels can still be used over the block; all other datasets are copied into double-precision. Different blocks
+     * can be safely retrieved from several threads at once.
+     * @throws IllegalArgumentException if indexes are out-of-bounds or {@code from} is not smaller than {@code to}
+     */
+    public IndexedDataset getBlock(int from, int to) {
+        if (isSinglePrecision() || isEncoded()) {
+            Validator.assertIndexInBounds(from, 0, to);
+            Validator.assertIndexInBounds(to, from + 1, length() + 1);
+            return getRows(IntStream.range(from, to).toArray());
+        }
+
+        Matrix block = getData(from, to);
+
+        long[] blockIndexes = new long[block.rows()];
+        for (int i = 0; i < blockIndexes.length; i++) {
+            blockIndexes[i] = getIndex(from + i);
+        }
+
+        return new IndexedDataset(blockIndexes, block, partitionsOf(block, x -> x.toMatrix(from, to)), partitionIndexes);
+    }
+
+    /**
+     * @param rows: array of row numbers. It is not copied, and must not be modified while the returned dataset is in use.
+     * @param from: first position of the rows array to select (inclusive)
+     * @param to: last position of the rows array to select (exclusive)
+     * @return a read-only IndexedDataset containing the rows {@code rows[from], ..., rows[to - 1]}, in this order. Neither
+     * the data points nor their indexes are copied: the returned dataset is a view over {@code this}, which must not be
+     * modified while the view is in use. Creating a view takes O(1) time.
+     * @throws IllegalArgumentException if the range is empty or out-of-bounds
+     */
+    IndexedDataset selectRows(int[] rows, int from, int to) {
+        RowSelectionView selectedData = new RowSelectionView(data, rows, from, to);
+
+        DataMatrix[] partition;
+        if (partitionSize() == 1) {
+            partition = new DataMatrix[] {selectedData};
+        } else if (usesColumnGroupViews()) {
+            partition = Arrays.stream(partitionIndexes).map(cols -> new ColumnGroupView(selectedData, cols)).toArray(DataMatrix[]::new);
+        } else {
+            partition = Arrays.stream(partitionedData).map(x -> new RowSelectionView(x, rows, from, to)).toArray(DataMatrix[]::new);
+        }
+
+        if (rowSelection != null) {
+            // a selection over a selection: indexes are gathered, since they cannot be mapped back to the parent array
+            IndexedDataset dataset = new IndexedDataset(gather(ids(), rows, from, to), selectedData, partition, partitionIndexes);
+            dataset.secondaryIndex = secondaryIndex == null ? null : gather(secondaryIndexes(), rows, from, to);
+            return dataset;
+        }
+
+        IndexedDataset dataset = new IndexedDataset(indexes, selectedData, selectedData, partition, partitionIndexes);
+        dataset.secondaryIndex = secondaryIndex;
+        return dataset;
     }
 
     /**
@@ -252,29 +806,52 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * @throws IndexOutOfBoundsException if any row is out-of-bounds
      */
     void swap(int row1, int row2) {
-        Collections.swap(indexes, row1, row2);
+        if (rowSelection != null) {
+            throw new UnsupportedOperationException("Row selections are read-only.");
+        }
+
+        if (isStorageShared) {
+            copySharedIndexes(ids().clone());
+            data = data.copy();
+            partitionedData = partitionsOf(data, DataMatrix::copy);
+            isStorageShared = false;
+        }
+
+        long index = indexes[row1];
+        indexes[row1] = indexes[row2];
+        indexes[row2] = index;
+        compactIndexes = null;
+        if (indexLookup != null)
+            indexLookup.swapped(row1, row2);
+
         data.swapRows(row1, row2);
-        if (partitionSize() > 1)
+        if (partitionSize() > 1 && !usesColumnGroupViews())
             Arrays.stream(partitionedData).forEach(x -> x.swapRows(row1, row2));
     }
 
+    /**
+     * @param data: dataset to append
+     * @return a new IndexedDataset containing the data points of {@code this} followed by the data points of {@code data}.
+     * Its data is stored in a {@link GrowableMatrix}, so further points can be cheaply added to it.
+     * @throws IllegalArgumentException if the datasets have different dimensions
+     */
     public IndexedDataset append(IndexedDataset data) {
         Validator.assertEquals(dim(), data.dim());
 
-        Builder builder = new Builder();
-        for (DataPoint point: this) {
-            builder.add(point);
-        }
-        for (DataPoint point: data) {
-            builder.add(point);
-        }
-        return builder.build();
+        long[] stackedIndexes = Arrays.copyOf(ids(), length() + data.length());
+        System.arraycopy(data.ids(), 0, stackedIndexes, length(), data.length());
+
+        GrowableMatrix stackedData = GrowableMatrix.FACTORY.make(this.data, stackedIndexes.length);
+        stackedData.appendRows(data.data);
+
+        return new IndexedDataset(stackedIndexes, stackedData);
     }
 
     /**
      * @param sampleSize: size of random sample to be retrieved
      * @return a IndexedDataset containing a random sample of the original data. This own dataset will be returned if
-     * sampleSize is larger than length().
+     * sampleSize is larger than length(). The sample is a read-only view over {@code this} (see {@link #selectRows}),
+     * and it is drawn in O(sampleSize) time.
      */
     public IndexedDataset sample(int sampleSize) {
         Validator.assertPositive(sampleSize);
@@ -283,25 +860,16 @@ public class IndexedDataset implements Iterable<DataPoint> {
             return this;
         }
 
-        List<Integer> allRows = new ArrayList<>();
-        IntStream.range(0, length()).forEach(allRows::add);
-        Collection<Integer> rows = ReservoirSampler.sample(allRows, sampleSize);
-
-        int[] sampledRows = new int[rows.size()];
-        int i = 0;
-        for (Integer row : rows) {
-            sampledRows[i++] = row;
-        }
-        return getRows(sampledRows);
+        return selectRows(IndexSampler.sample(length(), sampleSize, RandomState.newInstance()), 0, sampleSize);
     }
 
     /**
      * @return a copy of this object
      */
     public IndexedDataset copy() {
-        Matrix copiedData = data.copy();
-        Matrix[] partition = partitionSize() == 1 ? new Matrix[] {copiedData} : Arrays.stream(partitionedData).map(Matrix::copy).toArray(Matrix[]::new);
-        return new IndexedDataset(new ArrayList<>(indexes), copiedData, partition, partitionIndexes);
+        DataMatrix copiedData = data.copy();
+        DataMatrix[] partition = partitionsOf(copiedData, DataMatrix::copy);
+        return new IndexedDataset(ids().clone(), copiedData, partition, partitionIndexes);
     }
 
     /**
@@ -310,8 +878,56 @@ public class IndexedDataset implements Iterable<DataPoint> {
      * by the input one
      * @throws IllegalArgumentException if data.rows() is different from length()
      */
-    public IndexedDataset copyWithSameIndexes(Matrix data) {
-        return new IndexedDataset(indexes, data);
+    public IndexedDataset copyWithSameIndexes(DataMatrix data) {
+        return new IndexedDataset(ids(), data);
+    }
+
+    /**
+     * @param offset: value subtracted from each column
+     * @param scale: value dividing each column
+     * @return a new IndexedDataset with same indexes and secondary index as {@code this}, whose data is a
+     * {@link ScaledView} over the data of {@code this}. No data is copied, so memory-mapped data stays on disk.
+     * @throws IllegalArgumentException if offset or scale have different dimension from dim()
+     */
+    public IndexedDataset copyWithScaledData(Vector offset, Vector scale) {
+        IndexedDataset dataset = new IndexedDataset(ids(), new ScaledView(data, offset, scale));
+        dataset.secondaryIndex = secondaryIndexes();
+        return dataset;
+    }
+
+    /**
+     * @return a new IndexedDataset sharing the storage of {@code this}: no data is copied. Both datasets copy the shared
+     * storage before modifying it for the first time (see {@link #add} and {@link #swap}), so they never affect each
+     * other. The secondary index and the hash indexes built so far are shared as well. Row selections cannot be modified,
+     * so they are copied instead.
+     */
+    IndexedDataset shallowCopy() {
+        if (rowSelection != null) {
+            return copy();
+        }
+
+        IndexedDataset dataset = new IndexedDataset(ids(), data, partitionedData.clone(), partitionIndexes);
+        dataset.indexLookup = indexLookup;
+        dataset.secondaryIndex = secondaryIndex;
+        dataset.secondaryIndexLookup = secondaryIndexLookup;
+        dataset.isStorageShared = true;
+        isStorageShared = true;
+        return dataset;
+    }
+
+    /**
+     * @return a new cursor over the rows of this dataset, positioned before the first row. Prefer it over
+     * {@link #iterator()} for whole-pool passes, since it does not allocate memory per row.
+     */
+    public RowCursor cursor() {
+        return new RowCursor(this);
+    }
+
+    /**
+     * Copies the features of a row into an existing array
+     */
+    void copyRow(int row, double[] dest) {
+        data.copyRow(row, dest);
     }
 
     @Override
@@ -321,7 +937,7 @@ public class IndexedDataset implements Iterable<DataPoint> {
 
             @Override
             public boolean hasNext() {
-                return row < indexes.size();
+                return row < length();
             }
 
             @Override
@@ -344,25 +960,80 @@ public class IndexedDataset implements Iterable<DataPoint> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         IndexedDataset that = (IndexedDataset) o;
-        return Objects.equals(indexes, that.indexes) &&
-                Objects.equals(data, that.data);
+        return Arrays.equals(ids(), that.ids()) && dataEquals(data, that.data);
     }
 
+    /**
+     * Views and growable matrices are equal to any matrix with the same contents
+     */
+    private static boolean dataEquals(DataMatrix data, DataMatrix other) {
+        if (Objects.equals(data, other)) {
+            return true;
+        }
+
+        return (isViewOrGrowable(data) || isViewOrGrowable(other)) && data.toMatrix().equals(other.toMatrix());
+    }
+
+    private static boolean isViewOrGrowable(DataMatrix data) {
+        return isView(data) || data instanceof GrowableMatrix;
+    }
+
+    /**
+     * Sets the factorization structure, storing a compact copy of each feature group
+     * @param partition: the column indexes of each feature group
+     */
     public void setFactorizationStructure(int[][] partition) {
+        setFactorizationStructure(partition, false);
+    }
+
+    /**
+     * @param partition: the column indexes of each feature group
+     * @param useColumnGroupViews: whether feature groups should be zero-copy {@link ColumnGroupView}s over the data,
+     *                           instead of compact copies. Views avoid holding one extra copy of the data per feature
+     *                           group (and updating every copy on each row swap), at the cost of a strided access when
+     *                           reading each group.
+     */
+    public void setFactorizationStructure(int[][] partition, boolean useColumnGroupViews) {
         int size = partition.length;
 
         if (size > 1) {
-            partitionedData = new Matrix[size];
+            partitionedData = new DataMatrix[size];
             for (int i = 0; i < size; i++) {
-                partitionedData[i] = data.getCols(partition[i]);
+                partitionedData[i] = useColumnGroupViews ? new ColumnGroupView(data, partition[i]) : data.getCols(partition[i]);
             }
 
             partitionIndexes = partition.clone();
         }
     }
 
+    /**
+     * @return whether feature groups are zero-copy views over the data
+     */
+    public boolean usesColumnGroupViews() {
+        return partitionedData[0] instanceof ColumnGroupView;
+    }
+
+    /**
+     * @param newData: the data of a new dataset derived from {@code this}
+     * @param derive: how each compact feature group should be derived
+     * @return the feature groups of the new dataset, keeping the same storage strategy as {@code this}
+     */
+    private DataMatrix[] partitionsOf(DataMatrix newData, Function<DataMatrix, DataMatrix> derive) {
+        if (partitionSize() == 1) {
+            return new DataMatrix[] {newData};
+        }
+
+        if (usesColumnGroupViews()) {
+            return Arrays.stream(partitionIndexes).map(cols -> new ColumnGroupView(newData, cols)).toArray(DataMatrix[]::new);
+        }
+
+        return Arrays.stream(partitionedData).map(derive).toArray(DataMatrix[]::new);
+    }
+
     public IndexedDataset[] getPartitionedData() {
-        return Arrays.stream(partitionedData).map(data -> new IndexedDataset(indexes, data)).toArray(IndexedDataset[]::new);
+        return Arrays.stream(partitionedData)
+                .map(data -> new IndexedDataset(rowSelection == null ? ids() : indexes, rowSelection, data, new DataMatrix[] {data}, new int[][] {IntStream.range(0, data.cols()).toArray()}))
+                .toArray(IndexedDataset[]::new);
     }
 
     public int partitionSize() {
@@ -380,8 +1051,8 @@ public class IndexedDataset implements Iterable<DataPoint> {
     @Override
     public String toString() {
         return "IndexedDataset{" +
-                "indexes=" + indexes + '\n' +
-                ", secondaryIndex=" + secondaryIndex + '\n' +
+                "indexes=" + Arrays.toString(ids()) + '\n' +
+                ", secondaryIndex=" + Arrays.toString(secondaryIndexes()) + '\n' +
                 ", data=" + data +
                 '}';
     }
@@ -43,11 +43,15 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
     private final IndexedDataset dataset;
 
     /**
-     * Label of each data point
+     * Label of each data point. It may have spare capacity at its end, which is trimmed by {@link #getLabels()}.
      */
-    private final UserLabel[] labels;
+    private UserLabel[] labels;
 
-    private Label[][] partialLabels;
+    /**
+     * Label of each data point in each subspace (null if there is no factorization structure). Like {@link #labels}, each
+     * array may have spare capacity at its end.
+     */
+    private final Label[][] partialLabels;
 
     /**
      * @param indexes: indexes of each data point
@@ -65,21 +69,39 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
      * @throws IllegalArgumentException if the dataset and the labels have incompatible sizes
      */
     public LabeledDataset(IndexedDataset dataset, UserLabel[] labels) {
-        Validator.assertEquals(dataset.length(), labels.length);
+        this(dataset, labels, computePartialLabels(dataset, labels));
+    }
+
+    /**
+     * Label arrays may have spare capacity at their end, so they can be shared with a {@link GrowableLabeledDataset}.
+     * @param dataset: a collection of data points and indexes
+     * @param labels: the labels for each data point
+     * @param partialLabels: the labels of each data point in each subspace (null if dataset has no factorization structure)
+     * @throws IllegalArgumentException if there are fewer labels than data points
+     */
+    LabeledDataset(IndexedDataset dataset, UserLabel[] labels, Label[][] partialLabels) {
+        Validator.assertInRange(dataset.length(), 0, labels.length);
         this.dataset = dataset;
         this.labels = labels;
+        this.partialLabels = partialLabels;
+    }
 
-        if (dataset.hasFactorizationStructure()) {
-            Validator.assertEquals(dataset.partitionSize(), labels[0].getLabelsForEachSubspace().length);
+    private static Label[][] computePartialLabels(IndexedDataset dataset, UserLabel[] labels) {
+        Validator.assertEquals(dataset.length(), labels.length);
 
-            this.partialLabels = new Label[dataset.partitionSize()][labels.length];
-            for (int i = 0; i < partialLabels.length; i++) {
-                for (int j = 0; j < labels.length; j++) {
-                    this.partialLabels[i][j] = labels[j].getLabelsForEachSubspace()[i];
-                }
-            }
+        if (!dataset.hasFactorizationStructure()) {
+            return null;
         }
 
+        Validator.assertEquals(dataset.partitionSize(), labels[0].getLabelsForEachSubspace().length);
+
+        Label[][] partialLabels = new Label[dataset.partitionSize()][labels.length];
+        for (int i = 0; i < partialLabels.length; i++) {
+            for (int j = 0; j < labels.length; j++) {
+                partialLabels[i][j] = labels[j].getLabelsForEachSubspace()[i];
+            }
+        }
+        return partialLabels;
     }
 
     public List<Long> getIndexes() {
@@ -95,6 +117,9 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
     }
 
     public UserLabel[] getLabels() {
+        if (labels.length != length()) {
+            labels = Arrays.copyOf(labels, length());
+        }
         return labels;
     }
 
@@ -102,7 +127,7 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
      * @return number of data points
      */
     public int length() {
-        return labels.length;
+        return dataset.length();
     }
 
     /**
@@ -127,16 +152,16 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
      * matrix replaced by the input one
      */
     public LabeledDataset copyWithSameIndexesAndLabels(Matrix data) {
-        return new LabeledDataset(dataset.getIndexes(), data, labels);
+        return new LabeledDataset(dataset.getIndexes(), data, getLabels());
     }
 
     public LabeledDataset append(IndexedDataset data, UserLabel[] label) {
         Validator.assertEquals(data.length(), label.length);
         Validator.assertEquals(data.dim(), dim());
 
-        UserLabel[] stackedLabels = new Label[labels.length + label.length];
-        System.arraycopy(labels, 0, stackedLabels, 0, labels.length);
-        System.arraycopy(label, 0, stackedLabels, labels.length, label.length);
+        UserLabel[] stackedLabels = new Label[length() + label.length];
+        System.arraycopy(labels, 0, stackedLabels, 0, length());
+        System.arraycopy(label, 0, stackedLabels, length(), label.length);
         return new LabeledDataset(dataset.append(data), stackedLabels);
     }
 
@@ -147,7 +172,7 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
 
             @Override
             public boolean hasNext() {
-                return row < labels.length;
+                return row < length();
             }
 
             @Override
@@ -163,7 +188,7 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
         if (o == null || getClass() != o.getClass()) return false;
         LabeledDataset that = (LabeledDataset) o;
         return Objects.equals(dataset, that.dataset) &&
-                Arrays.equals(labels, that.labels);
+                Arrays.equals(getLabels(), that.getLabels());
     }
 
     public LabeledDataset[] getPartitionedData() {
@@ -175,7 +200,7 @@ public class LabeledDataset implements Iterable<LabeledPoint> {
 
         LabeledDataset[] labeledDatasets = new LabeledDataset[dataset.partitionSize()];
         for (int i = 0; i < labeledDatasets.length; i++) {
-            labeledDatasets[i] = new LabeledDataset(partitionedDatasets[i], partialLabels[i]);
+            labeledDatasets[i] = new LabeledDataset(partitionedDatasets[i], partialLabels[i], null);
         }
 
         return labeledDatasets;
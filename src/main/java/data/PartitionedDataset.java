@@ -20,14 +20,21 @@
 
 package data;
 
-import explore.user.UserLabel;
+import explore.sampling.IndexSampler;
+import explore.sampling.ShuffledCursor;
 import machinelearning.classifier.Classifier;
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
 import machinelearning.threesetmetric.ExtendedClassifier;
 import machinelearning.threesetmetric.ExtendedClassifierStub;
 import machinelearning.threesetmetric.ExtendedLabel;
+import machinelearning.threesetmetric.ExtendedLabelVector;
+import utils.RandomState;
+import utils.Validator;
+import utils.linalg.Vector;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * This modules maintains a partition of the data points into three sets:
@@ -40,32 +47,53 @@ import java.util.*;
  *   but whose true label could be correctly inferred by the data model, will be put in this partition.
  *
  *   - UNKNOWN LABELS partition: all the remaining points, for which the correct label is currently unknown, are put in this partition.
+ *
+ * Partitions are maintained as contiguous ranges of a permutation of the data points. Moving a point between partitions
+ * only swaps two entries of this permutation (and of its inverse); the underlying data is never moved.
  */
 public final class PartitionedDataset {
     /**
-     * List of all data points
+     * List of all data points, in their original order. It is never modified.
      */
     private final IndexedDataset points;
 
     /**
-     * A extended classifier for inferring labels
+     * The row in {@link #points} of the data point at each position (positions are ordered by partition)
      */
-    private final ExtendedClassifier classifier;
+    private int[] permutation;
+
+    /**
+     * Whether {@link #permutation} is shared with a view returned to the caller, in which case it is copied before the
+     * next modification
+     */
+    private boolean isPermutationShared;
+
+    /**
+     * The position of each row of {@link #points}, i.e. the inverse of {@link #permutation}
+     */
+    private int[] inversePermutation;
+
+    /**
+     * The duplicate structure of the data, when exact duplicate points were collapsed (null otherwise). In this case,
+     * {@link #points} holds the unique data points only.
+     */
+    private final DeduplicatedDataset duplicates;
 
     /**
-     * Map of data point's index to its row position in points
+     * A extended classifier for inferring labels
      */
-    private final Map<Long, Integer> indexToPosition;
+    private final ExtendedClassifier classifier;
 
     /**
-     * The current known / inferred label for each data point
+     * The current known / inferred label for each data point, indexed by row in {@link #points}
      */
-    private final ExtendedLabel[] labels;
+    private ExtendedLabelVector labels;
 
     /**
-     * List of user labels
+     * The data points in the MOST INFORMATIVE partition and their user labels, in the order they were labeled (which is
+     * also their order in the partition). It grows by one row per new label, so it is never rebuilt.
      */
-    private List<UserLabel> userLabels = new ArrayList<>();
+    private final GrowableLabeledDataset labeledStore;
 
     /**
      * Starting position of INFERRED LABELS partition
@@ -79,21 +107,47 @@ public final class PartitionedDataset {
 
     /**
      * Create an initial partition data structure, with all points put in the UNKNOWN partition.
-     * @param points: data points to build partitions. A copy will be stored internally to avoid unintended changes to input list.
+     * @param points: data points to build partitions. Their storage is shared, not copied; it is copied before being
+     *              modified for the first time (by either side), so no unintended changes to the input list can happen.
      * @param classifier: {@link ExtendedClassifier} used to build the inferred labels partition
      */
     public PartitionedDataset(IndexedDataset points, ExtendedClassifier classifier) {
-        this.points = points.copy();
+        this(points, null, classifier);
+    }
+
+    /**
+     * Create an initial partition data structure over the unique data points, with all points put in the UNKNOWN
+     * partition. Labeling any of a set of duplicate points labels all of them, and scoring, partitioning and label
+     * inference only runs over the unique points.
+     * @param points: data points, with exact duplicates collapsed
+     * @param classifier: {@link ExtendedClassifier} used to build the inferred labels partition
+     */
+    public PartitionedDataset(DeduplicatedDataset points, ExtendedClassifier classifier) {
+        this(points.getUniquePoints(), points, classifier);
+    }
+
+    /**
+     * Through this constructor, no label inference will be done (i.e. the INFERRED LABELS partition is always empty)
+     * @param points: data points, with exact duplicates collapsed
+     */
+    public PartitionedDataset(DeduplicatedDataset points) {
+        this(points, new ExtendedClassifierStub());
+    }
+
+    private PartitionedDataset(IndexedDataset points, DeduplicatedDataset duplicates, ExtendedClassifier classifier) {
+        this.points = points.shallowCopy();
+        this.duplicates = duplicates;
         this.classifier = Objects.requireNonNull(classifier);
 
         this.inferredStart = 0;
         this.unknownStart = 0;
 
-        this.labels = new ExtendedLabel[this.points.length()];
-        Arrays.fill(this.labels, ExtendedLabel.UNKNOWN);
+        this.permutation = IntStream.range(0, this.points.length()).toArray();
+        this.inversePermutation = permutation.clone();
+
+        this.labels = new ExtendedLabelVector(this.points.length());
 
-        this.indexToPosition = new HashMap<>(this.points.length());
-        initializeIndexes();
+        this.labeledStore = new GrowableLabeledDataset(this.points);
     }
 
 
@@ -107,52 +161,237 @@ public final class PartitionedDataset {
      */
     public void addLabeledPointToDataset(LabeledPoint point){
         // TODO: check this method
+        if (duplicates != null) {
+            throw new UnsupportedOperationException("Points cannot be added to a deduplicated dataset.");
+        }
 
         this.points.add(point.getData());
+        appendLastRow();
+    }
 
+    /**
+     * Appends a batch of new data points, such as rows inserted into the underlying data source after the exploration
+     * started. If the data model is still running, the new points are classified by it right away: points with a known
+     * prediction are put on the INFERRED LABELS partition, and all others on the UNKNOWN partition. Existing points keep
+     * their partitions, and appending takes amortized O(dim) time per point plus one prediction.
+     * @param newPoints: data points to append, in the same feature space as the current ones (e.g. scaled in the same way)
+     * @throws IllegalArgumentException if the dimensions differ, or any index is repeated or already present
+     * @throws UnsupportedOperationException if duplicate points were collapsed
+     */
+    public void append(IndexedDataset newPoints) {
+        if (duplicates != null) {
+            throw new UnsupportedOperationException("Points cannot be added to a deduplicated dataset.");
+        }
+        Validator.assertEquals(points.dim(), newPoints.dim());
+
+        Set<Long> newIds = new HashSet<>(newPoints.getIndexes());
+        if (newIds.size() < newPoints.length()) {
+            throw new IllegalArgumentException("Appended points contain repeated IDs.");
+        }
+        for (long id : newIds) {
+            if (points.getRowOfIndex(id) >= 0) {
+                throw new IllegalArgumentException("ID " + id + " already exists.");
+            }
+        }
+
+        int firstNewPosition = points.length();
+
+        RowCursor cursor = newPoints.cursor();
+        while (cursor.next()) {
+            points.add(cursor.getId(), cursor.toDataPoint().getData());
+            appendLastRow();
+        }
+
+        if (classifier.isRunning()) {
+            attemptToLabelUnknownPoints(firstNewPosition);
+        }
+    }
+
+    /**
+     * Puts the last row of {@link #points}, which has just been added, at the end of the UNKNOWN partition
+     */
+    private void appendLastRow() {
         int nPoints = this.points.length();
 
-        //TODO: not used
-        ExtendedLabel[] newLabels = new ExtendedLabel[nPoints + 1];
-        for (int i = 0; i < nPoints; i++ ){
-            newLabels[i] = this.labels[i];
+        // the new point is put at the end of the UNKNOWN partition. Arrays are grown by doubling, so this takes amortized O(1)
+        // time (positions past the end of views are never read by them, so a shared permutation can be written in-place)
+        if (nPoints > permutation.length) {
+            int capacity = Math.max(nPoints, 2 * permutation.length);
+            permutation = Arrays.copyOf(permutation, capacity);
+            inversePermutation = Arrays.copyOf(inversePermutation, capacity);
+            labels = labels.copyOf(capacity);
+            isPermutationShared = false;
         }
-        newLabels[nPoints] =  ExtendedLabel.fromLabel(point.getLabel());
 
+        permutation[nPoints - 1] = nPoints - 1;
+        inversePermutation[nPoints - 1] = nPoints - 1;
+        labels.set(nPoints - 1, ExtendedLabel.UNKNOWN);
     }
 
     /**
      * Through this constructor, no label inference will be done (i.e. the INFERRED LABELS partition is always empty)
-     * @param points: data points to build partitions. A copy will be stored internally to avoid unintended changes to input list.
+     * @param points: data points to build partitions. Their storage is shared, not copied; it is copied before being
+     *              modified for the first time (by either side), so no unintended changes to the input list can happen.
      */
     public PartitionedDataset(IndexedDataset points) {
         this(points, new ExtendedClassifierStub());
     }
 
-    private void initializeIndexes() {
-        int i = 0;
-        for (DataPoint point : this.points) {
-            this.indexToPosition.put(point.getId(), i++);
-        }
-    }
-
     public DataPoint get(int i){
         // TODO: check this method
-        return this.getAllPoints().get(findPosition(i));
+        return this.points.get(findRow(i));
     }
 
     /**
-     * @return the entire list of data points. The order of data points MAY CHANGE after every update() call.
+     * @return the entire list of data points, ordered by partition. The order of data points MAY CHANGE after every
+     * update() call. The returned dataset is a read-only view over the data points.
      */
     public IndexedDataset getAllPoints() {
-        return points;
+        return getPositions(0, points.length());
+    }
+
+    /**
+     * @return all data points, including duplicates. If duplicates were not collapsed, this is the same as
+     * {@link #getAllPoints()}; otherwise, the original data points are returned in their original order.
+     */
+    public IndexedDataset getOriginalPoints() {
+        return duplicates == null ? getAllPoints() : duplicates.getAllPoints();
+    }
+
+    /**
+     * @param values: a value for each data point in {@link #getAllPoints()}, in the same order
+     * @return the value of each data point in {@link #getOriginalPoints()}, in the same order: duplicate points receive
+     * the value of their unique point. The input array is returned if duplicates were not collapsed.
+     */
+    public <T> T[] expand(T[] values) {
+        if (duplicates == null) {
+            return values;
+        }
+
+        T[] byRow = Arrays.copyOf(values, values.length);
+        for (int row = 0; row < byRow.length; row++) {
+            byRow[row] = values[inversePermutation[row]];
+        }
+        return duplicates.expand(byRow);
+    }
+
+    /**
+     * @param values: a value for each data point in {@link #getAllPoints()}, in the same order
+     * @return the value of each data point in {@link #getOriginalPoints()}, in the same order: duplicate points receive
+     * the value of their unique point. The input vector is returned if duplicates were not collapsed.
+     */
+    public Vector expand(Vector values) {
+        if (duplicates == null) {
+            return values;
+        }
+
+        double[] byRow = new double[values.dim()];
+        for (int row = 0; row < byRow.length; row++) {
+            byRow[row] = values.get(inversePermutation[row]);
+        }
+        return duplicates.expand(Vector.FACTORY.make(byRow));
+    }
+
+    /**
+     * @param values: a label for each data point in {@link #getAllPoints()}, in the same order
+     * @return the label of each data point in {@link #getOriginalPoints()}, in the same order: duplicate points receive
+     * the label of their unique point. The input vector is returned if duplicates were not collapsed.
+     */
+    public LabelVector expand(LabelVector values) {
+        if (duplicates == null) {
+            return values;
+        }
+
+        return duplicates.expand(values.select(inversePermutation));
+    }
+
+    /**
+     * @return a read-only view of the data points in the positions [from, to), created in O(1) time. Later updates do not
+     * affect the returned view.
+     */
+    private IndexedDataset getPositions(int from, int to) {
+        isPermutationShared = true;
+        return points.selectRows(permutation, from, to);
+    }
+
+    /**
+     * @param sampleSize: maximum number of points to sample
+     * @return a read-only view of a uniform sample of the UNLABELED partition, computed in O(sampleSize) time. The whole
+     * partition is returned if it has at most sampleSize points.
+     * @throws IllegalArgumentException if sampleSize is not positive
+     */
+    public IndexedDataset sampleUnlabeledPoints(int sampleSize) {
+        return sampleUnlabeledPoints(sampleSize, null);
+    }
+
+    /**
+     * @param sampleSize: maximum number of points to sample
+     * @param cursor: a cursor over all data points' rows, shared by consecutive calls. If null, a uniform sample is
+     *              drawn as in {@link #sampleUnlabeledPoints(int)}.
+     * @return a read-only view of a sample of the UNLABELED partition, containing only points never returned by the
+     * cursor in its current pass. It has sampleSize points, unless the cursor's pass ends first (in which case the next
+     * call starts a new pass), or the partition is not larger than sampleSize (in which case the whole partition is returned).
+     * @throws IllegalArgumentException if sampleSize is not positive
+     */
+    public IndexedDataset sampleUnlabeledPoints(int sampleSize, ShuffledCursor cursor) {
+        return sample(inferredStart, sampleSize, cursor);
+    }
+
+    /**
+     * @see #sampleUnlabeledPoints(int)
+     */
+    public IndexedDataset sampleUnknownPoints(int sampleSize) {
+        return sampleUnknownPoints(sampleSize, null);
+    }
+
+    /**
+     * @see #sampleUnlabeledPoints(int, ShuffledCursor)
+     */
+    public IndexedDataset sampleUnknownPoints(int sampleSize, ShuffledCursor cursor) {
+        return sample(unknownStart, sampleSize, cursor);
+    }
+
+    /**
+     * Samples the points in positions [from, length())
+     */
+    private IndexedDataset sample(int from, int sampleSize, ShuffledCursor cursor) {
+        Validator.assertPositive(sampleSize);
+
+        int size = points.length() - from;
+        if (sampleSize >= size) {
+            return getPositions(from, points.length());
+        }
+
+        if (cursor == null) {
+            int[] rows = IndexSampler.sample(size, sampleSize, RandomState.newInstance());
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = permutation[from + rows[i]];
+            }
+            return points.selectRows(rows, 0, rows.length);
+        }
+
+        int[] rows = new int[sampleSize];
+        int count = 0;
+
+        // points outside the partition are skipped; since every pass goes over all points, this loop always terminates
+        while (count < sampleSize && (count == 0 || cursor.remaining() > 0)) {
+            int row = cursor.next(points.length());
+            if (inversePermutation[row] >= from) {
+                rows[count++] = row;
+            }
+        }
+
+        return points.selectRows(rows, 0, count);
     }
 
     /**
-     * @return all the data points in the MOST INFORMATIVE partition
+     * @return all the data points in the MOST INFORMATIVE partition, in the order they were labeled. The labeled points are
+     * maintained incrementally, and the returned dataset is reused until the next update() call, so this method does not
+     * copy any data when called repeatedly within an iteration.
+     * @throws IllegalArgumentException if no points were labeled
      */
     public LabeledDataset getLabeledPoints() {
-        return new LabeledDataset(points.getRange(0, inferredStart), userLabels.toArray(new UserLabel[0]));
+        return labeledStore.view();
     }
 
     /**
@@ -166,20 +405,74 @@ public final class PartitionedDataset {
      * @return a list of data points outside of the MOST INFORMATIVE partition (i.e. INFERRED LABELS + UNKNOWN partitions)
      */
     public IndexedDataset getUnlabeledPoints() {
-        return points.getRange(inferredStart, points.length());
+        return getPositions(inferredStart, points.length());
     }
 
     /**
      * @return a list of all points in the UNKNOWN partition
      */
     public IndexedDataset getUnknownPoints() {
-        return points.getRange(unknownStart, points.length());
+        return getPositions(unknownStart, points.length());
     }
 
     public int getUnknownSize() {
         return points.length() - unknownStart;
     }
 
+    /**
+     * @return the number of points in the UNKNOWN partition, counting duplicate points (see {@link #getMultiplicity})
+     */
+    public int getUnknownSizeWithDuplicates() {
+        if (duplicates == null) {
+            return getUnknownSize();
+        }
+
+        int size = 0;
+        for (int pos = unknownStart; pos < points.length(); pos++) {
+            size += duplicates.getMultiplicity(permutation[pos]);
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of points labeled or inferred as POSITIVE, counting duplicate points (see {@link #getMultiplicity})
+     */
+    public int getPositiveSizeWithDuplicates() {
+        if (duplicates == null) {
+            return labels.countPositive();
+        }
+
+        int size = 0;
+        for (int pos = 0; pos < unknownStart; pos++) {
+            int row = permutation[pos];
+            if (labels.isPositive(row)) {
+                size += duplicates.getMultiplicity(row);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param point: a data point
+     * @return the number of original data points having the same feature vector as this point (1 if duplicates were not
+     * collapsed)
+     */
+    public int getMultiplicity(DataPoint point) {
+        return getMultiplicity(point.getId());
+    }
+
+    /**
+     * @param cursor: cursor positioned at a data point
+     * @return the multiplicity of the point at the cursor's current row (see {@link #getMultiplicity(DataPoint)})
+     */
+    public int getMultiplicity(RowCursor cursor) {
+        return getMultiplicity(cursor.getId());
+    }
+
+    private int getMultiplicity(long id) {
+        return duplicates == null ? 1 : duplicates.getMultiplicity(findRow(id));
+    }
+
     /**
      * @return whether the UNKNOWN partition is not empty
      */
@@ -191,7 +484,7 @@ public final class PartitionedDataset {
      * @return a list of all data points whose labels are known (i.e. MOST INFORMATIVE + INFERRED LABELS)
      */
     public IndexedDataset getKnownPoints() {
-        return points.getRange(0, unknownStart);
+        return getPositions(0, unknownStart);
     }
 
     /**
@@ -199,7 +492,7 @@ public final class PartitionedDataset {
      * @return the current label associated to this data point
      */
     public ExtendedLabel getLabel(DataPoint point) {
-        return labels[findPosition(point.getId())];
+        return labels.get(findRow(point.getId()));
     }
 
     /**
@@ -207,9 +500,21 @@ public final class PartitionedDataset {
      * @return the current label associated to each data point in the collection
      */
     public ExtendedLabel[] getLabel(IndexedDataset points) {
-        return points.stream()
-                .map(this::getLabel)
-                .toArray(ExtendedLabel[]::new);
+        ExtendedLabel[] result = new ExtendedLabel[points.length()];
+
+        RowCursor cursor = points.cursor();
+        while (cursor.next()) {
+            result[cursor.getRow()] = getLabel(cursor);
+        }
+        return result;
+    }
+
+    /**
+     * @param cursor: cursor positioned at a data point
+     * @return the current label associated to the point at the cursor's current row
+     */
+    public ExtendedLabel getLabel(RowCursor cursor) {
+        return labels.get(findRow(cursor.getId()));
     }
 
     /**
@@ -217,14 +522,25 @@ public final class PartitionedDataset {
      * @return the predicted labels over the entire data. Points on the known partition have their labels maintained.
      */
     public Label[] predictLabels(Classifier classifier) {
-        Label[] predictedLabels = new Label[points.length()];
+        return predictLabelVector(classifier).toArray();
+    }
+
+    /**
+     * @param classifier: classification model
+     * @return the predicted labels over the entire data, in the order of {@link #getAllPoints()}, packed into a
+     * {@link LabelVector}. Points on the known partition have their labels maintained.
+     */
+    public LabelVector predictLabelVector(Classifier classifier) {
+        LabelVector predictedLabels = new LabelVector(points.length());
         for (int i = 0; i < unknownStart; i++) {
-            predictedLabels[i] = labels[i].toLabel();
+            predictedLabels.setPositive(i, labels.isPositive(permutation[i]));
         }
 
         if (hasUnknownPoints()) {
-            Label[] classifierLabels = classifier.predict(getUnknownPoints());
-            System.arraycopy(classifierLabels, 0, predictedLabels, unknownStart, classifierLabels.length);
+            LabelVector classifierLabels = classifier.predictLabelVector(getUnknownPoints());
+            for (int i = 0; i < classifierLabels.length(); i++) {
+                predictedLabels.setPositive(unknownStart + i, classifierLabels.isPositive(i));
+            }
         }
 
         return predictedLabels;
@@ -241,11 +557,8 @@ public final class PartitionedDataset {
      * @param labeledPoint: a new labeled point provided by an Active Learning exploration routine
      */
     public void update(LabeledPoint labeledPoint) {
-        // update user labels
-        userLabels.add(labeledPoint.getLabel());
-
         // update partitions
-        ExtendedLabel previousLabel = labels[findPosition(labeledPoint.getId())];
+        ExtendedLabel previousLabel = labels.get(findRow(labeledPoint.getId()));
 
         updateMostInformativePointsPartition(labeledPoint);
 
@@ -258,7 +571,7 @@ public final class PartitionedDataset {
                 relabelInferredPartition();
             }
 
-            attemptToLabelUnknownPoints();
+            attemptToLabelUnknownPoints(unknownStart);
         }
     }
 
@@ -271,13 +584,17 @@ public final class PartitionedDataset {
     }
 
     private void relabelInferredPartition() {
+        RowCursor cursor = points.cursor();
+
         for (int pos = inferredStart; pos < unknownStart; pos++) {
-            ExtendedLabel prediction = classifier.predict(points.get(pos));
+            int row = permutation[pos];
+            cursor.moveTo(row);
+            ExtendedLabel prediction = classifier.predict(cursor);
 
             // label has changed
-            if (prediction != labels[pos]) {
+            if (prediction != labels.get(row)) {
                 // update label
-                labels[pos] = prediction;
+                labels.set(row, prediction);
 
                 // if new prediction is UNKNOWN, put point on UNKNOWN partition
                 if (prediction.isUnknown()) {
@@ -289,8 +606,16 @@ public final class PartitionedDataset {
     }
 
     private void updateMostInformativePointsPartition(LabeledPoint labeledPoint) {
-        int pos = findPosition(labeledPoint.getId());
-        labels[pos] = ExtendedLabel.fromLabel(labeledPoint.getLabel());
+        int row = findRow(labeledPoint.getId());
+        int pos = inversePermutation[row];
+        labels.set(row, ExtendedLabel.fromLabel(labeledPoint.getLabel()));
+
+        // update labeled points: the MOST INFORMATIVE partition keeps the points in the order they were labeled
+        if (pos < inferredStart) {
+            labeledStore.setLabel(pos, labeledPoint.getLabel());
+        } else {
+            labeledStore.append(points.getIndex(row), points.get(row).getData(), labeledPoint.getLabel());
+        }
 
         if(pos >= unknownStart) {
             swap(pos, unknownStart);
@@ -302,39 +627,49 @@ public final class PartitionedDataset {
     }
 
 
-    private void attemptToLabelUnknownPoints() {
-        for (int position = unknownStart; position < labels.length; position++) {
-            ExtendedLabel prediction = classifier.predict(points.get(position));
+    /**
+     * Attempts to label the points of the UNKNOWN partition in positions [from, length()), moving them to the INFERRED
+     * LABELS partition whenever the data model predicts a known label
+     */
+    private void attemptToLabelUnknownPoints(int from) {
+        RowCursor cursor = points.cursor();
+
+        for (int position = from; position < points.length(); position++) {
+            int row = permutation[position];
+            cursor.moveTo(row);
+            ExtendedLabel prediction = classifier.predict(cursor);
             if (!prediction.isUnknown()) {
-                labels[position] = prediction;
+                labels.set(row, prediction);
                 swap(position, unknownStart++);
             }
         }
     }
 
+    /**
+     * Swaps the data points at positions i and j
+     */
     private void swap(int i, int j) {
-            swapMapKeys(indexToPosition, points.getIndexes().get(i), points.getIndexes().get(j));
-            swapArrayElements(labels, i, j);
-            points.swap(i, j);
-    }
+        if (isPermutationShared) {
+            permutation = permutation.clone();
+            isPermutationShared = false;
+        }
 
-    private static <K, V> void swapMapKeys(Map<K, V> map, K key1, K key2) {
-        V temp = map.get(key1);
-        map.put(key1, map.get(key2));
-        map.put(key2, temp);
-    }
+        int row = permutation[i];
+        permutation[i] = permutation[j];
+        permutation[j] = row;
 
-    private static <T> void swapArrayElements(T[] array, int i, int j) {
-        T temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+        inversePermutation[permutation[i]] = i;
+        inversePermutation[permutation[j]] = j;
     }
 
-    private int findPosition(long id) {
-        Integer position = indexToPosition.get(id);
-        if (position == null) {
+    /**
+     * @return the row in {@link #points} of the data point with the given id
+     */
+    private int findRow(long id) {
+        int row = duplicates == null ? points.getRowOfIndex(id) : duplicates.getUniqueRowOfIndex(id);
+        if (row < 0) {
             throw new IllegalArgumentException("ID " + id + " not found.");
         }
-        return position;
+        return row;
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import utils.Validator;
+import utils.linalg.Vector;
+
+/**
+ * A reusable cursor over the rows of an {@link IndexedDataset}. In contrast to {@link IndexedDataset#iterator()}, which
+ * creates a new {@link DataPoint} (and a copy of its features) for every row, a cursor only stores the current row
+ * position, and reads the features into a single reusable buffer. Whole-pool passes over a cursor allocate no memory
+ * per row.
+ *
+ * Features are only read when first accessed, so passes that only need the data points' ids never touch the feature
+ * storage. A cursor must not be used after the underlying dataset is modified.
+ */
+public final class RowCursor {
+    private final IndexedDataset dataset;
+
+    /**
+     * Features of the current row, read on demand
+     */
+    private final double[] values;
+
+    private int row;
+    private boolean isLoaded;
+
+    RowCursor(IndexedDataset dataset) {
+        this.dataset = dataset;
+        this.values = new double[dataset.dim()];
+        this.row = -1;
+    }
+
+    /**
+     * Moves the cursor to the next row. A new cursor starts before the first row.
+     * @return true if the cursor was moved to a valid row, false if the last row was already reached
+     */
+    public boolean next() {
+        if (row + 1 >= dataset.length()) {
+            return false;
+        }
+        moveTo(row + 1);
+        return true;
+    }
+
+    /**
+     * Moves the cursor to any row
+     * @param row: row index
+     * @throws IllegalArgumentException if row is out of bounds
+     */
+    public void moveTo(int row) {
+        Validator.assertIndexInBounds(row, 0, dataset.length());
+        this.row = row;
+        this.isLoaded = false;
+    }
+
+    /**
+     * Moves the cursor back to before the first row
+     */
+    public void reset() {
+        row = -1;
+        isLoaded = false;
+    }
+
+    /**
+     * @return the current row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the index of the data point at the current row
+     */
+    public long getId() {
+        return dataset.getIndex(row);
+    }
+
+    /**
+     * @return the number of features
+     */
+    public int dim() {
+        return values.length;
+    }
+
+    /**
+     * @param j: feature index
+     * @return the j-th feature of the data point at the current row
+     * @throws IllegalStateException if the cursor is not on a valid row
+     * @throws ArrayIndexOutOfBoundsException if j is out of bounds
+     */
+    public double get(int j) {
+        load();
+        return values[j];
+    }
+
+    /**
+     * @return a new DataPoint holding a copy of the current row. Unlike the other methods, this allocates memory.
+     * @throws IllegalStateException if the cursor is not on a valid row
+     */
+    public DataPoint toDataPoint() {
+        load();
+        return new DataPoint(getId(), Vector.FACTORY.make(values.clone()));
+    }
+
+    private void load() {
+        if (row < 0) {
+            throw new IllegalStateException("Cursor is not on a valid row.");
+        }
+        if (!isLoaded) {
+            dataset.copyRow(row, values);
+            isLoaded = true;
+        }
+    }
+}
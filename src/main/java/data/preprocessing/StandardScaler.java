@@ -24,6 +24,7 @@ import data.IndexedDataset;
 import explore.statistics.Statistics;
 import utils.Validator;
 import utils.linalg.Matrix;
+import utils.linalg.ScaledView;
 import utils.linalg.Vector;
 
 /**
@@ -49,6 +50,20 @@ public class StandardScaler {
         this.std = std;
     }
 
+    /**
+     * @param mean: mean of each column
+     * @param std: standard deviation of each column
+     * @return a Standard Scaler object with the given statistics, such as the ones of a previously fitted scaler
+     * @throws IllegalArgumentException if mean and std have different dimensions, or any standard deviation is not positive
+     */
+    public static StandardScaler make(Vector mean, Vector std) {
+        Validator.assertEquals(mean.dim(), std.dim());
+        for (int i = 0; i < std.dim(); i++) {
+            Validator.assertPositive(std.get(i));
+        }
+        return new StandardScaler(mean, std);
+    }
+
     /**
      * Compute the mean and standard deviation of each column in the input collection
      * @param points: collection of points to fit
@@ -104,13 +119,27 @@ public class StandardScaler {
         return Vector.FACTORY.make(std);
     }
 
+    /**
+     * @return the mean of each column
+     */
+    public Vector getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the standard deviation of each column
+     */
+    public Vector getStandardDeviation() {
+        return std;
+    }
+
     /**
      * @param dataPoints: data to standardize
      * @return a new standardized collection of points
      * @throws IllegalArgumentException if data points have different dimension from fitted data
      */
     public Matrix transform(Matrix dataPoints){
-        return dataPoints.subtractRow(mean).divideRow(std);
+        return new ScaledView(dataPoints, mean, std).toMatrix();
     }
 
     /**
@@ -121,4 +150,14 @@ public class StandardScaler {
     public IndexedDataset transform(IndexedDataset dataset){
         return dataset.copyWithSameIndexes(transform(dataset.getData()));
     }
+
+    /**
+     * @param dataset: data to standardize
+     * @return a new IndexedDataset with same indexes, whose data is a {@link ScaledView} standardizing the input data on
+     * the fly. No copy of the data is made, so memory-mapped data is never brought into the heap as a whole.
+     * @throws IllegalArgumentException if dataset has different dimension from fitted data
+     */
+    public IndexedDataset transformLazily(IndexedDataset dataset){
+        return dataset.copyWithScaledData(mean, std);
+    }
 }
@@ -20,6 +20,7 @@
 
 package explore;
 
+import data.DeduplicatedDataset;
 import data.IndexedDataset;
 import data.LabeledPoint;
 import data.PartitionedDataset;
@@ -44,10 +45,24 @@ public final class Evaluate {
     private final User user;
     private final IndexedDataset dataPoints;
 
+    /**
+     * Duplicate structure of the data points, if exact duplicates are collapsed (null otherwise)
+     */
+    private final DeduplicatedDataset duplicates;
+
     public Evaluate(FolderManager folder, ExperimentConfiguration configuration, IndexedDataset dataPoints, User user) {
+        this(folder, configuration, dataPoints, null, user);
+    }
+
+    public Evaluate(FolderManager folder, ExperimentConfiguration configuration, DeduplicatedDataset dataPoints, User user) {
+        this(folder, configuration, dataPoints.getAllPoints(), dataPoints, user);
+    }
+
+    private Evaluate(FolderManager folder, ExperimentConfiguration configuration, IndexedDataset dataPoints, DeduplicatedDataset duplicates, User user) {
         this.folder = folder;
         this.configuration = configuration;
         this.dataPoints = dataPoints;
+        this.duplicates = duplicates;
         this.user = user;
     }
 
@@ -59,8 +74,8 @@ public final class Evaluate {
         PartitionedDataset partitionedDataset = configuration
                 .getTsmConfiguration()
                 .getMultiTsmModel()
-                .map(x -> new PartitionedDataset(dataPoints, x))
-                .orElseGet(() -> new PartitionedDataset(dataPoints));
+                .map(x -> duplicates == null ? new PartitionedDataset(dataPoints, x) : new PartitionedDataset(duplicates, x))
+                .orElseGet(() -> duplicates == null ? new PartitionedDataset(dataPoints) : new PartitionedDataset(duplicates));
 
         setRandomSeed(id);
 
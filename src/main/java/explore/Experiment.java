@@ -20,16 +20,20 @@
 
 package explore;
 
+import data.DeduplicatedDataset;
 import data.IndexedDataset;
 import data.preprocessing.StandardScaler;
 import explore.user.FactoredUser;
 import explore.user.User;
 import explore.user.UserStub;
+import io.DatasetSnapshot;
 import io.FolderManager;
 import io.TaskReader;
 import machinelearning.active.learning.QueryByDisagreement;
 import config.ExperimentConfiguration;
 
+import java.util.Arrays;
+
 
 public final class Experiment {
     private final FolderManager experimentFolder;
@@ -52,20 +56,54 @@ public final class Experiment {
             configuration.setInitialSampler(reader.getTaskConfig().getDefaultInitialSampler());
         }
 
-        IndexedDataset rawData = reader.readData();
-        IndexedDataset scaledData = rawData.copyWithSameIndexes(StandardScaler.fitAndTransform(rawData.getData()));
+        IndexedDataset scaledData;
+        int[][] snapshotFeatureGroups = null;
+
+        if (configuration.useDatasetSnapshot()) {
+            DatasetSnapshot snapshot = reader.readSnapshot(experimentFolder.getSnapshotFile());
+            StandardScaler scaler = snapshot.getScaler().orElseGet(() -> StandardScaler.fit(snapshot.getDataset()));
+            scaledData = configuration.useLazyScaling()
+                    ? scaler.transformLazily(snapshot.getDataset())
+                    : scaler.transform(snapshot.getDataset());
+            snapshotFeatureGroups = snapshot.getFeatureGroups();
+        } else {
+            IndexedDataset rawData = reader.readData();
+            scaledData = configuration.useLazyScaling()
+                    ? StandardScaler.fit(rawData).transformLazily(rawData)
+                    : rawData.copyWithSameIndexes(StandardScaler.fitAndTransform(rawData.getData()));
+        }
+
         User user = getUser(configuration, reader);
 
         if(configuration.hasFactorizationInformation()) {
-            scaledData.setFactorizationStructure(configuration.getTsmConfiguration().getColumnPartitionIndexes());
+            int[][] featureGroups = configuration.getTsmConfiguration().getColumnPartitionIndexes();
+            if (snapshotFeatureGroups != null && !Arrays.deepEquals(featureGroups, snapshotFeatureGroups)) {
+                throw new IllegalStateException("Snapshot feature groups " + Arrays.deepToString(snapshotFeatureGroups)
+                        + " do not match the configured factorization " + Arrays.deepToString(featureGroups) + ".");
+            }
+            scaledData.setFactorizationStructure(featureGroups, configuration.useColumnGroupViews());
+        }
+
+        if (configuration.useSinglePrecision()) {
+            scaledData = scaledData.toSinglePrecision();
+        } else if (configuration.useOffHeapStorage()) {
+            scaledData = scaledData.toOffHeap();
+        } else if (configuration.useEncodedStorage()) {
+            scaledData = scaledData.toEncoded();
         }
 
         if (configuration.getActiveLearner() instanceof QueryByDisagreement) {
             ((QueryByDisagreement) configuration.getActiveLearner()).setDataset(scaledData);
         }
 
-        explore = new Explore(experimentFolder, configuration, scaledData, user);
-        evaluate = new Evaluate(experimentFolder, configuration, scaledData, user);
+        if (configuration.useDuplicateCollapsing()) {
+            DeduplicatedDataset uniqueData = DeduplicatedDataset.of(scaledData);
+            explore = new Explore(experimentFolder, configuration, uniqueData, user);
+            evaluate = new Evaluate(experimentFolder, configuration, uniqueData, user);
+        } else {
+            explore = new Explore(experimentFolder, configuration, scaledData, user);
+            evaluate = new Evaluate(experimentFolder, configuration, scaledData, user);
+        }
     }
 
     private User getUser(ExperimentConfiguration configuration, TaskReader reader) {
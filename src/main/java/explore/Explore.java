@@ -21,6 +21,7 @@
 package explore;
 
 import config.ExperimentConfiguration;
+import data.DeduplicatedDataset;
 import data.IndexedDataset;
 import data.LabeledPoint;
 import data.PartitionedDataset;
@@ -47,6 +48,11 @@ import java.util.Map;
 public final class Explore {
     private final FolderManager folder;
     private final IndexedDataset dataPoints;
+
+    /**
+     * Duplicate structure of the data points, if exact duplicates are collapsed (null otherwise)
+     */
+    private final DeduplicatedDataset duplicates;
     private final User user;
     private final ExperimentConfiguration configuration;
 
@@ -56,9 +62,23 @@ public final class Explore {
      * @param user: the user for labeling points
      */
     public Explore(FolderManager folder, ExperimentConfiguration configuration, IndexedDataset dataPoints, User user) {
+        this(folder, configuration, dataPoints, null, user);
+    }
+
+    /**
+     * @param folder: the exploration folder where results will be stored
+     * @param dataPoints: unlabeled pool of points, with exact duplicates collapsed
+     * @param user: the user for labeling points
+     */
+    public Explore(FolderManager folder, ExperimentConfiguration configuration, DeduplicatedDataset dataPoints, User user) {
+        this(folder, configuration, dataPoints.getAllPoints(), dataPoints, user);
+    }
+
+    private Explore(FolderManager folder, ExperimentConfiguration configuration, IndexedDataset dataPoints, DeduplicatedDataset duplicates, User user) {
         this.folder = folder;
         this.configuration = configuration;
         this.dataPoints = dataPoints;
+        this.duplicates = duplicates;
         this.user = user;
     }
 
@@ -148,8 +168,8 @@ public final class Explore {
         PartitionedDataset partitionedDataset = configuration
                 .getTsmConfiguration()
                 .getMultiTsmModel()
-                .map(x -> new PartitionedDataset(dataPoints, x))
-                .orElseGet(() -> new PartitionedDataset(dataPoints));
+                .map(x -> duplicates == null ? new PartitionedDataset(dataPoints, x) : new PartitionedDataset(duplicates, x))
+                .orElseGet(() -> duplicates == null ? new PartitionedDataset(dataPoints) : new PartitionedDataset(duplicates));
 
         folder.getLabeledPoints(id).forEach(partitionedDataset::update);
         return partitionedDataset;
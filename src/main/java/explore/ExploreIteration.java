@@ -24,6 +24,7 @@ import config.ExperimentConfiguration;
 import data.DataPoint;
 import data.IndexedDataset;
 import data.PartitionedDataset;
+import explore.sampling.ShuffledCursor;
 import explore.user.User;
 import machinelearning.active.Ranker;
 import utils.RandomState;
@@ -55,21 +56,26 @@ public class ExploreIteration extends Iteration {
      */
     private final double searchUnknownRegionProbability;
 
+    /**
+     * Cursor used for subsampling points never scored before, or null if independent subsamples are drawn
+     */
+    private final ShuffledCursor cursor;
+
     public ExploreIteration(ExperimentConfiguration configuration) {
         super(configuration);
         this.subsampleSize = configuration.getSubsampleSize();
         this.searchUnknownRegionProbability = configuration.getTsmConfiguration().getSearchUnknownRegionProbability();
+        this.cursor = configuration.useShuffledSubsampling() ? new ShuffledCursor() : null;
     }
 
     @Override
     public List<DataPoint> getNextPointsToLabel(PartitionedDataset partitionedDataset, User user, Ranker ranker) {
-        IndexedDataset unlabeledData = getUnlabeledData(partitionedDataset);
-        IndexedDataset sample = unlabeledData.sample(subsampleSize);
+        IndexedDataset sample = getUnlabeledSample(partitionedDataset);
         return Collections.singletonList(ranker.top(sample));
     }
 
-    private IndexedDataset getUnlabeledData(PartitionedDataset dataset) {
+    private IndexedDataset getUnlabeledSample(PartitionedDataset dataset) {
         boolean useUnknown = dataset.hasUnknownPoints() && RandomState.newInstance().nextDouble() <= searchUnknownRegionProbability;
-        return useUnknown ? dataset.getUnknownPoints() : dataset.getUnlabeledPoints();
+        return useUnknown ? dataset.sampleUnknownPoints(subsampleSize, cursor) : dataset.sampleUnlabeledPoints(subsampleSize, cursor);
     }
 }
\ No newline at end of file
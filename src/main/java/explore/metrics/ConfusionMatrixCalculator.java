@@ -24,6 +24,7 @@ import data.PartitionedDataset;
 import explore.user.User;
 import explore.user.UserLabel;
 import machinelearning.classifier.Classifier;
+import machinelearning.classifier.LabelVector;
 import machinelearning.classifier.Learner;
 import utils.Validator;
 
@@ -41,9 +42,9 @@ public class ConfusionMatrixCalculator implements MetricCalculator {
 
     @Override
     public MetricStorage compute(PartitionedDataset data, User user) {
-        UserLabel[] trueLabels = user.getLabel(data.getAllPoints());
+        LabelVector trueLabels = user.getLabelVector(data.getOriginalPoints());
         Classifier classifier = learner.fit(data.getLabeledPoints());
-        return compute(trueLabels, data.predictLabels(classifier));
+        return compute(trueLabels, data.expand(data.predictLabelVector(classifier)));
     }
 
     /**
@@ -58,22 +59,26 @@ public class ConfusionMatrixCalculator implements MetricCalculator {
         Validator.assertEqualLengths(trueLabels, predictedLabels);
         Validator.assertNotEmpty(trueLabels);
 
-        int truePositives = 0, trueNegatives = 0, falseNegatives = 0, falsePositives = 0;
+        return compute(LabelVector.fromLabels(trueLabels), LabelVector.fromLabels(predictedLabels));
+    }
+
+    /**
+     * Computes a ConfusionMatrix from packed true and predicted labels. All four counts are derived from three popcount
+     * passes (positive true labels, positive predictions, and their intersection), each one processing 64 labels at a time.
+     *
+     * @param trueLabels: packed true labels
+     * @param predictedLabels: packed predicted labels
+     * @return a confusion matrix
+     * @throws IllegalArgumentException if inputs have different lengths or are empty
+     */
+    public static ConfusionMatrix compute(LabelVector trueLabels, LabelVector predictedLabels) {
+        Validator.assertEquals(trueLabels.length(), predictedLabels.length());
+        Validator.assertPositive(trueLabels.length());
 
-        for(int i=0; i < trueLabels.length; i++){
-            if(predictedLabels[i].isPositive()){
-                if(trueLabels[i].isPositive())
-                    truePositives++;
-                else
-                    falsePositives++;
-            }
-            else {
-                if(trueLabels[i].isPositive())
-                    falseNegatives++;
-                else
-                    trueNegatives++;
-            }
-        }
+        int truePositives = trueLabels.countPositiveInBoth(predictedLabels);
+        int falsePositives = predictedLabels.countPositive() - truePositives;
+        int falseNegatives = trueLabels.countPositive() - truePositives;
+        int trueNegatives = trueLabels.length() - truePositives - falsePositives - falseNegatives;
 
         return new ConfusionMatrix(truePositives, trueNegatives, falsePositives, falseNegatives);
     }
@@ -39,7 +39,7 @@ public class SubspatialConfusionMatrixCalculator implements MetricCalculator {
 
     @Override
     public MetricStorage compute(PartitionedDataset data, User user) {
-        Label[][] trueLabels = user.getPartialLabels(data.getAllPoints());
+        Label[][] trueLabels = user.getPartialLabels(data.getOriginalPoints());
 
         LabeledDataset labeledDataset = data.getLabeledPoints();
         SubspatialClassifier subspatialClassifier = ((SubspatialLearner) subspatialLearner).fit(labeledDataset);
@@ -49,7 +49,7 @@ public class SubspatialConfusionMatrixCalculator implements MetricCalculator {
 
         ConfusionMatrix[] confusionMatrices = new ConfusionMatrix[labeledDataset.partitionSize()];
         for (int i = 0; i < confusionMatrices.length; i++) {
-            confusionMatrices[i] = ConfusionMatrixCalculator.compute(trueLabels[i], predictedLabels[i]);
+            confusionMatrices[i] = ConfusionMatrixCalculator.compute(trueLabels[i], data.expand(predictedLabels[i]));
         }
 
         return new SubspatialConfusionMatrix(confusionMatrices);
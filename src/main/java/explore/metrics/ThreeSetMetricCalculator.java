@@ -22,17 +22,13 @@ package explore.metrics;
 
 import data.PartitionedDataset;
 import explore.user.User;
-import machinelearning.threesetmetric.ExtendedLabel;
 
 public class ThreeSetMetricCalculator implements MetricCalculator {
     @Override
     public MetricStorage compute(PartitionedDataset data, User user) {
-        double numPositivePoints = data.getKnownPoints().stream()
-                .map(data::getLabel)
-                .filter(ExtendedLabel::isPositive)
-                .count();
+        double numPositivePoints = data.getPositiveSizeWithDuplicates();
 
-        double numUncertainPoints = data.getUnknownSize();
+        double numUncertainPoints = data.getUnknownSizeWithDuplicates();
 
         return new ThreeSetMetric(numPositivePoints, numUncertainPoints);
     }
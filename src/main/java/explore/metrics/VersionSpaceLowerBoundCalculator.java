@@ -35,7 +35,7 @@ public class VersionSpaceLowerBoundCalculator implements MetricCalculator {
     public MetricStorage compute(PartitionedDataset data, User user) {
         Classifier majorityVoteClassifier = learner.fit(data.getLabeledPoints());
 
-        Vector cutProbabilities = majorityVoteClassifier.probability(data.getAllPoints());
+        Vector cutProbabilities = data.expand(majorityVoteClassifier.probability(data.getAllPoints()));
 
         int size = cutProbabilities.dim();
         int positiveCount = 0, negativeCount = 0, predictedPositives = 0;
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package explore.sampling;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Uniform sampling of distinct row numbers, without replacement. Unlike {@link ReservoirSampler}, it does not iterate over
+ * the whole population: Floyd's algorithm draws a sample of size k from {0, ..., n-1} in O(k) expected time and memory,
+ * regardless of n.
+ *
+ * @see <a href="https://doi.org/10.1145/30401.315746">Bentley and Floyd, "A sample of brilliance" (1987)</a>
+ */
+public final class IndexSampler {
+    private IndexSampler() {
+        // avoid instantiating this class
+    }
+
+    /**
+     * @param populationSize: number of elements to sample from
+     * @param sampleSize: number of distinct elements to sample
+     * @param random: random number generator
+     * @return a uniform sample of {@code sampleSize} distinct elements of {0, ..., populationSize - 1}, in increasing order
+     * @throws IllegalArgumentException if sampleSize is not positive, or it is larger than populationSize
+     */
+    public static int[] sample(int populationSize, int sampleSize, Random random) {
+        Validator.assertPositive(sampleSize);
+        if (sampleSize > populationSize) {
+            throw new IllegalArgumentException("Sample size " + sampleSize + " is larger than population size " + populationSize + ".");
+        }
+
+        IntSet selected = new IntSet(sampleSize);
+        int[] sample = new int[sampleSize];
+
+        for (int j = populationSize - sampleSize, i = 0; j < populationSize; j++, i++) {
+            int t = random.nextInt(j + 1);
+            if (!selected.add(t)) {
+                selected.add(j);
+                t = j;
+            }
+            sample[i] = t;
+        }
+
+        Arrays.sort(sample);
+        return sample;
+    }
+
+    /**
+     * A fixed-capacity, open-addressing set of non-negative integers
+     */
+    private static final class IntSet {
+        private final int[] table;
+        private final int mask;
+
+        IntSet(int maxSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, 2 * maxSize - 1)) << 1;
+            table = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(table, -1);
+        }
+
+        /**
+         * @return whether the value was added, i.e. it was not in the set before
+         */
+        boolean add(int value) {
+            int h = value * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+
+            while (table[slot] >= 0) {
+                if (table[slot] == value) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = value;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package explore.sampling;
+
+import utils.RandomState;
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A cursor over a random permutation of {0, ..., n-1}. Each call to {@link #next} returns an element not returned since
+ * the current pass started; once all n elements have been returned, a new pass starts over a fresh permutation.
+ *
+ * The permutation is built lazily by an incremental Fisher-Yates shuffle, so each element costs O(1) time. It allows
+ * consecutive exploration iterations to subsample points that were never scored before.
+ */
+public final class ShuffledCursor {
+    private final Random random;
+
+    /**
+     * Current permutation. Positions before {@link #position} have already been returned in this pass.
+     */
+    private int[] permutation;
+
+    private int position;
+
+    public ShuffledCursor() {
+        this.random = RandomState.newInstance();
+    }
+
+    /**
+     * @param size: population size n. If the population has grown since the last call, the new elements are added to the
+     *            elements not yet returned in the current pass; if it has shrunk, a new pass is started.
+     * @return the next element of the permutation of {0, ..., size - 1}
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public int next(int size) {
+        Validator.assertPositive(size);
+
+        if (permutation == null || permutation.length > size) {
+            permutation = new int[0];
+            position = 0;
+        }
+
+        if (permutation.length < size) {
+            int previousSize = permutation.length;
+            permutation = Arrays.copyOf(permutation, size);
+            for (int i = previousSize; i < size; i++) {
+                permutation[i] = i;
+            }
+        }
+
+        // any arrangement of the elements can be used as the starting point of a new shuffle
+        if (position == size) {
+            position = 0;
+        }
+
+        int j = position + random.nextInt(size - position);
+        int element = permutation[j];
+        permutation[j] = permutation[position];
+        permutation[position++] = element;
+        return element;
+    }
+
+    /**
+     * @return number of elements not yet returned in the current pass (0 if no pass has started)
+     */
+    public int remaining() {
+        return permutation == null ? 0 : permutation.length - position;
+    }
+}
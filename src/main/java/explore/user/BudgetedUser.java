@@ -21,6 +21,7 @@
 package explore.user;
 
 import data.DataPoint;
+import data.RowCursor;
 import utils.Validator;
 
 import java.util.Objects;
@@ -86,4 +87,20 @@ public final class BudgetedUser implements User {
 
         return user.getLabel(point);
     }
+
+    /**
+     * @param cursor: cursor positioned at the point to label
+     * @return the label of the point at the cursor's current row
+     * @throws IllegalStateException if attempting to label a data point when the budget has already been met.
+     */
+    @Override
+    public UserLabel getLabel(RowCursor cursor) {
+        if (!isWilling()) {
+            throw new IllegalStateException("Attempting to request label after budget was reached.");
+        }
+
+        numberOfLabeledPoints++;
+
+        return user.getLabel(cursor);
+    }
 }
@@ -21,6 +21,7 @@
 package explore.user;
 
 import data.DataPoint;
+import data.RowCursor;
 import machinelearning.classifier.Label;
 import machinelearning.threesetmetric.LabelGroup;
 import utils.Validator;
@@ -47,6 +48,15 @@ public class FactoredUser implements User {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public LabelGroup getLabel(RowCursor cursor) {
+        Label[] labels = new Label[partialUsers.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = partialUsers.get(i).getLabel(cursor);
+        }
+        return new LabelGroup(labels);
+    }
+
     @Override
     public LabelGroup getLabel(DataPoint point) {
         return new LabelGroup(
@@ -22,7 +22,9 @@ package explore.user;
 
 import data.DataPoint;
 import data.IndexedDataset;
+import data.RowCursor;
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
 import utils.Validator;
 
 /**
@@ -37,15 +39,42 @@ public interface User {
      */
     UserLabel getLabel(DataPoint point);
 
+    /**
+     * @param cursor: cursor positioned at the point to label
+     * @return label of the point at the cursor's current row. By default, the row is copied into a new DataPoint;
+     * implementations should override this method whenever labels can be computed from the cursor directly.
+     */
+    default UserLabel getLabel(RowCursor cursor) {
+        return getLabel(cursor.toDataPoint());
+    }
+
     /**
      * Return the labels of a batch of rows
      * @param points: collection of data points
      * @return an array containing the labels of each requested row
      */
     default UserLabel[] getLabel(IndexedDataset points){
-        return points.stream()
-                .map(this::getLabel)
-                .toArray(UserLabel[]::new);
+        UserLabel[] labels = new UserLabel[points.length()];
+
+        RowCursor cursor = points.cursor();
+        while (cursor.next()) {
+            labels[cursor.getRow()] = getLabel(cursor);
+        }
+        return labels;
+    }
+
+    /**
+     * @param points: collection of data points
+     * @return the labels of each requested row, packed into a {@link LabelVector} (a row is POSITIVE if its label is)
+     */
+    default LabelVector getLabelVector(IndexedDataset points) {
+        LabelVector labels = new LabelVector(points.length());
+
+        RowCursor cursor = points.cursor();
+        while (cursor.next()) {
+            labels.setPositive(cursor.getRow(), getLabel(cursor).isPositive());
+        }
+        return labels;
     }
 
     default Label[][] getPartialLabels(IndexedDataset dataset) {
@@ -21,9 +21,11 @@
 package explore.user;
 
 import data.DataPoint;
+import data.RowCursor;
 import machinelearning.classifier.Label;
 import utils.Validator;
 
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -32,9 +34,9 @@ import java.util.Set;
  */
 public class UserStub implements User {
     /**
-     * id's of the positive {@link DataPoint}
+     * id's of the positive {@link DataPoint}, in increasing order
      */
-    private Set<Long> positiveKeys;
+    private final long[] positiveKeys;
 
     /**
      * @param positiveKeys: set of data point's indexes in the target set
@@ -42,7 +44,7 @@ public class UserStub implements User {
      */
     public UserStub(Set<Long> positiveKeys) {
         Validator.assertNotEmpty(positiveKeys);
-        this.positiveKeys = positiveKeys;
+        this.positiveKeys = positiveKeys.stream().mapToLong(Long::longValue).sorted().toArray();
     }
 
     /**
@@ -50,6 +52,18 @@ public class UserStub implements User {
      */
     @Override
     public Label getLabel(DataPoint point) {
-        return positiveKeys.contains(point.getId()) ? Label.POSITIVE : Label.NEGATIVE;
+        return getLabel(point.getId());
+    }
+
+    /**
+     * @return POSITIVE if positiveKeys contains the id of the cursor's current row; else NEGATIVE
+     */
+    @Override
+    public Label getLabel(RowCursor cursor) {
+        return getLabel(cursor.getId());
+    }
+
+    private Label getLabel(long id) {
+        return Arrays.binarySearch(positiveKeys, id) >= 0 ? Label.POSITIVE : Label.NEGATIVE;
     }
 }
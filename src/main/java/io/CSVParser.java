@@ -26,11 +26,38 @@ import data.IndexedDataset;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 
 public class CSVParser{
 
+    /**
+     * Parses a CSV file through a snapshot file (see {@link DatasetSnapshot}): the file is only parsed if the snapshot
+     * does not exist, or was written from a different version of the file or from different columns.
+     * @param filePath: path of the CSV file
+     * @param columnIds: index of each column to read
+     * @param keyColumnId: index of the key column, stored as secondary index
+     * @param snapshotFile: path of the snapshot file
+     * @return the dataset stored in the snapshot, whose data points are memory-mapped
+     */
+    public IndexedDataset buildIndexedDataset(String filePath, ArrayList<Integer> columnIds, int keyColumnId, Path snapshotFile) throws IOException{
+        Path csvFile = Paths.get(filePath);
+        String source = String.join("|", csvFile.toAbsolutePath().toString(), String.valueOf(Files.size(csvFile)),
+                String.valueOf(Files.getLastModifiedTime(csvFile).toMillis()), columnIds.toString(), String.valueOf(keyColumnId));
+
+        Optional<DatasetSnapshot> snapshot = DatasetSnapshot.openIfValid(snapshotFile, source);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getDataset();
+        }
+
+        IndexedDataset dataset = buildIndexedDataset(filePath, columnIds, keyColumnId);
+        DatasetSnapshot.write(snapshotFile, source, dataset, null, new int[][] {});
+        return DatasetSnapshot.open(snapshotFile).getDataset();
+    }
+
     public IndexedDataset buildIndexedDataset(String filePath, ArrayList<Integer> columnIds, int keyColumnId) throws IOException{
         CSVReader reader = new CSVReader(new FileReader(filePath));
         reader.readNext();
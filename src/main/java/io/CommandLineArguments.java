@@ -46,6 +46,9 @@ public class CommandLineArguments {
     @Parameter(names = "--metrics", variableArity = true)
     private List<String> metrics = new ArrayList<>();
 
+    @Parameter(names = "--linalg_backend")
+    private String linearAlgebraBackend;
+
     private CommandLineArguments() {
 
     }
@@ -74,6 +77,13 @@ public class CommandLineArguments {
         return metrics;
     }
 
+    /**
+     * @return the name of the linear algebra backend to use, or null if the default one should be kept
+     */
+    public String getLinearAlgebraBackend() {
+        return linearAlgebraBackend;
+    }
+
     public static CommandLineArguments parseCommandLineArgs(String[] args) {
         CommandLineArguments arguments = new CommandLineArguments();
         JCommander.newBuilder()
@@ -92,6 +102,7 @@ public class CommandLineArguments {
                 ", numRuns=" + numRuns +
                 ", runs=" + runs +
                 ", metrics=" + metrics +
+                ", linearAlgebraBackend=" + linearAlgebraBackend +
                 '}';
     }
 }
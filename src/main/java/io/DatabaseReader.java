@@ -135,6 +135,30 @@ public class DatabaseReader {
         return keys;
     }
 
+    /**
+     * Computes a cheap summary of a table's contents, which changes whenever rows are inserted or deleted. Updates to
+     * existing rows are not detected.
+     * @param table: table's name
+     * @param key: name of column to use as key. Should contain unique values, and of type Long
+     * @return the table's row count and maximum key, on the format "count:max"
+     */
+    public String readTableSummary(String table, String key){
+        String SQL = "SELECT COUNT(*), MAX(" + key + ") FROM " + table + ';';
+
+        try (
+                Connection conn = connect();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(SQL)
+        ) {
+            rs.next();
+            return rs.getLong(1) + ":" + rs.getLong(2);
+
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            throw new RuntimeException("Couldn't read data from database.");
+        }
+    }
+
     private Connection connect() throws SQLException {
         return DriverManager.getConnection("jdbc:" + connectionString, user, password);
     }
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package io;
+
+import data.IndexedDataset;
+import data.preprocessing.StandardScaler;
+import utils.Validator;
+import utils.linalg.OffHeapMatrix;
+import utils.linalg.Vector;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A binary snapshot of a dataset, holding its indexes, data points, scaler statistics and factorization column groups.
+ * A snapshot is written once, after the dataset has been read from its original source (database, CSV file, ...), and
+ * subsequently opened in time proportional to the number of rows: the data points are memory-mapped (see
+ * {@link OffHeapMatrix.FACTORY#map(Path, long, int, int)}), so they are only read from disk when accessed.
+ *
+ * Each snapshot records a description of its source. A snapshot is only reused if its source matches the current one,
+ * so changing the dataset, columns or feature groups invalidates it. Changes to the data itself are only detected if
+ * they are reflected in the source description (see {@link TaskReader#readSnapshot(Path)}).
+ *
+ * File layout (all values are little-endian):
+ *  - header: magic number (long), format version (int), rows (int), cols (int), source (int length + UTF-8 bytes)
+ *  - scaler: flag (byte), followed by the mean and standard deviation of each column (doubles) if the flag is set
+ *  - feature groups: number of groups (int), followed by each group's length (int) and column indexes (ints)
+ *  - secondary index flag (byte), followed by zero padding up to a multiple of 8 bytes
+ *  - indexes (long[rows]), followed by the secondary indexes (long[rows]) if the flag is set
+ *  - data points (double[rows * cols]), in row-major order
+ */
+public final class DatasetSnapshot {
+    private static final long MAGIC = 0x41494445534E4150L;  // "AIDESNAP"
+    private static final int VERSION = 1;
+
+    /**
+     * Number of indexes read from disk at a time
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String source;
+    private final IndexedDataset dataset;
+    private final StandardScaler scaler;
+    private final int[][] featureGroups;
+
+    private DatasetSnapshot(String source, IndexedDataset dataset, StandardScaler scaler, int[][] featureGroups) {
+        this.source = source;
+        this.dataset = dataset;
+        this.scaler = scaler;
+        this.featureGroups = featureGroups;
+    }
+
+    /**
+     * @return the description of the snapshot's source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the dataset, whose data points are memory-mapped. It also holds the secondary index, if it was written.
+     */
+    public IndexedDataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * @return the scaler statistics, if they were written
+     */
+    public Optional<StandardScaler> getScaler() {
+        return Optional.ofNullable(scaler);
+    }
+
+    /**
+     * @return the factorization column groups
+     */
+    public int[][] getFeatureGroups() {
+        return featureGroups;
+    }
+
+    /**
+     * Writes a snapshot to a file. The snapshot is written to a temporary file first, and then moved to its final
+     * location, so a snapshot file is never left partially written.
+     * @param file: output file. It will be overwritten if it already exists.
+     * @param source: description of the dataset's source
+     * @param dataset: dataset to write. Its secondary index is also written, if set.
+     * @param scaler: scaler fitted over the dataset, or null if no scaling is needed
+     * @param featureGroups: factorization column groups
+     * @throws IllegalArgumentException if the scaler or any feature group are incompatible with the dataset dimension
+     * @throws RuntimeException if the file could not be written
+     */
+    public static void write(Path file, String source, IndexedDataset dataset, StandardScaler scaler, int[][] featureGroups) {
+        int rows = dataset.length(), cols = dataset.dim();
+        Validator.assertPositive(rows);
+
+        if (scaler != null) {
+            Validator.assertEquals(scaler.getMean().dim(), cols);
+        }
+        for (int[] group : featureGroups) {
+            Validator.assertNotEmpty(group);
+            Arrays.stream(group).forEach(j -> Validator.assertIndexInBounds(j, 0, cols));
+        }
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, encodeHeader(source, rows, cols, scaler, featureGroups, dataset.hasSecondaryIndex()));
+
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeIndexes(channel, buffer, rows, dataset::getIndex);
+            if (dataset.hasSecondaryIndex()) {
+                writeIndexes(channel, buffer, rows, dataset::getSecondaryIndex);
+            }
+
+            for (int from = 0; from < rows; from += IndexedDataset.BLOCK_SIZE) {
+                OffHeapMatrix.write(dataset.getData(from, Math.min(rows, from + IndexedDataset.BLOCK_SIZE)), channel);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to write snapshot file " + file, ex);
+        }
+
+        try {
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to move snapshot file to " + file, ex);
+        }
+    }
+
+    private static ByteBuffer encodeHeader(String source, int rows, int cols, StandardScaler scaler, int[][] featureGroups, boolean hasSecondaryIndex) {
+        byte[] sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+
+        int size = Long.BYTES + 5 * Integer.BYTES + sourceBytes.length + 2;
+        if (scaler != null) {
+            size += 2 * cols * Double.BYTES;
+        }
+        for (int[] group : featureGroups) {
+            size += (group.length + 1) * Integer.BYTES;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(padded(size)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC).putInt(VERSION).putInt(rows).putInt(cols);
+        header.putInt(sourceBytes.length).put(sourceBytes);
+
+        header.put((byte) (scaler == null ? 0 : 1));
+        if (scaler != null) {
+            header.asDoubleBuffer().put(scaler.getMean().toArray()).put(scaler.getStandardDeviation().toArray());
+            // Buffer methods are called through Buffer, since ByteBuffer only overrides them from Java 9 onwards
+            ((Buffer) header).position(header.position() + 2 * cols * Double.BYTES);
+        }
+
+        header.putInt(featureGroups.length);
+        for (int[] group : featureGroups) {
+            header.putInt(group.length);
+            header.asIntBuffer().put(group);
+            ((Buffer) header).position(header.position() + group.length * Integer.BYTES);
+        }
+
+        header.put((byte) (hasSecondaryIndex ? 1 : 0));
+
+        ((Buffer) header).clear();
+        return header;
+    }
+
+    private interface IndexGetter {
+        long get(int row);
+    }
+
+    private static void writeIndexes(FileChannel channel, ByteBuffer buffer, int rows, IndexGetter indexes) throws IOException {
+        for (int from = 0; from < rows; from += BUFFER_SIZE) {
+            int to = Math.min(rows, from + BUFFER_SIZE);
+
+            ((Buffer) buffer).clear();
+            for (int i = from; i < to; i++) {
+                buffer.putLong(indexes.get(i));
+            }
+            ((Buffer) buffer).flip();
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Opens a snapshot file. Indexes are read into memory, while data points are memory-mapped.
+     * @param file: snapshot file, written by {@link #write}
+     * @return the snapshot stored in the file
+     * @throws IllegalArgumentException if the file is not a snapshot file, or was written by an incompatible version
+     * @throws RuntimeException if the file could not be read
+     */
+    public static DatasetSnapshot open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(file, channel, null);
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to read snapshot file " + file, ex);
+        }
+    }
+
+    /**
+     * @param file: snapshot file
+     * @param source: description of the current dataset's source
+     * @return the snapshot stored in the file, or an empty Optional if the file does not exist, is not a valid snapshot
+     * file, or was written from a different source
+     */
+    public static Optional<DatasetSnapshot> openIfValid(Path file, String source) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Optional.ofNullable(read(file, channel, source));
+        } catch (IOException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the snapshot stored in the channel, or null if {@code expectedSource} is not null and does not match the
+     * snapshot's source
+     */
+    private static DatasetSnapshot read(Path file, FileChannel channel, String expectedSource) throws IOException {
+        ByteBuffer buffer = readFully(channel, Long.BYTES + 4 * Integer.BYTES);
+        if (buffer.getLong() != MAGIC) {
+            throw new IllegalArgumentException("File " + file + " is not a dataset snapshot.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version + " in file " + file);
+        }
+
+        int rows = buffer.getInt(), cols = buffer.getInt(), sourceLength = buffer.getInt();
+        Validator.assertPositive(rows);
+        Validator.assertPositive(cols);
+        Validator.assertNonNegative(sourceLength);
+
+        String source = new String(readFully(channel, sourceLength).array(), StandardCharsets.UTF_8);
+        if (expectedSource != null && !expectedSource.equals(source)) {
+            return null;
+        }
+
+        StandardScaler scaler = null;
+        if (readFully(channel, 1).get() != 0) {
+            ByteBuffer statistics = readFully(channel, 2 * cols * Double.BYTES);
+            double[] mean = new double[cols], std = new double[cols];
+            statistics.asDoubleBuffer().get(mean).get(std);
+            scaler = StandardScaler.make(Vector.FACTORY.make(mean), Vector.FACTORY.make(std));
+        }
+
+        int[][] featureGroups = new int[readFully(channel, Integer.BYTES).getInt()][];
+        for (int i = 0; i < featureGroups.length; i++) {
+            featureGroups[i] = new int[readFully(channel, Integer.BYTES).getInt()];
+            readFully(channel, featureGroups[i].length * Integer.BYTES).asIntBuffer().get(featureGroups[i]);
+        }
+
+        boolean hasSecondaryIndex = readFully(channel, 1).get() != 0;
+        channel.position(padded(channel.position()));
+
+        long[] indexes = readIndexes(channel, rows);
+        long[] secondaryIndex = hasSecondaryIndex ? readIndexes(channel, rows) : null;
+
+        IndexedDataset dataset = new IndexedDataset(indexes, OffHeapMatrix.FACTORY.map(file, channel.position(), rows, cols));
+        if (secondaryIndex != null) {
+            dataset.setSecondaryIndex(secondaryIndex);
+        }
+
+        return new DatasetSnapshot(source, dataset, scaler, featureGroups);
+    }
+
+    private static long[] readIndexes(FileChannel channel, int rows) throws IOException {
+        long[] indexes = new long[rows];
+        for (int from = 0; from < rows; from += BUFFER_SIZE) {
+            int to = Math.min(rows, from + BUFFER_SIZE);
+            readFully(channel, (to - from) * Long.BYTES).asLongBuffer().get(indexes, from, to - from);
+        }
+        return indexes;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of snapshot file.");
+            }
+        }
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    private static int padded(int size) {
+        return (int) padded((long) size);
+    }
+
+    private static long padded(long size) {
+        return (size + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+    }
+}
@@ -42,6 +42,7 @@ public class FolderManager {
     private static String CONFIG_FILE = "config.json";
     private static String RUN_FILE = "Runs/%d.run";
     private static String EVAL_FILE = "%s/%d.eval";
+    private static String SNAPSHOT_FILE = "dataset.snapshot";
 
     /**
      * File object pointing to folder
@@ -96,6 +97,13 @@ public class FolderManager {
         return getFullPath(String.format(EVAL_FILE, metric, index));
     }
 
+    /**
+     * @return the path of the dataset snapshot file (see {@link DatasetSnapshot})
+     */
+    public Path getSnapshotFile() {
+        return getFullPath(SNAPSHOT_FILE);
+    }
+
     public File[] getAllEvalFiles(String metric) {
         return folder.resolve(metric).toFile().listFiles(x -> x.getName().endsWith(".eval"));
     }
@@ -24,7 +24,9 @@ import config.DatasetConfiguration;
 import config.TaskConfiguration;
 import config.TsmConfiguration;
 import data.IndexedDataset;
+import data.preprocessing.StandardScaler;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -54,6 +56,39 @@ public class TaskReader {
         return reader.readTable(datasetConfig.table, datasetConfig.key, taskConfig.columns);
     }
 
+    /**
+     * Reads the data table through a snapshot file (see {@link DatasetSnapshot}). If the file holds a snapshot of the
+     * current task's data, it is opened directly; otherwise, the data is read from the database and a new snapshot is
+     * written, along with the fitted scaler statistics and the task's feature groups. The table's row count and maximum
+     * key are part of the snapshot's source, so inserting or deleting rows invalidates it; however, in-place updates of
+     * existing rows are not detected, and the snapshot file must be deleted by hand in this case.
+     * @param snapshotFile: path of the snapshot file
+     * @return the snapshot of the task's data
+     */
+    public DatasetSnapshot readSnapshot(Path snapshotFile){
+        String source = getSnapshotSource();
+
+        return DatasetSnapshot.openIfValid(snapshotFile, source).orElseGet(() -> {
+            IndexedDataset data = readData();
+            DatasetSnapshot.write(snapshotFile, source, data, StandardScaler.fit(data), getFeatureGroupIndexes());
+            return DatasetSnapshot.open(snapshotFile);
+        });
+    }
+
+    private String getSnapshotSource() {
+        return String.join("|", taskConfig.dataset, datasetConfig.table, datasetConfig.key, String.join(",", taskConfig.columns),
+                taskConfig.featureGroups.stream().map(x -> String.join(",", x)).collect(Collectors.joining(";")),
+                reader.readTableSummary(datasetConfig.table, datasetConfig.key));
+    }
+
+    private int[][] getFeatureGroupIndexes() {
+        List<String> columns = Arrays.asList(taskConfig.columns);
+
+        return taskConfig.featureGroups.stream()
+                .map(group -> Arrays.stream(group).mapToInt(columns::indexOf).toArray())
+                .toArray(int[][]::new);
+    }
+
     public Set<Long> readTargetSetKeys(){
         return reader.readKeys(datasetConfig.table, datasetConfig.key, taskConfig.predicate);
     }
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.active;
+
+import data.DataPoint;
+import data.IndexedDataset;
+import utils.Validator;
+import utils.linalg.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Selects the k rows of lowest score in a dataset without materializing the scores of all rows at once. The dataset is
+ * split into blocks of {@link IndexedDataset#BLOCK_SIZE} rows, which are scored concurrently over the common
+ * {@link ForkJoinPool}; each task only keeps a bounded heap of its k best rows, and heaps are merged pairwise.
+ *
+ * Ties are broken in favor of the lowest row, so the selection does not depend on the number of threads and, for k = 1,
+ * coincides with the {@link Vector#argmin()} of the full score vector.
+ */
+public final class ChunkedTopK {
+    private ChunkedTopK() {
+    }
+
+    /**
+     * @param dataset: data points to rank
+     * @param k: number of data points to select
+     * @param scorer: function computing one score per row of a block. The score of a row must not depend on the other
+     *              rows of its block.
+     * @return the min(k, dataset.length()) data points of lowest score, in increasing order of score
+     * @throws IllegalArgumentException if {@code k} is not positive or {@code dataset} is empty
+     */
+    public static List<DataPoint> select(IndexedDataset dataset, int k, Function<IndexedDataset, Vector> scorer) {
+        Validator.assertPositive(k);
+        Validator.assertPositive(dataset.length());
+
+        int capacity = Math.min(k, dataset.length());
+
+        BoundedHeap heap;
+        if (dataset.length() <= IndexedDataset.BLOCK_SIZE) {
+            heap = new BoundedHeap(capacity);
+            heap.offerAll(scorer.apply(dataset), 0);
+        } else {
+            heap = ForkJoinPool.commonPool().invoke(new BlockTask(dataset, capacity, scorer, 0, dataset.length()));
+        }
+
+        List<DataPoint> points = new ArrayList<>(heap.size);
+        for (int row : heap.sortedRows()) {
+            points.add(dataset.get(row));
+        }
+        return points;
+    }
+
+    private static final class BlockTask extends RecursiveTask<BoundedHeap> {
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedDataset dataset;
+        private final int k;
+        private final Function<IndexedDataset, Vector> scorer;
+        private final int from, to;
+
+        BlockTask(IndexedDataset dataset, int k, Function<IndexedDataset, Vector> scorer, int from, int to) {
+            this.dataset = dataset;
+            this.k = k;
+            this.scorer = scorer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BoundedHeap compute() {
+            int blocks = (to - from + IndexedDataset.BLOCK_SIZE - 1) / IndexedDataset.BLOCK_SIZE;
+
+            if (blocks <= 1) {
+                BoundedHeap heap = new BoundedHeap(k);
+                heap.offerAll(scorer.apply(dataset.getBlock(from, to)), from);
+                return heap;
+            }
+
+            int mid = from + (blocks / 2) * IndexedDataset.BLOCK_SIZE;
+            BlockTask left = new BlockTask(dataset, k, scorer, from, mid);
+            left.fork();
+            BoundedHeap heap = new BlockTask(dataset, k, scorer, mid, to).compute();
+            heap.merge(left.join());
+            return heap;
+        }
+    }
+
+    /**
+     * A max-heap keeping the (at most) {@code capacity} rows of lowest score seen so far. Its root is the worst row kept.
+     */
+    private static final class BoundedHeap {
+        private final double[] scores;
+        private final int[] rows;
+        private int size;
+
+        BoundedHeap(int capacity) {
+            this.scores = new double[capacity];
+            this.rows = new int[capacity];
+            this.size = 0;
+        }
+
+        void offerAll(Vector blockScores, int offset) {
+            for (int i = 0; i < blockScores.dim(); i++) {
+                offer(blockScores.get(i), offset + i);
+            }
+        }
+
+        void merge(BoundedHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.scores[i], other.rows[i]);
+            }
+        }
+
+        void offer(double score, int row) {
+            if (size < scores.length) {
+                scores[size] = score;
+                rows[size] = row;
+                siftUp(size++);
+            } else if (isWorse(0, score, row)) {
+                scores[0] = score;
+                rows[0] = row;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * @return the kept rows, in increasing order of score. The heap is emptied in this process.
+         */
+        int[] sortedRows() {
+            int[] sorted = new int[size];
+            while (size > 0) {
+                sorted[size - 1] = rows[0];
+                swap(0, --size);
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        /**
+         * @return whether the entry at position i ranks after the (score, row) pair
+         */
+        private boolean isWorse(int i, double score, int row) {
+            int cmp = Double.compare(scores[i], score);
+            return cmp > 0 || (cmp == 0 && rows[i] > row);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!isWorse(i, scores[parent], rows[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1, right = left + 1;
+                if (left < size && isWorse(left, scores[worst], rows[worst])) {
+                    worst = left;
+                }
+                if (right < size && isWorse(right, scores[worst], rows[worst])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+
+            int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+        }
+    }
+}
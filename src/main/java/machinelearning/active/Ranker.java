@@ -24,6 +24,8 @@ import data.DataPoint;
 import data.IndexedDataset;
 import utils.linalg.Vector;
 
+import java.util.List;
+
 public interface Ranker {
     /**
      * @param unlabeledData: data to compute ranking scores. The lower, the "more informative" a data point is considered
@@ -37,6 +39,25 @@ public interface Ranker {
      * @throws IllegalArgumentException if unlabeledSet is empty
      */
     default DataPoint top(IndexedDataset unlabeledSet) {
+        if (unlabeledSet.length() > IndexedDataset.BLOCK_SIZE) {
+            return top(unlabeledSet, 1).get(0);
+        }
         return unlabeledSet.get(score(unlabeledSet).argmin());
     }
+
+    /**
+     * Selects the k "most informative" points without computing the scores of the whole collection at once: blocks of
+     * rows are scored in parallel, each one only keeping its k best points (see {@link ChunkedTopK}). This assumes the
+     * score of a point does not depend on the other points being scored; rankers for which this is not true must
+     * override this method.
+     *
+     * @param unlabeledSet collection of unlabeled points
+     * @param k number of points to select
+     * @return the min(k, unlabeledSet.length()) "most informative" points in the input collection, from most to least
+     * informative
+     * @throws IllegalArgumentException if unlabeledSet is empty or k is not positive
+     */
+    default List<DataPoint> top(IndexedDataset unlabeledSet, int k) {
+        return ChunkedTopK.select(unlabeledSet, k, this::score);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.active.learning.versionspace;
+
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+
+/**
+ * An append-only set of linear constraints \( y_i (b, x_i) \), stored as the rows of a growable row-major buffer. Since
+ * labeled points are only ever appended between two calls to {@link LinearVersionSpace#sample}, each new label only costs
+ * the computation of its own row, instead of rebuilding the whole constraint matrix.
+ *
+ * Rows may be shorter than the number of columns (as happens with the rows of a Cholesky factor), in which case they are
+ * padded with zeros.
+ */
+final class ConstraintMatrix {
+    /**
+     * Whether to prepend a constant 1 to every row, before multiplying by the label
+     */
+    private final boolean addIntercept;
+
+    private double[] values = new double[0];
+    private int[] rowOffsets = new int[1];
+    private long[] indexes = new long[0];
+    private double[] signs = new double[0];
+    private int rows = 0, cols = 0;
+
+    ConstraintMatrix(boolean addIntercept) {
+        this.addIntercept = addIntercept;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    /**
+     * @return whether the first {@code rows()} constraints were built from the given indexes and label signs
+     */
+    boolean isPrefixOf(long[] otherIndexes, double[] otherSigns) {
+        if (otherIndexes.length < rows) {
+            return false;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            if (indexes[i] != otherIndexes[i] || signs[i] != otherSigns[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear() {
+        rows = 0;
+        cols = 0;
+    }
+
+    /**
+     * @param index: index of the labeled point
+     * @param sign: label of the point (+1 or -1)
+     * @param point: the point's features
+     */
+    void append(long index, double sign, Vector point) {
+        int length = point.dim() + (addIntercept ? 1 : 0);
+        int offset = rowOffsets[rows];
+
+        ensureCapacity(offset + length);
+
+        int p = offset;
+        if (addIntercept) {
+            values[p++] = sign;
+        }
+        for (int j = 0; j < point.dim(); j++) {
+            values[p++] = sign * point.get(j);
+        }
+
+        indexes[rows] = index;
+        signs[rows] = sign;
+        rowOffsets[++rows] = p;
+        cols = Math.max(cols, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, 2 * values.length));
+        }
+
+        if (rows + 1 >= rowOffsets.length) {
+            int newLength = 2 * rowOffsets.length;
+            rowOffsets = Arrays.copyOf(rowOffsets, newLength);
+            indexes = Arrays.copyOf(indexes, newLength);
+            signs = Arrays.copyOf(signs, newLength);
+        }
+    }
+
+    /**
+     * @return the constraints as a dense rows() x cols() matrix
+     */
+    Matrix toMatrix() {
+        double[] matrix = new double[rows * cols];
+
+        for (int i = 0; i < rows; i++) {
+            int from = rowOffsets[i];
+            System.arraycopy(values, from, matrix, i * cols, rowOffsets[i + 1] - from);
+        }
+
+        return Matrix.FACTORY.make(rows, cols, matrix);
+    }
+}
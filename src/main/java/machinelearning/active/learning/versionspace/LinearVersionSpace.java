@@ -73,6 +73,11 @@ public class LinearVersionSpace implements VersionSpace {
 
     private IncrementalCholesky decomposition;
 
+    /**
+     * Constraints built from the labeled points seen in the last call to {@link #sample}
+     */
+    private ConstraintMatrix constraints;
+
     private double jitter = 0;
 
     /**
@@ -95,6 +100,7 @@ public class LinearVersionSpace implements VersionSpace {
     public void setJitter(double jitter) {
         Validator.assertNonNegative(jitter);
         this.jitter = jitter;
+        this.constraints = null;
     }
 
     public void useSphericalSampling() {
@@ -106,11 +112,13 @@ public class LinearVersionSpace implements VersionSpace {
      */
     public void addIntercept() {
         this.addIntercept = true;
+        this.constraints = null;
     }
 
     public void useDecomposition() {
         decompose = true;
         decomposition = new IncrementalCholesky();
+        constraints = null;
     }
 
     /**
@@ -131,35 +139,32 @@ public class LinearVersionSpace implements VersionSpace {
     }
 
     private PolyhedralCone buildPolyhedralCone(LabeledDataset labeledPoints) {
-        Matrix X = labeledPoints.getData().copy();
-
-        if (decompose) {
-            X.iAddScalarToDiagonal(jitter);
+        long[] indexes = labeledPoints.getIndexes().stream().mapToLong(Long::longValue).toArray();
+        double[] signs = Arrays.stream(labeledPoints.getLabels()).mapToDouble(UserLabel::asSign).toArray();
+
+        // constraints can only be appended to if new points were labeled and the previous ones did not change
+        if (constraints == null || constraints.rows() >= indexes.length || !constraints.isPrefixOf(indexes, signs)
+                || (!decompose && constraints.rows() > 0 && constraints.cols() != labeledPoints.dim() + (addIntercept ? 1 : 0))) {
+            constraints = new ConstraintMatrix(addIntercept);
+            decomposition = decompose ? new IncrementalCholesky() : null;
+        }
 
-            int lower = decomposition.getCurrentDim(), upper = X.rows();
+        Matrix X = labeledPoints.getData();
 
-            // reset Cholesky factorization if necessary
-            if (lower >= upper) {
-                lower = 0;
-                decomposition = new IncrementalCholesky();
-            }
+        for (int i = constraints.rows(); i < indexes.length; i++) {
+            Vector point = X.getRow(i);
 
-            for (int i = lower; i < upper; i++) {
-                decomposition.increment(X.getRow(i).resize(decomposition.getCurrentDim() + 1));
+            if (decompose) {
+                point = point.resize(i + 1);
+                point.set(i, point.get(i) + jitter);
+                decomposition.increment(point);
+                point = decomposition.getRow(i);
             }
 
-            X = decomposition.getL();
+            constraints.append(indexes[i], signs[i], point);
         }
 
-        X = addIntercept ? X.addBiasColumn() : X;
-
-        Vector y = Vector.FACTORY.make(
-                Arrays.stream(labeledPoints.getLabels())
-                        .mapToDouble(UserLabel::asSign)
-                        .toArray()
-        );
-
-        return new PolyhedralCone(X.iMultiplyColumn(y), solverFactory);
+        return new PolyhedralCone(constraints.toMatrix(), solverFactory);
     }
 
     private LinearMajorityVote buildMajorityVoteClassifier(Vector[] samples) {
@@ -172,7 +177,7 @@ public class LinearVersionSpace implements VersionSpace {
         }
 
         if (decompose) {
-            weights = weights.matrixMultiply(decomposition.getInverse());
+            weights = decomposition.multiplyByInverse(weights);
         }
 
         return new LinearMajorityVote(bias, weights);
@@ -71,7 +71,7 @@ public class PolyhedralCone implements EuclideanConvexBody {
     @Override
     public boolean isInside(Vector x) {
         for (int i = 0; i < A.rows(); i++) {
-            if (A.getRow(i).dot(x) <= 0) return false;
+            if (A.rowDot(i, x) <= 0) return false;
         }
 
         return true;
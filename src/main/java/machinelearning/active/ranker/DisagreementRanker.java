@@ -20,13 +20,17 @@
 
 package machinelearning.active.ranker;
 
+import data.DataPoint;
 import data.IndexedDataset;
+import machinelearning.active.ChunkedTopK;
 import machinelearning.active.Ranker;
 import machinelearning.classifier.Classifier;
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
 import utils.RandomState;
 import utils.linalg.Vector;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
 public class DisagreementRanker implements Ranker {
@@ -62,4 +66,41 @@ public class DisagreementRanker implements Ranker {
         score.set(randomRow, -1);
         return score;
     }
+
+    /**
+     * Selects k random points among those over which both classifiers disagree, filling up with random points when there
+     * are fewer than k of them. Each point receives a pseudo-random key derived from its index, so blocks can be ranked
+     * independently of each other (see {@link ChunkedTopK}) while keeping the selection uniform.
+     */
+    @Override
+    public List<DataPoint> top(IndexedDataset unlabeledSet, int k) {
+        long seed = RandomState.newInstance().nextLong();
+        return ChunkedTopK.select(unlabeledSet, k, block -> disagreementScore(block, seed));
+    }
+
+    /**
+     * @return a score in [-1, 0) for points over which the classifiers disagree, and in [0, 1) for the remaining ones
+     */
+    private Vector disagreementScore(IndexedDataset block, long seed) {
+        LabelVector positiveClassifierLabels = positiveClassifier.predictLabelVector(block);
+        LabelVector negativeClassifierLabels = negativeClassifier.predictLabelVector(block);
+
+        double[] scores = new double[block.length()];
+        for (int row = 0; row < scores.length; row++) {
+            double key = uniform(seed + block.getIndex(row));
+            boolean disagree = positiveClassifierLabels.isPositive(row) != negativeClassifierLabels.isPositive(row);
+            scores[row] = disagree ? key - 1 : key;
+        }
+        return Vector.FACTORY.make(scores);
+    }
+
+    /**
+     * @return a pseudo-random number in [0, 1), obtained by scrambling the bits of x (SplitMix64 finalizer)
+     */
+    private static double uniform(long x) {
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        x = x ^ (x >>> 31);
+        return (x >>> 11) * 0x1.0p-53;
+    }
 }
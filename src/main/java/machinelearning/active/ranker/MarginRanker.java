@@ -34,6 +34,6 @@ public class MarginRanker implements Ranker {
 
     @Override
     public Vector score(IndexedDataset unlabeledData) {
-        return marginClassifier.margin(unlabeledData.getData()).iApplyMap(Math::abs);
+        return marginClassifier.margin(unlabeledData).iApplyMap(Math::abs);
     }
 }
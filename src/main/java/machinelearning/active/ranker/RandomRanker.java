@@ -26,6 +26,7 @@ import machinelearning.active.Ranker;
 import utils.RandomState;
 import utils.linalg.Vector;
 
+import java.util.List;
 import java.util.Random;
 import java.util.stream.IntStream;
 
@@ -62,4 +63,12 @@ public class RandomRanker implements Ranker {
     public DataPoint top(IndexedDataset unlabeledSet) {
         return unlabeledSet.sample(1).get(0);
     }
+
+    /**
+     * @return k random points from the input collection
+     */
+    @Override
+    public List<DataPoint> top(IndexedDataset unlabeledSet, int k) {
+        return unlabeledSet.sample(k).toList();
+    }
 }
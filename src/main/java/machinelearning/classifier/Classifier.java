@@ -21,7 +21,9 @@
 package machinelearning.classifier;
 
 
+import data.BlockFunction;
 import data.IndexedDataset;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -50,8 +52,24 @@ public interface Classifier {
         return Vector.FACTORY.make(probas);
     }
 
+    /**
+     * @param matrix: a single-precision matrix whose every line corresponds to a feature vector
+     * @return class probability estimation for each row of the matrix
+     */
+    default Vector probability(FloatMatrix matrix) {
+        double[] probas = new double[matrix.rows()];
+        for (int i = 0; i < probas.length; i++) {
+            probas[i] = probability(matrix.getRow(i));
+        }
+        return Vector.FACTORY.make(probas);
+    }
+
+    /**
+     * @param dataset: collection of data points
+     * @return class probability estimation for each data point, computed one block at a time (see {@link IndexedDataset#forEachBlock})
+     */
     default Vector probability(IndexedDataset dataset) {
-        return probability(dataset.getData());
+        return dataset.computeByBlocks(BlockFunction.of(this::probability, this::probability));
     }
 
     /**
@@ -74,7 +92,38 @@ public interface Classifier {
         return labels;
     }
 
+    /**
+     * @param matrix: a single-precision matrix whose every line corresponds to a feature vector
+     * @return predicted class labels for each row of the matrix
+     */
+    default Label[] predict(FloatMatrix matrix) {
+        Label[] labels = new Label[matrix.rows()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = predict(matrix.getRow(i));
+        }
+        return labels;
+    }
+
+    /**
+     * @param dataset: collection of data points
+     * @return predicted class labels for each data point, computed one block at a time (see {@link IndexedDataset#forEachBlock})
+     */
     default Label[] predict(IndexedDataset dataset) {
-        return predict(dataset.getData());
+        Label[] labels = new Label[dataset.length()];
+        BlockFunction<Label[]> prediction = BlockFunction.of(this::predict, this::predict);
+        dataset.forEachBlock(prediction, (from, block) -> System.arraycopy(block, 0, labels, from, block.length));
+        return labels;
+    }
+
+    /**
+     * @param dataset: collection of data points
+     * @return predicted class labels for each data point, packed into a {@link LabelVector}. Blockwise datasets are
+     * predicted one block at a time, so no label array over the entire dataset is ever allocated.
+     */
+    default LabelVector predictLabelVector(IndexedDataset dataset) {
+        LabelVector labels = new LabelVector(dataset.length());
+        BlockFunction<Label[]> prediction = BlockFunction.of(this::predict, this::predict);
+        dataset.forEachBlock(prediction, labels::set);
+        return labels;
     }
 }
@@ -21,11 +21,18 @@
 package machinelearning.classifier;
 
 import machinelearning.classifier.svm.Kernel;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
 
 
 public class KernelMajorityVote implements Classifier {
+    /**
+     * {@link Workspace} key of the kernel matrix buffer
+     */
+    private static final Object KERNEL_MATRIX = new Object();
+
     private Kernel kernel;
     private Matrix supportVectors;
     private Classifier linearMajorityVote;
@@ -46,6 +53,11 @@ public class KernelMajorityVote implements Classifier {
         return linearMajorityVote.probability(margin(matrix));
     }
 
+    @Override
+    public Vector probability(FloatMatrix matrix) {
+        return linearMajorityVote.probability(margin(matrix));
+    }
+
     @Override
     public Label predict(Vector vector) {
         return linearMajorityVote.predict(margin(vector));
@@ -56,11 +68,25 @@ public class KernelMajorityVote implements Classifier {
         return linearMajorityVote.predict(margin(matrix));
     }
 
+    @Override
+    public Label[] predict(FloatMatrix matrix) {
+        return linearMajorityVote.predict(margin(matrix));
+    }
+
     private Vector margin(Vector vector) {
         return kernel.compute(supportVectors, vector);
     }
 
+    /**
+     * The kernel matrix is only used as a temporary, so it is computed into a reusable {@link Workspace} buffer
+     */
     private Matrix margin(Matrix matrix) {
-        return kernel.compute(matrix, supportVectors);
+        Matrix kernelMatrix = Workspace.get().matrix(KERNEL_MATRIX, matrix.rows(), supportVectors.rows());
+        return kernel.compute(matrix, supportVectors, kernelMatrix);
+    }
+
+    private Matrix margin(FloatMatrix matrix) {
+        Matrix kernelMatrix = Workspace.get().matrix(KERNEL_MATRIX, matrix.rows(), supportVectors.rows());
+        return kernel.compute(matrix, supportVectors, kernelMatrix);
     }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.classifier;
+
+import explore.user.UserLabel;
+import utils.Validator;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+
+/**
+ * A packed vector of binary labels, storing one bit per label (set for POSITIVE). Compared to a {@link Label} array, it
+ * takes 32 to 64 times less memory, and label counts are computed a whole word (64 labels) at a time through popcount
+ * instructions (see {@link Long#bitCount}).
+ *
+ * A new vector has all labels set to NEGATIVE.
+ */
+public final class LabelVector {
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Label bits, 64 per word. Bits past {@link #length} are always zero.
+     */
+    private final long[] words;
+
+    /**
+     * Number of labels
+     */
+    private final int length;
+
+    /**
+     * @param length: number of labels
+     * @throws IllegalArgumentException if length is negative
+     */
+    public LabelVector(int length) {
+        Validator.assertNonNegative(length);
+        this.length = length;
+        this.words = new long[(length + 63) >>> WORD_SHIFT];
+    }
+
+    /**
+     * @param labels: array of labels
+     * @return a packed copy of the input labels
+     */
+    public static LabelVector fromLabels(UserLabel[] labels) {
+        LabelVector vector = new LabelVector(labels.length);
+        vector.set(0, labels);
+        return vector;
+    }
+
+    /**
+     * @param values: a vector of real numbers, such as classification margins
+     * @return a label vector which is POSITIVE wherever {@code values} is positive (see {@link Label#fromSign})
+     */
+    public static LabelVector fromSigns(Vector values) {
+        LabelVector vector = new LabelVector(values.dim());
+        vector.setSigns(0, values);
+        return vector;
+    }
+
+    /**
+     * @return number of labels
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @param i: label index
+     * @return whether the i-th label is POSITIVE
+     * @throws IllegalArgumentException if i is out of bounds
+     */
+    public boolean isPositive(int i) {
+        Validator.assertIndexInBounds(i, 0, length);
+        return (words[i >>> WORD_SHIFT] & (1L << i)) != 0;
+    }
+
+    /**
+     * @param i: label index
+     * @return the i-th label
+     * @throws IllegalArgumentException if i is out of bounds
+     */
+    public Label get(int i) {
+        return isPositive(i) ? Label.POSITIVE : Label.NEGATIVE;
+    }
+
+    /**
+     * @param i: label index
+     * @param isPositive: whether the i-th label is POSITIVE
+     * @throws IllegalArgumentException if i is out of bounds
+     */
+    public void setPositive(int i, boolean isPositive) {
+        Validator.assertIndexInBounds(i, 0, length);
+        setBit(i, isPositive);
+    }
+
+    private void setBit(int i, boolean isPositive) {
+        if (isPositive) {
+            words[i >>> WORD_SHIFT] |= 1L << i;
+        } else {
+            words[i >>> WORD_SHIFT] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * @param i: label index
+     * @param label: new value of the i-th label
+     * @throws IllegalArgumentException if i is out of bounds
+     */
+    public void set(int i, UserLabel label) {
+        setPositive(i, label.isPositive());
+    }
+
+    /**
+     * Overwrites a range of consecutive labels
+     * @param offset: index of the first label to overwrite
+     * @param labels: new labels for positions offset, offset + 1, ...
+     * @throws IllegalArgumentException if the range does not fit into this vector
+     */
+    public void set(int offset, UserLabel[] labels) {
+        assertRangeFits(offset, labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            setBit(offset + i, labels[i].isPositive());
+        }
+    }
+
+    /**
+     * Overwrites a range of consecutive labels with the signs of a vector
+     * @param offset: index of the first label to overwrite
+     * @param values: values whose signs give the new labels for positions offset, offset + 1, ...
+     * @throws IllegalArgumentException if the range does not fit into this vector
+     */
+    public void setSigns(int offset, Vector values) {
+        assertRangeFits(offset, values.dim());
+        for (int i = 0; i < values.dim(); i++) {
+            setBit(offset + i, values.get(i) > 0);
+        }
+    }
+
+    private void assertRangeFits(int offset, int size) {
+        if (offset < 0 || offset + size > length) {
+            throw new IllegalArgumentException("Range [" + offset + ", " + (offset + size) + ") does not fit into " + length + " labels.");
+        }
+    }
+
+    /**
+     * @return the number of POSITIVE labels
+     */
+    public int countPositive() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @param other: another label vector
+     * @return the number of indexes where both {@code this} and {@code other} have a POSITIVE label
+     * @throws IllegalArgumentException if the vectors have different lengths
+     */
+    public int countPositiveInBoth(LabelVector other) {
+        Validator.assertEquals(length, other.length);
+
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            count += Long.bitCount(words[w] & other.words[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Keeps POSITIVE only the labels which are also POSITIVE in {@code other}, i.e. computes the conjunction of both label
+     * vectors in-place
+     * @param other: another label vector
+     * @throws IllegalArgumentException if the vectors have different lengths
+     */
+    public void intersect(LabelVector other) {
+        Validator.assertEquals(length, other.length);
+
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= other.words[w];
+        }
+    }
+
+    /**
+     * @param rows: label indexes
+     * @return a new vector whose i-th label is the label of index {@code rows[i]}
+     * @throws IllegalArgumentException if any index is out of bounds
+     */
+    public LabelVector select(int[] rows) {
+        LabelVector selected = new LabelVector(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            selected.setBit(i, isPositive(rows[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * @return the labels as an array
+     */
+    public Label[] toArray() {
+        Label[] labels = new Label[length];
+        for (int i = 0; i < length; i++) {
+            labels[i] = get(i);
+        }
+        return labels;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LabelVector that = (LabelVector) o;
+        return length == that.length && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -22,8 +22,11 @@ package machinelearning.classifier;
 
 import machinelearning.classifier.margin.LinearClassifier;
 import utils.Validator;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
+import utils.linalg.MatrixExpression;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
 
 import java.util.Objects;
 
@@ -35,6 +38,11 @@ import java.util.Objects;
  * In other words, the probability of each class is simply the proportion of classifiers agreeing on this class.
  */
 public class LinearMajorityVote implements Classifier {
+    /**
+     * {@link Workspace} key of the margins buffer
+     */
+    private static final Object MARGINS = new Object();
+
     private Vector bias;
     private Matrix weights;
 
@@ -51,7 +59,16 @@ public class LinearMajorityVote implements Classifier {
 
     @Override
     public Label[] predict(Matrix matrix) {
-        Vector sums = margin(matrix).iApplyMap(x -> x > 0 ? 1D : -1D).getRowSums();
+        return predictFromMargins(margin(matrix));
+    }
+
+    @Override
+    public Label[] predict(FloatMatrix matrix) {
+        return predictFromMargins(margin(matrix));
+    }
+
+    private Label[] predictFromMargins(MatrixExpression margins) {
+        Vector sums = margins.map(x -> x > 0 ? 1D : -1D).rowSums();
 
         Label[] labels = new Label[sums.dim()];
         for (int i = 0; i < labels.length; i++) {
@@ -68,15 +85,34 @@ public class LinearMajorityVote implements Classifier {
 
     @Override
     public Vector probability(Matrix matrix) {
-        return margin(matrix).iApplyMap(x -> x > 0 ? 1D : 0D).getRowSums().iScalarDivide(bias.dim());
+        return probabilityFromMargins(margin(matrix));
+    }
+
+    @Override
+    public Vector probability(FloatMatrix matrix) {
+        return probabilityFromMargins(margin(matrix));
+    }
+
+    private Vector probabilityFromMargins(MatrixExpression margins) {
+        return margins.map(x -> x > 0 ? 1D : 0D).rowSums().iScalarDivide(bias.dim());
     }
 
     private Vector margin(Vector vector) {
         return weights.multiply(vector).iAdd(bias);
     }
 
-    private Matrix margin(Matrix matrix) {
-        return matrix.multiplyTranspose(weights).iAddRow(bias);
+    /**
+     * The margins matrix is only used as a temporary, so it is computed into a reusable {@link Workspace} buffer. The bias
+     * is added lazily, so it gets fused with the subsequent voting and row-summing into a single pass.
+     */
+    private MatrixExpression margin(Matrix matrix) {
+        Matrix margins = Workspace.get().matrix(MARGINS, matrix.rows(), weights.rows());
+        return matrix.multiplyTranspose(weights, margins).lazy().addRow(bias).parallel();
+    }
+
+    private MatrixExpression margin(FloatMatrix matrix) {
+        Matrix margins = Workspace.get().matrix(MARGINS, matrix.rows(), weights.rows());
+        return matrix.multiplyTranspose(weights, margins).lazy().addRow(bias).parallel();
     }
 
     @Override
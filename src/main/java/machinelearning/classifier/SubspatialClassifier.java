@@ -109,6 +109,21 @@ public class SubspatialClassifier implements Classifier {
         return finalPredictions;
     }
 
+    /**
+     * @return the conjunction of the packed predictions of every subspace, computed 64 labels at a time
+     */
+    @Override
+    public LabelVector predictLabelVector(IndexedDataset dataset) {
+        IndexedDataset[] partitionedDatasets = dataset.getPartitionedData();
+
+        LabelVector labels = subspaceClassifiers[0].predictLabelVector(partitionedDatasets[0]);
+        for (int i = 1; i < subspaceClassifiers.length; i++) {
+            labels.intersect(subspaceClassifiers[i].predictLabelVector(partitionedDatasets[i]));
+        }
+
+        return labels;
+    }
+
     public Label[][] predictAllSubspaces(IndexedDataset dataset) {
         int size = dataset.partitionSize();
         IndexedDataset[] partitionedDatasets = dataset.getPartitionedData();
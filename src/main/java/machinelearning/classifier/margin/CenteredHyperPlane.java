@@ -20,6 +20,7 @@
 
 package machinelearning.classifier.margin;
 
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -35,7 +36,12 @@ public class CenteredHyperPlane extends HyperPlane {
     }
 
     @Override
-    public Vector margin(Matrix points) {
-        return points.multiply(weights);
+    public Vector margin(Matrix points, Vector result) {
+        return points.multiply(weights, result);
+    }
+
+    @Override
+    public Vector margin(FloatMatrix points, Vector result) {
+        return points.multiply(weights, result);
     }
 }
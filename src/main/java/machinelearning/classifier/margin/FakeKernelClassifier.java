@@ -20,7 +20,7 @@
 
 package machinelearning.classifier.margin;
 
-import data.IndexedDataset;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -42,7 +42,7 @@ public class FakeKernelClassifier extends KernelClassifier {
     }
 
     @Override
-    public Vector probability(IndexedDataset dataset) {
-        return probability(dataset.getData());
+    public Vector probability(FloatMatrix matrix) {
+        return super.margin(matrix);
     }
 }
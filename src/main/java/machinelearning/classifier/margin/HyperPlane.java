@@ -20,6 +20,8 @@
 
 package machinelearning.classifier.margin;
 
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -56,9 +58,48 @@ public class HyperPlane {
     }
 
     public Vector margin(Matrix points) {
+        return margin(points, Vector.FACTORY.zeros(points.rows()));
+    }
+
+    /**
+     * @param points: matrix of data points (one per row)
+     * @param result: vector where the margin of each point will be written
+     * @return {@code result}, after being overwritten by the margin of each point
+     */
+    public Vector margin(Matrix points, Vector result) {
+        return points.multiply(weights, result).iScalarAdd(bias);
+    }
+
+    public Vector margin(FloatMatrix points) {
+        return margin(points, Vector.FACTORY.zeros(points.rows()));
+    }
+
+    /**
+     * @param points: single-precision matrix of data points (one per row)
+     * @param result: vector where the margin of each point will be written
+     * @return {@code result}, after being overwritten by the margin of each point
+     */
+    public Vector margin(FloatMatrix points, Vector result) {
+        return points.multiply(weights, result).iScalarAdd(bias);
+    }
+
+    /**
+     * @param points: encoded matrix of data points (one per row)
+     * @return the margin of each point, computed through lookup tables without decoding the points
+     */
+    public Vector margin(EncodedMatrix points) {
         return points.multiply(weights).iScalarAdd(bias);
     }
 
+    /**
+     * @param points: encoded matrix of data points (one per row)
+     * @param rows: rows of {@code points} to compute the margin of, in order
+     * @return the margin of each selected point, computed through lookup tables without gathering the selected rows
+     */
+    public Vector margin(EncodedMatrix points, int[] rows) {
+        return points.multiply(weights, rows).iScalarAdd(bias);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
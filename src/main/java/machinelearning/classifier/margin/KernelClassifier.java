@@ -22,8 +22,10 @@ package machinelearning.classifier.margin;
 
 import machinelearning.classifier.svm.Kernel;
 import utils.Validator;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
 
 /**
  * A Kernel classifier is defined as:
@@ -43,6 +45,11 @@ import utils.linalg.Vector;
  */
 
 public class KernelClassifier extends MarginClassifier {
+    /**
+     * {@link Workspace} key of the kernel matrix buffer
+     */
+    private static final Object KERNEL_MATRIX = new Object();
+
     /**
      * linear classifier used for computing probabilities and making predictions
      */
@@ -95,6 +102,27 @@ public class KernelClassifier extends MarginClassifier {
 
     @Override
     public Vector margin(Matrix xs) {
-        return hyperPlane.margin(kernel.compute(xs, supportVectors));
+        return margin(xs, Vector.FACTORY.zeros(xs.rows()));
+    }
+
+    @Override
+    public Vector margin(FloatMatrix xs) {
+        return margin(xs, Vector.FACTORY.zeros(xs.rows()));
+    }
+
+    /**
+     * The kernel matrix is computed into a {@link Workspace} buffer, which is reused across the blocks of a blockwise
+     * evaluation.
+     */
+    @Override
+    public Vector margin(Matrix xs, Vector result) {
+        Matrix kernelMatrix = Workspace.get().matrix(KERNEL_MATRIX, xs.rows(), supportVectors.rows());
+        return hyperPlane.margin(kernel.compute(xs, supportVectors, kernelMatrix), result);
+    }
+
+    @Override
+    public Vector margin(FloatMatrix xs, Vector result) {
+        Matrix kernelMatrix = Workspace.get().matrix(KERNEL_MATRIX, xs.rows(), supportVectors.rows());
+        return hyperPlane.margin(kernel.compute(xs, supportVectors, kernelMatrix), result);
     }
 }
@@ -20,6 +20,8 @@
 
 package machinelearning.classifier.margin;
 
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -61,6 +63,31 @@ public class LinearClassifier extends MarginClassifier {
         return hyperplane.margin(xs);
     }
 
+    @Override
+    public Vector margin(FloatMatrix xs) {
+        return hyperplane.margin(xs);
+    }
+
+    @Override
+    public Vector margin(EncodedMatrix xs) {
+        return hyperplane.margin(xs);
+    }
+
+    @Override
+    public Vector margin(EncodedMatrix xs, int[] rows) {
+        return hyperplane.margin(xs, rows);
+    }
+
+    @Override
+    public Vector margin(Matrix xs, Vector result) {
+        return hyperplane.margin(xs, result);
+    }
+
+    @Override
+    public Vector margin(FloatMatrix xs, Vector result) {
+        return hyperplane.margin(xs, result);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -20,11 +20,19 @@
 
 package machinelearning.classifier.margin;
 
+import data.BlockFunction;
 import data.DataPoint;
+import data.IndexedDataset;
 import machinelearning.classifier.Classifier;
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
+
+import java.util.Arrays;
 
 /**
  * A margin classifier is defined by:
@@ -49,6 +57,67 @@ public abstract class MarginClassifier implements Classifier {
      */
     public abstract Vector margin(Matrix xs);
 
+    /**
+     * @param xs: a single-precision matrix of feature vectors (one per row)
+     * @return a Vector containing the margins of each feature vector
+     */
+    public Vector margin(FloatMatrix xs) {
+        double[] margins = new double[xs.rows()];
+        for (int i = 0; i < margins.length; i++) {
+            margins[i] = margin(xs.getRow(i));
+        }
+        return Vector.FACTORY.make(margins);
+    }
+
+    /**
+     * @param xs: an encoded matrix of feature vectors (one per row)
+     * @return a Vector containing the margins of each feature vector. By default, the matrix is decoded block by block.
+     */
+    public Vector margin(EncodedMatrix xs) {
+        double[] margins = new double[xs.rows()];
+        Workspace.run(() -> {
+            for (int from = 0; from < margins.length; from += IndexedDataset.BLOCK_SIZE) {
+                int to = Math.min(margins.length, from + IndexedDataset.BLOCK_SIZE);
+                System.arraycopy(margin(xs.toMatrix(from, to)).toArray(), 0, margins, from, to - from);
+            }
+        });
+        return Vector.FACTORY.make(margins);
+    }
+
+    /**
+     * @param xs: an encoded matrix of feature vectors (one per row)
+     * @param rows: rows of {@code xs} to compute the margin of, in order
+     * @return a Vector containing the margins of each selected feature vector. By default, the selected rows are gathered
+     * and decoded block by block.
+     */
+    public Vector margin(EncodedMatrix xs, int[] rows) {
+        double[] margins = new double[rows.length];
+        Workspace.run(() -> {
+            for (int from = 0; from < margins.length; from += IndexedDataset.BLOCK_SIZE) {
+                int to = Math.min(margins.length, from + IndexedDataset.BLOCK_SIZE);
+                System.arraycopy(margin(xs.getRows(Arrays.copyOfRange(rows, from, to)).toMatrix()).toArray(), 0, margins, from, to - from);
+            }
+        });
+        return Vector.FACTORY.make(margins);
+    }
+
+    /**
+     * Computes the margins directly into the output vector, without allocating a new one.
+     * @param xs: a matrix of feature vectors (one per row)
+     * @param result: vector where the margins will be written
+     * @return {@code result}, after being overwritten by the margins of each feature vector
+     * @throws IllegalArgumentException if result.dim() is different from xs.rows()
+     */
+    public abstract Vector margin(Matrix xs, Vector result);
+
+    /**
+     * @param xs: a single-precision matrix of feature vectors (one per row)
+     * @param result: vector where the margins will be written
+     * @return {@code result}, after being overwritten by the margins of each feature vector
+     * @throws IllegalArgumentException if result.dim() is different from xs.rows()
+     */
+    public abstract Vector margin(FloatMatrix xs, Vector result);
+
     /**
      * @param point: a data point
      * @return the margin of this point
@@ -67,6 +136,11 @@ public abstract class MarginClassifier implements Classifier {
         return margin(matrix).iApplyMap(MarginClassifier::sigmoid);
     }
 
+    @Override
+    public Vector probability(FloatMatrix matrix) {
+        return margin(matrix).iApplyMap(MarginClassifier::sigmoid);
+    }
+
     private static double sigmoid(double value) {
         return 1.0 / (1.0 + Math.exp(-value));
     }
@@ -79,4 +153,54 @@ public abstract class MarginClassifier implements Classifier {
     public final Label predict(Vector point) {
         return Label.fromSign(margin(point));
     }
+
+    /**
+     * @param dataset: collection of data points
+     * @return a Vector containing the margins of each data point, computed one block at a time (see
+     * {@link IndexedDataset#forEachBlock}). Encoded data points are given directly to {@link #margin(EncodedMatrix, int[])}.
+     */
+    public Vector margin(IndexedDataset dataset) {
+        return dataset.computeByBlocks(marginFunction());
+    }
+
+    /**
+     * @return the signs of the margins, packed into a {@link LabelVector}. Margins are computed one block at a time, so
+     * no margin vector over the entire dataset is ever allocated.
+     */
+    @Override
+    public LabelVector predictLabelVector(IndexedDataset dataset) {
+        LabelVector labels = new LabelVector(dataset.length());
+        dataset.forEachBlock(marginFunction(), labels::setSigns);
+        return labels;
+    }
+
+    private BlockFunction<Vector> marginFunction() {
+        return new BlockFunction<Vector>() {
+            @Override
+            public Vector apply(Matrix block) {
+                return margin(block);
+            }
+
+            @Override
+            public Vector apply(FloatMatrix block) {
+                return margin(block);
+            }
+
+            @Override
+            public Vector apply(EncodedMatrix matrix, int[] rows) {
+                return margin(matrix, rows);
+            }
+        };
+    }
+
+    @Override
+    public Label[] predict(FloatMatrix matrix) {
+        Vector margins = margin(matrix);
+
+        Label[] labels = new Label[margins.dim()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = Label.fromSign(margins.get(i));
+        }
+        return labels;
+    }
 }
@@ -21,6 +21,7 @@
 package machinelearning.classifier.svm;
 
 import utils.Validator;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -51,8 +52,14 @@ public class DiagonalGaussianKernel extends Kernel {
     }
 
     @Override
-    public Matrix compute(Matrix xs, Matrix ys) {
-        return gaussianKernel.compute(xs.multiplyRow(this.diagonal), ys.multiplyRow(this.diagonal));
+    public Matrix compute(Matrix xs, Matrix ys, Matrix result) {
+        return gaussianKernel.compute(xs.multiplyRow(this.diagonal), ys.multiplyRow(this.diagonal), result);
+    }
+
+    @Override
+    public Matrix compute(FloatMatrix xs, Matrix ys, Matrix result) {
+        // a scaled copy of xs is needed anyway, so we simply widen it to double-precision
+        return gaussianKernel.compute(xs.toMatrix().iMultiplyRow(this.diagonal), ys.multiplyRow(this.diagonal), result);
     }
 
     @Override
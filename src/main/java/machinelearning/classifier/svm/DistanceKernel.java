@@ -20,10 +20,18 @@
 
 package machinelearning.classifier.svm;
 
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
+import utils.linalg.MatrixExpression;
 import utils.linalg.Vector;
+import utils.linalg.Workspace;
 
 public class DistanceKernel extends Kernel {
+    /**
+     * {@link Workspace} keys of the row norms buffers
+     */
+    private static final Object X_NORMS = new Object(), Y_NORMS = new Object();
+
     @Override
     public double compute(Vector x, Vector y) {
         return x.squaredDistanceTo(y);
@@ -37,11 +45,42 @@ public class DistanceKernel extends Kernel {
     }
 
     @Override
-    public Matrix compute(Matrix xs, Matrix ys) {
-        Vector squaredRowNormX = xs.getRowSquaredNorms();
-        Vector squaredRowNormY = ys.getRowSquaredNorms();
-        Matrix scalarProductMatrix = xs.multiplyTranspose(ys).iScalarMultiply(-2);
-        return scalarProductMatrix.iAddColumn(squaredRowNormX).iAddRow(squaredRowNormY);
+    public Matrix compute(Matrix xs, Matrix ys, Matrix result) {
+        return computeLazily(xs, ys, result).evaluateInplace();
+    }
+
+    @Override
+    public Matrix compute(FloatMatrix xs, Matrix ys, Matrix result) {
+        return computeLazily(xs, ys, result).evaluateInplace();
+    }
+
+    /**
+     * Computes the scalar products into {@code result}, but leaves the remaining element-wise operations pending, so
+     * that callers can append their own operations before evaluating all of them in a single pass over {@code result}.
+     */
+    MatrixExpression computeLazily(Matrix xs, Matrix ys, Matrix result) {
+        Vector squaredRowNormX = xs.getRowSquaredNorms(Workspace.get().vector(X_NORMS, xs.rows()));
+        return lazyDistances(xs.multiplyTranspose(ys, result), squaredRowNormX, ys);
+    }
+
+    MatrixExpression computeLazily(FloatMatrix xs, Matrix ys, Matrix result) {
+        Vector squaredRowNormX = xs.getRowSquaredNorms(Workspace.get().vector(X_NORMS, xs.rows()));
+        return lazyDistances(xs.multiplyTranspose(ys, result), squaredRowNormX, ys);
+    }
+
+    /**
+     * @param scalarProductMatrix: the scalar products \(\langle x_i, y_j \rangle\)
+     * @param squaredRowNormX: the squared norm of each x_i
+     * @param ys: the second collection of data points
+     * @return the pending computation of \(\Vert x_i - y_j \Vert^2\) from the scalar products
+     */
+    private static MatrixExpression lazyDistances(Matrix scalarProductMatrix, Vector squaredRowNormX, Matrix ys) {
+        Vector squaredRowNormY = ys.getRowSquaredNorms(Workspace.get().vector(Y_NORMS, ys.rows()));
+        return scalarProductMatrix.lazy()
+                .map(x -> x * -2)
+                .addColumn(squaredRowNormX)
+                .addRow(squaredRowNormY)
+                .parallel();
     }
 
     @Override
@@ -23,6 +23,7 @@ package machinelearning.classifier.svm;
 import org.apache.commons.math3.util.FastMath;
 import smile.math.kernel.MercerKernel;
 import utils.Validator;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -79,9 +80,15 @@ public class GaussianKernel extends Kernel {
     }
 
     @Override
-    public Matrix compute(Matrix xs, Matrix ys) {
+    public Matrix compute(Matrix xs, Matrix ys, Matrix result) {
         final double gamma = getGamma(xs.cols());
-        return distanceKernel.compute(xs, ys).iApplyMap(x -> gaussianMap(x, gamma));
+        return distanceKernel.computeLazily(xs, ys, result).map(x -> gaussianMap(x, gamma)).evaluateInplace();
+    }
+
+    @Override
+    public Matrix compute(FloatMatrix xs, Matrix ys, Matrix result) {
+        final double gamma = getGamma(xs.cols());
+        return distanceKernel.computeLazily(xs, ys, result).map(x -> gaussianMap(x, gamma)).evaluateInplace();
     }
 
     @Override
@@ -22,6 +22,8 @@ package machinelearning.classifier.svm;
 
 import smile.math.kernel.MercerKernel;
 import utils.Validator;
+import utils.linalg.DataMatrix;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -60,15 +62,62 @@ public abstract class Kernel {
      * @return computes the matrix \([k(x_i, y_j)]\)
      */
     public Matrix compute(Matrix xs, Matrix ys) {
+        return compute(xs, ys, Matrix.FACTORY.zeros(xs.rows(), ys.rows()));
+    }
+
+    /**
+     * Computes the kernel matrix without allocating a new result matrix.
+     * @param xs a collection of data points
+     * @param ys a second collection of data points
+     * @param result a xs.rows() x ys.rows() matrix, where the result will be written
+     * @return {@code result}, after being overwritten by the matrix \([k(x_i, y_j)]\)
+     * @throws IllegalArgumentException if dimensions are incompatible
+     */
+    public Matrix compute(Matrix xs, Matrix ys, Matrix result) {
+        return computePairwise(xs, ys, result);
+    }
+
+    /**
+     * @param xs a collection of data points, stored in single-precision
+     * @param ys a second collection of data points
+     * @return computes the matrix \([k(x_i, y_j)]\)
+     */
+    public Matrix compute(FloatMatrix xs, Matrix ys) {
+        return compute(xs, ys, Matrix.FACTORY.zeros(xs.rows(), ys.rows()));
+    }
+
+    /**
+     * @param xs a collection of data points, stored in single-precision
+     * @param ys a second collection of data points
+     * @param result a xs.rows() x ys.rows() matrix, where the result will be written
+     * @return {@code result}, after being overwritten by the matrix \([k(x_i, y_j)]\)
+     * @throws IllegalArgumentException if dimensions are incompatible
+     */
+    public Matrix compute(FloatMatrix xs, Matrix ys, Matrix result) {
+        return computePairwise(xs, ys, result);
+    }
+
+    /**
+     * Computes k(x_i, y_j) one pair at a time, for data points in any storage format.
+     */
+    private Matrix computePairwise(DataMatrix xs, Matrix ys, Matrix result) {
         Validator.assertEquals(xs.cols(), ys.cols());
+        Validator.assertEquals(xs.rows(), result.rows());
+        Validator.assertEquals(ys.rows(), result.cols());
 
-        double[][] result = new double[xs.rows()][ys.rows()];
-        for (int i = 0; i < result.length; i++) {
-            for (int j = 0; j < result[0].length; j++) {
-                result[i][j] = compute(xs.getRow(i), ys.getRow(j));
+        // copy each row only once, instead of once per (i, j) pair
+        Vector[] yRows = new Vector[ys.rows()];
+        for (int j = 0; j < yRows.length; j++) {
+            yRows[j] = ys.getRow(j);
+        }
+
+        for (int i = 0; i < xs.rows(); i++) {
+            Vector x = xs.getRow(i);
+            for (int j = 0; j < yRows.length; j++) {
+                result.set(i, j, compute(x, yRows[j]));
             }
         }
-        return Matrix.FACTORY.make(result);
+        return result;
     }
 
     /**
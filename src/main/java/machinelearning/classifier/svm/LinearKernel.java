@@ -21,6 +21,7 @@
 package machinelearning.classifier.svm;
 
 import smile.math.kernel.MercerKernel;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
@@ -41,8 +42,13 @@ public class LinearKernel extends Kernel {
     }
 
     @Override
-    public Matrix compute(Matrix xs, Matrix ys) {
-        return xs.multiplyTranspose(ys);
+    public Matrix compute(Matrix xs, Matrix ys, Matrix result) {
+        return xs.multiplyTranspose(ys, result);
+    }
+
+    @Override
+    public Matrix compute(FloatMatrix xs, Matrix ys, Matrix result) {
+        return xs.multiplyTranspose(ys, result);
     }
 
     @Override
@@ -23,6 +23,7 @@ package machinelearning.threesetmetric;
 import data.DataPoint;
 import data.IndexedDataset;
 import data.LabeledPoint;
+import data.RowCursor;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -57,14 +58,27 @@ public interface ExtendedClassifier {
      */
     ExtendedLabel predict(DataPoint dataPoint);
 
+    /**
+     * @param cursor: cursor positioned at a data point
+     * @return the predicted label for the point at the cursor's current row. By default, the row is copied into a new
+     * DataPoint; implementations should override this method whenever labels can be computed from the cursor directly.
+     */
+    default ExtendedLabel predict(RowCursor cursor) {
+        return predict(cursor.toDataPoint());
+    }
+
     /**
      * @param points: a collection of data point
      * @return the predicted labels for each point in the input collection
      */
     default ExtendedLabel[] predict(IndexedDataset points) {
-        return points.stream()
-                .map(this::predict)
-                .toArray(ExtendedLabel[]::new);
+        ExtendedLabel[] labels = new ExtendedLabel[points.length()];
+
+        RowCursor cursor = points.cursor();
+        while (cursor.next()) {
+            labels[cursor.getRow()] = predict(cursor);
+        }
+        return labels;
     }
 
 
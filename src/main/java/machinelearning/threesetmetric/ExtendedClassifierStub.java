@@ -23,6 +23,7 @@ package machinelearning.threesetmetric;
 import data.DataPoint;
 import data.IndexedDataset;
 import data.LabeledPoint;
+import data.RowCursor;
 
 import java.util.Collection;
 
@@ -55,6 +56,14 @@ public final class ExtendedClassifierStub implements ExtendedClassifier {
         return ExtendedLabel.UNKNOWN;
     }
 
+    /**
+     * @return {@link ExtendedLabel#UNKNOWN}
+     */
+    @Override
+    public ExtendedLabel predict(RowCursor cursor) {
+        return ExtendedLabel.UNKNOWN;
+    }
+
     /**
      * @return false, since no data model is ever built
      */
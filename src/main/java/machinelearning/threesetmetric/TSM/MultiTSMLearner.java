@@ -22,6 +22,7 @@ package machinelearning.threesetmetric.TSM;
 
 import data.DataPoint;
 import data.LabeledPoint;
+import data.RowCursor;
 import machinelearning.classifier.Label;
 import machinelearning.threesetmetric.ExtendedClassifier;
 import machinelearning.threesetmetric.ExtendedLabel;
@@ -88,6 +89,19 @@ public class MultiTSMLearner implements ExtendedClassifier {
      */
     private List<Integer> testStates;
 
+    /**
+     * Sorted indices of the attributes of each partition, in the order used for projecting points onto each subspace
+     */
+    private final int[][] sortedFeaGroups;
+
+    /**
+     * Reusable projections of the current row of a cursor onto each subspace (see {@link #predict(RowCursor)}), backed by
+     * the {@link #cursorBuffers} arrays
+     */
+    private final DataPoint[] cursorProjections;
+
+    private final double[][] cursorBuffers;
+
 
     /**
      * @param feaGroups partition of attributes represented by indices
@@ -106,6 +120,16 @@ public class MultiTSMLearner implements ExtendedClassifier {
         errBackTSM = new int[feaGroups.size()];
         isFlagChanged = new int[feaGroups.size()];
 
+        sortedFeaGroups = new int[feaGroups.size()][];
+        cursorBuffers = new double[feaGroups.size()][];
+        cursorProjections = new DataPoint[feaGroups.size()];
+        for (int i = 0; i < sortedFeaGroups.length; i++) {
+            sortedFeaGroups[i] = feaGroups.get(i).clone();
+            Arrays.sort(sortedFeaGroups[i]);
+            cursorBuffers[i] = new double[sortedFeaGroups[i].length];
+            cursorProjections[i] = new DataPoint(0, cursorBuffers[i]);
+        }
+
         for(int[] selected_set : feaGroups){
             // initialize each TSM on each subspace
             TsmLearner tsm = new TsmLearner(selected_set.length);
@@ -207,11 +231,35 @@ public class MultiTSMLearner implements ExtendedClassifier {
      */
     @Override
     public ExtendedLabel predict(DataPoint point) {
+        return predict(factorizeFeatures(point));
+    }
 
+    /**
+     * Prediction of the point at the cursor's current row. Each subspace projection is read from the cursor into a
+     * reusable buffer, so no memory is allocated per row; in particular, this method must not be called concurrently.
+     * @param cursor: cursor positioned at a data point
+     * @return three-class label of the point at the cursor's current row
+     */
+    @Override
+    public ExtendedLabel predict(RowCursor cursor) {
+        for (int i = 0; i < sortedFeaGroups.length; i++) {
+            int[] group = sortedFeaGroups[i];
+            double[] buffer = cursorBuffers[i];
+            for (int k = 0; k < group.length; k++) {
+                buffer[k] = cursor.get(group[k]);
+            }
+        }
+        return predict(cursorProjections);
+    }
 
-        if(isInPosRegion(point)){
+    /**
+     * @param projections: projection of a point onto each subspace
+     * @return three-class label of the point
+     */
+    private ExtendedLabel predict(DataPoint[] projections) {
+        if(isInPosRegion(projections)){
             return ExtendedLabel.POSITIVE;
-        }else if(isInNegRegion(point)){
+        }else if(isInNegRegion(projections)){
             return ExtendedLabel.NEGATIVE;
         }else {
             return ExtendedLabel.UNKNOWN;
@@ -239,18 +287,22 @@ public class MultiTSMLearner implements ExtendedClassifier {
      * @return true if the example is in the positive region, false otherwise
      */
     public boolean isInPosRegion (DataPoint sample) {
+        return isInPosRegion(factorizeFeatures(sample));
+    }
+
+    private boolean isInPosRegion (DataPoint[] projections) {
         ArrayList<Boolean> catTruth = new ArrayList<> ();
         for(int i=0; i < tsmSet.size(); i++){
             // for categorical variables, if the example is not on the truth lines, return false
             if(tsmFlags.get(i)[1]){
                 if(tsmSet.get(i) != null){
-                    catTruth.add(tsmSet.get(i).isOnTruthLines(factorizeFeatures(sample, feaGroups.get(i))));
+                    catTruth.add(tsmSet.get(i).isOnTruthLines(projections[i]));
                 } else {
                     catTruth.add(false);
                 }
             }else{
                 // for numerical variables
-                DataPoint newSample = factorizeFeatures(sample, feaGroups.get(i));
+                DataPoint newSample = projections[i];
                 boolean flag = tsmFlags.get(i)[0];
                 if(flag){
                     if(tsmSet.get(i) == null || !tsmSet.get(i).isInConvexRegion(newSample, true)){
@@ -276,13 +328,17 @@ public class MultiTSMLearner implements ExtendedClassifier {
      * @return true if the example is in the negative region, false otherwise
      */
     public boolean isInNegRegion (DataPoint sample) {
+        return isInNegRegion(factorizeFeatures(sample));
+    }
+
+    private boolean isInNegRegion (DataPoint[] projections) {
         for(int i=0; i < tsmSet.size(); i++){
             if(tsmFlags.get(i)[1]){
-                if(tsmSet.get(i) != null && tsmSet.get(i).isOnFalseLines(factorizeFeatures(sample, feaGroups.get(i)))){
+                if(tsmSet.get(i) != null && tsmSet.get(i).isOnFalseLines(projections[i])){
                     return true;
                 }
             }else {
-                DataPoint newSample = factorizeFeatures(sample, feaGroups.get(i));
+                DataPoint newSample = projections[i];
                 boolean flag = tsmFlags.get(i)[0];
                 if(flag){
                     if(tsmSet.get(i)!= null && tsmSet.get(i).isInConcaveRegion(newSample, true)) {
@@ -321,6 +377,19 @@ public class MultiTSMLearner implements ExtendedClassifier {
         return testSample.getSelectedAttributes(select_set);
     }
 
+    /**
+     * Project an example onto every subspace
+     * @param testSample point to be tested
+     * @return point projected onto each subspace, in the order of the attributes partition
+     */
+    private DataPoint[] factorizeFeatures(DataPoint testSample) {
+        DataPoint[] projections = new DataPoint[feaGroups.size()];
+        for (int i = 0; i < projections.length; i++) {
+            projections[i] = factorizeFeatures(testSample, feaGroups.get(i));
+        }
+        return projections;
+    }
+
     public String toString(){
         StringBuilder sb = new StringBuilder();
         int num = 0;
@@ -20,35 +20,33 @@
 
 package utils.linalg;
 
-import org.ojalgo.matrix.decomposition.Cholesky;
-import org.ojalgo.matrix.store.PrimitiveDenseStore;
+import utils.Validator;
 
 /**
- * This class computes the Cholesky decomposition of a real, symmetric, positive-definite {@link Matrix}. It is basically
- * a wrapper over Apache Commons Math's CholeskyDecomposition class.
+ * This class computes the Cholesky decomposition of a real, symmetric, positive-definite {@link Matrix}. The factorization
+ * itself is delegated to the current {@link LinearAlgebraBackend}.
  */
 public class CholeskyDecomposition {
     /**
-     * The resulting decomposition object from Apache Commons Math library
+     * Cholesky lower-triangular factor
      */
-    private static final Cholesky<Double> decomposition = Cholesky.PRIMITIVE.make();
+    private final Matrix L;
 
     /**
      * @param matrix: {@link Matrix} to compute decomposition
      * @throws IllegalArgumentException if matrix is non-square, or not symmetric, or not positive-definite
      */
     public CholeskyDecomposition(Matrix matrix) {
-        decomposition.decompose(PrimitiveDenseStore.FACTORY.rows(matrix.toArray()));
+        Validator.assertEquals(matrix.rows(), matrix.cols());
 
-        if (!decomposition.isSPD()) {
-            throw new RuntimeException();
-        }
+        int dim = matrix.rows();
+        L = new Matrix(dim, dim, LinearAlgebra.getBackend().cholesky(matrix.array, dim));
     }
 
     /**
      * @return Cholesky lower-triangular factorization of input matrix
      */
     public Matrix getL() {
-        return Matrix.FACTORY.make(decomposition.getL().toRawCopy2D());
+        return L.copy();
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A zero-copy view over a group of columns of another {@link DataMatrix}. This allows a dataset with a factorization
+ * structure to expose each feature group (subspace) without holding one copy of the data per group: the projected
+ * columns are read directly from the underlying matrix when needed.
+ *
+ * Since no data is copied, reordering the rows of a view reorders the rows of the underlying matrix (and, therefore, of
+ * every other view over it).
+ */
+public final class ColumnGroupView implements DataMatrix {
+    private final DataMatrix parent;
+    private final int[] cols;
+
+    /**
+     * @param parent: underlying matrix
+     * @param cols: columns of the underlying matrix exposed by this view, in order
+     * @throws IllegalArgumentException if cols is empty or any column is out of bounds
+     */
+    public ColumnGroupView(DataMatrix parent, int... cols) {
+        Validator.assertPositive(cols.length);
+        for (int col : cols) {
+            Validator.assertIndexInBounds(col, 0, parent.cols());
+        }
+
+        this.parent = Objects.requireNonNull(parent);
+        this.cols = cols.clone();
+    }
+
+    /**
+     * @return the underlying matrix
+     */
+    public DataMatrix getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the columns of the underlying matrix exposed by this view
+     */
+    public int[] getColumnIndexes() {
+        return cols.clone();
+    }
+
+    @Override
+    public int rows() {
+        return parent.rows();
+    }
+
+    @Override
+    public int cols() {
+        return cols.length;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        Validator.assertIndexInBounds(j, 0, cols.length);
+        return parent.get(i, cols[j]);
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        double[] row = new double[cols.length];
+        gather(i, i + 1, row);
+        return new Vector(row);
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        gather(i, i + 1, dest);
+    }
+
+    /**
+     * Copies the projected rows in [from, to) into {@code out}, in row-major order
+     */
+    private void gather(int from, int to, double[] out) {
+        int p = 0;
+
+        if (parent instanceof Matrix) {
+            double[] array = ((Matrix) parent).array;
+            int parentCols = parent.cols();
+            for (int i = from, offset = from * parentCols; i < to; i++, offset += parentCols) {
+                for (int col : cols) {
+                    out[p++] = array[offset + col];
+                }
+            }
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            for (int col : cols) {
+                out[p++] = parent.get(i, col);
+            }
+        }
+    }
+
+    /**
+     * @return a compact copy of the selected rows, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix getRows(int... rows) {
+        return parent.getRows(rows).getCols(cols);
+    }
+
+    /**
+     * @return a compact copy of the slice of rows, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix getRowSlice(int from, int to) {
+        return parent.getRowSlice(from, to).getCols(cols);
+    }
+
+    @Override
+    public DataMatrix getCols(int... cols) {
+        int[] parentCols = new int[cols.length];
+        for (int j = 0; j < cols.length; j++) {
+            Validator.assertIndexInBounds(cols[j], 0, this.cols.length);
+            parentCols[j] = this.cols[cols[j]];
+        }
+        return parent.getCols(parentCols);
+    }
+
+    /**
+     * Swaps two rows of the underlying matrix
+     */
+    @Override
+    public void swapRows(int i, int j) {
+        parent.swapRows(i, j);
+    }
+
+    /**
+     * @return a compact copy of the projected columns, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix copy() {
+        return parent.getCols(cols);
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        return toMatrix(0, rows());
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        Validator.assertIndexInBounds(from, 0, to);
+        Validator.assertIndexInBounds(to, from + 1, rows() + 1);
+
+        double[] values = new double[(to - from) * cols.length];
+        gather(from, to, values);
+        return new Matrix(to - from, cols.length, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ColumnGroupView that = (ColumnGroupView) o;
+        return parent.equals(that.parent) && Arrays.equals(cols, that.cols);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * parent.hashCode() + Arrays.hashCode(cols);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnGroupView{" +
+                "cols=" + Arrays.toString(cols) +
+                ", parent=" + parent +
+                '}';
+    }
+}
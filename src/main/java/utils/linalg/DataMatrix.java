@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+/**
+ * Row-major storage for the feature matrix of a dataset. Besides the regular double-precision {@link Matrix}, other
+ * storage formats (such as the single-precision {@link FloatMatrix}) can be used for holding large pools of data points.
+ *
+ * Only the operations needed for slicing and reordering the data points are part of this interface; any numerical
+ * computation should be done over {@link #toMatrix()}, or over specialized kernels of each implementation.
+ */
+public interface DataMatrix {
+    /**
+     * @return number of rows
+     */
+    int rows();
+
+    /**
+     * @return number of columns
+     */
+    int cols();
+
+    /**
+     * @param i: row index
+     * @param j: column index
+     * @return the value at position (i, j)
+     * @throws IllegalArgumentException if indexes are out of bounds
+     */
+    double get(int i, int j);
+
+    /**
+     * @param i row index
+     * @return a Vector containing a copy of the i-th row
+     * @throws IllegalArgumentException if row index is out of bounds
+     */
+    Vector getRow(int i);
+
+    /**
+     * Copies the i-th row into an existing array, without allocating any memory. This allows iterating over the rows of
+     * large matrices through a single reusable buffer.
+     * @param i: row index
+     * @param dest: array where the row will be written. It must have at least cols() positions.
+     * @throws IllegalArgumentException if row index is out of bounds
+     */
+    default void copyRow(int i, double[] dest) {
+        System.arraycopy(getRow(i).array, 0, dest, 0, cols());
+    }
+
+    /**
+     * @param rows: row indexes to extract
+     * @return a new matrix containing the input rows in the provided order
+     */
+    DataMatrix getRows(int... rows);
+
+    /**
+     * @param from: start index (inclusive)
+     * @param to: end index (exclusive)
+     * @return a copy of a slice of rows
+     * @throws IllegalArgumentException if indexes are out-of-bounds, or {@code from} is not smaller than {@code to}
+     */
+    DataMatrix getRowSlice(int from, int to);
+
+    /**
+     * @param cols: columns to retrieve
+     * @return a new matrix containing only the specified columns
+     */
+    DataMatrix getCols(int... cols);
+
+    /**
+     * Swap two rows in-place
+     * @param i: index of one row to swapped
+     * @param j: index of another row to be swapped
+     * @throws IllegalArgumentException if indexes are out-of-bounds
+     */
+    void swapRows(int i, int j);
+
+    /**
+     * @return a copy of this matrix, in the same storage format
+     */
+    DataMatrix copy();
+
+    /**
+     * @return the contents of this matrix as a double-precision {@link Matrix}. Implementations already storing a
+     * {@link Matrix} may return themselves, so the result should not be modified.
+     */
+    Matrix toMatrix();
+
+    /**
+     * @param from: start index (inclusive)
+     * @param to: end index (exclusive)
+     * @return the contents of a slice of rows as a double-precision {@link Matrix}. This allows running numerical
+     * computations over large matrices block by block, without converting the whole matrix at once.
+     * @throws IllegalArgumentException if indexes are out-of-bounds, or {@code from} is not smaller than {@code to}
+     */
+    default Matrix toMatrix(int from, int to) {
+        return getRowSlice(from, to).toMatrix();
+    }
+
+    /**
+     * Equality shared by the implementations whose values are not held in a double-precision {@link Matrix} (or whose
+     * values are derived from another matrix): two matrices are equal if they have the same class, the same shape, and
+     * their values brought into a {@link Matrix} are equal up to the tolerance of {@link Tensor#equals(Object)}.
+     * Implementations following this contract must compute their hash code through {@link #toleranceHashCode}.
+     * @param matrix: a matrix
+     * @param other: any object
+     * @return whether {@code other} is equal to {@code matrix}
+     */
+    static boolean toleranceEquals(DataMatrix matrix, Object other) {
+        if (matrix == other) return true;
+        if (other == null || matrix.getClass() != other.getClass()) return false;
+        DataMatrix that = (DataMatrix) other;
+        return matrix.rows() == that.rows() && matrix.cols() == that.cols() && matrix.toMatrix().equals(that.toMatrix());
+    }
+
+    /**
+     * Since {@link #toleranceEquals} compares values up to a tolerance, no hash over the values can be consistent with it,
+     * so only the shape of the matrix is hashed.
+     * @param matrix: a matrix
+     * @return a hash code consistent with {@link #toleranceEquals}
+     */
+    static int toleranceHashCode(DataMatrix matrix) {
+        return 31 * matrix.rows() + matrix.cols();
+    }
+}
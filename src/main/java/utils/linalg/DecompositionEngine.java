@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.ojalgo.array.Array1D;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.Eigenvalue;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.PrimitiveDenseStore;
+import org.ojalgo.scalar.ComplexNumber;
+
+import java.util.Optional;
+
+/**
+ * Default implementation of the {@link LinearAlgebraBackend} decompositions, running over ojalgo.
+ *
+ * ojalgo decomposers hold internal state, so each thread gets its own decomposers (and input buffer), which are reused
+ * across calls. This makes decompositions safe to run concurrently (e.g. from several subspace learners) without paying
+ * for the allocation of a new decomposer on each call. Inputs and outputs are copied straight between row-major arrays and
+ * ojalgo stores, with no intermediate {@code double[][]}.
+ */
+final class DecompositionEngine {
+    private static final ThreadLocal<DecompositionEngine> ENGINES = ThreadLocal.withInitial(DecompositionEngine::new);
+
+    private final Cholesky<Double> cholesky = Cholesky.PRIMITIVE.make();
+    private final Eigenvalue<Double> symmetricEigen = Eigenvalue.PRIMITIVE.make(true);
+    private final Eigenvalue<Double> generalEigen = Eigenvalue.PRIMITIVE.make(false);
+
+    /**
+     * Reusable input store (resized whenever the dimension changes)
+     */
+    private PrimitiveDenseStore input;
+
+    private DecompositionEngine() {
+    }
+
+    /**
+     * @see LinearAlgebraBackend#cholesky(double[], int)
+     */
+    static double[] cholesky(double[] a, int dim) {
+        DecompositionEngine engine = ENGINES.get();
+
+        if (!isSymmetric(a, dim) || !engine.cholesky.decompose(engine.load(a, dim)) || !engine.cholesky.isSPD()) {
+            throw new IllegalArgumentException("Matrix is not symmetric positive-definite.");
+        }
+
+        MatrixStore<Double> L = engine.cholesky.getL();
+        double[] result = new double[dim * dim];
+        for (int i = 0, p = 0; i < dim; i++, p += dim) {
+            for (int j = 0; j <= i; j++) {
+                result[p + j] = L.doubleValue(i, j);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Symmetric matrices are decomposed by the (faster and always real) symmetric eigen solver.
+     *
+     * @see LinearAlgebraBackend#eigen(double[], int, double[], double[])
+     */
+    static void eigen(double[] a, int dim, double[] eigenvalues, double[] eigenvectors) {
+        DecompositionEngine engine = ENGINES.get();
+
+        Eigenvalue<Double> decomposition;
+        if (isSymmetric(a, dim)) {
+            decomposition = engine.symmetricEigen;
+            decomposition.decompose(engine.load(a, dim));
+            decomposition.getEigenvalues(eigenvalues, Optional.empty());
+        } else {
+            decomposition = engine.generalEigen;
+            decomposition.decompose(engine.load(a, dim));
+            copyRealEigenvalues(decomposition.getEigenvalues(), eigenvalues);
+        }
+
+        MatrixStore<Double> V = decomposition.getV();
+        for (int i = 0, p = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                eigenvectors[p++] = V.doubleValue(j, i);
+            }
+        }
+    }
+
+    private static void copyRealEigenvalues(Array1D<ComplexNumber> values, double[] eigenvalues) {
+        for (int i = 0; i < eigenvalues.length; i++) {
+            ComplexNumber value = values.get(i);
+            if (!value.isReal()) {
+                throw new RuntimeException("Matrix does not have real eigenvalue decomposition.");
+            }
+            eigenvalues[i] = value.doubleValue();
+        }
+    }
+
+    private static boolean isSymmetric(double[] a, int dim) {
+        for (int i = 0; i < dim; i++) {
+            for (int j = i + 1; j < dim; j++) {
+                if (a[i * dim + j] != a[j * dim + i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the row-major input into the (column-major) input store
+     */
+    private PrimitiveDenseStore load(double[] a, int dim) {
+        if (input == null || input.countRows() != dim) {
+            input = PrimitiveDenseStore.FACTORY.makeZero(dim, dim);
+        }
+
+        double[] data = input.data;
+        for (int i = 0, p = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                data[j * dim + i] = a[p++];
+            }
+        }
+        return input;
+    }
+}
@@ -20,15 +20,11 @@
 
 package utils.linalg;
 
-import org.ojalgo.array.Array1D;
-import org.ojalgo.matrix.decomposition.Eigenvalue;
-import org.ojalgo.matrix.store.MatrixStore;
-import org.ojalgo.matrix.store.PrimitiveDenseStore;
-import org.ojalgo.scalar.ComplexNumber;
+import utils.Validator;
 
 /**
- * This class computes the real Eigenvalue decomposition of a real, symmetric {@link Matrix}. It is basically a wrapper over
- * Apache Commons Math's EigenDecomposition class.
+ * This class computes the real Eigenvalue decomposition of a real, symmetric {@link Matrix}. The decomposition itself is
+ * delegated to the current {@link LinearAlgebraBackend}.
  */
 public class EigenvalueDecomposition {
     /**
@@ -43,35 +39,18 @@ public class EigenvalueDecomposition {
 
     /**
      * @param matrix: {@link Matrix} to compute decomposition
-     * @throws IllegalArgumentException if matrix is not square, or does not have a eigenvalue decomposition over the real numbers
+     * @throws IllegalArgumentException if matrix is not square
+     * @throws RuntimeException if matrix does not have a eigenvalue decomposition over the real numbers
      */
     public EigenvalueDecomposition(Matrix matrix) {
-        Eigenvalue<Double> decomposition = Eigenvalue.PRIMITIVE.make();  // TODO: use constructor (Matrix, boolean) for symmetric matrices
-        decomposition.decompose(PrimitiveDenseStore.FACTORY.rows(matrix.toArray()));
+        Validator.assertEquals(matrix.rows(), matrix.cols());
 
-        eigenvalues = getEigenvalues(decomposition);
-        eigenvectors = getEigenvectors(decomposition);
-    }
-
-    private static Vector getEigenvalues(Eigenvalue<Double> decomposition) {
-        Array1D<ComplexNumber> eigenvalues = decomposition.getEigenvalues();
-
-        double[] values = eigenvalues.stream()
-                .filter(x -> x.isReal())
-                .mapToDouble(ComplexNumber::doubleValue)
-                .toArray();
-
-        if (values.length != eigenvalues.length) {
-            System.out.println(eigenvalues);
-            throw new RuntimeException("Matrix does not have real eigenvalue decomposition.");
-        }
-
-        return Vector.FACTORY.make(values);
-    }
+        int dim = matrix.rows();
+        double[] values = new double[dim], vectors = new double[dim * dim];
+        LinearAlgebra.getBackend().eigen(matrix.array, dim, values, vectors);
 
-    private static Matrix getEigenvectors(Eigenvalue<Double> decomposition) {
-        MatrixStore<Double> VT = decomposition.getV().transpose();
-        return Matrix.FACTORY.make(VT.toRawCopy2D());
+        eigenvalues = new Vector(values);
+        eigenvectors = new Matrix(dim, dim, vectors);
     }
 
     /**
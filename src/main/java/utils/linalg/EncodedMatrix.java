@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * A column-oriented matrix where each column is stored in the most compact of the following encodings:
+ *
+ *  - {@link Encoding#BITS}: columns with at most two distinct values (such as one-hot categories) are stored as one bit
+ *    per row, plus a dictionary of the two values
+ *  - {@link Encoding#DICTIONARY}: columns with at most 256 distinct values (such as categorical codes or small integers)
+ *    are stored as one byte code per row, plus a dictionary of the distinct values
+ *  - {@link Encoding#RAW}: any other column is stored as one double per row
+ *
+ * Encodings are lossless, and may cut the memory used by wide categorical tables by up to 64 times. Values are decoded
+ * through lookup tables, either into double-precision blocks of rows (see {@link #toMatrix(int, int)}), or directly
+ * inside the scoring kernels: matrix-vector products look up the precomputed products of each weight and dictionary
+ * value, without decoding the matrix.
+ */
+public final class EncodedMatrix implements DataMatrix {
+    /**
+     * Maximum number of distinct values in a dictionary-encoded column
+     */
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    /**
+     * Storage format of a column
+     */
+    public enum Encoding {
+        RAW, DICTIONARY, BITS
+    }
+
+    private final Column[] columns;
+    private final int rows;
+
+    /**
+     * This is a static factory for encoded matrix creation.
+     */
+    public static class FACTORY {
+        /**
+         * @param matrix: any matrix
+         * @return a copy of the input matrix, where each column is stored in its most compact encoding
+         */
+        public static EncodedMatrix make(DataMatrix matrix) {
+            int rows = matrix.rows(), cols = matrix.cols();
+
+            // first pass: collect the distinct values of each column, until they exceed the dictionary size
+            double[][] dictionaries = new double[cols][];
+            int[] sizes = new int[cols];
+            for (int j = 0; j < cols; j++) {
+                dictionaries[j] = new double[MAX_DICTIONARY_SIZE];
+            }
+
+            for (int from = 0; from < rows; from += BLOCK_ROWS) {
+                Matrix block = matrix.toMatrix(from, Math.min(rows, from + BLOCK_ROWS));
+                for (int j = 0; j < cols; j++) {
+                    if (dictionaries[j] != null) {
+                        sizes[j] = addDistinctValues(block, j, dictionaries[j], sizes[j]);
+                        if (sizes[j] < 0) {
+                            dictionaries[j] = null;
+                        }
+                    }
+                }
+            }
+
+            Column[] columns = new Column[cols];
+            for (int j = 0; j < cols; j++) {
+                if (dictionaries[j] == null) {
+                    columns[j] = new RawColumn(new double[rows]);
+                } else if (sizes[j] <= 2) {
+                    columns[j] = new BitColumn(Arrays.copyOf(dictionaries[j], 2), new long[(rows + 63) / 64]);
+                } else {
+                    columns[j] = new DictionaryColumn(Arrays.copyOf(dictionaries[j], sizes[j]), new byte[rows]);
+                }
+            }
+
+            // second pass: encode the values
+            for (int from = 0; from < rows; from += BLOCK_ROWS) {
+                Matrix block = matrix.toMatrix(from, Math.min(rows, from + BLOCK_ROWS));
+                for (int j = 0; j < cols; j++) {
+                    columns[j].encode(from, block.array, j, cols);
+                }
+            }
+
+            return new EncodedMatrix(rows, columns);
+        }
+
+        /**
+         * Number of rows decoded from the input matrix at a time
+         */
+        private static final int BLOCK_ROWS = 4096;
+
+        /**
+         * Adds the values of a block column to a sorted dictionary
+         * @return the new dictionary size, or -1 if the dictionary is full
+         */
+        private static int addDistinctValues(Matrix block, int j, double[] dictionary, int size) {
+            for (int p = j; p < block.array.length; p += block.cols()) {
+                double value = block.array[p];
+                int pos = Arrays.binarySearch(dictionary, 0, size, value);
+                if (pos < 0) {
+                    if (size == dictionary.length) {
+                        return -1;
+                    }
+                    pos = -pos - 1;
+                    System.arraycopy(dictionary, pos, dictionary, pos + 1, size - pos);
+                    dictionary[pos] = value;
+                    size++;
+                }
+            }
+            return size;
+        }
+    }
+
+    private EncodedMatrix(int rows, Column[] columns) {
+        Validator.assertPositive(rows);
+        Validator.assertNotEmpty(columns);
+
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return columns.length;
+    }
+
+    /**
+     * @param j: column index
+     * @return the encoding of the j-th column
+     * @throws IllegalArgumentException if j is out of bounds
+     */
+    public Encoding getEncoding(int j) {
+        Validator.assertIndexInBounds(j, 0, columns.length);
+        return columns[j].encoding();
+    }
+
+    /**
+     * @param i: row index
+     * @param j: column index
+     * @return value at position (i, j)
+     * @throws IllegalArgumentException if either i or j is out of bounds
+     */
+    @Override
+    public double get(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, columns.length);
+        return columns[j].get(i);
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows);
+
+        double[] row = new double[columns.length];
+        for (int j = 0; j < row.length; j++) {
+            row[j] = columns[j].get(i);
+        }
+        return new Vector(row);
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        for (int j = 0; j < columns.length; j++) {
+            dest[j] = columns[j].get(i);
+        }
+    }
+
+    @Override
+    public EncodedMatrix getRows(int... rows) {
+        Validator.assertNotEmpty(rows);
+        for (int i : rows) {
+            Validator.assertIndexInBounds(i, 0, this.rows);
+        }
+
+        Column[] result = new Column[columns.length];
+        for (int j = 0; j < result.length; j++) {
+            result[j] = columns[j].gather(rows);
+        }
+        return new EncodedMatrix(rows.length, result);
+    }
+
+    @Override
+    public EncodedMatrix getRowSlice(int from, int to) {
+        if (from < 0 || from >= to || to > rows) {
+            throw new IllegalArgumentException("Invalid indexes " + from + " and " + to + " for matrix of " + rows + " rows");
+        }
+
+        int[] slice = new int[to - from];
+        for (int i = 0; i < slice.length; i++) {
+            slice[i] = from + i;
+        }
+        return getRows(slice);
+    }
+
+    @Override
+    public EncodedMatrix getCols(int... cols) {
+        Validator.assertNotEmpty(cols);
+
+        Column[] result = new Column[cols.length];
+        for (int k = 0; k < cols.length; k++) {
+            Validator.assertIndexInBounds(cols[k], 0, columns.length);
+            result[k] = columns[cols[k]].copy();
+        }
+        return new EncodedMatrix(rows, result);
+    }
+
+    @Override
+    public void swapRows(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, rows);
+
+        if (i != j) {
+            for (Column column : columns) {
+                column.swap(i, j);
+            }
+        }
+    }
+
+    @Override
+    public EncodedMatrix copy() {
+        Column[] result = new Column[columns.length];
+        for (int j = 0; j < result.length; j++) {
+            result[j] = columns[j].copy();
+        }
+        return new EncodedMatrix(rows, result);
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        return toMatrix(0, rows);
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        if (from < 0 || from >= to || to > rows) {
+            throw new IllegalArgumentException("Invalid indexes " + from + " and " + to + " for matrix of " + rows + " rows");
+        }
+
+        double[] values = new double[(to - from) * columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            columns[j].decode(from, to, values, j, columns.length);
+        }
+        return new Matrix(to - from, columns.length, values);
+    }
+
+    /* SCORING KERNELS */
+
+    /**
+     * @param vector: vector to perform matrix-vector multiplication
+     * @return the matrix-vector multiplication of {@code this} and the input vector
+     * @throws IllegalArgumentException if the number of columns {@code this} if different from the vector's dimension
+     */
+    public Vector multiply(Vector vector) {
+        return multiply(vector, Vector.FACTORY.zeros(rows));
+    }
+
+    /**
+     * Computes the matrix-vector product column by column: the product of each weight and dictionary value is computed
+     * once, and then looked up for every row.
+     * @param vector: vector to perform matrix-vector multiplication
+     * @param result: vector where the result will be written. It must not be the input vector.
+     * @return {@code result}, after being overwritten by {@code this} * {@code vector}
+     * @throws IllegalArgumentException if dimensions are incompatible, or result is the input vector
+     */
+    public Vector multiply(Vector vector, Vector result) {
+        Validator.assertEquals(columns.length, vector.dim());
+        Validator.assertEquals(rows, result.dim());
+        if (vector == result) {
+            throw new IllegalArgumentException("Result vector cannot be the input vector.");
+        }
+
+        Arrays.fill(result.array, 0);
+        for (int j = 0; j < columns.length; j++) {
+            columns[j].multiplyAdd(vector.array[j], result.array);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the matrix-vector product over a selection of rows, as {@link #multiply(Vector, Vector)}, without gathering
+     * the selected rows into a new matrix.
+     * @param vector: vector to perform matrix-vector multiplication
+     * @param rows: rows of {@code this} to multiply, in order
+     * @return a vector whose i-th entry is the product of row {@code rows[i]} and the input vector
+     * @throws IllegalArgumentException if dimensions are incompatible, or any row is out-of-bounds
+     */
+    public Vector multiply(Vector vector, int[] rows) {
+        Validator.assertEquals(columns.length, vector.dim());
+        for (int i : rows) {
+            Validator.assertIndexInBounds(i, 0, this.rows);
+        }
+
+        double[] result = new double[rows.length];
+        for (int j = 0; j < columns.length; j++) {
+            columns[j].multiplyAdd(vector.array[j], rows, result);
+        }
+        return Vector.FACTORY.make(result);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return DataMatrix.toleranceEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return DataMatrix.toleranceHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < rows; i++) {
+            joiner.add(getRow(i).toString());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * The values of a single column, in some encoding
+     */
+    private interface Column {
+        Encoding encoding();
+
+        double get(int i);
+
+        /**
+         * Encodes the j-th column of a row-major block of values, starting at row {@code from}
+         */
+        void encode(int from, double[] block, int j, int cols);
+
+        /**
+         * Decodes rows from {@code from} (inclusive) to {@code to} (exclusive) into a row-major block of values, at
+         * positions offset, offset + stride, ...
+         */
+        void decode(int from, int to, double[] dest, int offset, int stride);
+
+        /**
+         * Adds weight * value to the entry of each row
+         */
+        void multiplyAdd(double weight, double[] result);
+
+        /**
+         * Adds weight * value of row rows[i] to the i-th entry of result
+         */
+        void multiplyAdd(double weight, int[] rows, double[] result);
+
+        Column gather(int[] rows);
+
+        void swap(int i, int j);
+
+        Column copy();
+    }
+
+    private static final class RawColumn implements Column {
+        private final double[] values;
+
+        RawColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.RAW;
+        }
+
+        @Override
+        public double get(int i) {
+            return values[i];
+        }
+
+        @Override
+        public void encode(int from, double[] block, int j, int cols) {
+            for (int p = j, i = from; p < block.length; p += cols) {
+                values[i++] = block[p];
+            }
+        }
+
+        @Override
+        public void decode(int from, int to, double[] dest, int offset, int stride) {
+            for (int i = from, p = offset; i < to; i++, p += stride) {
+                dest[p] = values[i];
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, double[] result) {
+            for (int i = 0; i < values.length; i++) {
+                result[i] += weight * values[i];
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, int[] rows, double[] result) {
+            for (int i = 0; i < rows.length; i++) {
+                result[i] += weight * values[rows[i]];
+            }
+        }
+
+        @Override
+        public Column gather(int[] rows) {
+            double[] result = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                result[i] = values[rows[i]];
+            }
+            return new RawColumn(result);
+        }
+
+        @Override
+        public void swap(int i, int j) {
+            double tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+
+        @Override
+        public Column copy() {
+            return new RawColumn(values.clone());
+        }
+    }
+
+    private static final class DictionaryColumn implements Column {
+        /**
+         * Distinct values, in increasing order
+         */
+        private final double[] dictionary;
+
+        /**
+         * Position of each row's value in the dictionary, as an unsigned byte
+         */
+        private final byte[] codes;
+
+        DictionaryColumn(double[] dictionary, byte[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.DICTIONARY;
+        }
+
+        @Override
+        public double get(int i) {
+            return dictionary[codes[i] & 0xFF];
+        }
+
+        @Override
+        public void encode(int from, double[] block, int j, int cols) {
+            for (int p = j, i = from; p < block.length; p += cols) {
+                codes[i++] = (byte) Arrays.binarySearch(dictionary, block[p]);
+            }
+        }
+
+        @Override
+        public void decode(int from, int to, double[] dest, int offset, int stride) {
+            for (int i = from, p = offset; i < to; i++, p += stride) {
+                dest[p] = dictionary[codes[i] & 0xFF];
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, double[] result) {
+            double[] table = new double[dictionary.length];
+            for (int c = 0; c < table.length; c++) {
+                table[c] = weight * dictionary[c];
+            }
+
+            for (int i = 0; i < codes.length; i++) {
+                result[i] += table[codes[i] & 0xFF];
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, int[] rows, double[] result) {
+            double[] table = new double[dictionary.length];
+            for (int c = 0; c < table.length; c++) {
+                table[c] = weight * dictionary[c];
+            }
+
+            for (int i = 0; i < rows.length; i++) {
+                result[i] += table[codes[rows[i]] & 0xFF];
+            }
+        }
+
+        @Override
+        public Column gather(int[] rows) {
+            byte[] result = new byte[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                result[i] = codes[rows[i]];
+            }
+            return new DictionaryColumn(dictionary, result);
+        }
+
+        @Override
+        public void swap(int i, int j) {
+            byte tmp = codes[i];
+            codes[i] = codes[j];
+            codes[j] = tmp;
+        }
+
+        @Override
+        public Column copy() {
+            return new DictionaryColumn(dictionary, codes.clone());
+        }
+    }
+
+    private static final class BitColumn implements Column {
+        /**
+         * The values encoded by bits 0 and 1, respectively
+         */
+        private final double[] dictionary;
+
+        private final long[] bits;
+
+        BitColumn(double[] dictionary, long[] bits) {
+            this.dictionary = dictionary;
+            this.bits = bits;
+        }
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.BITS;
+        }
+
+        private boolean isSet(int i) {
+            return (bits[i >>> 6] & (1L << i)) != 0;
+        }
+
+        private void set(int i, boolean value) {
+            if (value) {
+                bits[i >>> 6] |= 1L << i;
+            } else {
+                bits[i >>> 6] &= ~(1L << i);
+            }
+        }
+
+        @Override
+        public double get(int i) {
+            return dictionary[isSet(i) ? 1 : 0];
+        }
+
+        @Override
+        public void encode(int from, double[] block, int j, int cols) {
+            for (int p = j, i = from; p < block.length; p += cols) {
+                set(i++, Double.compare(block[p], dictionary[0]) != 0);
+            }
+        }
+
+        @Override
+        public void decode(int from, int to, double[] dest, int offset, int stride) {
+            for (int i = from, p = offset; i < to; i++, p += stride) {
+                dest[p] = dictionary[isSet(i) ? 1 : 0];
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, double[] result) {
+            double zero = weight * dictionary[0], one = weight * dictionary[1];
+            for (int i = 0; i < result.length; i++) {
+                result[i] += isSet(i) ? one : zero;
+            }
+        }
+
+        @Override
+        public void multiplyAdd(double weight, int[] rows, double[] result) {
+            double zero = weight * dictionary[0], one = weight * dictionary[1];
+            for (int i = 0; i < rows.length; i++) {
+                result[i] += isSet(rows[i]) ? one : zero;
+            }
+        }
+
+        @Override
+        public Column gather(int[] rows) {
+            BitColumn result = new BitColumn(dictionary, new long[(rows.length + 63) / 64]);
+            for (int i = 0; i < rows.length; i++) {
+                result.set(i, isSet(rows[i]));
+            }
+            return result;
+        }
+
+        @Override
+        public void swap(int i, int j) {
+            boolean tmp = isSet(i);
+            set(i, isSet(j));
+            set(j, tmp);
+        }
+
+        @Override
+        public Column copy() {
+            return new BitColumn(dictionary, bits.clone());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * A single-precision, row-major matrix. It is meant for storing large pools of data points at half the memory cost of a
+ * {@link Matrix}; model parameters and computation results are still kept in double-precision, and all products are
+ * accumulated in double-precision as well.
+ *
+ * Besides the {@link DataMatrix} operations, this class provides the few kernels used when scoring a pool of points:
+ * matrix-vector products, products against the transpose of a (double-precision) Matrix, and row norms.
+ */
+public final class FloatMatrix implements DataMatrix {
+    private final float[] array;
+    private final int rows, cols;
+
+    /**
+     * This is a static factory for single-precision matrix creation.
+     */
+    public static class FACTORY {
+        /**
+         * @param matrix: a double-precision matrix
+         * @return a single-precision copy of the input matrix. Values are rounded to the nearest float.
+         */
+        public static FloatMatrix make(Matrix matrix) {
+            float[] values = new float[matrix.array.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) matrix.array[i];
+            }
+            return new FloatMatrix(matrix.rows(), matrix.cols(), values);
+        }
+
+        /**
+         * @param rows: number of rows
+         * @param cols: number of columns
+         * @param values: values to populate the matrix, disposed in a row-by-row format
+         * @return a FloatMatrix object of specified dimensions and values
+         * @throws IllegalArgumentException if either rows or cols are not positive, or values.length is different from rows * cols
+         */
+        public static FloatMatrix make(int rows, int cols, float... values) {
+            return new FloatMatrix(rows, cols, values);
+        }
+    }
+
+    FloatMatrix(int rows, int cols, float[] array) {
+        Validator.assertPositive(rows);
+        Validator.assertPositive(cols);
+        Validator.assertEquals(rows * cols, array.length);
+
+        this.rows = rows;
+        this.cols = cols;
+        this.array = array;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * @param i: row index
+     * @param j: column index
+     * @return value at position (i, j)
+     * @throws IllegalArgumentException if either i or j is out of bounds
+     */
+    public double get(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, cols);
+        return array[i * cols + j];
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows);
+
+        double[] row = new double[cols];
+        for (int j = 0, p = i * cols; j < cols; j++) {
+            row[j] = array[p++];
+        }
+        return new Vector(row);
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        for (int j = 0, p = i * cols; j < cols; j++) {
+            dest[j] = array[p++];
+        }
+    }
+
+    @Override
+    public FloatMatrix getRows(int... rows) {
+        Validator.assertNotEmpty(rows);
+
+        float[] slice = new float[rows.length * cols];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(array, rows[i] * cols, slice, i * cols, cols);
+        }
+        return new FloatMatrix(rows.length, cols, slice);
+    }
+
+    @Override
+    public FloatMatrix getRowSlice(int from, int to) {
+        if (from < 0 || from >= to || to > rows) {
+            throw new IllegalArgumentException("Invalid indexes " + from + " and " + to + " for matrix of " + rows + " rows");
+        }
+
+        return new FloatMatrix(to - from, cols, Arrays.copyOfRange(array, from * cols, to * cols));
+    }
+
+    @Override
+    public FloatMatrix getCols(int... cols) {
+        Validator.assertNotEmpty(cols);
+        for (int j : cols) {
+            Validator.assertIndexInBounds(j, 0, this.cols);
+        }
+
+        float[] result = new float[rows * cols.length];
+
+        int p = 0;
+        for (int offset = 0; offset < array.length; offset += this.cols) {
+            for (int j : cols) {
+                result[p++] = array[offset + j];
+            }
+        }
+
+        return new FloatMatrix(rows, cols.length, result);
+    }
+
+    @Override
+    public void swapRows(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, rows);
+
+        if (i != j) {
+            int offsetI = i * cols, offsetJ = j * cols;
+            for (int k = 0; k < cols; k++) {
+                float tmp = array[offsetI];
+                array[offsetI++] = array[offsetJ];
+                array[offsetJ++] = tmp;
+            }
+        }
+    }
+
+    @Override
+    public FloatMatrix copy() {
+        return new FloatMatrix(rows, cols, array.clone());
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        double[] values = new double[array.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array[i];
+        }
+        return new Matrix(rows, cols, values);
+    }
+
+    /* SCORING KERNELS */
+
+    /**
+     * @param vector: vector to perform matrix-vector multiplication
+     * @return the matrix-vector multiplication of {@code this} and the input vector
+     * @throws IllegalArgumentException if the number of columns {@code this} if different from the vector's dimension
+     */
+    public Vector multiply(Vector vector) {
+        Validator.assertEquals(cols, vector.dim());
+
+        double[] result = new double[rows];
+        MatrixKernels.multiply(array, rows, cols, vector.array, result);
+        return new Vector(result);
+    }
+
+    /**
+     * @param vector: vector to perform matrix-vector multiplication
+     * @param result: vector where the result will be written. It must not be the input vector.
+     * @return {@code result}, after being overwritten by {@code this} * {@code vector}
+     * @throws IllegalArgumentException if dimensions are incompatible, or result is the input vector
+     */
+    public Vector multiply(Vector vector, Vector result) {
+        Validator.assertEquals(cols, vector.dim());
+        Validator.assertEquals(rows, result.dim());
+        if (vector == result) {
+            throw new IllegalArgumentException("Result vector cannot be the input vector.");
+        }
+
+        MatrixKernels.multiply(array, rows, cols, vector.array, result.array);
+        return result;
+    }
+
+    /**
+     * @param other: matrix to be transpose-multiplied
+     * @return {@code this} * {@code other}^T
+     * @throws IllegalArgumentException if matrices have different number of columns
+     */
+    public Matrix multiplyTranspose(Matrix other) {
+        Validator.assertEquals(cols, other.cols());
+
+        double[] result = new double[rows * other.rows()];
+        MatrixKernels.multiplyTranspose(array, rows, cols, other.array, other.rows(), result);
+        return new Matrix(rows, other.rows(), result);
+    }
+
+    /**
+     * @param other: matrix to be transpose-multiplied
+     * @param result: matrix where the result will be written. It must not be the input matrix.
+     * @return {@code result}, after being overwritten by {@code this} * {@code other}^T
+     * @throws IllegalArgumentException if dimensions are incompatible, or result is the input matrix
+     */
+    public Matrix multiplyTranspose(Matrix other, Matrix result) {
+        Validator.assertEquals(cols, other.cols());
+        Validator.assertEquals(rows, result.rows());
+        Validator.assertEquals(other.rows(), result.cols());
+        if (result == other) {
+            throw new IllegalArgumentException("Result matrix cannot be the input matrix.");
+        }
+
+        MatrixKernels.multiplyTranspose(array, rows, cols, other.array, other.rows(), result.array);
+        return result;
+    }
+
+    /**
+     * @return a Vector containing the squared norm of each row in the matrix
+     */
+    public Vector getRowSquaredNorms() {
+        double[] norms = new double[rows];
+        MatrixKernels.rowSquaredNorms(array, rows, cols, norms);
+        return new Vector(norms);
+    }
+
+    /**
+     * @param result: vector where the squared norm of each row will be written
+     * @return {@code result}, after being overwritten by the squared norm of each row
+     * @throws IllegalArgumentException if result.dim() is different from rows()
+     */
+    public Vector getRowSquaredNorms(Vector result) {
+        Validator.assertEquals(rows, result.dim());
+        MatrixKernels.rowSquaredNorms(array, rows, cols, result.array);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FloatMatrix that = (FloatMatrix) o;
+        return rows == that.rows && cols == that.cols && Arrays.equals(array, that.array);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(array);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < rows; i++) {
+            joiner.add(getRow(i).toString());
+        }
+        return joiner.toString();
+    }
+}
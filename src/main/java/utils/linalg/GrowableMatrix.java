@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * A double-precision, row-major matrix to which rows can be appended. Rows are stored in a buffer with spare capacity,
+ * which is doubled whenever it gets full, so appending a row takes amortized O(cols) time.
+ *
+ * The contents are converted to a {@link Matrix} on demand by {@link #toMatrix()}; the conversion is cached until the
+ * next modification, and is free (no copy) when the buffer is full. A read-only copy of the current rows can also be
+ * taken in O(1) time by {@link #snapshot()}, which shares the buffer.
+ */
+public final class GrowableMatrix implements DataMatrix {
+    /**
+     * Row-major buffer. Only the first rows * cols positions are in use.
+     */
+    double[] array;
+    private int rows;
+    private final int cols;
+
+    /**
+     * Number of leading rows of {@link #array} which are also read by another matrix (see {@link #snapshot()}). The
+     * buffer is copied before any of them is overwritten.
+     */
+    private int sharedRows;
+
+    /**
+     * The last result of {@link #toMatrix()}, or null if this matrix has been modified since then
+     */
+    private Matrix compact;
+
+    /**
+     * This is a static factory for growable matrix creation.
+     */
+    public static class FACTORY {
+        /**
+         * @param matrix: initial contents
+         * @return a growable copy of the input matrix
+         */
+        public static GrowableMatrix make(DataMatrix matrix) {
+            return make(matrix, matrix.rows());
+        }
+
+        /**
+         * @param matrix: initial contents
+         * @param capacity: number of rows to reserve space for
+         * @return a growable copy of the input matrix, with room for at least {@code capacity} rows before reallocating
+         */
+        public static GrowableMatrix make(DataMatrix matrix, int capacity) {
+            double[] array = new double[Math.max(capacity, matrix.rows()) * matrix.cols()];
+            System.arraycopy(matrix.toMatrix().array, 0, array, 0, matrix.rows() * matrix.cols());
+            return new GrowableMatrix(matrix.rows(), matrix.cols(), array);
+        }
+    }
+
+    private GrowableMatrix(int rows, int cols, double[] array) {
+        Validator.assertPositive(rows);
+        Validator.assertPositive(cols);
+
+        this.rows = rows;
+        this.cols = cols;
+        this.array = array;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * @param row: row to append
+     * @throws IllegalArgumentException if row.dim() is different from cols()
+     */
+    public void appendRow(Vector row) {
+        Validator.assertEquals(cols, row.dim());
+
+        ensureCapacity(rows + 1);
+        System.arraycopy(row.array, 0, array, rows * cols, cols);
+        rows++;
+    }
+
+    /**
+     * @param matrix: matrix whose rows will be appended, in order
+     * @throws IllegalArgumentException if matrix.cols() is different from cols()
+     */
+    public void appendRows(DataMatrix matrix) {
+        Validator.assertEquals(cols, matrix.cols());
+
+        ensureCapacity(rows + matrix.rows());
+        System.arraycopy(matrix.toMatrix().array, 0, array, rows * cols, matrix.rows() * cols);
+        rows += matrix.rows();
+    }
+
+    private void ensureCapacity(int capacity) {
+        compact = null;
+
+        if (capacity * cols > array.length || rows < sharedRows) {
+            array = Arrays.copyOf(array, Math.max(capacity, 2 * rows) * cols);
+            sharedRows = 0;
+        }
+    }
+
+    /**
+     * @return a matrix holding the current rows of {@code this}, built in O(1) time by sharing the buffer. Rows appended
+     * to {@code this} afterwards are not visible through it, and the buffer is copied before either matrix overwrites a
+     * row the other one can read.
+     */
+    public GrowableMatrix snapshot() {
+        sharedRows = Math.max(sharedRows, rows);
+
+        GrowableMatrix snapshot = new GrowableMatrix(rows, cols, array);
+        // the spare capacity of the buffer belongs to this matrix
+        snapshot.sharedRows = Integer.MAX_VALUE;
+        snapshot.compact = compact;
+        return snapshot;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, cols);
+        return array[i * cols + j];
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        return new Vector(Arrays.copyOfRange(array, i * cols, (i + 1) * cols));
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        System.arraycopy(array, i * cols, dest, 0, cols);
+    }
+
+    @Override
+    public Matrix getRows(int... rows) {
+        Validator.assertNotEmpty(rows);
+
+        double[] slice = new double[rows.length * cols];
+        for (int i = 0; i < rows.length; i++) {
+            Validator.assertIndexInBounds(rows[i], 0, this.rows);
+            System.arraycopy(array, rows[i] * cols, slice, i * cols, cols);
+        }
+        return new Matrix(rows.length, cols, slice);
+    }
+
+    @Override
+    public Matrix getRowSlice(int from, int to) {
+        if (from < 0 || from >= to || to > rows) {
+            throw new IllegalArgumentException("Invalid indexes " + from + " and " + to + " for matrix of " + rows + " rows");
+        }
+
+        return new Matrix(to - from, cols, Arrays.copyOfRange(array, from * cols, to * cols));
+    }
+
+    @Override
+    public Matrix getCols(int... cols) {
+        return toMatrix().getCols(cols);
+    }
+
+    @Override
+    public void swapRows(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, rows);
+
+        if (i != j) {
+            // the cached Matrix or a snapshot may share the buffer
+            if (sharedRows > Math.min(i, j) || compact != null && compact.array == array) {
+                array = array.clone();
+                sharedRows = 0;
+            }
+            compact = null;
+
+            int offsetI = i * cols, offsetJ = j * cols;
+            for (int k = 0; k < cols; k++) {
+                double tmp = array[offsetI];
+                array[offsetI++] = array[offsetJ];
+                array[offsetJ++] = tmp;
+            }
+        }
+    }
+
+    @Override
+    public GrowableMatrix copy() {
+        return new GrowableMatrix(rows, cols, array.clone());
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        if (compact == null) {
+            compact = new Matrix(rows, cols, array.length == rows * cols ? array : Arrays.copyOf(array, rows * cols));
+        }
+        return compact;
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        return getRowSlice(from, to);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return DataMatrix.toleranceEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return DataMatrix.toleranceHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < rows; i++) {
+            joiner.add(getRow(i).toString());
+        }
+        return joiner.toString();
+    }
+}
@@ -22,16 +22,22 @@ package utils.linalg;
 
 import utils.Validator;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * This class maintains the Cholesky factor L of a symmetric positive-definite matrix A which grows one row (and column)
+ * at a time, without recomputing the previous rows of L: each {@link #increment} costs O(dim^2).
+ *
+ * L is stored in packed lower-triangular form (row i occupies positions [i(i+1)/2, (i+1)(i+2)/2) of a single array), which
+ * grows by amortized doubling. Instead of explicit inverses, products with L^{-1} are computed through forward and
+ * backward substitution.
+ */
 public class IncrementalCholesky {
     private int currentDim = 0;
-    private final ArrayList<Vector> choleskyRows, inverseRows;
+    private double[] packed;
 
     public IncrementalCholesky() {
-        choleskyRows = new ArrayList<>();
-        inverseRows = new ArrayList<>();
+        packed = new double[0];
     }
 
     public int getCurrentDim() {
@@ -42,82 +48,155 @@ public class IncrementalCholesky {
         increment(Vector.FACTORY.make(values));
     }
 
+    /**
+     * @param point: the new row of A, up to (and including) the diagonal element
+     * @throws IllegalArgumentException if point.dim() is different from getCurrentDim() + 1
+     * @throws RuntimeException if the incremented matrix is not positive definite
+     */
     public void increment(Vector point) {
         Validator.assertEquals(point.dim(), currentDim + 1);
 
-        updateCholesky(point);
-        updateInverse();
-
-        currentDim++;
-    }
-
-    private void updateCholesky(Vector point) {
-        Vector row = Vector.FACTORY.zeroslike(point);
+        int offset = rowOffset(currentDim);
+        ensureCapacity(offset + currentDim + 1);
 
-        int col = 0;
-        for (Vector cholRow: choleskyRows) {
-            double sum = point.get(col);
+        double squaredNorm = 0;
+        for (int col = 0; col < currentDim; col++) {
+            int cholRow = rowOffset(col);
 
+            double sum = point.array[col];
             for (int k = 0; k < col; k++) {
-                sum -= row.get(k) * cholRow.get(k);
+                sum -= packed[offset + k] * packed[cholRow + k];
             }
 
-            row.set(col, sum / cholRow.get(col));
-
-            col++;
+            double value = sum / packed[cholRow + col];
+            packed[offset + col] = value;
+            squaredNorm += value * value;
         }
 
-        double value = point.get(col) - row.squaredNorm();
+        double value = point.array[currentDim] - squaredNorm;
 
         if (value <= 0) {
             throw new RuntimeException("Matrix is not positive definite: value = " + value);
         }
 
-        row.set(col, Math.sqrt(value));
-        choleskyRows.add(row);
+        packed[offset + currentDim] = Math.sqrt(value);
+        currentDim++;
     }
 
-    private void updateInverse() {
-        Vector row = Vector.FACTORY.zeros(currentDim + 1);
+    private static int rowOffset(int row) {
+        return row * (row + 1) / 2;
+    }
 
-        Vector chol = choleskyRows.get(currentDim);
-        double scale = 1.0 / chol.get(currentDim);
-        row.set(currentDim, scale);
+    private void ensureCapacity(int capacity) {
+        if (capacity > packed.length) {
+            packed = Arrays.copyOf(packed, Math.max(capacity, 2 * packed.length));
+        }
+    }
 
-        for (int j = 0; j < currentDim; j++) {
-            double sum = 0;
+    /**
+     * @param row: row index
+     * @return the non-zero entries of the i-th row of L, i.e. L[row, 0], ..., L[row, row]
+     * @throws IllegalArgumentException if row is out of bounds
+     */
+    public Vector getRow(int row) {
+        Validator.assertIndexInBounds(row, 0, currentDim);
+        int offset = rowOffset(row);
+        return new Vector(Arrays.copyOfRange(packed, offset, offset + row + 1));
+    }
 
-            for (int r = j; r < currentDim; r++) {
-                sum += chol.get(r) * inverseRows.get(r).get(j);
-            }
+    /**
+     * Solves the triangular system L x = b through forward substitution
+     * @param b: right-hand side vector
+     * @return the solution x = L^{-1} b
+     * @throws IllegalArgumentException if b.dim() is different from getCurrentDim()
+     */
+    public Vector forwardSolve(Vector b) {
+        Validator.assertEquals(b.dim(), currentDim);
+
+        double[] x = b.array.clone();
+        for (int i = 0; i < currentDim; i++) {
+            int offset = rowOffset(i);
 
-            row.set(j, -sum * scale);
+            double sum = x[i];
+            for (int k = 0; k < i; k++) {
+                sum -= packed[offset + k] * x[k];
+            }
+            x[i] = sum / packed[offset + i];
         }
+        return new Vector(x);
+    }
 
-        inverseRows.add(row);
+    /**
+     * Solves the triangular system L^T x = b through backward substitution
+     * @param b: right-hand side vector
+     * @return the solution x = L^{-T} b
+     * @throws IllegalArgumentException if b.dim() is different from getCurrentDim()
+     */
+    public Vector backwardSolve(Vector b) {
+        Validator.assertEquals(b.dim(), currentDim);
+
+        double[] x = b.array.clone();
+        backwardSolveInplace(x, 0);
+        return new Vector(x);
     }
 
+    /**
+     * Solves L^T x = values[offset, offset + currentDim), overwriting the input with the solution. Since L^T is accessed
+     * column-wise, the elimination is done column by column over the rows of L.
+     */
+    private void backwardSolveInplace(double[] values, int offset) {
+        for (int i = currentDim - 1; i >= 0; i--) {
+            int row = rowOffset(i);
 
-    public Matrix getL() {
-        return parseList(choleskyRows);
+            double value = values[offset + i] / packed[row + i];
+            values[offset + i] = value;
+
+            for (int k = 0; k < i; k++) {
+                values[offset + k] -= packed[row + k] * value;
+            }
+        }
     }
 
-    public Matrix getInverse() {
-        return parseList(inverseRows);
+    /**
+     * @param matrix: a matrix B with getCurrentDim() columns
+     * @return B L^{-1}, computed through backward substitution over each row of B (since (B L^{-1})^T = L^{-T} B^T)
+     * @throws IllegalArgumentException if matrix.cols() is different from getCurrentDim()
+     */
+    public Matrix multiplyByInverse(Matrix matrix) {
+        Validator.assertEquals(matrix.cols(), currentDim);
+
+        Matrix result = matrix.copy();
+        for (int i = 0; i < result.rows(); i++) {
+            backwardSolveInplace(result.array, i * currentDim);
+        }
+        return result;
     }
 
-    private Matrix parseList(List<Vector> list) {
+    /**
+     * @return the Cholesky factor L, as a dense matrix
+     * @throws IllegalArgumentException if no increment has been made
+     */
+    public Matrix getL() {
         Validator.assertPositive(currentDim);
 
         Matrix mat = Matrix.FACTORY.zeros(currentDim, currentDim);
 
-        for (int i = 0; i < currentDim; i++) {
-            for (int j = 0; j <= i; j++) {
-                mat.set(i, j, list.get(i).get(j));
-            }
+        for (int i = 0, p = 0; i < currentDim; i++) {
+            System.arraycopy(packed, rowOffset(i), mat.array, p, i + 1);
+            p += currentDim;
         }
 
         return mat;
     }
 
+    /**
+     * @return the inverse of L, as a dense matrix. Prefer {@link #forwardSolve} or {@link #multiplyByInverse}, which avoid
+     * computing the inverse explicitly.
+     * @throws IllegalArgumentException if no increment has been made
+     */
+    public Matrix getInverse() {
+        Validator.assertPositive(currentDim);
+
+        return multiplyByInverse(Matrix.FACTORY.identity(currentDim));
+    }
 }
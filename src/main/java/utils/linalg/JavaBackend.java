@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import java.util.Arrays;
+
+/**
+ * The default backend: pure-Java, cache-blocked kernels running over the common fork-join pool (see {@link MatrixKernels}).
+ */
+final class JavaBackend implements LinearAlgebraBackend {
+    @Override
+    public void multiply(double[] a, int rows, int cols, double[] x, double[] out) {
+        MatrixKernels.multiply(a, rows, cols, x, out);
+    }
+
+    @Override
+    public void multiplyTranspose(double[] a, int rows, int cols, double[] b, int otherRows, double[] out) {
+        MatrixKernels.multiplyTranspose(a, rows, cols, b, otherRows, out);
+    }
+
+    @Override
+    public void matrixMultiply(double[] a, int rows, int cols, double[] b, int otherCols, double[] out) {
+        // the blocked kernel accumulates into its output
+        Arrays.fill(out, 0, rows * otherCols, 0);
+        MatrixKernels.matrixMultiply(a, rows, cols, b, otherCols, out);
+    }
+
+    @Override
+    public String toString() {
+        return "java";
+    }
+}
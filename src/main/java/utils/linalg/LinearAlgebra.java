@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+/**
+ * Holds the {@link LinearAlgebraBackend} used by every {@link Matrix} operation.
+ *
+ * The backend is chosen at startup through the {@value #BACKEND_PROPERTY} system property (for instance,
+ * {@code -Dlinalg.backend=ojalgo}), defaulting to the pure-Java kernels. It can also be replaced programmatically, which
+ * should be done before any computation starts.
+ */
+public final class LinearAlgebra {
+    /**
+     * System property holding the name of the backend to use
+     */
+    public static final String BACKEND_PROPERTY = "linalg.backend";
+
+    private static volatile LinearAlgebraBackend backend;
+
+    private LinearAlgebra() {
+    }
+
+    /**
+     * @return the backend in use
+     * @throws IllegalArgumentException if the configured backend is unknown
+     * @throws IllegalStateException if the configured backend is not available in the current classpath
+     */
+    public static LinearAlgebraBackend getBackend() {
+        LinearAlgebraBackend current = backend;
+        if (current == null) {
+            synchronized (LinearAlgebra.class) {
+                if (backend == null) {
+                    backend = LinearAlgebraBackend.FACTORY.make(System.getProperty(BACKEND_PROPERTY, "java"));
+                }
+                current = backend;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param newBackend: backend to use in all subsequent operations
+     */
+    public static void setBackend(LinearAlgebraBackend newBackend) {
+        Validator.assertNotNull(newBackend);
+        backend = newBackend;
+    }
+
+    /**
+     * @param name: name of one of the built-in backends
+     * @see LinearAlgebraBackend.FACTORY#make(String)
+     */
+    public static void setBackend(String name) {
+        setBackend(LinearAlgebraBackend.FACTORY.make(name));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+/**
+ * Service provider interface for the heavy dense linear algebra operations behind {@link Matrix}: matrix products, row
+ * norms, and matrix decompositions. The backend in use is chosen at startup (see {@link LinearAlgebra}), so optimized
+ * implementations can be plugged in without changing any learner code.
+ *
+ * All matrices are given as row-major arrays. Implementations must overwrite (never accumulate into) the output arrays,
+ * and must be thread-safe.
+ */
+public interface LinearAlgebraBackend {
+    /**
+     * Computes out = A * x
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A
+     * @param x: vector of dimension cols
+     * @param out: output vector of dimension rows
+     */
+    void multiply(double[] a, int rows, int cols, double[] x, double[] out);
+
+    /**
+     * Computes out = A * B^T
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of both A and B
+     * @param b: row-major values of B
+     * @param otherRows: number of rows of B
+     * @param out: row-major output array of size rows * otherRows
+     */
+    void multiplyTranspose(double[] a, int rows, int cols, double[] b, int otherRows, double[] out);
+
+    /**
+     * Computes out = A * B
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A, which must be equal to the number of rows of B
+     * @param b: row-major values of B
+     * @param otherCols: number of columns of B
+     * @param out: row-major output array of size rows * otherCols
+     */
+    void matrixMultiply(double[] a, int rows, int cols, double[] b, int otherCols, double[] out);
+
+    /**
+     * Computes the squared norm of each row of A
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A
+     * @param out: output vector of dimension rows
+     */
+    default void rowSquaredNorms(double[] a, int rows, int cols, double[] out) {
+        MatrixKernels.rowSquaredNorms(a, rows, cols, out);
+    }
+
+    /**
+     * Computes the Cholesky factorization A = L L^T
+     * @param a: row-major values of a symmetric positive-definite matrix A
+     * @param dim: dimension of A
+     * @return row-major values of the lower-triangular factor L
+     * @throws IllegalArgumentException if A is not positive-definite
+     */
+    default double[] cholesky(double[] a, int dim) {
+        return DecompositionEngine.cholesky(a, dim);
+    }
+
+    /**
+     * Computes the eigenvalue decomposition of A over the real numbers
+     * @param a: row-major values of A
+     * @param dim: dimension of A
+     * @param eigenvalues: output array of size dim, where the eigenvalues will be written
+     * @param eigenvectors: row-major output array of size dim * dim, where the eigenvectors will be written (one per row)
+     * @throws RuntimeException if A does not have a real eigenvalue decomposition
+     */
+    default void eigen(double[] a, int dim, double[] eigenvalues, double[] eigenvectors) {
+        DecompositionEngine.eigen(a, dim, eigenvalues, eigenvectors);
+    }
+
+    /**
+     * This is a static factory for the built-in backends.
+     */
+    class FACTORY {
+        /**
+         * @param name: backend name. Either "java" (pure-Java kernels), "ojalgo", or "netlib" (requires netlib-java on the classpath)
+         * @return a new instance of the corresponding backend
+         * @throws IllegalArgumentException if the name is unknown
+         * @throws IllegalStateException if the backend is not available in the current classpath
+         */
+        public static LinearAlgebraBackend make(String name) {
+            switch (name.toLowerCase()) {
+                case "java":
+                    return new JavaBackend();
+                case "ojalgo":
+                    return new OjAlgoBackend();
+                case "netlib":
+                    return new NetlibBackend();
+                default:
+                    throw new IllegalArgumentException("Unknown linear algebra backend: " + name);
+            }
+        }
+    }
+}
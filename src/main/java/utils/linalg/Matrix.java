@@ -24,14 +24,14 @@ import explore.statistics.Statistics;
 import utils.Validator;
 
 import java.util.StringJoiner;
-import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * A Matrix represents a mathematical real array. Basically, this module is a wrapper of the Ojalgo's
  * PrimitiveMatrix class. Note that all Matrix instances are immutable, i.e. we do not allow modifying its inner
  * values directly. Consequently, all Matrix operations create new Matrix instances, leaving the operands untouched.
  */
-public class Matrix extends Tensor<Matrix> {
+public class Matrix extends Tensor<Matrix> implements DataMatrix {
     /**
      * This is a static factory for array creation. It provides several utility methods for instantiating matrices.
      */
@@ -132,6 +132,24 @@ public class Matrix extends Tensor<Matrix> {
         return new Matrix(rows(), cols(), array.clone());
     }
 
+    @Override
+    Matrix newInstance(double[] array) {
+        return new Matrix(rows(), cols(), array);
+    }
+
+    @Override
+    public MatrixExpression lazy() {
+        return new MatrixExpression(this);
+    }
+
+    /**
+     * @return {@code this}, since it is already a double-precision matrix
+     */
+    @Override
+    public Matrix toMatrix() {
+        return this;
+    }
+
     /**
      * @return number of rows()
      */
@@ -153,7 +171,7 @@ public class Matrix extends Tensor<Matrix> {
      * @throws IllegalArgumentException if either i or j is out of bounds
      */
     public double get(int i, int j) {
-        return super.get(i, j);
+        return array[shape.getPosition(i, j)];
     }
 
     /**
@@ -163,7 +181,7 @@ public class Matrix extends Tensor<Matrix> {
      * @throws IllegalArgumentException if either i or j is out of bounds
      */
     public void set(int i, int j, double value) {
-        super.set(value, i, j);
+        array[shape.getPosition(i, j)] = value;
     }
 
     /**
@@ -178,6 +196,48 @@ public class Matrix extends Tensor<Matrix> {
         return new Vector(row);
     }
 
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        System.arraycopy(array, i * cols(), dest, 0, cols());
+    }
+
+    /**
+     * @param i row index
+     * @return a read-only view over the i-th row. No data is copied.
+     * @throws IllegalArgumentException if row index is out of bounds
+     */
+    public VectorView rowView(int i) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        return new VectorView(array, i * cols(), 1, cols());
+    }
+
+    /**
+     * @param i row index
+     * @param vector a vector
+     * @return the scalar product between the i-th row and the input vector, computed without copying the row
+     * @throws IllegalArgumentException if row index is out of bounds or vector has incompatible dimension
+     */
+    public double rowDot(int i, Vector vector) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        Validator.assertEquals(cols(), vector.dim());
+
+        return SimdKernels.dot(array, i * cols(), vector.array, 0, cols());
+    }
+
+    /**
+     * @param i row index
+     * @param vector a vector
+     * @return the squared distance between the i-th row and the input vector, computed without copying the row
+     * @throws IllegalArgumentException if row index is out of bounds or vector has incompatible dimension
+     */
+    public double rowSquaredDistance(int i, Vector vector) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        Validator.assertEquals(cols(), vector.dim());
+
+        return SimdKernels.squaredDistance(array, i * cols(), vector.array, 0, cols());
+    }
+
     public void setRow(int row, double[] values) {
         Validator.assertIndexInBounds(row, 0, rows());
         Validator.assertEquals(cols(), values.length);
@@ -254,6 +314,16 @@ public class Matrix extends Tensor<Matrix> {
         return new Vector(col);
     }
 
+    /**
+     * @param i column index
+     * @return a read-only view over the i-th column. No data is copied.
+     * @throws IllegalArgumentException if column index is out of bounds
+     */
+    public VectorView colView(int i) {
+        Validator.assertIndexInBounds(i, 0, cols());
+        return new VectorView(array, i, cols(), rows());
+    }
+
     /**
      * @param cols: columns to retrieve
      * @return a new matrix containing only the specified columns
@@ -264,10 +334,14 @@ public class Matrix extends Tensor<Matrix> {
 
         double[] result = new double[rows() * cols.length];
 
+        for (int j : cols) {
+            Validator.assertIndexInBounds(j, 0, cols());
+        }
+
         int p = 0;
-        for (int i = 0; i < rows(); i++) {
+        for (int offset = 0; offset < array.length; offset += cols()) {
             for(int j : cols) {
-                result[p++] = get(i, j);
+                result[p++] = array[offset + j];
             }
         }
 
@@ -362,7 +436,7 @@ public class Matrix extends Tensor<Matrix> {
         return applyBinaryFunctionToRows(vector, DIV);
     }
 
-    private Matrix applyBinaryFunctionToRows(Vector vector, BiFunction<Double, Double, Double> op) {
+    private Matrix applyBinaryFunctionToRows(Vector vector, DoubleBinaryOperator op) {
         return copy().applyBinaryFunctionToRowsInplace(vector, op);
     }
 
@@ -403,13 +477,13 @@ public class Matrix extends Tensor<Matrix> {
         return applyBinaryFunctionToRowsInplace(vector, DIV);
     }
 
-    private Matrix applyBinaryFunctionToRowsInplace(Vector vector, BiFunction<Double, Double, Double> op) {
+    private Matrix applyBinaryFunctionToRowsInplace(Vector vector, DoubleBinaryOperator op) {
         Validator.assertEquals(cols(), vector.dim());
 
         int p = 0;
         for (int i = 0; i < rows(); i++) {
             for (double value : vector.array) {
-                array[p] = op.apply(array[p++], value);
+                array[p] = op.applyAsDouble(array[p++], value);
             }
         }
         return this;
@@ -453,7 +527,7 @@ public class Matrix extends Tensor<Matrix> {
         return applyBinaryFunctionToColumns(vector, DIV);
     }
 
-    private Matrix applyBinaryFunctionToColumns(Vector vector, BiFunction<Double, Double, Double> op) {
+    private Matrix applyBinaryFunctionToColumns(Vector vector, DoubleBinaryOperator op) {
         return copy().applyBinaryFunctionToColumnsInplace(vector, op);
     }
 
@@ -515,14 +589,14 @@ public class Matrix extends Tensor<Matrix> {
         return applyBinaryFunctionToColumnsInplace(vector, DIV);
     }
 
-    private Matrix applyBinaryFunctionToColumnsInplace(Vector vector, BiFunction<Double, Double, Double> op) {
+    private Matrix applyBinaryFunctionToColumnsInplace(Vector vector, DoubleBinaryOperator op) {
         Validator.assertEquals(rows(), vector.dim());
 
         int p = 0, k = 0;
         for (int i = 0; i < rows(); i++) {
             double value = vector.array[k];
             for (int j = 0; j < cols(); j++) {
-                array[p] = op.apply(array[p++], value);
+                array[p] = op.applyAsDouble(array[p++], value);
             }
             k++;
         }
@@ -542,21 +616,26 @@ public class Matrix extends Tensor<Matrix> {
         }
 
         double[] result = new double[rows()];
+        LinearAlgebra.getBackend().multiply(array, rows(), cols(), vector.array, result);
+        return new Vector(result);
+    }
 
-        int start = 0;
-        for (int i = 0; i < rows(); i++) {
-            int offset = start;
-            double sum = 0;
-
-            for (int j = 0; j < cols(); j++) {
-                sum += array[offset++] * vector.array[j];
-            }
-
-            start += cols();
-            result[i] = sum;
+    /**
+     * Computes the matrix-vector multiplication without allocating a new vector.
+     * @param vector: vector to perform matrix-vector multiplication
+     * @param result: vector where the result will be written. It must not be the input vector.
+     * @return {@code result}, after being overwritten by {@code this} * {@code vector}
+     * @throws IllegalArgumentException if dimensions are incompatible, or result is the input vector
+     */
+    public Vector multiply(Vector vector, Vector result) {
+        Validator.assertEquals(cols(), vector.dim());
+        Validator.assertEquals(rows(), result.dim());
+        if (vector == result) {
+            throw new IllegalArgumentException("Result vector cannot be the input vector.");
         }
 
-        return new Vector(result);
+        LinearAlgebra.getBackend().multiply(array, rows(), cols(), vector.array, result.array);
+        return result;
     }
 
     /**
@@ -568,27 +647,28 @@ public class Matrix extends Tensor<Matrix> {
         Validator.assertEquals(cols(), other.cols());
 
         double[] result = new double[rows() * other.rows()];
+        LinearAlgebra.getBackend().multiplyTranspose(array, rows(), cols(), other.array, other.rows(), result);
 
-        int offsetResult = 0, startThis = 0;
-        for (int i = 0; i < rows(); i++) {
-            int offsetOther = 0;
-
-            for (int j = 0; j < other.rows(); j++) {
-                int offsetThis = startThis;
-                double sum = 0;
-
-                for (int k = 0; k < cols(); k++) {
-                    sum += array[offsetThis++] * other.array[offsetOther++];
-                }
-
-                result[offsetResult] = sum;
-                offsetResult++;
-            }
+        return new Matrix(rows(), other.rows(), result);
+    }
 
-            startThis += cols();
+    /**
+     * Computes {@code this} * {@code other}^T without allocating a new matrix.
+     * @param other: matrix to be transpose-multiplied
+     * @param result: matrix where the result will be written. It must be neither {@code this} nor {@code other}.
+     * @return {@code result}, after being overwritten by {@code this} * {@code other}^T
+     * @throws IllegalArgumentException if dimensions are incompatible, or result is one of the input matrices
+     */
+    public Matrix multiplyTranspose(Matrix other, Matrix result) {
+        Validator.assertEquals(cols(), other.cols());
+        Validator.assertEquals(rows(), result.rows());
+        Validator.assertEquals(other.rows(), result.cols());
+        if (result == this || result == other) {
+            throw new IllegalArgumentException("Result matrix cannot be one of the input matrices.");
         }
 
-        return new Matrix(rows(), other.rows(), result);
+        LinearAlgebra.getBackend().multiplyTranspose(array, rows(), cols(), other.array, other.rows(), result.array);
+        return result;
     }
 
     /**
@@ -600,26 +680,7 @@ public class Matrix extends Tensor<Matrix> {
         Validator.assertEquals(cols(), other.rows());
 
         double[] values = new double[rows() * other.cols()];
-
-        int startThis = 0, startThat = 0;
-        for (int i = 0; i < rows(); i++) {
-            int offsetThat = 0;
-            int offsetThis = startThis;
-
-            for (int j = 0; j < other.rows(); j++) {
-                int offsetResult = startThat;
-                double value = array[offsetThis];
-
-                for (int k = 0; k < other.cols(); k++) {
-                    values[offsetResult++] += value * other.array[offsetThat++];
-                }
-
-                offsetThis++;
-            }
-
-            startThis += cols();
-            startThat += other.cols();
-        }
+        LinearAlgebra.getBackend().matrixMultiply(array, rows(), cols(), other.array, other.cols(), values);
 
         return new Matrix(rows(), other.cols(), values);
     }
@@ -630,16 +691,27 @@ public class Matrix extends Tensor<Matrix> {
      * @return the sum of each row
      */
     public Vector getRowSums() {
-        double[] sums = new double[rows()];
+        return getRowSums(Vector.FACTORY.zeros(rows()));
+    }
+
+    /**
+     * @param result: vector where the sum of each row will be written
+     * @return {@code result}, after being overwritten by the sum of each row
+     * @throws IllegalArgumentException if result.dim() is different from rows()
+     */
+    public Vector getRowSums(Vector result) {
+        Validator.assertEquals(rows(), result.dim());
 
         int p = 0;
         for (int i = 0; i < rows(); i++) {
+            double sum = 0;
             for (int j = 0; j < cols(); j++) {
-                sums[i] += array[p++];
+                sum += array[p++];
             }
+            result.array[i] = sum;
         }
 
-        return new Vector(sums);
+        return result;
     }
 
     /* UTILITY FUNCTIONS */
@@ -648,15 +720,18 @@ public class Matrix extends Tensor<Matrix> {
      * @return a Vector containing the squared norm of each row in the matrix
      */
     public Vector getRowSquaredNorms() {
-        double[] norms = new double[rows()];
+        return getRowSquaredNorms(Vector.FACTORY.zeros(rows()));
+    }
 
-        int p = 0;
-        for (int i = 0; i < rows(); i++) {
-            for (int j = 0; j < cols(); j++) {
-                norms[i] += array[p] * array[p++];
-            }
-        }
-        return new Vector(norms);
+    /**
+     * @param result: vector where the squared norm of each row will be written
+     * @return {@code result}, after being overwritten by the squared norm of each row
+     * @throws IllegalArgumentException if result.dim() is different from rows()
+     */
+    public Vector getRowSquaredNorms(Vector result) {
+        Validator.assertEquals(rows(), result.dim());
+        LinearAlgebra.getBackend().rowSquaredNorms(array, rows(), cols(), result.array);
+        return result;
     }
 
     /**
@@ -718,11 +793,10 @@ public class Matrix extends Tensor<Matrix> {
      * @return a copy of {@code this} as a double's array
      */
     public double[][] toArray() {
-        double[][] array = new double[rows()][cols()];
+        double[][] array = new double[rows()][];
         for (int i = 0; i < rows(); i++) {
-            for (int j = 0; j < cols(); j++) {
-                array[i][j] = get(i, j);
-            }
+            array[i] = new double[cols()];
+            System.arraycopy(this.array, i * cols(), array[i], 0, cols());
         }
         return array;
     }
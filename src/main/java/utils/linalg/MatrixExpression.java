@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A {@link TensorExpression} over a {@link Matrix}, obtained through {@link Matrix#lazy()}. Besides element-wise maps, it
+ * supports row / column broadcasting and row-wise reductions, so chains like
+ * {@code matrix.iAddRow(bias).iApplyMap(f).getRowSums()} can be computed in a single pass.
+ */
+public class MatrixExpression extends TensorExpression<Matrix> {
+    MatrixExpression(Matrix source) {
+        super(source, source.rows(), source.cols(), false);
+    }
+
+    @Override
+    public MatrixExpression map(DoubleUnaryOperator op) {
+        super.map(op);
+        return this;
+    }
+
+    @Override
+    public MatrixExpression parallel() {
+        super.parallel();
+        return this;
+    }
+
+    /**
+     * @param vector: vector to add to each row
+     * @return {@code this}
+     * @throws IllegalArgumentException if vector.dim() is different from matrix.cols()
+     */
+    public MatrixExpression addRow(Vector vector) {
+        Validator.assertEquals(source.cols(), vector.dim());
+
+        double[] rhs = vector.array;
+        addStage((values, offset, length, row, col) -> {
+            for (int i = 0; i < length; i++) {
+                values[offset + i] += rhs[col + i];
+            }
+        });
+        return this;
+    }
+
+    /**
+     * @param vector: vector to add to each column
+     * @return {@code this}
+     * @throws IllegalArgumentException if vector.dim() is different from matrix.rows()
+     */
+    public MatrixExpression addColumn(Vector vector) {
+        Validator.assertEquals(source.rows(), vector.dim());
+
+        double[] rhs = vector.array;
+        addStage((values, offset, length, row, col) -> {
+            double value = rhs[row];
+            for (int i = offset, end = offset + length; i < end; i++) {
+                values[i] += value;
+            }
+        });
+        return this;
+    }
+
+    /**
+     * @return a vector containing the sum of each row of the result
+     */
+    public Vector rowSums() {
+        return rowSums(Vector.FACTORY.zeros(source.rows()));
+    }
+
+    /**
+     * @param result: vector where the sum of each row will be written
+     * @return {@code result}, after being overwritten by the sum of each row of the result
+     * @throws IllegalArgumentException if result.dim() is different from rows()
+     */
+    public Vector rowSums(Vector result) {
+        Validator.assertEquals(source.rows(), result.dim());
+
+        double[] sums = result.array;
+        Arrays.fill(sums, 0);
+        run(null, (row, values, offset, length) -> {
+            double sum = sums[row];
+            for (int i = offset, end = offset + length; i < end; i++) {
+                sum += values[i];
+            }
+            sums[row] = sum;
+        });
+        return result;
+    }
+}
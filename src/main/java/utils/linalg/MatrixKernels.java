@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked kernels for the matrix-vector and matrix-matrix products of {@link Matrix}. Large products are split into
+ * blocks of rows which are computed concurrently over the common {@link ForkJoinPool}; small products run on the calling
+ * thread.
+ *
+ * Each output entry accumulates its products in the same order as a naive triple loop would, so results do not depend on
+ * the blocking or on the number of threads. When SIMD loops are available (see {@link SimdKernels}), the dot-product based
+ * kernels use them instead of the register-tiled scalar loops.
+ */
+final class MatrixKernels {
+    /**
+     * Minimum number of multiply-add operations before a product is split across several threads
+     */
+    static final long PARALLELISM_THRESHOLD = 1L << 18;
+
+    /**
+     * Minimum number of multiply-add operations assigned to each parallel task
+     */
+    private static final long MIN_WORK_PER_TASK = 1L << 16;
+
+    /**
+     * Number of right-hand side rows (multiplyTranspose) or columns (matrixMultiply) kept in cache at once
+     */
+    private static final int BLOCK_SIZE = 128;
+
+    private MatrixKernels() {
+    }
+
+    /**
+     * Computes out = A * x
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A
+     * @param x: vector of dimension cols
+     * @param out: output vector of dimension rows
+     */
+    static void multiply(double[] a, int rows, int cols, double[] x, double[] out) {
+        forEachRowBlock(rows, cols, (from, to) -> multiplyRows(a, cols, x, out, from, to));
+    }
+
+    private static void multiplyRows(double[] a, int cols, double[] x, double[] out, int from, int to) {
+        if (SimdKernels.VECTORIZED) {
+            for (int i = from; i < to; i++) {
+                out[i] = SimdKernels.dot(a, i * cols, x, 0, cols);
+            }
+            return;
+        }
+
+        int i = from;
+
+        for (; i + 3 < to; i += 4) {
+            int p0 = i * cols, p1 = p0 + cols, p2 = p1 + cols, p3 = p2 + cols;
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+
+            for (int k = 0; k < cols; k++) {
+                double xk = x[k];
+                s0 += a[p0 + k] * xk;
+                s1 += a[p1 + k] * xk;
+                s2 += a[p2 + k] * xk;
+                s3 += a[p3 + k] * xk;
+            }
+
+            out[i] = s0;
+            out[i + 1] = s1;
+            out[i + 2] = s2;
+            out[i + 3] = s3;
+        }
+
+        for (; i < to; i++) {
+            int p = i * cols;
+            double sum = 0;
+            for (int k = 0; k < cols; k++) {
+                sum += a[p + k] * x[k];
+            }
+            out[i] = sum;
+        }
+    }
+
+    /**
+     * Computes out = A * B^T
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of both A and B
+     * @param b: row-major values of B
+     * @param otherRows: number of rows of B
+     * @param out: row-major output array of size rows * otherRows
+     */
+    static void multiplyTranspose(double[] a, int rows, int cols, double[] b, int otherRows, double[] out) {
+        forEachRowBlock(rows, (long) cols * otherRows, (from, to) -> multiplyTransposeRows(a, cols, b, otherRows, out, from, to));
+    }
+
+    private static void multiplyTransposeRows(double[] a, int cols, double[] b, int otherRows, double[] out, int from, int to) {
+        for (int blockStart = 0; blockStart < otherRows; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(blockStart + BLOCK_SIZE, otherRows);
+
+            if (SimdKernels.VECTORIZED) {
+                for (int i = from; i < to; i++) {
+                    for (int j = blockStart; j < blockEnd; j++) {
+                        out[i * otherRows + j] = SimdKernels.dot(a, i * cols, b, j * cols, cols);
+                    }
+                }
+                continue;
+            }
+
+            int i = from;
+            for (; i + 1 < to; i += 2) {
+                int a0 = i * cols, a1 = a0 + cols;
+                int out0 = i * otherRows, out1 = out0 + otherRows;
+
+                int j = blockStart;
+                for (; j + 1 < blockEnd; j += 2) {
+                    int b0 = j * cols, b1 = b0 + cols;
+                    double s00 = 0, s01 = 0, s10 = 0, s11 = 0;
+
+                    for (int k = 0; k < cols; k++) {
+                        double x0 = a[a0 + k], x1 = a[a1 + k];
+                        double y0 = b[b0 + k], y1 = b[b1 + k];
+                        s00 += x0 * y0;
+                        s01 += x0 * y1;
+                        s10 += x1 * y0;
+                        s11 += x1 * y1;
+                    }
+
+                    out[out0 + j] = s00;
+                    out[out0 + j + 1] = s01;
+                    out[out1 + j] = s10;
+                    out[out1 + j + 1] = s11;
+                }
+
+                if (j < blockEnd) {
+                    int b0 = j * cols;
+                    double s0 = 0, s1 = 0;
+                    for (int k = 0; k < cols; k++) {
+                        double y = b[b0 + k];
+                        s0 += a[a0 + k] * y;
+                        s1 += a[a1 + k] * y;
+                    }
+                    out[out0 + j] = s0;
+                    out[out1 + j] = s1;
+                }
+            }
+
+            if (i < to) {
+                int a0 = i * cols, out0 = i * otherRows;
+                for (int j = blockStart; j < blockEnd; j++) {
+                    int b0 = j * cols;
+                    double sum = 0;
+                    for (int k = 0; k < cols; k++) {
+                        sum += a[a0 + k] * b[b0 + k];
+                    }
+                    out[out0 + j] = sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes out = A * B
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A (and rows of B)
+     * @param b: row-major values of B
+     * @param otherCols: number of columns of B
+     * @param out: row-major output array of size rows * otherCols, filled with zeros
+     */
+    static void matrixMultiply(double[] a, int rows, int cols, double[] b, int otherCols, double[] out) {
+        forEachRowBlock(rows, (long) cols * otherCols, (from, to) -> matrixMultiplyRows(a, cols, b, otherCols, out, from, to));
+    }
+
+    private static void matrixMultiplyRows(double[] a, int cols, double[] b, int otherCols, double[] out, int from, int to) {
+        for (int blockStart = 0; blockStart < otherCols; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(blockStart + BLOCK_SIZE, otherCols);
+
+            int i = from;
+            for (; i + 1 < to; i += 2) {
+                int a0 = i * cols, a1 = a0 + cols;
+                int out0 = i * otherCols, out1 = out0 + otherCols;
+
+                for (int k = 0; k < cols; k++) {
+                    double x0 = a[a0 + k], x1 = a[a1 + k];
+                    int bk = k * otherCols;
+
+                    for (int j = blockStart; j < blockEnd; j++) {
+                        double y = b[bk + j];
+                        out[out0 + j] += x0 * y;
+                        out[out1 + j] += x1 * y;
+                    }
+                }
+            }
+
+            if (i < to) {
+                int a0 = i * cols, out0 = i * otherCols;
+                for (int k = 0; k < cols; k++) {
+                    double x0 = a[a0 + k];
+                    int bk = k * otherCols;
+                    for (int j = blockStart; j < blockEnd; j++) {
+                        out[out0 + j] += x0 * b[bk + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the squared norm of each row of A
+     * @param a: row-major values of A
+     * @param rows: number of rows of A
+     * @param cols: number of columns of A
+     * @param out: output vector of dimension rows
+     */
+    static void rowSquaredNorms(double[] a, int rows, int cols, double[] out) {
+        forEachRowBlock(rows, cols, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = SimdKernels.squaredNorm(a, i * cols, cols);
+            }
+        });
+    }
+
+    /* SINGLE-PRECISION INPUTS */
+
+    /**
+     * Computes out = A * x, where A is stored in single-precision. Products are accumulated in double-precision.
+     * @see #multiply(double[], int, int, double[], double[])
+     */
+    static void multiply(float[] a, int rows, int cols, double[] x, double[] out) {
+        forEachRowBlock(rows, cols, (from, to) -> {
+            for (int i = from, p = from * cols; i < to; i++) {
+                double sum = 0;
+                for (int k = 0; k < cols; k++) {
+                    sum += a[p++] * x[k];
+                }
+                out[i] = sum;
+            }
+        });
+    }
+
+    /**
+     * Computes out = A * B^T, where A is stored in single-precision. Products are accumulated in double-precision.
+     * @see #multiplyTranspose(double[], int, int, double[], int, double[])
+     */
+    static void multiplyTranspose(float[] a, int rows, int cols, double[] b, int otherRows, double[] out) {
+        forEachRowBlock(rows, (long) cols * otherRows, (from, to) -> {
+            double[] row = new double[cols];
+
+            for (int i = from; i < to; i++) {
+                // widen the row once, so the inner loop runs over double-precision values only
+                for (int k = 0, p = i * cols; k < cols; k++) {
+                    row[k] = a[p++];
+                }
+
+                for (int j = 0, q = 0, r = i * otherRows; j < otherRows; j++) {
+                    double sum = 0;
+                    for (int k = 0; k < cols; k++) {
+                        sum += row[k] * b[q++];
+                    }
+                    out[r++] = sum;
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes the squared norm of each row of A, where A is stored in single-precision.
+     */
+    static void rowSquaredNorms(float[] a, int rows, int cols, double[] out) {
+        forEachRowBlock(rows, cols, (from, to) -> {
+            for (int i = from, p = from * cols; i < to; i++) {
+                double sum = 0;
+                for (int k = 0; k < cols; k++) {
+                    double value = a[p++];
+                    sum += value * value;
+                }
+                out[i] = sum;
+            }
+        });
+    }
+
+    /* PARALLELISM */
+
+    @FunctionalInterface
+    interface RowBlockKernel {
+        /**
+         * @param from: first row to compute (inclusive)
+         * @param to: last row to compute (exclusive)
+         */
+        void compute(int from, int to);
+    }
+
+    /**
+     * Runs the kernel over all rows in [0, rows). The rows are split into contiguous blocks and computed in parallel if
+     * the total amount of work is large enough.
+     * @param rows: number of rows to compute
+     * @param workPerRow: number of multiply-add operations per row
+     * @param kernel: kernel computing a block of rows
+     */
+    static void forEachRowBlock(int rows, long workPerRow, RowBlockKernel kernel) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+        if (parallelism <= 1 || rows < 2 || rows * workPerRow < PARALLELISM_THRESHOLD) {
+            kernel.compute(0, rows);
+            return;
+        }
+
+        int minRows = (int) Math.max(1, MIN_WORK_PER_TASK / Math.max(1, workPerRow));
+        int grain = Math.max(minRows, rows / (4 * parallelism));
+        ForkJoinPool.commonPool().invoke(new RowBlockTask(kernel, 0, rows, grain));
+    }
+
+    private static final class RowBlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RowBlockKernel kernel;
+        private final int from, to, grain;
+
+        RowBlockTask(RowBlockKernel kernel, int from, int to, int grain) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                kernel.compute(from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowBlockTask(kernel, from, mid, grain), new RowBlockTask(kernel, mid, to, grain));
+        }
+    }
+}
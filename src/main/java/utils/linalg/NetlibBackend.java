@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * A backend delegating matrix products to a native BLAS library through netlib-java. Since netlib-java is an optional
+ * dependency, it is accessed reflectively: deployments enable it by adding {@code com.github.fommil.netlib:all} to the
+ * classpath and selecting the "netlib" backend.
+ *
+ * BLAS expects column-major matrices, so a row-major array of a matrix A is passed as the column-major array of A^T.
+ */
+final class NetlibBackend implements LinearAlgebraBackend {
+    private static final String BLAS_CLASS = "com.github.fommil.netlib.BLAS";
+
+    private final Object blas;
+    private final Method dgemv, dgemm;
+
+    /**
+     * @throws IllegalStateException if netlib-java is not in the classpath
+     */
+    NetlibBackend() {
+        try {
+            Class<?> blasClass = Class.forName(BLAS_CLASS);
+            blas = blasClass.getMethod("getInstance").invoke(null);
+            dgemv = blasClass.getMethod("dgemv", String.class, int.class, int.class, double.class, double[].class, int.class,
+                    double[].class, int.class, double.class, double[].class, int.class);
+            dgemm = blasClass.getMethod("dgemm", String.class, String.class, int.class, int.class, int.class, double.class,
+                    double[].class, int.class, double[].class, int.class, double.class, double[].class, int.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("netlib-java is not available in the classpath.", ex);
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, int rows, int cols, double[] x, double[] out) {
+        // out = (A^T)^T x
+        invoke(dgemv, "T", cols, rows, 1.0, a, cols, x, 1, 0.0, out, 1);
+    }
+
+    @Override
+    public void multiplyTranspose(double[] a, int rows, int cols, double[] b, int otherRows, double[] out) {
+        // (A B^T)^T = (B^T)^T A^T
+        invoke(dgemm, "T", "N", otherRows, rows, cols, 1.0, b, cols, a, cols, 0.0, out, otherRows);
+    }
+
+    @Override
+    public void matrixMultiply(double[] a, int rows, int cols, double[] b, int otherCols, double[] out) {
+        // (A B)^T = B^T A^T
+        invoke(dgemm, "N", "N", otherCols, rows, cols, 1.0, b, otherCols, a, cols, 0.0, out, otherCols);
+    }
+
+    private void invoke(Method method, Object... args) {
+        try {
+            method.invoke(blas, args);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("BLAS call " + method.getName() + " failed.", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "netlib";
+    }
+}
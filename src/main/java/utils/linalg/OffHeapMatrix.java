@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.StringJoiner;
+
+/**
+ * A double-precision, row-major matrix stored outside of the JVM heap: either in direct (off-heap) memory, or in a
+ * memory-mapped file. It allows exploring data pools larger than the heap, and keeps large pools out of the old
+ * generation, where they would make full garbage collections very long.
+ *
+ * Since a single NIO buffer cannot hold more than 2^31 bytes, rows are split into chunks of at most {@link #CHUNK_BYTES}
+ * bytes, each chunk holding an integer number of rows.
+ *
+ * Numerical computations should be done over blocks of rows (see {@link #toMatrix(int, int)}), so that only a small
+ * part of the data is brought into the heap at any time. Memory-mapped matrices are read-only.
+ */
+public final class OffHeapMatrix implements DataMatrix {
+    /**
+     * Maximum number of bytes in each chunk
+     */
+    static final int CHUNK_BYTES = 1 << 30;
+
+    private final DoubleBuffer[] chunks;
+    private final int rows, cols, rowsPerChunk;
+
+    /**
+     * This is a static factory for off-heap matrix creation.
+     */
+    public static class FACTORY {
+        /**
+         * @param rows: number of rows
+         * @param cols: number of columns
+         * @return a zeros matrix of specified dimensions, allocated in direct memory
+         * @throws IllegalArgumentException if either rows or cols are not positive
+         */
+        public static OffHeapMatrix zeros(int rows, int cols) {
+            Validator.assertPositive(rows);
+            Validator.assertPositive(cols);
+
+            int rowsPerChunk = computeRowsPerChunk(cols);
+            DoubleBuffer[] chunks = new DoubleBuffer[(rows + rowsPerChunk - 1) / rowsPerChunk];
+            for (int c = 0; c < chunks.length; c++) {
+                int chunkRows = Math.min(rowsPerChunk, rows - c * rowsPerChunk);
+                chunks[c] = ByteBuffer.allocateDirect(chunkRows * cols * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            }
+
+            return new OffHeapMatrix(rows, cols, rowsPerChunk, chunks);
+        }
+
+        /**
+         * @param matrix: any matrix
+         * @return a copy of the input matrix, allocated in direct memory
+         */
+        public static OffHeapMatrix make(DataMatrix matrix) {
+            OffHeapMatrix result = zeros(matrix.rows(), matrix.cols());
+            for (int i = 0; i < matrix.rows(); i++) {
+                result.setRow(i, matrix.getRow(i).array);
+            }
+            return result;
+        }
+
+        /**
+         * Memory-maps a file written by {@link OffHeapMatrix#write}, in read-only mode.
+         * @param file: file containing the matrix values, in row-major order and little-endian byte order
+         * @param cols: number of columns
+         * @return a read-only matrix backed by the input file
+         * @throws IllegalArgumentException if cols is not positive, or the file size is not a multiple of the row size
+         * @throws RuntimeException if the file could not be mapped
+         */
+        public static OffHeapMatrix map(Path file, int cols) {
+            Validator.assertPositive(cols);
+
+            long size;
+            try {
+                size = Files.size(file);
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to map file " + file, ex);
+            }
+
+            long rowBytes = (long) cols * Double.BYTES;
+            if (size == 0 || size % rowBytes != 0) {
+                throw new IllegalArgumentException("File " + file + " does not contain a whole number of rows of dimension " + cols);
+            }
+
+            return map(file, 0, Math.toIntExact(size / rowBytes), cols);
+        }
+
+        /**
+         * Memory-maps a region of a file, in read-only mode. This allows mapping a matrix stored inside a larger file.
+         * @param file: file containing the matrix values, in row-major order and little-endian byte order
+         * @param offset: position in the file of the first value of the matrix
+         * @param rows: number of rows
+         * @param cols: number of columns
+         * @return a read-only matrix backed by the input file region
+         * @throws IllegalArgumentException if rows or cols are not positive, offset is negative, or the file is too short
+         * @throws RuntimeException if the file could not be mapped
+         */
+        public static OffHeapMatrix map(Path file, long offset, int rows, int cols) {
+            Validator.assertPositive(rows);
+            Validator.assertPositive(cols);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Offset must be non-negative, received " + offset);
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long rowBytes = (long) cols * Double.BYTES;
+                if (channel.size() < offset + rows * rowBytes) {
+                    throw new IllegalArgumentException("File " + file + " does not contain " + rows + " rows of dimension " + cols + " after position " + offset);
+                }
+
+                int rowsPerChunk = computeRowsPerChunk(cols);
+                DoubleBuffer[] chunks = new DoubleBuffer[(rows + rowsPerChunk - 1) / rowsPerChunk];
+
+                for (int c = 0; c < chunks.length; c++) {
+                    long start = offset + c * rowsPerChunk * rowBytes;
+                    long size = Math.min(rowsPerChunk, rows - c * rowsPerChunk) * rowBytes;
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, start, size).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                }
+
+                return new OffHeapMatrix(rows, cols, rowsPerChunk, chunks);
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to map file " + file, ex);
+            }
+        }
+
+        private static int computeRowsPerChunk(int cols) {
+            return Math.max(1, CHUNK_BYTES / (cols * Double.BYTES));
+        }
+    }
+
+    private OffHeapMatrix(int rows, int cols, int rowsPerChunk, DoubleBuffer[] chunks) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowsPerChunk = rowsPerChunk;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Writes the input matrix to a file, in a format readable by {@link FACTORY#map}
+     * @param matrix: matrix to write
+     * @param file: output file. It will be overwritten if it already exists.
+     * @throws RuntimeException if the file could not be written
+     */
+    public static void write(DataMatrix matrix, Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(matrix, channel);
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to write matrix to file " + file, ex);
+        }
+    }
+
+    /**
+     * Writes the input matrix at the current position of a channel, in row-major order and little-endian byte order. This
+     * allows storing a matrix inside a larger file, which can later be mapped by {@link FACTORY#map(Path, long, int, int)}.
+     * @param matrix: matrix to write
+     * @param channel: output channel
+     * @throws IOException if the channel could not be written
+     */
+    public static void write(DataMatrix matrix, FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(matrix.cols() * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = 0; i < matrix.rows(); i++) {
+            ((Buffer) buffer).clear();  // ByteBuffer.clear() is only overridden from Java 9 onwards
+            buffer.asDoubleBuffer().put(matrix.getRow(i).array);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * @return whether this matrix can be modified (memory-mapped matrices are read-only)
+     */
+    public boolean isReadOnly() {
+        return chunks[0].isReadOnly();
+    }
+
+    /**
+     * @param i: row index
+     * @param j: column index
+     * @return value at position (i, j)
+     * @throws IllegalArgumentException if either i or j is out of bounds
+     */
+    public double get(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, cols);
+        return chunks[i / rowsPerChunk].get((i % rowsPerChunk) * cols + j);
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        double[] row = new double[cols];
+        readRow(i, row, 0);
+        return new Vector(row);
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        readRow(i, dest, 0);
+    }
+
+    private void readRow(int i, double[] dest, int destOffset) {
+        DoubleBuffer chunk = chunks[i / rowsPerChunk];
+        int offset = (i % rowsPerChunk) * cols;
+        for (int j = 0; j < cols; j++) {
+            dest[destOffset + j] = chunk.get(offset + j);
+        }
+    }
+
+    private void setRow(int i, double[] values) {
+        DoubleBuffer chunk = chunks[i / rowsPerChunk];
+        int offset = (i % rowsPerChunk) * cols;
+        for (int j = 0; j < cols; j++) {
+            chunk.put(offset + j, values[j]);
+        }
+    }
+
+    @Override
+    public OffHeapMatrix getRows(int... rows) {
+        Validator.assertNotEmpty(rows);
+
+        OffHeapMatrix result = FACTORY.zeros(rows.length, cols);
+        double[] row = new double[cols];
+        for (int i = 0; i < rows.length; i++) {
+            readRow(rows[i], row, 0);
+            result.setRow(i, row);
+        }
+        return result;
+    }
+
+    @Override
+    public OffHeapMatrix getRowSlice(int from, int to) {
+        assertValidRange(from, to);
+
+        OffHeapMatrix result = FACTORY.zeros(to - from, cols);
+        double[] row = new double[cols];
+        for (int i = from; i < to; i++) {
+            readRow(i, row, 0);
+            result.setRow(i - from, row);
+        }
+        return result;
+    }
+
+    @Override
+    public OffHeapMatrix getCols(int... cols) {
+        Validator.assertNotEmpty(cols);
+        for (int j : cols) {
+            Validator.assertIndexInBounds(j, 0, this.cols);
+        }
+
+        OffHeapMatrix result = FACTORY.zeros(rows, cols.length);
+        double[] row = new double[this.cols], selected = new double[cols.length];
+        for (int i = 0; i < rows; i++) {
+            readRow(i, row, 0);
+            for (int k = 0; k < cols.length; k++) {
+                selected[k] = row[cols[k]];
+            }
+            result.setRow(i, selected);
+        }
+        return result;
+    }
+
+    /**
+     * Swap two rows in-place
+     * @throws IllegalArgumentException if indexes are out-of-bounds
+     * @throws java.nio.ReadOnlyBufferException if this matrix is read-only
+     */
+    @Override
+    public void swapRows(int i, int j) {
+        Validator.assertIndexInBounds(i, 0, rows);
+        Validator.assertIndexInBounds(j, 0, rows);
+
+        if (i != j) {
+            double[] rowI = new double[cols], rowJ = new double[cols];
+            readRow(i, rowI, 0);
+            readRow(j, rowJ, 0);
+            setRow(i, rowJ);
+            setRow(j, rowI);
+        }
+    }
+
+    /**
+     * @return a copy of this matrix, allocated in direct memory
+     */
+    @Override
+    public OffHeapMatrix copy() {
+        return getRowSlice(0, rows);
+    }
+
+    /**
+     * @return a copy of the entire matrix in the heap. Prefer {@link #toMatrix(int, int)} for large matrices.
+     */
+    @Override
+    public Matrix toMatrix() {
+        return toMatrix(0, rows);
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        assertValidRange(from, to);
+
+        double[] values = new double[(to - from) * cols];
+        for (int i = from, offset = 0; i < to; i++, offset += cols) {
+            readRow(i, values, offset);
+        }
+        return new Matrix(to - from, cols, values);
+    }
+
+    private void assertValidRange(int from, int to) {
+        if (from < 0 || from >= to || to > rows) {
+            throw new IllegalArgumentException("Invalid indexes " + from + " and " + to + " for matrix of " + rows + " rows");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return DataMatrix.toleranceEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return DataMatrix.toleranceHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < rows; i++) {
+            joiner.add(getRow(i).toString());
+        }
+        return joiner.toString();
+    }
+}
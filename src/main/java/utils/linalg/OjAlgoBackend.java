@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.ojalgo.matrix.store.operation.MultiplyNeither;
+
+/**
+ * A backend computing matrix products with ojalgo, which is multi-threaded and already used for matrix decompositions.
+ *
+ * ojalgo's dense kernels work over column-major arrays, and a row-major array of a matrix A is the column-major array of
+ * A^T. Products are rearranged accordingly, so the kernels run directly over the input arrays and write into the output
+ * array. The only copy is the transposition of B in A B^T, whose size is that of the (usually small) right-hand side.
+ */
+final class OjAlgoBackend implements LinearAlgebraBackend {
+    @Override
+    public void multiply(double[] a, int rows, int cols, double[] x, double[] out) {
+        // (A x)^T = x^T A^T
+        compute(out, 1, rows, x, cols, a);
+    }
+
+    @Override
+    public void multiplyTranspose(double[] a, int rows, int cols, double[] b, int otherRows, double[] out) {
+        // (A B^T)^T = B A^T, where the column-major array of B is the row-major array of B^T
+        compute(out, otherRows, rows, transpose(b, otherRows, cols), cols, a);
+    }
+
+    @Override
+    public void matrixMultiply(double[] a, int rows, int cols, double[] b, int otherCols, double[] out) {
+        // (A B)^T = B^T A^T
+        compute(out, otherCols, rows, b, cols, a);
+    }
+
+    /**
+     * Computes the column-major product P = L R
+     * @param product: column-major output array of P
+     * @param productRows: number of rows of P (and L)
+     * @param productCols: number of columns of P (and R)
+     * @param left: column-major array of L
+     * @param complexity: number of columns of L (and rows of R)
+     * @param right: column-major array of R
+     */
+    private static void compute(double[] product, int productRows, int productCols, double[] left, int complexity, double[] right) {
+        MultiplyNeither.getPrimitive(productRows, productCols).invoke(product, left, complexity, right);
+    }
+
+    /**
+     * @return the row-major array of the transpose of a (rows x cols) row-major matrix
+     */
+    private static double[] transpose(double[] values, int rows, int cols) {
+        double[] transposed = new double[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                transposed[j * rows + i] = values[i * cols + j];
+            }
+        }
+        return transposed;
+    }
+
+    @Override
+    public String toString() {
+        return "ojalgo";
+    }
+}
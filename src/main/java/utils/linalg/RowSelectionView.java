@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A zero-copy, read-only view over a selection of rows of another {@link DataMatrix}: the i-th row of this view is the
+ * row {@code rows[from + i]} of the underlying matrix. This allows exposing a reordered subset of a dataset (such as the
+ * points in some partition of the data) without copying any data point.
+ *
+ * The selection array is not copied, so it must not be modified while the view is in use.
+ */
+public final class RowSelectionView implements DataMatrix {
+    private final DataMatrix parent;
+    private final int[] rows;
+    private final int from, to;
+
+    /**
+     * @param parent: underlying matrix
+     * @param rows: rows of the underlying matrix exposed by this view, in order
+     */
+    public RowSelectionView(DataMatrix parent, int[] rows) {
+        this(parent, rows, 0, rows.length);
+    }
+
+    /**
+     * @param parent: underlying matrix
+     * @param rows: array containing the rows of the underlying matrix
+     * @param from: first position of the rows array exposed by this view (inclusive)
+     * @param to: last position of the rows array exposed by this view (exclusive)
+     * @throws IllegalArgumentException if the range is empty or out of bounds
+     */
+    public RowSelectionView(DataMatrix parent, int[] rows, int from, int to) {
+        Validator.assertIndexInBounds(from, 0, to);
+        Validator.assertIndexInBounds(to, from + 1, rows.length + 1);
+
+        this.parent = Objects.requireNonNull(parent);
+        this.rows = rows;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the underlying matrix
+     */
+    public DataMatrix getParent() {
+        return parent;
+    }
+
+    /**
+     * @param i: row index of this view
+     * @return the corresponding row index of the underlying matrix
+     */
+    public int parentRow(int i) {
+        Validator.assertIndexInBounds(i, 0, rows());
+        return rows[from + i];
+    }
+
+    /**
+     * @return a copy of the rows of the underlying matrix exposed by this view, in order
+     */
+    public int[] getParentRows() {
+        return Arrays.copyOfRange(rows, from, to);
+    }
+
+    @Override
+    public int rows() {
+        return to - from;
+    }
+
+    @Override
+    public int cols() {
+        return parent.cols();
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return parent.get(parentRow(i), j);
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        return parent.getRow(parentRow(i));
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        parent.copyRow(parentRow(i), dest);
+    }
+
+    private int[] parentRows(int[] selection) {
+        int[] result = new int[selection.length];
+        for (int k = 0; k < selection.length; k++) {
+            result[k] = parentRow(selection[k]);
+        }
+        return result;
+    }
+
+    /**
+     * @return a compact copy of the selected rows, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix getRows(int... rows) {
+        return parent.getRows(parentRows(rows));
+    }
+
+    /**
+     * @return a compact copy of the slice of rows, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix getRowSlice(int from, int to) {
+        Validator.assertIndexInBounds(from, 0, to);
+        Validator.assertIndexInBounds(to, from + 1, rows() + 1);
+        return parent.getRows(Arrays.copyOfRange(rows, this.from + from, this.from + to));
+    }
+
+    @Override
+    public DataMatrix getCols(int... cols) {
+        return copy().getCols(cols);
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, since views are read-only
+     */
+    @Override
+    public void swapRows(int i, int j) {
+        throw new UnsupportedOperationException("Row selection views are read-only.");
+    }
+
+    /**
+     * @return a compact copy of the selected rows, in the storage format of the underlying matrix
+     */
+    @Override
+    public DataMatrix copy() {
+        return parent.getRows(Arrays.copyOfRange(rows, from, to));
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        return toMatrix(0, rows());
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        Validator.assertIndexInBounds(from, 0, to);
+        Validator.assertIndexInBounds(to, from + 1, rows() + 1);
+
+        int cols = cols();
+        double[] values = new double[(to - from) * cols];
+
+        double[] array = parent instanceof Matrix ? ((Matrix) parent).array
+                : parent instanceof GrowableMatrix ? ((GrowableMatrix) parent).array : null;
+
+        if (array != null) {
+            for (int i = from, p = 0; i < to; i++, p += cols) {
+                System.arraycopy(array, rows[this.from + i] * cols, values, p, cols);
+            }
+        } else {
+            double[] row = new double[cols];
+            for (int i = from, p = 0; i < to; i++, p += cols) {
+                parent.copyRow(rows[this.from + i], row);
+                System.arraycopy(row, 0, values, p, cols);
+            }
+        }
+
+        return new Matrix(to - from, cols, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return DataMatrix.toleranceEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return DataMatrix.toleranceHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RowSelectionView{" +
+                "rows=" + Arrays.toString(Arrays.copyOfRange(rows, from, to)) +
+                ", parent=" + parent +
+                '}';
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.Objects;
+
+/**
+ * A zero-copy view applying a per-column affine scaling to another {@link DataMatrix}: each value x at column j is read as
+ * (x - offset[j]) / scale[j]. This allows standardizing a pool of data points without holding a scaled copy of it; the
+ * scaling is applied on the fly, whenever rows (or blocks of rows, see {@link #toMatrix(int, int)}) are read.
+ *
+ * Since no data is copied, reordering the rows of a view reorders the rows of the underlying matrix.
+ */
+public final class ScaledView implements DataMatrix {
+    private final DataMatrix parent;
+    private final double[] offset, scale;
+
+    /**
+     * @param parent: underlying matrix
+     * @param offset: value subtracted from each column
+     * @param scale: value dividing each column, after the offset is subtracted
+     * @throws IllegalArgumentException if offset or scale dimensions are different from the number of columns of parent
+     */
+    public ScaledView(DataMatrix parent, Vector offset, Vector scale) {
+        Validator.assertEquals(parent.cols(), offset.dim());
+        Validator.assertEquals(parent.cols(), scale.dim());
+
+        this.parent = Objects.requireNonNull(parent);
+        this.offset = offset.toArray();
+        this.scale = scale.toArray();
+    }
+
+    /**
+     * @return the underlying matrix
+     */
+    public DataMatrix getParent() {
+        return parent;
+    }
+
+    @Override
+    public int rows() {
+        return parent.rows();
+    }
+
+    @Override
+    public int cols() {
+        return parent.cols();
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return (parent.get(i, j) - offset[j]) / scale[j];
+    }
+
+    @Override
+    public Vector getRow(int i) {
+        Vector row = parent.getRow(i);
+        scaleInPlace(row.array, offset, scale);
+        return row;
+    }
+
+    @Override
+    public void copyRow(int i, double[] dest) {
+        parent.copyRow(i, dest);
+        for (int j = 0; j < offset.length; j++) {
+            dest[j] = (dest[j] - offset[j]) / scale[j];
+        }
+    }
+
+    /**
+     * @return a compact, scaled copy of the input rows
+     */
+    @Override
+    public Matrix getRows(int... rows) {
+        return scale(parent.getRows(rows));
+    }
+
+    /**
+     * @return a compact, scaled copy of the input range of rows
+     */
+    @Override
+    public Matrix getRowSlice(int from, int to) {
+        return toMatrix(from, to);
+    }
+
+    /**
+     * @return a compact, scaled copy of the input columns
+     */
+    @Override
+    public Matrix getCols(int... cols) {
+        Matrix result = compact(parent.getCols(cols));
+
+        double[] colOffset = new double[cols.length], colScale = new double[cols.length];
+        for (int j = 0; j < cols.length; j++) {
+            colOffset[j] = offset[cols[j]];
+            colScale[j] = scale[cols[j]];
+        }
+
+        scaleInPlace(result.array, colOffset, colScale);
+        return result;
+    }
+
+    @Override
+    public void swapRows(int i, int j) {
+        parent.swapRows(i, j);
+    }
+
+    /**
+     * @return a compact, scaled copy of this view
+     */
+    @Override
+    public Matrix copy() {
+        return toMatrix();
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        return toMatrix(0, rows());
+    }
+
+    @Override
+    public Matrix toMatrix(int from, int to) {
+        // blocks returned by toMatrix(from, to) are always fresh copies, so they can be scaled in-place
+        Matrix block = parent.toMatrix(from, to);
+        scaleInPlace(block.array, offset, scale);
+        return block;
+    }
+
+    /**
+     * @return a scaled copy of a matrix freshly extracted from the parent
+     */
+    private Matrix scale(DataMatrix rows) {
+        Matrix result = compact(rows);
+        scaleInPlace(result.array, offset, scale);
+        return result;
+    }
+
+    /**
+     * @return a matrix freshly extracted from the parent, as a double-precision Matrix which can be modified in-place
+     */
+    private static Matrix compact(DataMatrix matrix) {
+        return matrix instanceof Matrix ? (Matrix) matrix : matrix.toMatrix();
+    }
+
+    private static void scaleInPlace(double[] values, double[] offset, double[] scale) {
+        int cols = offset.length;
+        for (int p = 0; p < values.length; p += cols) {
+            for (int j = 0; j < cols; j++) {
+                values[p + j] = (values[p + j] - offset[j]) / scale[j];
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return DataMatrix.toleranceEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return DataMatrix.toleranceHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "ScaledView{" +
+                "parent=" + parent +
+                '}';
+    }
+}
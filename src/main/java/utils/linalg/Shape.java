@@ -62,6 +62,25 @@ public class Shape {
         return dimensions[index];
     }
 
+    /**
+     * Fast path of {@link #getPosition(int...)} for one-dimensional shapes, which does not allocate an index array.
+     */
+    public int getPosition(int i) {
+        Validator.assertEquals(dimensions.length, 1);
+        Validator.assertIndexInBounds(i, 0, dimensions[0]);
+        return i;
+    }
+
+    /**
+     * Fast path of {@link #getPosition(int...)} for two-dimensional shapes, which does not allocate an index array.
+     */
+    public int getPosition(int i, int j) {
+        Validator.assertEquals(dimensions.length, 2);
+        Validator.assertIndexInBounds(i, 0, dimensions[0]);
+        Validator.assertIndexInBounds(j, 0, dimensions[1]);
+        return i * dimensions[1] + j;
+    }
+
     public int getPosition(int... indexes) {
         Validator.assertEqualLengths(indexes, dimensions);
 
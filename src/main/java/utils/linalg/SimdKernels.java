@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+/**
+ * Inner loops of the dot product and distance computations over slices of double arrays.
+ *
+ * This is the Java 8 implementation, made of plain scalar loops. The library is packaged as a multi-release jar, and on
+ * JDK 17+ this class is replaced by a version running on the {@code jdk.incubator.vector} API (see
+ * {@code src/main/java17}). {@link #VECTORIZED} tells which implementation is in use.
+ */
+final class SimdKernels {
+    /**
+     * Whether the loops are running on SIMD instructions. Kernels having a better scalar implementation (such as the
+     * register-tiled products in {@link MatrixKernels}) should only delegate to this class when this flag is set.
+     */
+    static final boolean VECTORIZED = false;
+
+    private SimdKernels() {
+    }
+
+    /**
+     * @return the scalar product between a[aOffset : aOffset + length] and b[bOffset : bOffset + length]
+     */
+    static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return the squared norm of a[offset : offset + length]
+     */
+    static double squaredNorm(double[] a, int offset, int length) {
+        double sum = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double value = a[i];
+            sum += value * value;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the squared distance between a[aOffset : aOffset + length] and b[bOffset : bOffset + length]
+     */
+    static double squaredDistance(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            double diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
@@ -23,8 +23,8 @@ package utils.linalg;
 import utils.Validator;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 public class Tensor<T extends Tensor<T>> implements VectorSpace<T> {
     final double[] array;
@@ -77,29 +77,44 @@ public class Tensor<T extends Tensor<T>> implements VectorSpace<T> {
         return (T) this;
     }
 
+    /**
+     * @param array: values of the new tensor
+     * @return a tensor of the same type and shape as {@code this}, backed by the given array
+     */
+    T newInstance(double[] array) {
+        return new Tensor<T>(array, shape).cast();
+    }
+
+    /**
+     * @return a lazy expression over {@code this}, for fusing several element-wise operations into a single pass
+     */
+    public TensorExpression<T> lazy() {
+        return new TensorExpression<>(cast());
+    }
+
     /* **********************
      *      OPERATIONS
      ************************/
     @Override
-    public T applyBinaryFunctionInplace(T rhs, BiFunction<Double, Double, Double> op) {
+    public T applyBinaryFunctionInplace(T rhs, DoubleBinaryOperator op) {
         for (int i = 0; i < array.length; i++) {
-            array[i] = op.apply(array[i], rhs.array[i]);
+            array[i] = op.applyAsDouble(array[i], rhs.array[i]);
         }
         return cast();
     }
 
     @Override
-    public T applyBinaryFunctionInplace(double value, BiFunction<Double, Double, Double> op) {
+    public T applyBinaryFunctionInplace(double value, DoubleBinaryOperator op) {
         for (int i = 0; i < array.length; i++) {
-            array[i] = op.apply(array[i], value);
+            array[i] = op.applyAsDouble(array[i], value);
         }
         return cast();
     }
 
     @Override
-    public T iApplyMap(Function<Double, Double> op) {
+    public T iApplyMap(DoubleUnaryOperator op) {
         for (int i = 0; i < array.length; i++) {
-            array[i] = op.apply(array[i]);
+            array[i] = op.applyAsDouble(array[i]);
         }
         return cast();
     }
@@ -121,18 +136,14 @@ public class Tensor<T extends Tensor<T>> implements VectorSpace<T> {
     public double dot(Tensor<T> other) {
         assertCompatible(other);
 
-        double sum = 0;
-        for (int i = 0; i < array.length; i++) {
-            sum += array[i] * other.array[i];
-        }
-        return sum;
+        return SimdKernels.dot(array, 0, other.array, 0, array.length);
     }
 
     /**
      * @return the squared norm of this tensor
      */
     public double squaredNorm() {
-        return dot(this);
+        return SimdKernels.squaredNorm(array, 0, array.length);
     }
 
     /**
@@ -149,12 +160,7 @@ public class Tensor<T extends Tensor<T>> implements VectorSpace<T> {
     public double squaredDistanceTo(Tensor<T> other) {
         assertCompatible(other);
 
-        double sqDistance = 0;
-        for (int i = 0; i < array.length; i++) {
-            double diff = array[i] - other.array[i];
-            sqDistance += diff * diff;
-        }
-        return sqDistance;
+        return SimdKernels.squaredDistance(array, 0, other.array, 0, array.length);
     }
 
     /**
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A lazy chain of element-wise operations over a {@link Tensor}, obtained through {@link Tensor#lazy()}.
+ *
+ * Operations are only recorded until a terminal operation (such as {@link #evaluate()} or {@link #sum()}) is called. At
+ * that point, the whole chain is computed in a single pass over the data: the tensor is traversed in small segments, and
+ * every operation is applied to a segment while it still sits in cache. Compared to chaining eager methods like
+ * {@link Tensor#iApplyMap}, this avoids reading and writing the full array once per operation.
+ *
+ * Expressions are not thread-safe, and should not be reused after a terminal operation is called.
+ */
+public class TensorExpression<T extends Tensor<T>> {
+    /**
+     * Number of elements processed at once by each operation
+     */
+    static final int SEGMENT_SIZE = 1024;
+
+    @FunctionalInterface
+    interface Stage {
+        /**
+         * Applies an operation inplace over values[offset, offset + length)
+         * @param row: row of the first element (always 0 for non-matrix tensors)
+         * @param col: column (or flat position, for non-matrix tensors) of the first element
+         */
+        void apply(double[] values, int offset, int length, int row, int col);
+    }
+
+    @FunctionalInterface
+    interface SegmentConsumer {
+        void accept(int unit, double[] values, int offset, int length);
+    }
+
+    final T source;
+
+    /**
+     * The data is split into units of contiguous elements (rows for matrices), which is the granularity of parallelism
+     */
+    private final int units, unitLength;
+    private final boolean flat;
+
+    private final List<Stage> stages = new ArrayList<>();
+    private boolean parallel = false;
+
+    TensorExpression(T source) {
+        this(source, Math.max(1, (source.length() + SEGMENT_SIZE - 1) / SEGMENT_SIZE), SEGMENT_SIZE, true);
+    }
+
+    TensorExpression(T source, int units, int unitLength, boolean flat) {
+        this.source = source;
+        this.units = units;
+        this.unitLength = unitLength;
+        this.flat = flat;
+    }
+
+    /**
+     * @param op: function to apply to each element
+     * @return {@code this}
+     */
+    public TensorExpression<T> map(DoubleUnaryOperator op) {
+        return addStage((values, offset, length, row, col) -> {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                values[i] = op.applyAsDouble(values[i]);
+            }
+        });
+    }
+
+    /**
+     * Allows the terminal operation to run over the common ForkJoinPool, if the tensor is large enough
+     * @return {@code this}
+     */
+    public TensorExpression<T> parallel() {
+        parallel = true;
+        return this;
+    }
+
+    TensorExpression<T> addStage(Stage stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    /* TERMINAL OPERATIONS */
+
+    /**
+     * @return a new tensor containing the result of this expression
+     */
+    public T evaluate() {
+        return evaluateInto(source.newInstance(new double[source.length()]));
+    }
+
+    /**
+     * @return the source tensor, after being overwritten by the result of this expression
+     */
+    public T evaluateInplace() {
+        return evaluateInto(source);
+    }
+
+    /**
+     * @param result: tensor where the result will be written
+     * @return {@code result}
+     * @throws IllegalArgumentException if result's shape is different from the source's shape
+     */
+    public T evaluateInto(T result) {
+        Validator.assertEquals(source.shape, result.shape);
+        run(result.array, (unit, values, offset, length) -> {});
+        return result;
+    }
+
+    /**
+     * @return the sum of all elements of the result. When running in parallel, the summation order (and thus rounding
+     * errors) may differ from {@link Tensor#sum()}.
+     */
+    public double sum() {
+        if (!parallel) {
+            double[] sum = {0};
+            run(null, (unit, values, offset, length) -> {
+                for (int i = offset, end = offset + length; i < end; i++) {
+                    sum[0] += values[i];
+                }
+            });
+            return sum[0];
+        }
+
+        double[] partialSums = new double[units];
+        run(null, (unit, values, offset, length) -> {
+            double sum = partialSums[unit];
+            for (int i = offset, end = offset + length; i < end; i++) {
+                sum += values[i];
+            }
+            partialSums[unit] = sum;
+        });
+
+        double sum = 0;
+        for (double partialSum : partialSums) {
+            sum += partialSum;
+        }
+        return sum;
+    }
+
+    /**
+     * Computes this expression over each segment of the data, passing the results to the consumer. Segments of the same
+     * unit are visited in order, by the same thread.
+     *
+     * @param target: array where results are written, or {@code null} if results should only be passed to the consumer
+     */
+    void run(double[] target, SegmentConsumer consumer) {
+        if (parallel) {
+            MatrixKernels.forEachRowBlock(units, unitLength, (from, to) -> runUnits(from, to, target, consumer));
+        } else {
+            runUnits(0, units, target, consumer);
+        }
+    }
+
+    private void runUnits(int fromUnit, int toUnit, double[] target, SegmentConsumer consumer) {
+        double[] input = source.array;
+        double[] scratch = target == null ? new double[Math.min(SEGMENT_SIZE, unitLength)] : null;
+
+        for (int unit = fromUnit; unit < toUnit; unit++) {
+            int start = unit * unitLength, end = Math.min(input.length, start + unitLength);
+
+            for (int pos = start; pos < end; pos += SEGMENT_SIZE) {
+                int length = Math.min(SEGMENT_SIZE, end - pos);
+
+                double[] values = target == null ? scratch : target;
+                int offset = target == null ? 0 : pos;
+                if (values != input) {
+                    System.arraycopy(input, pos, values, offset, length);
+                }
+
+                int row = flat ? 0 : unit, col = flat ? pos : pos - start;
+                for (Stage stage : stages) {
+                    stage.apply(values, offset, length, row, col);
+                }
+
+                consumer.accept(unit, values, offset, length);
+            }
+        }
+    }
+}
@@ -88,7 +88,7 @@ public class Vector extends Tensor<Vector> {
      * @throws IllegalArgumentException if index is out of bounds (i.e. negative or larger than or equal to the dimension)
      */
     public double get(int index) {
-        return super.get(index);
+        return array[shape.getPosition(index)];
     }
 
     /**
@@ -97,7 +97,7 @@ public class Vector extends Tensor<Vector> {
      * @throws IllegalArgumentException if index is out of bounds
      */
     public void set(int index, double value) {
-        super.set(value, index);
+        array[shape.getPosition(index)] = value;
     }
 
     @Override
@@ -105,6 +105,11 @@ public class Vector extends Tensor<Vector> {
         return new Vector(array.clone());
     }
 
+    @Override
+    Vector newInstance(double[] array) {
+        return new Vector(array);
+    }
+
     /**
      * @param from: start index of slice (inclusive)
      * @param to: end index of slice (exclusive)
@@ -238,8 +243,8 @@ public class Vector extends Tensor<Vector> {
     @Override
     public String toString() {
         StringJoiner joiner = new StringJoiner(", ", "[", "]");
-        for (int i = 0; i < dim(); i++) {
-            joiner.add(Double.toString(get(i)));
+        for (double value : array) {
+            joiner.add(Double.toString(value));
         }
         return joiner.toString();
     }
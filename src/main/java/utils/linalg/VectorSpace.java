@@ -20,31 +20,31 @@
 
 package utils.linalg;
 
-import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 public interface VectorSpace<T extends VectorSpace<T>> {
-    BiFunction<Double, Double, Double> ADD = (x, y) -> x + y;
-    BiFunction<Double, Double, Double> SUB = (x, y) -> x - y;
-    BiFunction<Double, Double, Double> MUL = (x, y) -> x * y;
-    BiFunction<Double, Double, Double> DIV = (x, y) -> x / y;
+    DoubleBinaryOperator ADD = (x, y) -> x + y;
+    DoubleBinaryOperator SUB = (x, y) -> x - y;
+    DoubleBinaryOperator MUL = (x, y) -> x * y;
+    DoubleBinaryOperator DIV = (x, y) -> x / y;
 
     /* **********************
      *      OPERATIONS
      ************************/
-    T applyBinaryFunctionInplace(T rhs, BiFunction<Double, Double, Double> op);
+    T applyBinaryFunctionInplace(T rhs, DoubleBinaryOperator op);
 
-    T applyBinaryFunctionInplace(double value, BiFunction<Double, Double, Double> op);
+    T applyBinaryFunctionInplace(double value, DoubleBinaryOperator op);
 
-    default T applyBinaryFunction(T rhs, BiFunction<Double, Double, Double> op) {
+    default T applyBinaryFunction(T rhs, DoubleBinaryOperator op) {
         return copy().applyBinaryFunctionInplace(rhs, op);
     }
 
-    default T applyBinaryFunction(double value, BiFunction<Double, Double, Double> op) {
+    default T applyBinaryFunction(double value, DoubleBinaryOperator op) {
         return copy().applyBinaryFunctionInplace(value, op);
     }
 
-    T iApplyMap(Function<Double, Double> op);
+    T iApplyMap(DoubleUnaryOperator op);
 
     T copy();
 
@@ -184,7 +184,7 @@ public interface VectorSpace<T extends VectorSpace<T>> {
         return applyBinaryFunctionInplace(value, DIV);
     }
 
-    default T applyMap(Function<Double, Double> op) {
+    default T applyMap(DoubleUnaryOperator op) {
         return copy().iApplyMap(op);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import utils.Validator;
+
+import java.util.StringJoiner;
+
+/**
+ * A read-only, non-copying view over a row or column of a {@link Matrix}. It simply stores an offset and a stride over the
+ * matrix's backing array, so creating a view costs O(1) regardless of the row or column size.
+ *
+ * Since no data is copied, any modification on the underlying Matrix will be reflected on this view.
+ *
+ * @see Matrix#rowView(int)
+ * @see Matrix#colView(int)
+ */
+public final class VectorView {
+    private final double[] array;
+    private final int offset;
+    private final int stride;
+    private final int dim;
+
+    VectorView(double[] array, int offset, int stride, int dim) {
+        this.array = array;
+        this.offset = offset;
+        this.stride = stride;
+        this.dim = dim;
+    }
+
+    /**
+     * @return the number of components of this view
+     */
+    public int dim() {
+        return dim;
+    }
+
+    /**
+     * @param index: position to retrieve
+     * @return value at position "index"
+     * @throws IllegalArgumentException if index is out of bounds
+     */
+    public double get(int index) {
+        Validator.assertIndexInBounds(index, 0, dim);
+        return array[offset + index * stride];
+    }
+
+    /**
+     * @param vector: a vector
+     * @return the scalar product of {@code this} and the input vector
+     * @throws IllegalArgumentException if dimensions are incompatible
+     */
+    public double dot(Vector vector) {
+        Validator.assertEquals(dim, vector.dim());
+
+        if (stride == 1) {
+            return SimdKernels.dot(array, offset, vector.array, 0, dim);
+        }
+
+        double sum = 0;
+        for (int i = 0, p = offset; i < dim; i++, p += stride) {
+            sum += array[p] * vector.array[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param other: another view
+     * @return the scalar product of {@code this} and the input view
+     * @throws IllegalArgumentException if dimensions are incompatible
+     */
+    public double dot(VectorView other) {
+        Validator.assertEquals(dim, other.dim);
+
+        double sum = 0;
+        for (int i = 0, p = offset, q = other.offset; i < dim; i++, p += stride, q += other.stride) {
+            sum += array[p] * other.array[q];
+        }
+        return sum;
+    }
+
+    /**
+     * @return the squared norm of this view
+     */
+    public double squaredNorm() {
+        double sum = 0;
+        for (int i = 0, p = offset; i < dim; i++, p += stride) {
+            sum += array[p] * array[p];
+        }
+        return sum;
+    }
+
+    /**
+     * @param vector: a vector
+     * @return the squared distance between {@code this} and the input vector
+     * @throws IllegalArgumentException if dimensions are incompatible
+     */
+    public double squaredDistanceTo(Vector vector) {
+        Validator.assertEquals(dim, vector.dim());
+
+        if (stride == 1) {
+            return SimdKernels.squaredDistance(array, offset, vector.array, 0, dim);
+        }
+
+        double sqDistance = 0;
+        for (int i = 0, p = offset; i < dim; i++, p += stride) {
+            double diff = array[p] - vector.array[i];
+            sqDistance += diff * diff;
+        }
+        return sqDistance;
+    }
+
+    /**
+     * @return a Vector containing a copy of this view's values
+     */
+    public Vector toVector() {
+        double[] values = new double[dim];
+        for (int i = 0, p = offset; i < dim; i++, p += stride) {
+            values[i] = array[p];
+        }
+        return new Vector(values);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0, p = offset; i < dim; i++, p += stride) {
+            joiner.add(Double.toString(array[p]));
+        }
+        return joiner.toString();
+    }
+}
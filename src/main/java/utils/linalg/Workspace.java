@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A cache of temporary matrices and vectors, used for avoiding the allocation of temporaries (such as kernel matrices)
+ * each time a classifier is evaluated over one of many blocks of points.
+ *
+ * Buffers are only cached inside a scope: a caller evaluating several blocks runs them through {@link #run(Supplier)}, or
+ * opens a workspace through {@link #open()},
+ * and every buffer requested through {@link #get()} on that thread is reused until the scope is closed, at which point
+ * all buffers are released. Scopes opened while another one is active on the same thread join the outermost one. Outside
+ * of any scope, buffers are simply allocated, so no thread keeps temporaries alive once its computation is over.
+ *
+ * Buffers are identified by a key chosen by their owner, and are reused as long as the requested shape does not change.
+ * Since the same buffer is handed out on every call, its content is only valid until its owner requests it again: a
+ * buffer should never be returned to callers, nor be used by two computations at the same time.
+ */
+public final class Workspace implements AutoCloseable {
+    private static final ThreadLocal<Workspace> SCOPES = new ThreadLocal<>();
+
+    /**
+     * Workspace returned outside of any scope. It does not cache any buffer.
+     */
+    private static final Workspace UNSCOPED = new Workspace(null, null);
+
+    private final Map<Object, Matrix> matrices;
+    private final Map<Object, Vector> vectors;
+
+    /**
+     * Number of open scopes sharing this workspace
+     */
+    private int depth;
+
+    private Workspace(Map<Object, Matrix> matrices, Map<Object, Vector> vectors) {
+        this.matrices = matrices;
+        this.vectors = vectors;
+    }
+
+    /**
+     * Opens a workspace scope over the current thread, which must be closed by the same thread (preferably through a
+     * try-with-resources statement).
+     * @return the workspace of the current thread
+     */
+    public static Workspace open() {
+        Workspace workspace = SCOPES.get();
+        if (workspace == null) {
+            workspace = new Workspace(new HashMap<>(), new HashMap<>());
+            SCOPES.set(workspace);
+        }
+        workspace.depth++;
+        return workspace;
+    }
+
+    /**
+     * Runs a computation inside a workspace scope over the current thread (see {@link #open()}).
+     * @param computation: computation to run. Buffers it requests through {@link #get()} are reused until it returns.
+     * @return the computation's result
+     */
+    public static <T> T run(Supplier<T> computation) {
+        Workspace workspace = open();
+        try {
+            return computation.get();
+        } finally {
+            workspace.close();
+        }
+    }
+
+    /**
+     * Runs a computation inside a workspace scope over the current thread (see {@link #open()}).
+     * @param computation: computation to run. Buffers it requests through {@link #get()} are reused until it returns.
+     */
+    public static void run(Runnable computation) {
+        Workspace workspace = open();
+        try {
+            computation.run();
+        } finally {
+            workspace.close();
+        }
+    }
+
+    /**
+     * @return the workspace of the current thread's open scope, or a workspace allocating new buffers on every request if
+     * no scope is open
+     */
+    public static Workspace get() {
+        Workspace workspace = SCOPES.get();
+        return workspace == null ? UNSCOPED : workspace;
+    }
+
+    /**
+     * @param key: buffer identifier
+     * @param rows: number of rows
+     * @param cols: number of columns
+     * @return a matrix of the specified shape. Its content is left over from previous computations.
+     * @throws IllegalArgumentException if either rows or cols are not positive
+     */
+    public Matrix matrix(Object key, int rows, int cols) {
+        Matrix matrix = matrices == null ? null : matrices.get(key);
+        if (matrix == null || matrix.rows() != rows || matrix.cols() != cols) {
+            matrix = Matrix.FACTORY.zeros(rows, cols);
+            if (matrices != null) {
+                matrices.put(key, matrix);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @param key: buffer identifier
+     * @param dim: vector dimension
+     * @return a vector of the specified dimension. Its content is left over from previous computations.
+     * @throws IllegalArgumentException if dim is not positive
+     */
+    public Vector vector(Object key, int dim) {
+        Vector vector = vectors == null ? null : vectors.get(key);
+        if (vector == null || vector.dim() != dim) {
+            vector = Vector.FACTORY.zeros(dim);
+            if (vectors != null) {
+                vectors.put(key, vector);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Releases all buffers held by this workspace
+     */
+    public void clear() {
+        if (matrices != null) {
+            matrices.clear();
+            vectors.clear();
+        }
+    }
+
+    /**
+     * Closes one scope. Once the outermost scope is closed, all buffers are released.
+     */
+    @Override
+    public void close() {
+        if (this == UNSCOPED || --depth > 0) {
+            return;
+        }
+        clear();
+        SCOPES.remove();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+/**
+ * Inner loops of the dot product and distance computations over slices of double arrays.
+ *
+ * This is the JDK 17+ implementation of this class, packaged under META-INF/versions/17 of the multi-release jar. The
+ * {@code jdk.incubator.vector} module must be resolved at startup (JVM option {@code --add-modules jdk.incubator.vector})
+ * for the SIMD loops of {@link VectorApiKernels} to be used; otherwise, the same scalar loops as the Java 8 version run.
+ */
+final class SimdKernels {
+    /**
+     * Whether the loops are running on SIMD instructions. Kernels having a better scalar implementation (such as the
+     * register-tiled products in {@link MatrixKernels}) should only delegate to this class when this flag is set.
+     */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private SimdKernels() {
+    }
+
+    /**
+     * @return the scalar product between a[aOffset : aOffset + length] and b[bOffset : bOffset + length]
+     */
+    static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (VECTORIZED) {
+            return VectorApiKernels.dot(a, aOffset, b, bOffset, length);
+        }
+
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return the squared norm of a[offset : offset + length]
+     */
+    static double squaredNorm(double[] a, int offset, int length) {
+        if (VECTORIZED) {
+            return VectorApiKernels.squaredNorm(a, offset, length);
+        }
+
+        double sum = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double value = a[i];
+            sum += value * value;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the squared distance between a[aOffset : aOffset + length] and b[bOffset : bOffset + length]
+     */
+    static double squaredDistance(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (VECTORIZED) {
+            return VectorApiKernels.squaredDistance(a, aOffset, b, bOffset, length);
+        }
+
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            double diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import machinelearning.classifier.Label;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeduplicatedDatasetTest {
+    private IndexedDataset dataset;
+    private DeduplicatedDataset deduplicated;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new IndexedDataset(new long[] {0, 10, 20, 30, 40}, Matrix.FACTORY.make(5, 2,  1, 2,  3, 4,  1, 2,  5, 6,  3, 4));
+        deduplicated = DeduplicatedDataset.of(dataset);
+    }
+
+    @Test
+    void of_datasetWithDuplicates_uniquePointsKeepFirstOccurrence() {
+        assertEquals(Arrays.asList(0L, 10L, 30L), deduplicated.getUniquePoints().getIndexes());
+        assertEquals(Matrix.FACTORY.make(3, 2,  1, 2,  3, 4,  5, 6), deduplicated.getUniquePoints().getData());
+    }
+
+    @Test
+    void of_datasetWithDuplicates_lengthsAreCorrect() {
+        assertEquals(5, deduplicated.length());
+        assertEquals(3, deduplicated.uniqueLength());
+    }
+
+    @Test
+    void of_datasetWithoutDuplicates_uniquePointsEqualInput() {
+        IndexedDataset unique = new IndexedDataset(new long[] {0, 1}, Matrix.FACTORY.make(2, 1, 1, 2));
+        assertEquals(unique, DeduplicatedDataset.of(unique).getUniquePoints());
+    }
+
+    @Test
+    void of_anyDataset_allPointsEqualInput() {
+        assertEquals(dataset, deduplicated.getAllPoints());
+    }
+
+    @Test
+    void getMultiplicity_anyUniqueRow_returnsNumberOfOccurrences() {
+        assertEquals(2, deduplicated.getMultiplicity(0));
+        assertEquals(2, deduplicated.getMultiplicity(1));
+        assertEquals(1, deduplicated.getMultiplicity(2));
+    }
+
+    @Test
+    void getUniqueRow_anyRow_returnsRowOfSameFeatureVector() {
+        assertEquals(0, deduplicated.getUniqueRow(2));
+        assertEquals(1, deduplicated.getUniqueRow(4));
+        assertEquals(2, deduplicated.getUniqueRow(3));
+    }
+
+    @Test
+    void getUniqueRowOfIndex_duplicateIndex_returnsRowOfSameFeatureVector() {
+        assertEquals(1, deduplicated.getUniqueRowOfIndex(40));
+    }
+
+    @Test
+    void getUniqueRowOfIndex_unknownIndex_returnsMinusOne() {
+        assertEquals(-1, deduplicated.getUniqueRowOfIndex(50));
+    }
+
+    @Test
+    void expand_arrayOfUniqueValues_returnsValueOfEachOriginalPoint() {
+        Label[] labels = {Label.POSITIVE, Label.NEGATIVE, Label.POSITIVE};
+        assertArrayEquals(new Label[] {Label.POSITIVE, Label.NEGATIVE, Label.POSITIVE, Label.POSITIVE, Label.NEGATIVE}, deduplicated.expand(labels));
+    }
+
+    @Test
+    void expand_vectorOfUniqueValues_returnsValueOfEachOriginalPoint() {
+        assertEquals(Vector.FACTORY.make(1, 2, 1, 3, 2), deduplicated.expand(Vector.FACTORY.make(1, 2, 3)));
+    }
+
+    @Test
+    void expand_incompatibleLength_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> deduplicated.expand(new Label[5]));
+        assertThrows(IllegalArgumentException.class, () -> deduplicated.expand(Vector.FACTORY.zeros(5)));
+    }
+}
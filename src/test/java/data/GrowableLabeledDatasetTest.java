@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import explore.user.UserLabel;
+import machinelearning.classifier.Label;
+import machinelearning.threesetmetric.LabelGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrowableLabeledDatasetTest {
+    private IndexedDataset points;
+    private GrowableLabeledDataset store;
+
+    @BeforeEach
+    void setUp() {
+        points = new IndexedDataset(new long[] {0, 10, 20}, Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6));
+        store = new GrowableLabeledDataset(points);
+    }
+
+    @Test
+    void view_emptyStore_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> store.view());
+    }
+
+    @Test
+    void append_twoPoints_viewContainsPointsInAppendOrder() {
+        store.append(20, Vector.FACTORY.make(5, 6), Label.POSITIVE);
+        store.append(0, Vector.FACTORY.make(1, 2), Label.NEGATIVE);
+
+        LabeledDataset expected = new LabeledDataset(Arrays.asList(20L, 0L), Matrix.FACTORY.make(2, 2, 5, 6, 1, 2), new UserLabel[] {Label.POSITIVE, Label.NEGATIVE});
+        assertEquals(2, store.length());
+        assertEquals(expected, store.view());
+    }
+
+    @Test
+    void append_pastInitialCapacity_allPointsAreKept() {
+        for (int i = 0; i < 100; i++) {
+            store.append(i, Vector.FACTORY.make(i, -i), i % 2 == 0 ? Label.POSITIVE : Label.NEGATIVE);
+        }
+
+        LabeledDataset view = store.view();
+        assertEquals(100, view.length());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (long) view.getIndexes().get(i));
+            assertEquals(Vector.FACTORY.make(i, -i), view.getData().getRow(i));
+        }
+    }
+
+    @Test
+    void view_noModification_returnsSameObject() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        assertSame(store.view(), store.view());
+    }
+
+    @Test
+    void view_afterAppend_previousViewIsNotModified() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        LabeledDataset view = store.view();
+
+        store.append(10, Vector.FACTORY.make(3, 4), Label.NEGATIVE);
+
+        assertEquals(1, view.length());
+        assertEquals(2, store.view().length());
+    }
+
+    @Test
+    void view_afterAppend_previousViewKeepsItsContents() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        LabeledDataset view = store.view();
+
+        store.append(10, Vector.FACTORY.make(3, 4), Label.NEGATIVE);
+
+        LabeledDataset expected = new LabeledDataset(Arrays.asList(0L), Matrix.FACTORY.make(1, 2, 1, 2), new UserLabel[] {Label.POSITIVE});
+        assertEquals(expected, view);
+        assertArrayEquals(new UserLabel[] {Label.POSITIVE}, view.getLabels());
+    }
+
+    @Test
+    void setLabel_afterView_previousViewIsNotModified() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        LabeledDataset view = store.view();
+
+        store.setLabel(0, Label.NEGATIVE);
+
+        assertEquals(Label.POSITIVE, view.getLabel(0));
+        assertEquals(Label.NEGATIVE, store.view().getLabel(0));
+    }
+
+    @Test
+    void setLabel_factorizedDataAfterView_previousViewPartialLabelsAreNotModified() {
+        points.setFactorizationStructure(new int[][] {{0}, {1}});
+        store = new GrowableLabeledDataset(points);
+        store.append(0, Vector.FACTORY.make(1, 2), new LabelGroup(Label.POSITIVE, Label.NEGATIVE));
+        LabeledDataset view = store.view();
+
+        store.setLabel(0, new LabelGroup(Label.NEGATIVE, Label.POSITIVE));
+
+        assertArrayEquals(new UserLabel[] {Label.POSITIVE}, view.getPartitionedData()[0].getLabels());
+        assertArrayEquals(new UserLabel[] {Label.NEGATIVE}, store.view().getPartitionedData()[0].getLabels());
+    }
+
+    @Test
+    void view_addToViewDataset_storeIsNotModified() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        store.view().getDataset().add(30, Vector.FACTORY.make(7, 8));
+
+        store.append(10, Vector.FACTORY.make(3, 4), Label.NEGATIVE);
+
+        assertEquals(Arrays.asList(0L, 10L), store.view().getIndexes());
+        assertEquals(Matrix.FACTORY.make(2, 2, 1, 2, 3, 4), store.view().getData());
+    }
+
+    @Test
+    void setLabel_storedPoint_labelIsReplaced() {
+        store.append(0, Vector.FACTORY.make(1, 2), Label.POSITIVE);
+        store.setLabel(0, Label.NEGATIVE);
+        assertEquals(Label.NEGATIVE, store.view().getLabel(0));
+    }
+
+    @Test
+    void setLabel_outOfBoundsRow_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> store.setLabel(0, Label.NEGATIVE));
+    }
+
+    @Test
+    void view_factorizedData_partitionsFeaturesAndLabels() {
+        points.setFactorizationStructure(new int[][] {{0}, {1}});
+        store = new GrowableLabeledDataset(points);
+
+        store.append(0, Vector.FACTORY.make(1, 2), new LabelGroup(Label.POSITIVE, Label.NEGATIVE));
+        store.append(10, Vector.FACTORY.make(3, 4), new LabelGroup(Label.NEGATIVE, Label.POSITIVE));
+
+        LabeledDataset[] partitions = store.view().getPartitionedData();
+        assertEquals(2, partitions.length);
+        assertEquals(Matrix.FACTORY.make(2, 1, 1, 3), partitions[0].getData());
+        assertEquals(Matrix.FACTORY.make(2, 1, 2, 4), partitions[1].getData());
+        assertArrayEquals(new UserLabel[] {Label.POSITIVE, Label.NEGATIVE}, partitions[0].getLabels());
+        assertArrayEquals(new UserLabel[] {Label.NEGATIVE, Label.POSITIVE}, partitions[1].getLabels());
+    }
+
+    @Test
+    void view_factorizedDataWithColumnGroupViews_partitionsFeatures() {
+        points.setFactorizationStructure(new int[][] {{1}, {0, 1}}, true);
+        store = new GrowableLabeledDataset(points);
+
+        store.append(0, Vector.FACTORY.make(1, 2), new LabelGroup(Label.POSITIVE, Label.NEGATIVE));
+
+        LabeledDataset[] partitions = store.view().getPartitionedData();
+        assertEquals(Matrix.FACTORY.make(1, 1, 2), partitions[0].getData());
+        assertEquals(Matrix.FACTORY.make(1, 2, 1, 2), partitions[1].getData());
+    }
+}
@@ -22,11 +22,14 @@ package data;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -146,6 +149,54 @@ class IndexedDatasetTest {
         assertEquals(expected, dataset.getRange(1, 3));
     }
 
+    @Test
+    void getBlock_indexInBounds_returnsExpectedIndexedDataset() {
+        IndexedDataset expected = new IndexedDataset(Arrays.asList(10L, 20L), Matrix.FACTORY.make(2, 2, 3, 4, 5, 6));
+        assertEquals(expected, dataset.getBlock(1, 3));
+    }
+
+    @Test
+    void getBlock_offHeapDataset_returnsInHeapCopy() {
+        IndexedDataset result = dataset.toOffHeap().getBlock(1, 3);
+
+        assertFalse(result.isOffHeap());
+        assertEquals(new IndexedDataset(Arrays.asList(10L, 20L), Matrix.FACTORY.make(2, 2, 3, 4, 5, 6)), result);
+    }
+
+    @Test
+    void getBlock_singlePrecisionSelection_keepsSinglePrecision() {
+        IndexedDataset result = dataset.toSinglePrecision().selectRows(new int[] {2, 0, 1}, 0, 3).getBlock(1, 3);
+
+        assertTrue(result.isSinglePrecision());
+        assertEquals(Arrays.asList(0L, 10L), result.getIndexes());
+        assertEquals(FloatMatrix.FACTORY.make(data.getRows(0, 1)), result.getSinglePrecisionData());
+    }
+
+    @Test
+    void getBlock_encodedDataset_keepsEncoding() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}});
+        IndexedDataset result = dataset.toEncoded().getBlock(1, 3);
+
+        assertTrue(result.isEncoded());
+        assertEquals(data.getRowSlice(1, 3), result.getEncodedData().toMatrix());
+        assertEquals(data.getCols(1).getRowSlice(1, 3), result.getPartitionedData()[1].getData());
+    }
+
+    @Test
+    void getBlock_singlePrecisionRangeOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> dataset.toSinglePrecision().getBlock(1, 4));
+    }
+
+    @Test
+    void getBlock_withFactorizationStructure_partitionsCorrectlyFiltered() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}});
+        IndexedDataset result = dataset.getBlock(1, 3);
+
+        List<Long> idx = Arrays.asList(10L, 20L);
+        assertEquals(new IndexedDataset(idx, data.getCols(0).getRowSlice(1, 3)), result.getPartitionedData()[0]);
+        assertEquals(new IndexedDataset(idx, data.getCols(1).getRowSlice(1, 3)), result.getPartitionedData()[1]);
+    }
+
     @Test
     void getRange_withFactorizationStructure_partitionsCorrectlyFiltered() {
         dataset.setFactorizationStructure(new int[][] {{0}, {1}});
@@ -192,6 +243,121 @@ class IndexedDatasetTest {
         assertEquals(new IndexedDataset(idx, Matrix.FACTORY.make(3, 1,  4, 2, 6)), dataset.getPartitionedData()[1]);
     }
 
+    @Test
+    void setFactorizationStructure_columnGroupViews_partitionsAreViewsOverData() {
+        dataset.setFactorizationStructure(new int[][] {{1}, {0, 1}}, true);
+
+        assertTrue(dataset.usesColumnGroupViews());
+        assertEquals(data.getCols(1), dataset.getPartitionedData()[0].getData());
+        assertEquals(data.getCols(0, 1), dataset.getPartitionedData()[1].getData());
+    }
+
+    @Test
+    void swap_withColumnGroupViews_partitionsCorrectlySwapped() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}}, true);
+        dataset.swap(0, 1);
+
+        assertEquals(Matrix.FACTORY.make(3, 2,  3, 4, 1, 2, 5, 6), dataset.getData());
+        assertEquals(Matrix.FACTORY.make(3, 1,  3, 1, 5), dataset.getPartitionedData()[0].getData());
+        assertEquals(Matrix.FACTORY.make(3, 1,  4, 2, 6), dataset.getPartitionedData()[1].getData());
+    }
+
+    @Test
+    void getRows_withColumnGroupViews_partitionsCorrectlyFiltered() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}}, true);
+        IndexedDataset result = dataset.getRows(2, 1);
+
+        assertTrue(result.usesColumnGroupViews());
+        assertEquals(Arrays.asList(20L, 10L), result.getPartitionedData()[0].getIndexes());
+        assertEquals(Matrix.FACTORY.make(2, 1, 5, 3), result.getPartitionedData()[0].getData());
+        assertEquals(Matrix.FACTORY.make(2, 1, 6, 4), result.getPartitionedData()[1].getData());
+    }
+
+    @Test
+    void toOffHeap_withColumnGroupViews_partitionsAreOffHeapViews() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}}, true);
+        IndexedDataset result = dataset.toOffHeap();
+
+        assertTrue(result.usesColumnGroupViews());
+        assertTrue(result.getPartitionedData()[1].isOffHeap());
+        assertEquals(data.getCols(1), result.getPartitionedData()[1].getData());
+    }
+
+    @Test
+    void getIndex_rowInBounds_returnsIndexOfRow() {
+        assertEquals(20L, dataset.getIndex(2));
+    }
+
+    @Test
+    void getIndexes_returnedList_cannotBeModified() {
+        assertThrows(UnsupportedOperationException.class, () -> dataset.getIndexes().set(0, 5L));
+    }
+
+    @Test
+    void getRowOfIndex_existingIndex_returnsRowOfDataPoint() {
+        assertEquals(1, dataset.getRowOfIndex(10L));
+    }
+
+    @Test
+    void getRowOfIndex_missingIndex_returnsMinusOne() {
+        assertEquals(-1, dataset.getRowOfIndex(5L));
+        assertEquals(-1, dataset.getRowOfIndex(Long.MIN_VALUE));
+    }
+
+    @Test
+    void getRowOfIndex_rowsSwappedAfterLookup_returnsNewRow() {
+        dataset.getRowOfIndex(0L);
+        dataset.swap(0, 2);
+        assertEquals(2, dataset.getRowOfIndex(0L));
+        assertEquals(0, dataset.getRowOfIndex(20L));
+        assertEquals(1, dataset.getRowOfIndex(10L));
+    }
+
+    @Test
+    void getRowOfIndex_sharedIndexesSwappedThroughOtherDataset_returnsNewRow() {
+        IndexedDataset copy = dataset.copyWithSameIndexes(data.copy());
+        copy.getRowOfIndex(0L);
+        dataset.swap(0, 2);
+        assertEquals(2, copy.getRowOfIndex(0L));
+    }
+
+    @Test
+    void getRowOfIndex_largeDataset_everyIndexFound() {
+        int n = 10000;
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = (long) i * 1024 - 5000;
+        }
+        IndexedDataset large = new IndexedDataset(ids, Matrix.FACTORY.zeros(n, 1));
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, large.getRowOfIndex(ids[i]));
+        }
+        assertEquals(-1, large.getRowOfIndex(1));
+    }
+
+    @Test
+    void getFromIndex_existingIndex_returnsDataPoint() {
+        assertEquals(new DataPoint(20L, new double[] {5, 6}), dataset.getFromIndex(20L));
+    }
+
+    @Test
+    void getFromIndex_missingIndex_throwsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> dataset.getFromIndex(5L));
+    }
+
+    @Test
+    void getFromSecondaryIndex_existingIndexes_returnsMatchingDataPoints() {
+        dataset.setSecondaryIndex(Arrays.asList(7L, 8L, 9L));
+        assertEquals(Arrays.asList(dataset.get(2), dataset.get(0)), dataset.getFromSecondaryIndex(Arrays.asList(9L, 7L)));
+    }
+
+    @Test
+    void getFromSecondaryIndex_missingIndex_throwsException() {
+        dataset.setSecondaryIndex(Arrays.asList(7L, 8L, 9L));
+        assertThrows(IndexOutOfBoundsException.class, () -> dataset.getFromSecondaryIndex(10L));
+    }
+
     @Test
     void sample_negativeSampleSize_throwsException() {
         assertThrows(IllegalArgumentException.class, () -> dataset.sample(-1));
@@ -243,6 +409,399 @@ class IndexedDatasetTest {
         assertEquals(new IndexedDataset(Arrays.asList(0L, 10L, 20L, 30L, 40L), Matrix.FACTORY.make(5, 2, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10)), dataset.append(newData));
     }
 
+    @Test
+    void append_newData_originalDatasetIsNotModified() {
+        dataset.append(new IndexedDataset(Arrays.asList(30L), Matrix.FACTORY.make(1, 2, 7, 8)));
+        assertEquals(new IndexedDataset(indexes, data), dataset);
+    }
+
+    @Test
+    void add_severalPoints_pointsAppendedToEndWithNewIndexes() {
+        dataset.add(Vector.FACTORY.make(7, 8));
+        dataset.add(Vector.FACTORY.make(9, 10));
+        assertEquals(new IndexedDataset(Arrays.asList(0L, 10L, 20L, 4L, 5L), Matrix.FACTORY.make(5, 2, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10)), dataset);
+    }
+
+    @Test
+    void add_withIndex_pointAppendedWithGivenIndex() {
+        dataset.add(99L, Vector.FACTORY.make(7, 8));
+        assertEquals(new DataPoint(99L, Vector.FACTORY.make(7, 8)), dataset.get(3));
+        assertEquals(3, dataset.getRowOfIndex(99L));
+    }
+
+    @Test
+    void add_withIndexOnSharedStorage_otherDatasetIsNotModified() {
+        IndexedDataset copy = dataset.shallowCopy();
+        copy.add(99L, Vector.FACTORY.make(7, 8));
+        dataset.add(98L, Vector.FACTORY.make(9, 10));
+
+        assertEquals(99L, copy.getIndex(3));
+        assertEquals(98L, dataset.getIndex(3));
+    }
+
+    @Test
+    void add_afterIndexLookup_newPointCanBeLookedUp() {
+        assertEquals(2, dataset.getRowOfIndex(20L));
+        dataset.add(Vector.FACTORY.make(7, 8));
+        assertEquals(3, dataset.getRowOfIndex(4L));
+        assertEquals(new DataPoint(4L, Vector.FACTORY.make(7, 8)), dataset.getFromIndex(4L));
+    }
+
+    @Test
+    void add_afterCompactIndexesRead_newIndexIsVisible() {
+        dataset.add(4L, Vector.FACTORY.make(7, 8));
+        assertEquals(Arrays.asList(0L, 10L, 20L, 4L), dataset.copy().getIndexes());
+
+        dataset.add(5L, Vector.FACTORY.make(9, 10));
+        assertEquals(Arrays.asList(0L, 10L, 20L, 4L, 5L), dataset.copy().getIndexes());
+    }
+
+    @Test
+    void swap_afterCompactIndexesRead_swapIsVisible() {
+        dataset.add(4L, Vector.FACTORY.make(7, 8));
+        assertEquals(Arrays.asList(0L, 10L, 20L, 4L), dataset.copy().getIndexes());
+
+        dataset.swap(0, 3);
+        assertEquals(Arrays.asList(4L, 10L, 20L, 0L), dataset.copy().getIndexes());
+    }
+
+    @Test
+    void add_withSecondaryIndex_newPointCanBeLookedUpBySecondaryIndex() {
+        dataset.setSecondaryIndex(Arrays.asList(7L, 8L, 9L));
+        assertEquals(dataset.get(0), dataset.getFromSecondaryIndex(7L));
+
+        dataset.add(99L, Vector.FACTORY.make(7, 8));
+
+        assertEquals(99L, dataset.getSecondaryIndex(3));
+        assertEquals(dataset.get(3), dataset.getFromSecondaryIndex(99L));
+    }
+
+    @Test
+    void add_withFactorizationStructure_partitionsAreExtended() {
+        dataset.setFactorizationStructure(new int[][] {{1}, {0}});
+        dataset.add(Vector.FACTORY.make(7, 8));
+
+        IndexedDataset[] partitions = dataset.getPartitionedData();
+        assertEquals(new IndexedDataset(Arrays.asList(0L, 10L, 20L, 4L), Matrix.FACTORY.make(4, 1, 2, 4, 6, 8)), partitions[0]);
+        assertEquals(new IndexedDataset(Arrays.asList(0L, 10L, 20L, 4L), Matrix.FACTORY.make(4, 1, 1, 3, 5, 7)), partitions[1]);
+    }
+
+    @Test
+    void isSinglePrecision_defaultDataset_returnsFalse() {
+        assertFalse(dataset.isSinglePrecision());
+    }
+
+    @Test
+    void getSinglePrecisionData_doublePrecisionDataset_throwsException() {
+        assertThrows(IllegalStateException.class, () -> dataset.getSinglePrecisionData());
+    }
+
+    @Test
+    void toSinglePrecision_doublePrecisionDataset_returnsSinglePrecisionDatasetWithSameContent() {
+        IndexedDataset result = dataset.toSinglePrecision();
+
+        assertTrue(result.isSinglePrecision());
+        assertEquals(FloatMatrix.FACTORY.make(data), result.getSinglePrecisionData());
+        assertEquals(indexes, result.getIndexes());
+        assertEquals(data, result.getData());
+    }
+
+    @Test
+    void toSinglePrecision_singlePrecisionDataset_returnsSameObject() {
+        IndexedDataset result = dataset.toSinglePrecision();
+        assertSame(result, result.toSinglePrecision());
+    }
+
+    @Test
+    void toSinglePrecision_withFactorizationStructure_partitionsAreConverted() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}});
+        IndexedDataset result = dataset.toSinglePrecision();
+
+        assertTrue(result.getPartitionedData()[0].isSinglePrecision());
+        assertEquals(new IndexedDataset(indexes, data.getCols(1)), new IndexedDataset(indexes, result.getPartitionedData()[1].getData()));
+    }
+
+    @Test
+    void toEncoded_doublePrecisionDataset_returnsEncodedDatasetWithSameContent() {
+        IndexedDataset result = dataset.toEncoded();
+
+        assertTrue(result.isEncoded());
+        assertTrue(result.isBlockwise());
+        assertEquals(indexes, result.getIndexes());
+        assertEquals(data, result.getData());
+    }
+
+    @Test
+    void toEncoded_encodedDataset_returnsSameObject() {
+        IndexedDataset result = dataset.toEncoded();
+        assertSame(result, result.toEncoded());
+    }
+
+    @Test
+    void toEncoded_rowSelectionOfEncodedDataset_returnsSameObject() {
+        IndexedDataset selection = dataset.toEncoded().selectRows(new int[] {2, 0}, 0, 2);
+        assertSame(selection, selection.toEncoded());
+    }
+
+    @Test
+    void getEncodedData_rowSelectionOfEncodedDataset_returnsEncodedSelectedRows() {
+        IndexedDataset result = dataset.toEncoded().selectRows(new int[] {2, 0}, 0, 2);
+
+        assertTrue(result.isEncoded());
+        assertEquals(data.getRows(2, 0), result.getEncodedData().toMatrix());
+    }
+
+    @Test
+    void getEncodedData_datasetNotEncoded_throwsException() {
+        assertThrows(IllegalStateException.class, () -> dataset.getEncodedData());
+    }
+
+    @Test
+    void computeByBlocks_encodedDataset_blocksAreGivenAsRowsOfEncodedData() {
+        IndexedDataset encoded = dataset.toEncoded();
+        Vector result = encoded.computeByBlocks(new BlockFunction<Vector>() {
+            @Override
+            public Vector apply(Matrix block) {
+                throw new AssertionError("block was decoded");
+            }
+
+            @Override
+            public Vector apply(EncodedMatrix matrix, int[] rows) {
+                assertSame(encoded.getEncodedData(), matrix);
+                return Vector.FACTORY.make(Arrays.stream(rows).asDoubleStream().toArray());
+            }
+        });
+
+        assertEquals(Vector.FACTORY.make(0, 1, 2), result);
+    }
+
+    @Test
+    void computeByBlocks_rowSelectionOfEncodedDataset_blocksAreGivenAsSelectedRowsOfParent() {
+        IndexedDataset encoded = dataset.toEncoded();
+        IndexedDataset selection = encoded.selectRows(new int[] {2, 0}, 0, 2);
+
+        Vector result = selection.computeByBlocks(new BlockFunction<Vector>() {
+            @Override
+            public Vector apply(Matrix block) {
+                throw new AssertionError("block was decoded");
+            }
+
+            @Override
+            public Vector apply(EncodedMatrix matrix, int[] rows) {
+                assertSame(encoded.getEncodedData(), matrix);
+                return Vector.FACTORY.make(Arrays.stream(rows).asDoubleStream().toArray());
+            }
+        });
+
+        assertEquals(Vector.FACTORY.make(2, 0), result);
+    }
+
+    @Test
+    void computeByBlocks_encodedDatasetAndDoublePrecisionFunction_blocksAreDecoded() {
+        assertEquals(Vector.FACTORY.make(3, 7, 11), dataset.toEncoded().computeByBlocks(block -> block.multiply(Vector.FACTORY.make(1, 1))));
+    }
+
+    @Test
+    void forEachBlock_inHeapDataset_wholeDataIsGivenAsSingleBlock() {
+        List<Integer> positions = new ArrayList<>();
+        dataset.forEachBlock(block -> block, (from, block) -> {
+            positions.add(from);
+            assertEquals(data, block);
+        });
+        assertEquals(Collections.singletonList(0), positions);
+    }
+
+    @Test
+    void swap_singlePrecisionDataset_rowsCorrectlySwapped() {
+        IndexedDataset result = dataset.toSinglePrecision();
+        result.swap(0, 1);
+
+        assertEquals(Arrays.asList(10L, 0L, 20L), result.getIndexes());
+        assertEquals(Matrix.FACTORY.make(3, 2,  3, 4, 1, 2, 5, 6), result.getData());
+        assertEquals(indexes, dataset.getIndexes());
+    }
+
+    @Test
+    void getRange_singlePrecisionDataset_returnsSinglePrecisionSlice() {
+        IndexedDataset result = dataset.toSinglePrecision().getRange(1, 3);
+
+        assertTrue(result.isSinglePrecision());
+        assertEquals(new IndexedDataset(Arrays.asList(10L, 20L), Matrix.FACTORY.make(2, 2, 3, 4, 5, 6)), new IndexedDataset(result.getIndexes(), result.getData()));
+    }
+
+    @Test
+    void toOffHeap_heapDataset_returnsOffHeapDatasetWithSameContent() {
+        IndexedDataset result = dataset.toOffHeap();
+
+        assertTrue(result.isOffHeap());
+        assertEquals(indexes, result.getIndexes());
+        assertEquals(data, result.getData());
+    }
+
+    @Test
+    void toOffHeap_offHeapDataset_returnsSameObject() {
+        IndexedDataset result = dataset.toOffHeap();
+        assertSame(result, result.toOffHeap());
+    }
+
+    @Test
+    void isOffHeap_rowSelectionOfOffHeapDataset_returnsTrue() {
+        assertTrue(dataset.toOffHeap().selectRows(new int[] {2, 0}, 0, 2).isOffHeap());
+    }
+
+    @Test
+    void isOffHeap_rowSelectionOfScaledOffHeapDataset_returnsTrue() {
+        IndexedDataset scaled = dataset.toOffHeap().copyWithScaledData(Vector.FACTORY.zeros(2), Vector.FACTORY.make(1, 1));
+        assertTrue(scaled.selectRows(new int[] {1}, 0, 1).isOffHeap());
+    }
+
+    @Test
+    void swap_offHeapDataset_rowsCorrectlySwapped() {
+        IndexedDataset result = dataset.toOffHeap();
+        result.swap(0, 1);
+
+        assertEquals(Arrays.asList(10L, 0L, 20L), result.getIndexes());
+        assertEquals(Matrix.FACTORY.make(3, 2,  3, 4, 1, 2, 5, 6), result.getData());
+    }
+
+    @Test
+    void getData_validRange_returnsExpectedBlock() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 5, 6), dataset.toOffHeap().getData(1, 3));
+    }
+
+    @Test
+    void computeByBlocks_offHeapDataset_concatenatesResultOfEachBlock() {
+        assertEquals(Vector.FACTORY.make(3, 7, 11), dataset.toOffHeap().computeByBlocks(block -> block.multiply(Vector.FACTORY.make(1, 1))));
+    }
+
+    @Test
+    void selectRows_singlePrecisionDataset_selectionIsSinglePrecision() {
+        IndexedDataset selection = dataset.toSinglePrecision().selectRows(new int[] {2, 0}, 0, 2);
+
+        assertTrue(selection.isSinglePrecision());
+        assertEquals(FloatMatrix.FACTORY.make(Matrix.FACTORY.make(2, 2, 5, 6, 1, 2)), selection.getSinglePrecisionData());
+    }
+
+    @Test
+    void getDataBlock_singlePrecisionSelection_returnsSinglePrecisionBlock() {
+        IndexedDataset selection = dataset.toSinglePrecision().selectRows(new int[] {2, 1, 0}, 0, 3);
+        assertEquals(FloatMatrix.FACTORY.make(Matrix.FACTORY.make(2, 2, 3, 4, 1, 2)), selection.getDataBlock(1, 3));
+    }
+
+    @Test
+    void getDataBlock_encodedSelection_returnsEncodedBlock() {
+        IndexedDataset selection = dataset.toEncoded().selectRows(new int[] {2, 1, 0}, 0, 3);
+        assertEquals(EncodedMatrix.FACTORY.make(Matrix.FACTORY.make(2, 2, 3, 4, 1, 2)), selection.getDataBlock(1, 3));
+    }
+
+    @Test
+    void getDataBlock_offHeapDataset_returnsDoublePrecisionBlock() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 5, 6), dataset.toOffHeap().getDataBlock(1, 3));
+    }
+
+    @Test
+    void computeByBlocks_singlePrecisionSelection_blocksAreNotConvertedToDoublePrecision() {
+        IndexedDataset selection = dataset.toSinglePrecision().selectRows(new int[] {2, 0}, 0, 2);
+
+        Vector result = selection.computeByBlocks(BlockFunction.of(
+                block -> { throw new AssertionError("block was converted to double-precision"); },
+                block -> block.multiply(Vector.FACTORY.make(1, 1))));
+
+        assertEquals(Vector.FACTORY.make(11, 3), result);
+    }
+
+    @Test
+    void selectRows_validRange_returnsSelectedPointsInOrder() {
+        IndexedDataset selection = dataset.selectRows(new int[] {1, 2, 0}, 1, 3);
+        assertEquals(Arrays.asList(20L, 0L), selection.getIndexes());
+        assertEquals(Matrix.FACTORY.make(2, 2, 5, 6, 1, 2), selection.getData());
+        assertTrue(selection.isBlockwise());
+    }
+
+    @Test
+    void selectRows_validRange_indexLookupUsesPositionInSelection() {
+        IndexedDataset selection = dataset.selectRows(new int[] {2, 0}, 0, 2);
+        assertEquals(1, selection.getRowOfIndex(0L));
+        assertEquals(-1, selection.getRowOfIndex(10L));
+    }
+
+    @Test
+    void selectRows_selectionOfSelection_returnsComposedSelection() {
+        IndexedDataset selection = dataset.selectRows(new int[] {2, 1, 0}, 0, 3).selectRows(new int[] {2, 0}, 0, 2);
+        assertEquals(dataset.getRows(0, 2), selection);
+    }
+
+    @Test
+    void selectRows_withFactorizationStructure_partitionsAreSelected() {
+        dataset.setFactorizationStructure(new int[][] {{0}, {1}});
+        IndexedDataset[] partitions = dataset.selectRows(new int[] {2, 0}, 0, 2).getPartitionedData();
+        assertEquals(new IndexedDataset(Arrays.asList(20L, 0L), Matrix.FACTORY.make(2, 1, 5, 1)), partitions[0]);
+        assertEquals(new IndexedDataset(Arrays.asList(20L, 0L), Matrix.FACTORY.make(2, 1, 6, 2)), partitions[1]);
+    }
+
+    @Test
+    void swap_rowSelection_throwsException() {
+        IndexedDataset selection = dataset.selectRows(new int[] {2, 0}, 0, 2);
+        assertThrows(UnsupportedOperationException.class, () -> selection.swap(0, 1));
+    }
+
+    @Test
+    void shallowCopy_swapThroughCopy_originalIsNotModified() {
+        IndexedDataset copy = dataset.shallowCopy();
+        copy.swap(0, 2);
+
+        assertEquals(new IndexedDataset(indexes, data), dataset);
+        assertEquals(Arrays.asList(20L, 10L, 0L), copy.getIndexes());
+    }
+
+    @Test
+    void shallowCopy_swapThroughOriginal_copyIsNotModified() {
+        IndexedDataset copy = dataset.shallowCopy();
+        dataset.swap(0, 2);
+        assertEquals(new IndexedDataset(Arrays.asList(0L, 10L, 20L), Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6)), copy);
+    }
+
+    @Test
+    void shallowCopy_addThroughCopy_originalIsNotModified() {
+        IndexedDataset copy = dataset.shallowCopy();
+        copy.add(Vector.FACTORY.make(7, 8));
+        copy.add(Vector.FACTORY.make(9, 10));
+
+        assertEquals(3, dataset.length());
+        assertEquals(5, copy.length());
+    }
+
+    @Test
+    void shallowCopy_withSecondaryIndex_copyKeepsSecondaryIndex() {
+        dataset.setSecondaryIndex(Arrays.asList(7L, 8L, 9L));
+        IndexedDataset copy = dataset.shallowCopy();
+
+        assertTrue(copy.hasSecondaryIndex());
+        assertEquals(dataset.get(2), copy.getFromSecondaryIndex(9L));
+    }
+
+    @Test
+    void shallowCopy_addThroughCopyAfterLookup_originalLookupIsNotModified() {
+        assertEquals(2, dataset.getRowOfIndex(20L));
+        IndexedDataset copy = dataset.shallowCopy();
+        copy.add(99L, Vector.FACTORY.make(7, 8));
+
+        assertEquals(3, copy.getRowOfIndex(99L));
+        assertEquals(2, copy.getRowOfIndex(20L));
+        assertEquals(-1, dataset.getRowOfIndex(99L));
+        assertEquals(2, dataset.getRowOfIndex(20L));
+    }
+
+    @Test
+    void shallowCopy_swapThroughOriginalAfterLookup_copyLookupIsNotModified() {
+        assertEquals(0, dataset.getRowOfIndex(0L));
+        IndexedDataset copy = dataset.shallowCopy();
+        dataset.swap(0, 2);
+
+        assertEquals(2, dataset.getRowOfIndex(0L));
+        assertEquals(0, copy.getRowOfIndex(0L));
+    }
+
     @Test
     void toListCorrectlyConvertsTheDataset() {
         List<DataPoint> dataPoints = new ArrayList<>();
@@ -20,13 +20,16 @@
 
 package data;
 
+import explore.sampling.ShuffledCursor;
 import machinelearning.classifier.Classifier;
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
 import machinelearning.threesetmetric.ExtendedClassifier;
 import machinelearning.threesetmetric.ExtendedLabel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.Answer;
+import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
 import java.util.*;
@@ -63,6 +66,68 @@ class PartitionedDatasetTest {
         assertThrows(NullPointerException.class, () -> new PartitionedDataset(dataPoints, null));
     }
 
+    private PartitionedDataset deduplicatedDataset() {
+        IndexedDataset points = new IndexedDataset(new long[] {0, 10, 20, 30}, Matrix.FACTORY.make(4, 1, 1, 2, 1, 3));
+        return new PartitionedDataset(DeduplicatedDataset.of(points));
+    }
+
+    @Test
+    void getAllPoints_deduplicatedDataset_returnsUniquePoints() {
+        assertEquals(Arrays.asList(0L, 10L, 30L), deduplicatedDataset().getAllPoints().getIndexes());
+    }
+
+    @Test
+    void getOriginalPoints_deduplicatedDataset_returnsAllPoints() {
+        assertEquals(Arrays.asList(0L, 10L, 20L, 30L), deduplicatedDataset().getOriginalPoints().getIndexes());
+    }
+
+    @Test
+    void update_duplicatePoint_labelsUniquePoint() {
+        PartitionedDataset dataset = deduplicatedDataset();
+        DataPoint duplicate = dataset.getOriginalPoints().get(2);
+        dataset.update(new LabeledPoint(duplicate, POSITIVE));
+
+        assertEquals(ExtendedLabel.POSITIVE, dataset.getLabel(dataset.getOriginalPoints().get(0)));
+        assertEquals(2, dataset.getUnknownSize());
+        assertEquals(2, dataset.getUnknownSizeWithDuplicates());
+    }
+
+    @Test
+    void getUnknownSizeWithDuplicates_noUpdates_countsDuplicates() {
+        PartitionedDataset dataset = deduplicatedDataset();
+        assertEquals(3, dataset.getUnknownSize());
+        assertEquals(4, dataset.getUnknownSizeWithDuplicates());
+    }
+
+    @Test
+    void getMultiplicity_duplicatePoint_returnsNumberOfOccurrences() {
+        PartitionedDataset dataset = deduplicatedDataset();
+        assertEquals(2, dataset.getMultiplicity(dataset.getOriginalPoints().get(2)));
+        assertEquals(1, dataset.getMultiplicity(dataset.getOriginalPoints().get(1)));
+    }
+
+    @Test
+    void expand_deduplicatedDatasetAfterUpdates_returnsValueOfEachOriginalPoint() {
+        PartitionedDataset dataset = deduplicatedDataset();
+        dataset.update(new LabeledPoint(dataset.getOriginalPoints().get(3), POSITIVE));
+
+        Long[] ids = dataset.getAllPoints().getIndexes().toArray(new Long[0]);
+        assertArrayEquals(new Long[] {0L, 10L, 0L, 30L}, dataset.expand(ids));
+    }
+
+    @Test
+    void expand_datasetWithoutDuplicates_returnsInput() {
+        Label[] labels = new Label[5];
+        assertSame(labels, dataset.expand(labels));
+    }
+
+    @Test
+    void addLabeledPointToDataset_deduplicatedDataset_throwsException() {
+        PartitionedDataset dataset = deduplicatedDataset();
+        LabeledPoint point = new LabeledPoint(new DataPoint(50, Vector.FACTORY.make(4)), POSITIVE);
+        assertThrows(UnsupportedOperationException.class, () -> dataset.addLabeledPointToDataset(point));
+    }
+
     @Test
     void getAllPoints_noUpdates_outputIsACopyOfOriginalInput() {
         assertNotSame(dataPoints, dataset.getAllPoints());
@@ -88,6 +153,34 @@ class PartitionedDatasetTest {
         assertEquals(new LabeledPoint(dataPoint, label), dataset.getLabeledPoints().get(0));
     }
 
+    @Test
+    void getLabeledPoints_severalUpdates_returnsPointsInLabelingOrder() {
+        dataset.update(new LabeledPoint(dataPoints.get(3), POSITIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(1), NEGATIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(4), POSITIVE));
+
+        LabeledDataset labeledPoints = dataset.getLabeledPoints();
+        assertEquals(Arrays.asList(30L, 10L, 40L), labeledPoints.getIndexes());
+        assertEquals(Matrix.FACTORY.make(3, 1, 3, 1, 4), labeledPoints.getData());
+        assertArrayEquals(new Label[] {POSITIVE, NEGATIVE, POSITIVE}, labeledPoints.getLabels());
+    }
+
+    @Test
+    void getLabeledPoints_noUpdatesBetweenCalls_returnsSameObject() {
+        dataset.update(new LabeledPoint(dataPoints.get(0), NEGATIVE));
+        assertSame(dataset.getLabeledPoints(), dataset.getLabeledPoints());
+    }
+
+    @Test
+    void getLabeledPoints_pointLabeledTwice_pointAppearsOnceWithLatestLabel() {
+        dataset.update(new LabeledPoint(dataPoints.get(0), NEGATIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(0), POSITIVE));
+
+        LabeledDataset labeledPoints = dataset.getLabeledPoints();
+        assertEquals(1, labeledPoints.length());
+        assertEquals(POSITIVE, labeledPoints.getLabel(0));
+    }
+
     @Test
     void hasLabeledPoints_noUpdates_returnsFalse() {
         assertFalse(dataset.hasLabeledPoints());
@@ -298,6 +391,206 @@ class PartitionedDatasetTest {
         assertArrayEquals(new Label[] {NEGATIVE, POSITIVE, POSITIVE, POSITIVE, POSITIVE}, dataset.predictLabels(classifier));
     }
 
+    @Test
+    void predictLabelVector_singleUpdateAndPositiveClassifierStub_matchesPredictLabels() {
+        Classifier classifier = spy(Classifier.class);
+        when(classifier.probability((Vector) any())).thenReturn(1.0);
+
+        dataset.update(new LabeledPoint(dataPoints.get(0), NEGATIVE));
+
+        assertArrayEquals(dataset.predictLabels(classifier), dataset.predictLabelVector(classifier).toArray());
+    }
+
+    @Test
+    void getPositiveSizeWithDuplicates_noDuplicates_returnsNumberOfPositivePoints() {
+        dataset.update(new LabeledPoint(dataPoints.get(0), POSITIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(1), NEGATIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(2), POSITIVE));
+
+        assertEquals(2, dataset.getPositiveSizeWithDuplicates());
+    }
+
+    @Test
+    void getPositiveSizeWithDuplicates_deduplicatedDataset_countsDuplicates() {
+        PartitionedDataset partitionedDataset = deduplicatedDataset();
+        partitionedDataset.update(new LabeledPoint(0, Vector.FACTORY.make(1), POSITIVE));
+        partitionedDataset.update(new LabeledPoint(30, Vector.FACTORY.make(3), POSITIVE));
+
+        assertEquals(3, partitionedDataset.getPositiveSizeWithDuplicates());
+    }
+
+    @Test
+    void expand_labelVectorOfDeduplicatedDataset_returnsLabelOfEachOriginalPoint() {
+        PartitionedDataset partitionedDataset = deduplicatedDataset();
+        partitionedDataset.update(new LabeledPoint(30, Vector.FACTORY.make(3), POSITIVE));
+
+        // positions: 30, 10, 0
+        LabelVector labels = LabelVector.fromLabels(new Label[] {POSITIVE, NEGATIVE, POSITIVE});
+        assertEquals(Arrays.asList(30L, 10L, 0L), partitionedDataset.getAllPoints().getIndexes());
+        assertArrayEquals(new Label[] {POSITIVE, NEGATIVE, POSITIVE, POSITIVE}, partitionedDataset.expand(labels).toArray());
+    }
+
+    @Test
+    void getAllPoints_updateAfterCall_previouslyReturnedPointsAreNotReordered() {
+        IndexedDataset allPoints = dataset.getAllPoints();
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+        assertEquals(dataPoints, allPoints);
+    }
+
+    @Test
+    void get_severalUpdates_returnsDataPointWithGivenId() {
+        dataset.update(new LabeledPoint(dataPoints.get(3), Label.NEGATIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(1), Label.POSITIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(4), Label.NEGATIVE));
+
+        for (int i = 0; i < dataPoints.length(); i++) {
+            assertEquals(dataPoints.get(i), dataset.get(10 * i));
+        }
+    }
+
+    @Test
+    void getKnownPoints_severalUpdates_returnsPointsInLabelingOrder() {
+        dataset.update(new LabeledPoint(dataPoints.get(3), Label.NEGATIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(1), Label.POSITIVE));
+        dataset.update(new LabeledPoint(dataPoints.get(4), Label.NEGATIVE));
+        assertEquals(dataPoints.getRows(3, 1, 4), dataset.getKnownPoints());
+    }
+
+    @Test
+    void addLabeledPointToDataset_severalPoints_pointsAppendedToUnknownPartition() {
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+        IndexedDataset unknownPoints = dataset.getUnknownPoints();
+
+        dataset.addLabeledPointToDataset(new LabeledPoint(5, new double[] {5}, Label.POSITIVE));
+        dataset.addLabeledPointToDataset(new LabeledPoint(6, new double[] {6}, Label.POSITIVE));
+
+        assertEquals(unknownPoints, dataset.getUnknownPoints().getRows(0, 1, 2, 3));
+        assertEquals(Vector.FACTORY.make(6), dataset.getUnknownPoints().get(5).getData());
+        assertEquals(ExtendedLabel.UNKNOWN, dataset.getLabel(dataset.getUnknownPoints().get(5)));
+    }
+
+    private static IndexedDataset newPoints(long... ids) {
+        double[] values = Arrays.stream(ids).mapToDouble(id -> id).toArray();
+        return new IndexedDataset(ids, Matrix.FACTORY.make(ids.length, 1, values));
+    }
+
+    @Test
+    void append_deduplicatedDataset_throwsException() {
+        assertThrows(UnsupportedOperationException.class, () -> deduplicatedDataset().append(newPoints(50)));
+    }
+
+    @Test
+    void append_existingId_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> dataset.append(newPoints(50, 10)));
+        assertEquals(5, dataset.getAllPoints().length());
+    }
+
+    @Test
+    void append_repeatedIds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> dataset.append(newPoints(50, 50)));
+    }
+
+    @Test
+    void append_incompatibleDimension_throwsException() {
+        IndexedDataset points = new IndexedDataset(new long[] {50}, Matrix.FACTORY.make(1, 2, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> dataset.append(points));
+    }
+
+    @Test
+    void append_unknownPredictions_pointsAppendedToUnknownPartition() {
+        classifier.setLabel(50, ExtendedLabel.UNKNOWN);
+        classifier.setLabel(60, ExtendedLabel.UNKNOWN);
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+
+        dataset.append(newPoints(50, 60));
+
+        assertEquals(6, dataset.getUnknownSize());
+        assertEquals(ExtendedLabel.UNKNOWN, dataset.getLabel(dataset.getAllPoints().getFromIndex(50)));
+        assertEquals(Vector.FACTORY.make(60), dataset.getAllPoints().getFromIndex(60).getData());
+    }
+
+    @Test
+    void append_knownPrediction_pointAppendedToInferredPartition() {
+        classifier.setLabel(50, ExtendedLabel.POSITIVE);
+        classifier.setLabel(60, ExtendedLabel.UNKNOWN);
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+
+        dataset.append(newPoints(50, 60));
+
+        assertEquals(5, dataset.getUnknownSize());
+        assertEquals(Arrays.asList(20L, 50L), dataset.getKnownPoints().getIndexes());
+        assertEquals(ExtendedLabel.POSITIVE, dataset.getLabel(dataset.getAllPoints().getFromIndex(50)));
+    }
+
+    @Test
+    void append_classifierNotRunning_pointsAppendedToUnknownPartition() {
+        classifier.setLabel(50, ExtendedLabel.POSITIVE);
+        classifier.setRunning(false);
+
+        dataset.append(newPoints(50));
+
+        assertEquals(6, dataset.getUnknownSize());
+    }
+
+    @Test
+    void append_newPoints_pointsCanBeSampledAndLabeled() {
+        classifier.setLabel(50, ExtendedLabel.UNKNOWN);
+        dataset.append(newPoints(50));
+
+        assertTrue(dataset.sampleUnlabeledPoints(10).getIndexes().contains(50L));
+
+        dataset.update(new LabeledPoint(50, new double[] {50}, Label.POSITIVE));
+        assertEquals(Collections.singletonList(50L), dataset.getLabeledPoints().getIndexes());
+    }
+
+    @Test
+    void append_inputDatasetIsNotModified() {
+        IndexedDataset original = dataPoints.copy();
+        classifier.setLabel(50, ExtendedLabel.UNKNOWN);
+        dataset.append(newPoints(50));
+        assertEquals(original, dataPoints);
+    }
+
+    @Test
+    void sampleUnlabeledPoints_sampleSizeLargerThanPartition_returnsWholePartition() {
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+        assertEquals(dataset.getUnlabeledPoints(), dataset.sampleUnlabeledPoints(4));
+    }
+
+    @Test
+    void sampleUnlabeledPoints_smallSampleSize_returnsDistinctUnlabeledPoints() {
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+
+        IndexedDataset sample = dataset.sampleUnlabeledPoints(3);
+
+        assertEquals(3, sample.length());
+        assertEquals(3, new HashSet<>(sample.getIndexes()).size());
+        assertFalse(sample.getIndexes().contains(20L));
+    }
+
+    @Test
+    void sampleUnlabeledPoints_shuffledCursor_consecutiveSamplesAreDisjoint() {
+        dataset.update(new LabeledPoint(dataPoints.get(2), Label.NEGATIVE));
+        ShuffledCursor cursor = new ShuffledCursor();
+
+        IndexedDataset first = dataset.sampleUnlabeledPoints(2, cursor);
+        IndexedDataset second = dataset.sampleUnlabeledPoints(2, cursor);
+
+        Set<Long> seen = new HashSet<>(first.getIndexes());
+        seen.addAll(second.getIndexes());
+
+        assertEquals(2, first.length());
+        assertEquals(2, second.length());
+        assertEquals(new HashSet<>(Arrays.asList(0L, 10L, 30L, 40L)), seen);
+    }
+
+    @Test
+    void addLabeledPointToDataset_inputDatasetIsNotModified() {
+        IndexedDataset original = dataPoints.copy();
+        dataset.addLabeledPointToDataset(new LabeledPoint(5, new double[] {5}, Label.POSITIVE));
+        assertEquals(original, dataPoints);
+    }
+
     private class MockClassifier implements ExtendedClassifier {
         private Map<Long, ExtendedLabel> mapping;
         private boolean isRunning = true;
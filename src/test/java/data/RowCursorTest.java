@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowCursorTest {
+    private IndexedDataset dataset;
+    private RowCursor cursor;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new IndexedDataset(Arrays.asList(0L, 10L, 20L), Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6));
+        cursor = dataset.cursor();
+    }
+
+    @Test
+    void getRow_newCursor_isBeforeFirstRow() {
+        assertEquals(-1, cursor.getRow());
+    }
+
+    @Test
+    void get_newCursor_throwsException() {
+        assertThrows(IllegalStateException.class, () -> cursor.get(0));
+    }
+
+    @Test
+    void dim_twoDimensionalDataset_returnsTwo() {
+        assertEquals(2, cursor.dim());
+    }
+
+    @Test
+    void next_iterateOverAllRows_visitsEveryRowInOrder() {
+        for (int i = 0; i < dataset.length(); i++) {
+            assertTrue(cursor.next());
+            assertEquals(i, cursor.getRow());
+            assertEquals(dataset.getIndex(i), cursor.getId());
+            assertEquals(dataset.get(i).get(0), cursor.get(0));
+            assertEquals(dataset.get(i).get(1), cursor.get(1));
+        }
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void moveTo_outOfBoundsRow_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> cursor.moveTo(-1));
+        assertThrows(IllegalArgumentException.class, () -> cursor.moveTo(dataset.length()));
+    }
+
+    @Test
+    void moveTo_validRow_featuresOfThatRowAreReturned() {
+        cursor.moveTo(2);
+        assertEquals(20L, cursor.getId());
+        assertEquals(5, cursor.get(0));
+        cursor.moveTo(0);
+        assertEquals(1, cursor.get(0));
+    }
+
+    @Test
+    void reset_afterIteration_cursorRestartsFromFirstRow() {
+        while (cursor.next());
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getRow());
+    }
+
+    @Test
+    void toDataPoint_validRow_returnsCopyOfCurrentRow() {
+        cursor.moveTo(1);
+        DataPoint point = cursor.toDataPoint();
+        assertEquals(new DataPoint(10L, Vector.FACTORY.make(3, 4)), point);
+
+        cursor.moveTo(2);
+        assertEquals(Vector.FACTORY.make(3, 4), point.getData());
+    }
+
+    @Test
+    void cursor_rowSelection_followsSelectedRows() {
+        RowCursor selectionCursor = dataset.selectRows(new int[] {2, 0}, 0, 2).cursor();
+        assertTrue(selectionCursor.next());
+        assertEquals(20L, selectionCursor.getId());
+        assertEquals(6, selectionCursor.get(1));
+        assertTrue(selectionCursor.next());
+        assertEquals(0L, selectionCursor.getId());
+        assertEquals(2, selectionCursor.get(1));
+    }
+}
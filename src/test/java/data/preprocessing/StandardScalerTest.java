@@ -66,6 +66,13 @@ class StandardScalerTest {
         assertTrue(expected.equals(transformed.getData(), 1e-8));
     }
 
+    @Test
+    void transformLazily_indexedDataset_sameOutputAsTransform() {
+        IndexedDataset transformed = scaler.transformLazily(dataset);
+        assertEquals(scaler.transform(dataset), transformed);
+        assertTrue(transformed.isBlockwise());
+    }
+
     @Test
     void fitAndTransform_indexedDataset_outputHasSameIndex() {
         IndexedDataset transformed = StandardScaler.fitAndTransform(dataset);
@@ -21,6 +21,7 @@
 package explore.metrics;
 
 import machinelearning.classifier.Label;
+import machinelearning.classifier.LabelVector;
 import machinelearning.classifier.Learner;
 import org.junit.jupiter.api.Test;
 
@@ -73,4 +74,30 @@ public class ConfusionMatrixCalculatorTest {
         assertEquals(1, metric.falsePositives());
         assertEquals(1, metric.falseNegatives());
     }
+
+    @Test
+    void compute_packedLabelsOfDifferentLengths_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> ConfusionMatrixCalculator.compute(new LabelVector(2), new LabelVector(3)));
+    }
+
+    @Test
+    void compute_emptyPackedLabels_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> ConfusionMatrixCalculator.compute(new LabelVector(0), new LabelVector(0)));
+    }
+
+    @Test
+    void compute_packedLabelsOverSeveralWords_matchesLabelArrays() {
+        Label[] predictedLabels = new Label[150];
+        Label[] trueLabels = new Label[150];
+        for (int i = 0; i < 150; i++) {
+            predictedLabels[i] = i % 3 == 0 ? Label.POSITIVE : Label.NEGATIVE;
+            trueLabels[i] = i % 2 == 0 ? Label.POSITIVE : Label.NEGATIVE;
+        }
+
+        ConfusionMatrix metric = ConfusionMatrixCalculator.compute(LabelVector.fromLabels(trueLabels), LabelVector.fromLabels(predictedLabels));
+        assertEquals(25, metric.truePositives());
+        assertEquals(50, metric.trueNegatives());
+        assertEquals(25, metric.falsePositives());
+        assertEquals(50, metric.falseNegatives());
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package explore.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSamplerTest {
+    @Test
+    void sample_zeroSampleSize_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> IndexSampler.sample(10, 0, new Random(0)));
+    }
+
+    @Test
+    void sample_sampleSizeLargerThanPopulation_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> IndexSampler.sample(10, 11, new Random(0)));
+    }
+
+    @Test
+    void sample_sampleSizeEqualToPopulation_returnsAllElements() {
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, IndexSampler.sample(5, 5, new Random(0)));
+    }
+
+    @Test
+    void sample_validSampleSize_returnsDistinctSortedElementsInRange() {
+        Random random = new Random(0);
+
+        for (int trial = 0; trial < 100; trial++) {
+            int[] sample = IndexSampler.sample(50, 20, random);
+
+            assertEquals(20, sample.length);
+            assertTrue(sample[0] >= 0);
+            assertTrue(sample[19] < 50);
+            for (int i = 1; i < sample.length; i++) {
+                assertTrue(sample[i - 1] < sample[i]);
+            }
+        }
+    }
+
+    @Test
+    void sample_manyTrials_everyElementIsSampledWithSameFrequency() {
+        Random random = new Random(0);
+        int[] counts = new int[10];
+
+        for (int trial = 0; trial < 10000; trial++) {
+            for (int element : IndexSampler.sample(10, 3, random)) {
+                counts[element]++;
+            }
+        }
+
+        // each element is expected 3000 times
+        assertTrue(Arrays.stream(counts).allMatch(count -> Math.abs(count - 3000) < 200), Arrays.toString(counts));
+    }
+}
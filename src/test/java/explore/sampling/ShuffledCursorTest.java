@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package explore.sampling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShuffledCursorTest {
+    private ShuffledCursor cursor;
+
+    @BeforeEach
+    void setUp() {
+        cursor = new ShuffledCursor();
+    }
+
+    @Test
+    void next_nonPositiveSize_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> cursor.next(0));
+    }
+
+    @Test
+    void remaining_noPassStarted_returnsZero() {
+        assertEquals(0, cursor.remaining());
+    }
+
+    @Test
+    void next_onePass_returnsEveryElementExactlyOnce() {
+        Set<Integer> elements = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            elements.add(cursor.next(20));
+            assertEquals(19 - i, cursor.remaining());
+        }
+        assertEquals(20, elements.size());
+    }
+
+    @Test
+    void next_afterPassEnds_newPassIsStarted() {
+        for (int i = 0; i < 5; i++) {
+            cursor.next(5);
+        }
+        cursor.next(5);
+        assertEquals(4, cursor.remaining());
+    }
+
+    @Test
+    void next_sizeDecreased_newPassIsStarted() {
+        cursor.next(8);
+        int element = cursor.next(5);
+        assertTrue(element >= 0 && element < 5);
+        assertEquals(4, cursor.remaining());
+    }
+
+    @Test
+    void next_sizeIncreased_newElementsAreAddedToCurrentPass() {
+        Set<Integer> elements = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            elements.add(cursor.next(5));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            elements.add(cursor.next(8));
+        }
+
+        assertEquals(0, cursor.remaining());
+        assertEquals(8, elements.size());
+    }
+}
@@ -22,6 +22,7 @@ package explore.user;
 
 import data.DataPoint;
 import data.IndexedDataset;
+import data.RowCursor;
 import machinelearning.classifier.Label;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -100,6 +101,19 @@ class BudgetedUserTest {
         assertThrows(IllegalStateException.class, () -> budgetedUser.getLabel(dataPoint));
     }
 
+    @Test
+    void getLabel_cursorPastBudget_throwsException() {
+        IndexedDataset.Builder builder = new IndexedDataset.Builder();
+        builder.add(dataPoint);
+        RowCursor cursor = builder.build().cursor();
+        cursor.next();
+
+        for (int i = 0; i < budget; i++) {
+            budgetedUser.getLabel(cursor);
+        }
+        assertThrows(IllegalStateException.class, () -> budgetedUser.getLabel(cursor));
+    }
+
     @Test
     void getLabel_dataPointCollectionLargerThanBudget_throwsException() {
         IndexedDataset.Builder builder = new IndexedDataset.Builder();
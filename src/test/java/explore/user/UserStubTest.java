@@ -22,6 +22,7 @@ package explore.user;
 
 import data.DataPoint;
 import data.IndexedDataset;
+import data.RowCursor;
 import machinelearning.classifier.Label;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -62,6 +63,15 @@ class UserStubTest {
         }
     }
 
+    @Test
+    void getLabel_cursorOverAllRows_returnsCorrectLabels() {
+        Label[] labels = new Label[] {Label.NEGATIVE, Label.POSITIVE, Label.POSITIVE, Label.NEGATIVE};
+        RowCursor cursor = points.cursor();
+        while (cursor.next()) {
+            assertEquals(labels[cursor.getRow()], user.getLabel(cursor));
+        }
+    }
+
     @Test
     void getAllLabels_callGetAllLabels_returnsLabelsArray() {
         assertArrayEquals(new Label[] {Label.NEGATIVE,Label.POSITIVE,Label.POSITIVE,Label.NEGATIVE}, user.getLabel(points));
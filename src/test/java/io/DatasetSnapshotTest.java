@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package io;
+
+import data.IndexedDataset;
+import data.preprocessing.StandardScaler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Matrix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetSnapshotTest {
+    private IndexedDataset dataset;
+    private StandardScaler scaler;
+    private int[][] featureGroups;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataset = new IndexedDataset(new long[] {10, 20, 30}, Matrix.FACTORY.make(3, 2, 1, 2, 3, 5, 7, 8));
+        dataset.setSecondaryIndex(Arrays.asList(100L, 200L, 300L));
+        scaler = StandardScaler.fit(dataset);
+        featureGroups = new int[][] {{0}, {1}};
+        file = Files.createTempFile("dataset", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void open_writtenSnapshot_returnsSameDataset() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        IndexedDataset snapshotDataset = DatasetSnapshot.open(file).getDataset();
+
+        assertEquals(dataset.getIndexes(), snapshotDataset.getIndexes());
+        assertEquals(dataset.getData(), snapshotDataset.getData());
+        assertTrue(snapshotDataset.isOffHeap());
+    }
+
+    @Test
+    void open_writtenSnapshot_returnsSameSecondaryIndex() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        IndexedDataset snapshotDataset = DatasetSnapshot.open(file).getDataset();
+
+        assertEquals(dataset.getFromSecondaryIndex(200L), snapshotDataset.getFromSecondaryIndex(200L));
+    }
+
+    @Test
+    void open_snapshotWithoutSecondaryIndex_datasetHasNoSecondaryIndex() {
+        IndexedDataset withoutSecondaryIndex = dataset.copy();
+        DatasetSnapshot.write(file, "source", withoutSecondaryIndex, scaler, featureGroups);
+
+        assertFalse(DatasetSnapshot.open(file).getDataset().hasSecondaryIndex());
+    }
+
+    @Test
+    void open_writtenSnapshot_returnsSameScalerStatistics() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        StandardScaler snapshotScaler = DatasetSnapshot.open(file).getScaler().get();
+
+        assertEquals(scaler.getMean(), snapshotScaler.getMean());
+        assertEquals(scaler.getStandardDeviation(), snapshotScaler.getStandardDeviation());
+    }
+
+    @Test
+    void open_snapshotWithoutScaler_returnsEmptyScaler() {
+        DatasetSnapshot.write(file, "source", dataset, null, featureGroups);
+        assertFalse(DatasetSnapshot.open(file).getScaler().isPresent());
+    }
+
+    @Test
+    void open_writtenSnapshot_returnsSameFeatureGroupsAndSource() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        DatasetSnapshot snapshot = DatasetSnapshot.open(file);
+
+        assertArrayEquals(featureGroups, snapshot.getFeatureGroups());
+        assertEquals("source", snapshot.getSource());
+    }
+
+    @Test
+    void open_fileIsNotSnapshot_throwsException() throws IOException {
+        Files.write(file, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> DatasetSnapshot.open(file));
+    }
+
+    @Test
+    void openIfValid_sameSource_returnsSnapshot() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        assertTrue(DatasetSnapshot.openIfValid(file, "source").isPresent());
+    }
+
+    @Test
+    void openIfValid_differentSource_returnsEmptyOptional() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        assertFalse(DatasetSnapshot.openIfValid(file, "other source").isPresent());
+    }
+
+    @Test
+    void openIfValid_nonExistingFile_returnsEmptyOptional() throws IOException {
+        Files.delete(file);
+        assertFalse(DatasetSnapshot.openIfValid(file, "source").isPresent());
+    }
+
+    @Test
+    void openIfValid_truncatedFile_returnsEmptyOptional() throws IOException {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 8));
+
+        assertFalse(DatasetSnapshot.openIfValid(file, "source").isPresent());
+    }
+
+    @Test
+    void write_featureGroupOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> DatasetSnapshot.write(file, "source", dataset, scaler, new int[][] {{0, 2}}));
+    }
+
+    @Test
+    void transformLazily_snapshotDataset_sameOutputAsTransform() {
+        DatasetSnapshot.write(file, "source", dataset, scaler, featureGroups);
+        DatasetSnapshot snapshot = DatasetSnapshot.open(file);
+        StandardScaler snapshotScaler = snapshot.getScaler().get();
+
+        assertEquals(scaler.transform(dataset), snapshotScaler.transformLazily(snapshot.getDataset()));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.active;
+
+import data.DataPoint;
+import data.IndexedDataset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Matrix;
+import utils.linalg.Vector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedTopKTest {
+    private static final int SIZE = 3 * IndexedDataset.BLOCK_SIZE + 17;
+
+    private IndexedDataset dataset;
+
+    /**
+     * Scores each point by its first feature
+     */
+    private Function<IndexedDataset, Vector> scorer;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(1);
+        long[] indexes = new long[SIZE];
+        double[][] points = new double[SIZE][];
+        for (int i = 0; i < SIZE; i++) {
+            indexes[i] = 10L * i;
+            points[i] = new double[] {random.nextInt(1000), i};
+        }
+
+        dataset = new IndexedDataset(indexes, Matrix.FACTORY.make(points));
+        scorer = block -> block.getData().getCol(0);
+    }
+
+    @Test
+    void select_zeroK_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkedTopK.select(dataset, 0, scorer));
+    }
+
+    @Test
+    void select_negativeK_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkedTopK.select(dataset, -1, scorer));
+    }
+
+    @Test
+    void select_kEqualsOne_returnsArgmin() {
+        DataPoint expected = dataset.get(scorer.apply(dataset).argmin());
+        assertEquals(Arrays.asList(expected), ChunkedTopK.select(dataset, 1, scorer));
+    }
+
+    @Test
+    void select_multipleBlocks_returnsLowestScoresInIncreasingOrderWithTiesBrokenByRow() {
+        double[] scores = scorer.apply(dataset).toArray();
+        List<DataPoint> expected = IntStream.range(0, SIZE).boxed()
+                .sorted((i, j) -> scores[i] != scores[j] ? Double.compare(scores[i], scores[j]) : Integer.compare(i, j))
+                .limit(50)
+                .map(dataset::get)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, ChunkedTopK.select(dataset, 50, scorer));
+    }
+
+    @Test
+    void select_singleBlock_returnsLowestScoresInIncreasingOrder() {
+        IndexedDataset small = new IndexedDataset(new long[] {0, 1, 2, 3}, Matrix.FACTORY.make(4, 1, 3, 1, 2, 1));
+        List<DataPoint> result = ChunkedTopK.select(small, 3, block -> block.getData().getCol(0));
+        assertEquals(Arrays.asList(small.get(1), small.get(3), small.get(2)), result);
+    }
+
+    @Test
+    void select_kLargerThanDatasetLength_returnsAllPointsSortedByScore() {
+        List<DataPoint> result = ChunkedTopK.select(dataset, 2 * SIZE, scorer);
+
+        assertEquals(SIZE, result.size());
+        for (int i = 1; i < SIZE; i++) {
+            assertTrue(result.get(i - 1).get(0) <= result.get(i).get(0));
+        }
+    }
+
+    @Test
+    void select_scorerReceivesBlocksOfAtMostBlockSize() {
+        ChunkedTopK.select(dataset, 1, block -> {
+            assertTrue(block.length() <= IndexedDataset.BLOCK_SIZE);
+            return block.getData().getCol(0);
+        });
+    }
+}
@@ -113,6 +113,50 @@ class LinearVersionSpaceTest {
         );
     }
 
+    @Test
+    void sample_newPointsLabeled_constraintsOfAllPointsUsed() {
+        versionSpace.addIntercept();
+        versionSpace.sample(trainingData, hitAndRunSamples.length);
+
+        LabeledDataset appended = new LabeledDataset(Arrays.asList(1L, 2L, 3L), Matrix.FACTORY.make(3, 1, 10, 20, 30),
+                new Label[]{Label.POSITIVE, Label.NEGATIVE, Label.NEGATIVE});
+        versionSpace.sample(appended, hitAndRunSamples.length);
+
+        UnitBallPolyhedralCone cone = new UnitBallPolyhedralCone(Matrix.FACTORY.make(3, 2, 1, 10, -1, -20, -1, -30), solver);
+        verify(sampler).sample(eq(cone), eq(hitAndRunSamples.length));
+    }
+
+    @Test
+    void sample_previousLabelsChanged_constraintsAreRebuilt() {
+        versionSpace.sample(trainingData, hitAndRunSamples.length);
+
+        LabeledDataset relabeled = new LabeledDataset(Arrays.asList(1L, 2L, 3L), Matrix.FACTORY.make(3, 1, 10, 20, 30),
+                new Label[]{Label.NEGATIVE, Label.NEGATIVE, Label.POSITIVE});
+        versionSpace.sample(relabeled, hitAndRunSamples.length);
+
+        UnitBallPolyhedralCone cone = new UnitBallPolyhedralCone(Matrix.FACTORY.make(3, 1, -10, -20, 30), solver);
+        verify(sampler).sample(eq(cone), eq(hitAndRunSamples.length));
+    }
+
+    @Test
+    void sample_decompositionAndNewPointsLabeled_constraintsMatchSignedCholeskyFactor() {
+        versionSpace.useDecomposition();
+
+        Matrix kernel = Matrix.FACTORY.make(3, 3, 4, 2, 0, 2, 10, 3, 0, 3, 5);
+        Label[] labels = new Label[]{Label.POSITIVE, Label.NEGATIVE, Label.POSITIVE};
+        when(sampler.sample(any(), anyInt())).thenReturn(
+                new Vector[] {Vector.FACTORY.make(1, 2)},
+                new Vector[] {Vector.FACTORY.make(1, 2, 3)}
+        );
+
+        versionSpace.sample(new LabeledDataset(Arrays.asList(1L, 2L), kernel.getRowSlice(0, 2).getColSlice(0, 2), Arrays.copyOf(labels, 2)), 1);
+        versionSpace.sample(new LabeledDataset(Arrays.asList(1L, 2L, 3L), kernel, labels), 1);
+
+        Matrix signedL = Matrix.FACTORY.make(3, 3, 2, 0, 0, -1, -3, 0, 0, 1, 2);
+        UnitBallPolyhedralCone cone = new UnitBallPolyhedralCone(signedL, solver);
+        verify(sampler).sample(eq(cone), eq(1));
+    }
+
     @Test
     void name() {
         Matrix decompositionStore = Matrix.FACTORY.make(3, 3, 10, 0, 0, 5, -10, 0, -3, 5, 1);
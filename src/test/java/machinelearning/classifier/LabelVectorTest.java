@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.classifier;
+
+import explore.user.UserLabel;
+import org.junit.jupiter.api.Test;
+import utils.linalg.Vector;
+
+import static machinelearning.classifier.Label.NEGATIVE;
+import static machinelearning.classifier.Label.POSITIVE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelVectorTest {
+    private static LabelVector alternating(int length) {
+        LabelVector labels = new LabelVector(length);
+        for (int i = 0; i < length; i += 2) {
+            labels.setPositive(i, true);
+        }
+        return labels;
+    }
+
+    @Test
+    void constructor_negativeLength_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new LabelVector(-1));
+    }
+
+    @Test
+    void constructor_newVector_allLabelsAreNegative() {
+        LabelVector labels = new LabelVector(3);
+        assertArrayEquals(new Label[] {NEGATIVE, NEGATIVE, NEGATIVE}, labels.toArray());
+        assertEquals(0, labels.countPositive());
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        LabelVector labels = new LabelVector(3);
+        assertThrows(IllegalArgumentException.class, () -> labels.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> labels.get(3));
+    }
+
+    @Test
+    void fromLabels_labelsArray_labelsArePreserved() {
+        UserLabel[] array = {POSITIVE, NEGATIVE, NEGATIVE, POSITIVE};
+        assertArrayEquals(array, LabelVector.fromLabels(array).toArray());
+    }
+
+    @Test
+    void fromSigns_vector_positiveValuesArePositiveLabels() {
+        LabelVector labels = LabelVector.fromSigns(Vector.FACTORY.make(1, 0, -1, 2));
+        assertArrayEquals(new Label[] {POSITIVE, NEGATIVE, NEGATIVE, POSITIVE}, labels.toArray());
+    }
+
+    @Test
+    void setPositive_setAndClearLabel_labelIsUpdated() {
+        LabelVector labels = new LabelVector(70);
+        labels.setPositive(65, true);
+        assertEquals(POSITIVE, labels.get(65));
+        labels.setPositive(65, false);
+        assertEquals(NEGATIVE, labels.get(65));
+    }
+
+    @Test
+    void set_rangeDoesNotFit_throwsException() {
+        LabelVector labels = new LabelVector(3);
+        assertThrows(IllegalArgumentException.class, () -> labels.set(2, new UserLabel[] {POSITIVE, POSITIVE}));
+    }
+
+    @Test
+    void set_rangeWithOffset_onlyRangeIsOverwritten() {
+        LabelVector labels = new LabelVector(4);
+        labels.set(1, new UserLabel[] {POSITIVE, POSITIVE});
+        assertArrayEquals(new Label[] {NEGATIVE, POSITIVE, POSITIVE, NEGATIVE}, labels.toArray());
+    }
+
+    @Test
+    void countPositive_severalWords_returnsNumberOfPositiveLabels() {
+        assertEquals(100, alternating(200).countPositive());
+        assertEquals(101, alternating(201).countPositive());
+    }
+
+    @Test
+    void countPositiveInBoth_differentLengths_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new LabelVector(2).countPositiveInBoth(new LabelVector(3)));
+    }
+
+    @Test
+    void countPositiveInBoth_severalWords_returnsSizeOfIntersection() {
+        LabelVector labels = alternating(200);
+        LabelVector other = new LabelVector(200);
+        for (int i = 0; i < 200; i += 4) {
+            other.setPositive(i, true);
+            other.setPositive(i + 1, true);
+        }
+        assertEquals(50, labels.countPositiveInBoth(other));
+    }
+
+    @Test
+    void intersect_twoVectors_positiveOnlyWhereBothArePositive() {
+        LabelVector labels = LabelVector.fromLabels(new UserLabel[] {POSITIVE, POSITIVE, NEGATIVE, NEGATIVE});
+        labels.intersect(LabelVector.fromLabels(new UserLabel[] {POSITIVE, NEGATIVE, POSITIVE, NEGATIVE}));
+        assertArrayEquals(new Label[] {POSITIVE, NEGATIVE, NEGATIVE, NEGATIVE}, labels.toArray());
+    }
+
+    @Test
+    void select_rows_labelsAreGathered() {
+        LabelVector labels = LabelVector.fromLabels(new UserLabel[] {POSITIVE, NEGATIVE, NEGATIVE});
+        assertArrayEquals(new Label[] {NEGATIVE, POSITIVE, POSITIVE}, labels.select(new int[] {2, 0, 0}).toArray());
+    }
+
+    @Test
+    void equals_sameLabels_returnsTrue() {
+        assertEquals(alternating(100), alternating(100));
+        assertNotEquals(alternating(100), alternating(101));
+    }
+}
@@ -20,10 +20,19 @@
 
 package machinelearning.classifier.margin;
 
+import data.IndexedDataset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import machinelearning.classifier.Label;
+import utils.linalg.EncodedMatrix;
+import utils.linalg.FloatMatrix;
+import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -58,6 +67,44 @@ class LinearClassifierTest {
         assertEquals(-6, classifier.margin(point));
     }
 
+    @Test
+    void margin_singlePrecisionMatrix_returnsCorrectMargins() {
+        FloatMatrix points = FloatMatrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3);
+        assertEquals(Vector.FACTORY.make(0, 8, -6), classifier.margin(points));
+    }
+
+    @Test
+    void predict_singlePrecisionMatrix_returnsCorrectLabels() {
+        FloatMatrix points = FloatMatrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3);
+        assertArrayEquals(new Label[] {Label.NEGATIVE, Label.POSITIVE, Label.NEGATIVE}, classifier.predict(points));
+    }
+
+    @Test
+    void margin_encodedMatrix_returnsCorrectMargins() {
+        EncodedMatrix points = EncodedMatrix.FACTORY.make(Matrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3));
+        assertEquals(Vector.FACTORY.make(0, 8, -6), classifier.margin(points));
+    }
+
+    @Test
+    void margin_encodedMatrixSelectedRows_returnsMarginsOfSelectedRows() {
+        EncodedMatrix points = EncodedMatrix.FACTORY.make(Matrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3));
+        assertEquals(Vector.FACTORY.make(-6, 0), classifier.margin(points, new int[] {2, 0}));
+    }
+
+    @Test
+    void predict_encodedDataset_returnsCorrectLabels() {
+        Matrix points = Matrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3);
+        IndexedDataset dataset = new IndexedDataset(new ArrayList<>(Arrays.asList(0L, 1L, 2L)), points).toEncoded();
+        assertArrayEquals(new Label[] {Label.NEGATIVE, Label.POSITIVE, Label.NEGATIVE}, classifier.predict(dataset));
+    }
+
+    @Test
+    void predict_offHeapDataset_returnsCorrectLabels() {
+        Matrix points = Matrix.FACTORY.make(3, 2, -1, -1, -1, 3, 1, -3);
+        IndexedDataset dataset = new IndexedDataset(new ArrayList<>(Arrays.asList(0L, 1L, 2L)), points).toOffHeap();
+        assertArrayEquals(new Label[] {Label.NEGATIVE, Label.POSITIVE, Label.NEGATIVE}, classifier.predict(dataset));
+    }
+
     @Test
     void predict_incompatibleDimension_throwsException() {
         Vector point = Vector.FACTORY.zeros(3);
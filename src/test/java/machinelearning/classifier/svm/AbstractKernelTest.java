@@ -21,11 +21,14 @@
 package machinelearning.classifier.svm;
 
 import org.junit.jupiter.api.Test;
+import utils.linalg.FloatMatrix;
 import utils.linalg.Matrix;
 import utils.linalg.Vector;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 abstract class AbstractKernelTest {
     protected Kernel kernel;
@@ -35,6 +38,30 @@ abstract class AbstractKernelTest {
         assertThrows(RuntimeException.class, () -> kernel.compute(Vector.FACTORY.zeros(1), Vector.FACTORY.zeros(2)));
     }
 
+    @Test
+    void compute_singlePrecisionMatrix_matchesDoublePrecisionResult() {
+        // all values are exactly representable in single-precision
+        Matrix xs = Matrix.FACTORY.make(3, 2, 1, 2, -2, 3, 0.5, -0.25);
+        Matrix ys = Matrix.FACTORY.make(2, 2, -1, 4, 2, 0.125);
+        assertTrue(kernel.compute(xs, ys).equals(kernel.compute(FloatMatrix.FACTORY.make(xs), ys), 1e-10));
+    }
+
+    @Test
+    void compute_resultMatrixProvided_resultOverwrittenWithKernelMatrix() {
+        Matrix xs = Matrix.FACTORY.make(3, 2, 1, 2, -2, 3, 0.5, -0.25);
+        Matrix ys = Matrix.FACTORY.make(2, 2, -1, 4, 2, 0.125);
+        Matrix result = Matrix.FACTORY.make(3, 2, 1, 1, 1, 1, 1, 1);
+
+        assertSame(result, kernel.compute(xs, ys, result));
+        assertTrue(kernel.compute(xs, ys).equals(result, 1e-10));
+    }
+
+    @Test
+    void compute_resultMatrixOfIncompatibleShape_throwsException() {
+        Matrix xs = Matrix.FACTORY.make(3, 2, 1, 2, -2, 3, 0.5, -0.25);
+        assertThrows(IllegalArgumentException.class, () -> kernel.compute(xs, xs, Matrix.FACTORY.zeros(3, 2)));
+    }
+
     void assertKernelFunctionIsCorrect(double expected, double[] arr1, double[] arr2) {
         Vector x, y;
         x = Vector.FACTORY.make(arr1);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package machinelearning.threesetmetric;
+
+import org.junit.jupiter.api.Test;
+
+import static machinelearning.threesetmetric.ExtendedLabel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtendedLabelVectorTest {
+    @Test
+    void constructor_negativeLength_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ExtendedLabelVector(-1));
+    }
+
+    @Test
+    void constructor_newVector_allLabelsAreUnknown() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(3);
+        assertArrayEquals(new ExtendedLabel[] {UNKNOWN, UNKNOWN, UNKNOWN}, labels.toArray());
+        assertEquals(0, labels.countKnown());
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(3);
+        assertThrows(IllegalArgumentException.class, () -> labels.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> labels.get(3));
+    }
+
+    @Test
+    void set_everyLabel_labelIsReturnedByGet() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(70);
+        for (ExtendedLabel label : ExtendedLabel.values()) {
+            labels.set(66, label);
+            assertEquals(label, labels.get(66));
+            assertEquals(label.isPositive(), labels.isPositive(66));
+        }
+    }
+
+    @Test
+    void countPositiveAndCountKnown_mixedLabels_returnExpectedCounts() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(130);
+        labels.set(0, POSITIVE);
+        labels.set(64, NEGATIVE);
+        labels.set(129, POSITIVE);
+        labels.set(5, NEGATIVE);
+        labels.set(5, UNKNOWN);
+
+        assertEquals(2, labels.countPositive());
+        assertEquals(3, labels.countKnown());
+    }
+
+    @Test
+    void copyOf_largerLength_newLabelsAreUnknown() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(2);
+        labels.set(1, POSITIVE);
+
+        ExtendedLabelVector copy = labels.copyOf(100);
+        assertEquals(100, copy.length());
+        assertEquals(POSITIVE, copy.get(1));
+        assertEquals(1, copy.countKnown());
+    }
+
+    @Test
+    void copyOf_smallerLength_truncatedLabelsAreDropped() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(10);
+        labels.set(1, NEGATIVE);
+        labels.set(8, POSITIVE);
+
+        ExtendedLabelVector copy = labels.copyOf(5);
+        assertArrayEquals(new ExtendedLabel[] {UNKNOWN, NEGATIVE, UNKNOWN, UNKNOWN, UNKNOWN}, copy.toArray());
+        assertEquals(0, copy.countPositive());
+    }
+
+    @Test
+    void copyOf_modifyCopy_originalIsNotModified() {
+        ExtendedLabelVector labels = new ExtendedLabelVector(3);
+        labels.copyOf(3).set(0, POSITIVE);
+        assertEquals(UNKNOWN, labels.get(0));
+    }
+}
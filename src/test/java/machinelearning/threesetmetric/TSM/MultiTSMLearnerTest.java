@@ -21,8 +21,10 @@
 package machinelearning.threesetmetric.TSM;
 
 import data.DataPoint;
+import data.IndexedDataset;
 import data.LabeledPoint;
 import machinelearning.classifier.Label;
+import machinelearning.threesetmetric.ExtendedLabel;
 import machinelearning.threesetmetric.LabelGroup;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -133,6 +136,24 @@ class MultiTSMLearnerTest {
         assertEquals(-1, multiTSMLearner.predict(new DataPoint(0, new double[]{6,1.7,2.25,2016,69390,0,0,0,1})).asSign());
     }
 
+    @Test
+    void predict_indexedDataset_sameLabelsAsEachDataPoint() {
+        IndexedDataset.Builder builder = new IndexedDataset.Builder();
+        builder.add(0, new double[]{6,1.7,2.25,2016,69390,0,0,1,0});
+        builder.add(1, new double[]{9,1.7,2.5,2016,69390,0,0,1,0});
+        builder.add(2, new double[]{6,1.7,2.25,2016,69390,1,0,0,0});
+        builder.add(3, new double[]{6,1.7,2.25,2016,69390,0,0,0,1});
+        IndexedDataset dataset = builder.build();
+
+        ExtendedLabel[] expected = new ExtendedLabel[dataset.length()];
+        int i = 0;
+        for (DataPoint point : dataset) {
+            expected[i++] = multiTSMLearner.predict(point);
+        }
+
+        assertArrayEquals(expected, multiTSMLearner.predict(dataset));
+    }
+
     @Test
     void isInConvexRegion_t() {
         assertTrue(multiTSMLearner.isInPosRegion(new DataPoint(0, new double[]{6, 1.7, 2.25, 2016, 69390, 0, 0, 1, 0})));
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnGroupViewTest {
+    private Matrix matrix;
+    private ColumnGroupView view;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(3, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        view = new ColumnGroupView(matrix, 2, 0);
+    }
+
+    @Test
+    void constructor_emptyColumns_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnGroupView(matrix));
+    }
+
+    @Test
+    void constructor_columnOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnGroupView(matrix, 0, 3));
+    }
+
+    @Test
+    void dimensions_returnsRowsOfParentAndNumberOfSelectedColumns() {
+        assertEquals(3, view.rows());
+        assertEquals(2, view.cols());
+    }
+
+    @Test
+    void get_validPosition_readsParentColumn() {
+        assertEquals(6, view.get(1, 0));
+        assertEquals(4, view.get(1, 1));
+    }
+
+    @Test
+    void getRow_validRow_returnsProjectedRow() {
+        assertEquals(Vector.FACTORY.make(9, 7), view.getRow(2));
+    }
+
+    @Test
+    void toMatrix_returnsProjectedColumns() {
+        assertEquals(matrix.getCols(2, 0), view.toMatrix());
+    }
+
+    @Test
+    void toMatrix_range_returnsProjectedSlice() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 6, 4, 9, 7), view.toMatrix(1, 3));
+    }
+
+    @Test
+    void toMatrix_viewOverOffHeapMatrix_returnsProjectedColumns() {
+        ColumnGroupView offHeapView = new ColumnGroupView(OffHeapMatrix.FACTORY.make(matrix), 2, 0);
+        assertEquals(matrix.getCols(2, 0), offHeapView.toMatrix());
+    }
+
+    @Test
+    void parentModified_viewReflectsChanges() {
+        matrix.set(0, 2, -1);
+        assertEquals(-1, view.get(0, 0));
+    }
+
+    @Test
+    void swapRows_swapsRowsOfParent() {
+        view.swapRows(0, 2);
+        assertEquals(Matrix.FACTORY.make(3, 3, 7, 8, 9, 4, 5, 6, 1, 2, 3), matrix);
+    }
+
+    @Test
+    void getRows_returnsCompactCopyInParentFormat() {
+        DataMatrix rows = new ColumnGroupView(FloatMatrix.FACTORY.make(matrix), 2, 0).getRows(2, 0);
+        assertTrue(rows instanceof FloatMatrix);
+        assertEquals(Matrix.FACTORY.make(2, 2, 9, 7, 3, 1), rows.toMatrix());
+    }
+
+    @Test
+    void getRowSlice_returnsCompactCopy() {
+        assertEquals(Matrix.FACTORY.make(1, 2, 6, 4), view.getRowSlice(1, 2));
+    }
+
+    @Test
+    void getCols_selectsColumnsOfView() {
+        assertEquals(matrix.getCols(0), view.getCols(1));
+    }
+
+    @Test
+    void copy_returnsCompactCopyNotAffectedByParent() {
+        DataMatrix copy = view.copy();
+        matrix.set(0, 2, -1);
+        assertEquals(matrix.getCols(2, 0).getRows(1, 2), copy.getRows(1, 2));
+        assertEquals(3, copy.get(0, 0));
+    }
+
+    @Test
+    void hashCode_equalMatrices_returnsSameHash() {
+        ColumnGroupView other = new ColumnGroupView(matrix, 2, 0);
+
+        assertEquals(other, view);
+        assertEquals(other.hashCode(), view.hashCode());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataMatrixTest {
+    private Matrix matrix;
+
+    /**
+     * Implementations following the {@link DataMatrix#toleranceEquals} contract
+     */
+    private List<Function<Matrix, DataMatrix>> formats;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6);
+        formats = Arrays.asList(
+                GrowableMatrix.FACTORY::make,
+                OffHeapMatrix.FACTORY::make,
+                EncodedMatrix.FACTORY::make,
+                x -> new RowSelectionView(x, new int[] {0, 1, 2}),
+                x -> new ScaledView(x, Vector.FACTORY.zeros(x.cols()), Vector.FACTORY.make(1, 1))
+        );
+    }
+
+    @Test
+    void toleranceEquals_sameValuesInEveryFormat_matricesAreEqualAndHaveSameHash() {
+        for (Function<Matrix, DataMatrix> format : formats) {
+            DataMatrix first = format.apply(matrix), second = format.apply(matrix.copy());
+
+            assertEquals(first, second);
+            assertEquals(first.hashCode(), second.hashCode());
+        }
+    }
+
+    @Test
+    void toleranceEquals_valuesWithinTolerance_matricesAreEqualAndHaveSameHash() {
+        DataMatrix first = GrowableMatrix.FACTORY.make(matrix);
+        DataMatrix second = GrowableMatrix.FACTORY.make(Matrix.FACTORY.make(3, 2, 1 + 5e-16, 2, 3, 4, 5, 6));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void toleranceEquals_differentValues_returnsFalse() {
+        Matrix other = Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 7);
+        for (Function<Matrix, DataMatrix> format : formats) {
+            assertNotEquals(format.apply(matrix), format.apply(other));
+        }
+    }
+
+    @Test
+    void toleranceEquals_differentShape_returnsFalse() {
+        assertFalse(DataMatrix.toleranceEquals(GrowableMatrix.FACTORY.make(matrix), GrowableMatrix.FACTORY.make(matrix.getRowSlice(0, 2))));
+    }
+
+    @Test
+    void toleranceEquals_sameValuesInDifferentFormats_returnsFalse() {
+        assertFalse(DataMatrix.toleranceEquals(GrowableMatrix.FACTORY.make(matrix), OffHeapMatrix.FACTORY.make(matrix)));
+    }
+
+    @Test
+    void toleranceEquals_null_returnsFalse() {
+        assertFalse(DataMatrix.toleranceEquals(matrix, null));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecompositionEngineTest {
+    private static final double[] SPD = {4, -2, 1, -2, 10, 3, 1, 3, 6};
+
+    @Test
+    void cholesky_spdMatrix_reconstructsMatrix() {
+        Matrix L = new Matrix(3, 3, DecompositionEngine.cholesky(SPD, 3));
+        assertTrue(L.multiplyTranspose(L).equals(new Matrix(3, 3, SPD), 1e-10));
+    }
+
+    @Test
+    void cholesky_nonSymmetricMatrix_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> DecompositionEngine.cholesky(new double[] {4, 1, 0, 4}, 2));
+    }
+
+    @Test
+    void cholesky_decomposerReusedAcrossDimensions_returnsCorrectResults() {
+        assertArrayEquals(new double[] {2, 0, 0, 3}, DecompositionEngine.cholesky(new double[] {4, 0, 0, 9}, 2), 1e-10);
+        cholesky_spdMatrix_reconstructsMatrix();
+        assertArrayEquals(new double[] {2, 0, 0, 3}, DecompositionEngine.cholesky(new double[] {4, 0, 0, 9}, 2), 1e-10);
+    }
+
+    @Test
+    void eigen_symmetricMatrix_eigenpairsSatisfyCharacteristicEquation() {
+        assertEigenpairs(SPD, 3);
+    }
+
+    @Test
+    void eigen_nonSymmetricMatrixWithRealDecomposition_eigenpairsSatisfyCharacteristicEquation() {
+        assertEigenpairs(new double[] {2, 1, 0, 3}, 2);
+    }
+
+    @Test
+    void eigen_concurrentDecompositions_matchSequentialResults() {
+        double[] expectedL = DecompositionEngine.cholesky(SPD, 3);
+
+        List<double[]> results = IntStream.range(0, 64).parallel()
+                .mapToObj(i -> DecompositionEngine.cholesky(SPD, 3))
+                .collect(Collectors.toList());
+
+        for (double[] L : results) {
+            assertArrayEquals(expectedL, L);
+        }
+
+        IntStream.range(0, 64).parallel().forEach(i -> assertEigenpairs(SPD, 3));
+    }
+
+    private static void assertEigenpairs(double[] a, int dim) {
+        double[] eigenvalues = new double[dim], eigenvectors = new double[dim * dim];
+        DecompositionEngine.eigen(a, dim, eigenvalues, eigenvectors);
+
+        Matrix matrix = new Matrix(dim, dim, a);
+        Matrix vectors = new Matrix(dim, dim, eigenvectors);
+        for (int i = 0; i < dim; i++) {
+            Vector vector = vectors.getRow(i);
+            assertTrue(matrix.multiply(vector).equals(vector.scalarMultiply(eigenvalues[i]), 1e-10));
+        }
+    }
+}
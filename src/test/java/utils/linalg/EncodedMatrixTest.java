@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedMatrixTest {
+    private Matrix matrix;
+    private EncodedMatrix encodedMatrix;
+
+    @BeforeEach
+    void setUp() {
+        // columns: one-hot, categorical codes, continuous values
+        matrix = Matrix.FACTORY.make(4, 3,
+                0, 2, 0.1,
+                1, 5, 0.2,
+                1, 7, 0.3,
+                0, 5, 0.4);
+        encodedMatrix = EncodedMatrix.FACTORY.make(matrix);
+    }
+
+    private static Matrix continuousMatrix(int rows) {
+        double[] values = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = i;
+        }
+        return Matrix.FACTORY.make(rows, 1, values);
+    }
+
+    @Test
+    void copyRow_allRows_matchesDecodedRows() {
+        double[] buffer = new double[3];
+        for (int i = 0; i < matrix.rows(); i++) {
+            encodedMatrix.copyRow(i, buffer);
+            assertArrayEquals(matrix.getRow(i).toArray(), buffer);
+        }
+    }
+
+    @Test
+    void make_twoDistinctValues_columnIsBitPacked() {
+        assertEquals(EncodedMatrix.Encoding.BITS, encodedMatrix.getEncoding(0));
+    }
+
+    @Test
+    void make_singleDistinctValue_columnIsBitPacked() {
+        EncodedMatrix result = EncodedMatrix.FACTORY.make(Matrix.FACTORY.make(2, 1, 3, 3));
+        assertEquals(EncodedMatrix.Encoding.BITS, result.getEncoding(0));
+        assertEquals(Matrix.FACTORY.make(2, 1, 3, 3), result.toMatrix());
+    }
+
+    @Test
+    void make_fewDistinctValues_columnIsDictionaryEncoded() {
+        assertEquals(EncodedMatrix.Encoding.DICTIONARY, encodedMatrix.getEncoding(1));
+        assertEquals(EncodedMatrix.Encoding.DICTIONARY, encodedMatrix.getEncoding(2));
+    }
+
+    @Test
+    void make_maximumDictionarySize_columnIsDictionaryEncoded() {
+        Matrix input = continuousMatrix(EncodedMatrix.MAX_DICTIONARY_SIZE);
+        EncodedMatrix result = EncodedMatrix.FACTORY.make(input);
+
+        assertEquals(EncodedMatrix.Encoding.DICTIONARY, result.getEncoding(0));
+        assertEquals(input, result.toMatrix());
+    }
+
+    @Test
+    void make_manyDistinctValues_columnIsStoredRaw() {
+        Matrix input = continuousMatrix(EncodedMatrix.MAX_DICTIONARY_SIZE + 1);
+        EncodedMatrix result = EncodedMatrix.FACTORY.make(input);
+
+        assertEquals(EncodedMatrix.Encoding.RAW, result.getEncoding(0));
+        assertEquals(input, result.toMatrix());
+    }
+
+    @Test
+    void make_moreRowsThanDecodingBlock_encodesAllRows() {
+        double[] values = new double[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 3;
+        }
+        Matrix input = Matrix.FACTORY.make(values.length, 1, values);
+
+        assertEquals(input, EncodedMatrix.FACTORY.make(input).toMatrix());
+    }
+
+    @Test
+    void rowsAndCols_anyMatrix_returnsExpectedDimensions() {
+        assertEquals(4, encodedMatrix.rows());
+        assertEquals(3, encodedMatrix.cols());
+    }
+
+    @Test
+    void get_anyPosition_returnsOriginalValue() {
+        for (int i = 0; i < matrix.rows(); i++) {
+            for (int j = 0; j < matrix.cols(); j++) {
+                assertEquals(matrix.get(i, j), encodedMatrix.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> encodedMatrix.get(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> encodedMatrix.get(0, 3));
+    }
+
+    @Test
+    void getRow_anyRow_returnsOriginalRow() {
+        assertEquals(matrix.getRow(2), encodedMatrix.getRow(2));
+    }
+
+    @Test
+    void getRows_anyRows_returnsEncodedMatrixWithSelectedRows() {
+        EncodedMatrix result = encodedMatrix.getRows(3, 0);
+        assertEquals(matrix.getRows(3, 0), result.toMatrix());
+        assertEquals(EncodedMatrix.Encoding.BITS, result.getEncoding(0));
+    }
+
+    @Test
+    void getRowSlice_validSlice_returnsSlice() {
+        assertEquals(matrix.getRowSlice(1, 3), encodedMatrix.getRowSlice(1, 3).toMatrix());
+    }
+
+    @Test
+    void getRowSlice_invalidSlice_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> encodedMatrix.getRowSlice(2, 2));
+    }
+
+    @Test
+    void getCols_anyCols_returnsSelectedColumns() {
+        assertEquals(matrix.getCols(2, 0), encodedMatrix.getCols(2, 0).toMatrix());
+    }
+
+    @Test
+    void swapRows_twoRows_rowsSwappedInAllColumns() {
+        encodedMatrix.swapRows(0, 2);
+        matrix.swapRows(0, 2);
+        assertEquals(matrix, encodedMatrix.toMatrix());
+    }
+
+    @Test
+    void copy_modifyingCopy_originalUnchanged() {
+        EncodedMatrix copy = encodedMatrix.copy();
+        copy.swapRows(0, 1);
+        assertEquals(matrix, encodedMatrix.toMatrix());
+    }
+
+    @Test
+    void toMatrix_rangeOfRows_returnsDecodedBlock() {
+        assertEquals(matrix.getRowSlice(1, 4), encodedMatrix.toMatrix(1, 4));
+    }
+
+    @Test
+    void multiply_anyVector_sameResultAsDecodedMatrix() {
+        Vector vector = Vector.FACTORY.make(1.5, -2, 3);
+        assertTrue(matrix.multiply(vector).equals(encodedMatrix.multiply(vector), 1e-12));
+    }
+
+    @Test
+    void multiply_incompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> encodedMatrix.multiply(Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void multiply_selectedRows_sameResultAsDecodedSelectedRows() {
+        Vector vector = Vector.FACTORY.make(1.5, -2, 3);
+        assertTrue(matrix.getRows(3, 0, 3).multiply(vector).equals(encodedMatrix.multiply(vector, new int[] {3, 0, 3}), 1e-12));
+    }
+
+    @Test
+    void multiply_selectedRowOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> encodedMatrix.multiply(Vector.FACTORY.make(1, 2, 3), new int[] {0, 4}));
+    }
+
+    @Test
+    void multiply_resultIsInputVector_throwsException() {
+        Vector vector = Vector.FACTORY.make(1, 2, 3, 4);
+        EncodedMatrix square = EncodedMatrix.FACTORY.make(Matrix.FACTORY.make(4, 4, new double[16]));
+        assertThrows(IllegalArgumentException.class, () -> square.multiply(vector, vector));
+    }
+
+    @Test
+    void equals_sameContent_returnsTrue() {
+        assertEquals(EncodedMatrix.FACTORY.make(matrix), encodedMatrix);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloatMatrixTest {
+    private Matrix matrix;
+    private FloatMatrix floatMatrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(2, 3, 1, 2, 3, 4, 5, 6);
+        floatMatrix = FloatMatrix.FACTORY.make(matrix);
+    }
+
+    @Test
+    void make_valuesOfIncompatibleLength_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> FloatMatrix.FACTORY.make(2, 2, 1, 2, 3));
+    }
+
+    @Test
+    void make_zeroNumberOfRows_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> FloatMatrix.FACTORY.make(0, 1));
+    }
+
+    @Test
+    void make_doublePrecisionMatrix_valuesRoundedToNearestFloat() {
+        FloatMatrix result = FloatMatrix.FACTORY.make(Matrix.FACTORY.make(1, 1, 0.1));
+        assertEquals((float) 0.1, result.get(0, 0));
+    }
+
+    @Test
+    void rowsAndCols_anyMatrix_returnsExpectedDimensions() {
+        assertEquals(2, floatMatrix.rows());
+        assertEquals(3, floatMatrix.cols());
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.get(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.get(0, 3));
+    }
+
+    @Test
+    void toMatrix_anyMatrix_returnsDoublePrecisionCopy() {
+        assertEquals(matrix, floatMatrix.toMatrix());
+    }
+
+    @Test
+    void getRow_validIndex_returnsExpectedVector() {
+        assertEquals(Vector.FACTORY.make(4, 5, 6), floatMatrix.getRow(1));
+    }
+
+    @Test
+    void getRows_compatibleIndexes_returnsExpectedMatrix() {
+        assertEquals(FloatMatrix.FACTORY.make(2, 3, 4, 5, 6, 1, 2, 3), floatMatrix.getRows(1, 0));
+    }
+
+    @Test
+    void getRowSlice_invalidIndexes_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.getRowSlice(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.getRowSlice(0, 3));
+    }
+
+    @Test
+    void getRowSlice_validIndexes_returnsExpectedMatrix() {
+        assertEquals(FloatMatrix.FACTORY.make(1, 3, 4, 5, 6), floatMatrix.getRowSlice(1, 2));
+    }
+
+    @Test
+    void getCols_validIndexes_returnsExpectedMatrix() {
+        assertEquals(FloatMatrix.FACTORY.make(2, 2, 3, 1, 6, 4), floatMatrix.getCols(2, 0));
+    }
+
+    @Test
+    void getCols_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.getCols(3));
+    }
+
+    @Test
+    void swapRows_differentRows_rowsCorrectlySwapped() {
+        floatMatrix.swapRows(0, 1);
+        assertEquals(FloatMatrix.FACTORY.make(2, 3, 4, 5, 6, 1, 2, 3), floatMatrix);
+    }
+
+    @Test
+    void copy_swapCopyRows_originalMatrixRemainsUnchanged() {
+        floatMatrix.copy().swapRows(0, 1);
+        assertEquals(FloatMatrix.FACTORY.make(matrix), floatMatrix);
+    }
+
+    @Test
+    void multiply_vectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.multiply(Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void multiply_compatibleVector_matchesDoublePrecisionResult() {
+        Vector vector = Vector.FACTORY.make(-1, 2, 0.5);
+        assertEquals(matrix.multiply(vector), floatMatrix.multiply(vector));
+    }
+
+    @Test
+    void multiplyTranspose_differentNumberOfColumns_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> floatMatrix.multiplyTranspose(Matrix.FACTORY.zeros(2, 2)));
+    }
+
+    @Test
+    void multiplyTranspose_compatibleMatrix_matchesDoublePrecisionResult() {
+        Matrix other = Matrix.FACTORY.make(3, 3, 1, 0, -1, 2, 0.5, 3, -4, 1, 0);
+        assertEquals(matrix.multiplyTranspose(other), floatMatrix.multiplyTranspose(other));
+    }
+
+    @Test
+    void getRowSquaredNorms_anyMatrix_matchesDoublePrecisionResult() {
+        assertEquals(matrix.getRowSquaredNorms(), floatMatrix.getRowSquaredNorms());
+    }
+
+    @Test
+    void hashCode_equalMatrices_returnsSameHash() {
+        FloatMatrix other = FloatMatrix.FACTORY.make(matrix.copy());
+
+        assertEquals(other, floatMatrix);
+        assertEquals(other.hashCode(), floatMatrix.hashCode());
+    }
+}
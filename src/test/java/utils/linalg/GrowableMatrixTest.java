@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrowableMatrixTest {
+    private Matrix matrix;
+    private GrowableMatrix growable;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(2, 2, 1, 2, 3, 4);
+        growable = GrowableMatrix.FACTORY.make(matrix);
+    }
+
+    @Test
+    void make_matrix_contentsAreCopied() {
+        assertEquals(matrix, growable.toMatrix());
+        assertNotSame(matrix, growable.toMatrix());
+    }
+
+    @Test
+    void appendRow_rowOfWrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> growable.appendRow(Vector.FACTORY.make(1, 2, 3)));
+    }
+
+    @Test
+    void appendRow_severalRows_rowsAddedToEnd() {
+        for (int i = 0; i < 10; i++) {
+            growable.appendRow(Vector.FACTORY.make(i, -i));
+        }
+
+        assertEquals(12, growable.rows());
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 0, 0), growable.getRowSlice(1, 3));
+        assertEquals(Vector.FACTORY.make(9, -9), growable.getRow(11));
+    }
+
+    @Test
+    void appendRows_matrix_rowsAddedToEnd() {
+        growable.appendRows(Matrix.FACTORY.make(1, 2, 5, 6));
+        assertEquals(Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6), growable.toMatrix());
+    }
+
+    @Test
+    void toMatrix_appendAfterConversion_previousResultIsNotModified() {
+        Matrix before = growable.toMatrix();
+        growable.appendRow(Vector.FACTORY.make(5, 6));
+        assertEquals(matrix, before);
+    }
+
+    @Test
+    void swapRows_afterConversion_previousResultIsNotModified() {
+        Matrix before = growable.toMatrix();
+        growable.swapRows(0, 1);
+        assertEquals(matrix, before);
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 1, 2), growable.toMatrix());
+    }
+
+    @Test
+    void get_outOfBoundsRow_throwsException() {
+        growable.appendRow(Vector.FACTORY.make(5, 6));
+        assertThrows(IllegalArgumentException.class, () -> growable.get(3, 0));
+    }
+
+    @Test
+    void snapshot_appendToOriginal_snapshotIsNotModified() {
+        growable = GrowableMatrix.FACTORY.make(matrix, 4);
+        GrowableMatrix snapshot = growable.snapshot();
+
+        growable.appendRow(Vector.FACTORY.make(5, 6));
+
+        assertEquals(2, snapshot.rows());
+        assertEquals(matrix, snapshot.toMatrix());
+    }
+
+    @Test
+    void snapshot_appendToSnapshot_originalIsNotModified() {
+        growable = GrowableMatrix.FACTORY.make(matrix, 4);
+        GrowableMatrix snapshot = growable.snapshot();
+        growable.appendRow(Vector.FACTORY.make(5, 6));
+
+        snapshot.appendRow(Vector.FACTORY.make(7, 8));
+
+        assertEquals(Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6), growable.toMatrix());
+        assertEquals(Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 7, 8), snapshot.toMatrix());
+    }
+
+    @Test
+    void snapshot_swapRowsOfOriginal_snapshotIsNotModified() {
+        GrowableMatrix snapshot = growable.snapshot();
+
+        growable.swapRows(0, 1);
+
+        assertEquals(matrix, snapshot.toMatrix());
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 1, 2), growable.toMatrix());
+    }
+
+    @Test
+    void snapshot_swapRowsOfSnapshot_originalIsNotModified() {
+        GrowableMatrix snapshot = growable.snapshot();
+
+        snapshot.swapRows(0, 1);
+
+        assertEquals(matrix, growable.toMatrix());
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 1, 2), snapshot.toMatrix());
+    }
+}
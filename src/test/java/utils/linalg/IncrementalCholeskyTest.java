@@ -23,6 +23,8 @@ package utils.linalg;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class IncrementalCholeskyTest {
@@ -104,4 +106,65 @@ class IncrementalCholeskyTest {
 
         assertEquals(Matrix.FACTORY.make(3, 3, 0.1, 0.0, 0.0, 0.014433756729740647, 0.14433756729740646, 0.0, 0.005031992820344931, -0.01740034900493108, 0.22573425736126798), inc.getInverse());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRow_threeIncrements_returnsNonZeroEntriesOfRow() {
+        inc.increment(Vector.FACTORY.make(100));
+        inc.increment(Vector.FACTORY.make(-10, 49));
+        inc.increment(Vector.FACTORY.make(-3, 4, 20));
+
+        assertEquals(Vector.FACTORY.make(10.0), inc.getRow(0));
+        assertEquals(Vector.FACTORY.make(-1.0, 6.928203230275509), inc.getRow(1));
+        assertThrows(IllegalArgumentException.class, () -> inc.getRow(3));
+    }
+
+    @Test
+    void increment_notPositiveDefinite_previousFactorIsKept() {
+        inc.increment(Vector.FACTORY.make(1));
+        assertThrows(RuntimeException.class, () -> inc.increment(Vector.FACTORY.make(2, 1)));
+
+        assertEquals(1, inc.getCurrentDim());
+        inc.increment(Vector.FACTORY.make(0, 4));
+        assertEquals(Matrix.FACTORY.make(2, 2, 1, 0, 0, 2), inc.getL());
+    }
+
+    @Test
+    void forwardSolve_wrongDimension_throwsException() {
+        inc.increment(100.0);
+        assertThrows(IllegalArgumentException.class, () -> inc.forwardSolve(Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void forwardSolve_threeIncrements_solvesLowerTriangularSystem() {
+        incrementRandomMatrix(3);
+        Vector b = Vector.FACTORY.make(1, -2, 3);
+
+        assertTrue(inc.getL().multiply(inc.forwardSolve(b)).equals(b, 1e-12));
+    }
+
+    @Test
+    void backwardSolve_threeIncrements_solvesUpperTriangularSystem() {
+        incrementRandomMatrix(3);
+        Vector b = Vector.FACTORY.make(1, -2, 3);
+
+        assertTrue(inc.getL().transpose().multiply(inc.backwardSolve(b)).equals(b, 1e-12));
+    }
+
+    @Test
+    void multiplyByInverse_manyIncrements_equalsProductWithInverse() {
+        incrementRandomMatrix(50);
+        Matrix B = Matrix.FACTORY.make(2, 50, new Random(0).doubles(100).toArray());
+
+        assertTrue(B.matrixMultiply(inc.getInverse()).equals(inc.multiplyByInverse(B), 1e-10));
+        assertTrue(inc.multiplyByInverse(B).matrixMultiply(inc.getL()).equals(B, 1e-10));
+    }
+
+    private void incrementRandomMatrix(int dim) {
+        Matrix X = Matrix.FACTORY.make(dim, dim, new Random(dim).doubles(dim * dim).toArray());
+        Matrix A = X.multiplyTranspose(X).iAddScalarToDiagonal(1);
+
+        for (int i = 0; i < dim; i++) {
+            inc.increment(A.getRow(i).resize(i + 1));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinearAlgebraBackendTest {
+    private LinearAlgebraBackend defaultBackend;
+    private Matrix left, right;
+
+    @BeforeEach
+    void setUp() {
+        defaultBackend = LinearAlgebra.getBackend();
+
+        Random random = new Random(7);
+        left = randomMatrix(random, 37, 11);
+        right = randomMatrix(random, 23, 11);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LinearAlgebra.setBackend(defaultBackend);
+    }
+
+    private static Matrix randomMatrix(Random random, int rows, int cols) {
+        double[] values = new double[rows * cols];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        return Matrix.FACTORY.make(rows, cols, values);
+    }
+
+    @Test
+    void make_unknownName_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> LinearAlgebraBackend.FACTORY.make("unknown"));
+    }
+
+    @Test
+    void make_javaAndOjAlgo_returnsCorrespondingBackend() {
+        assertTrue(LinearAlgebraBackend.FACTORY.make("java") instanceof JavaBackend);
+        assertTrue(LinearAlgebraBackend.FACTORY.make("OJALGO") instanceof OjAlgoBackend);
+    }
+
+    @Test
+    void setBackend_nullBackend_throwsException() {
+        assertThrows(NullPointerException.class, () -> LinearAlgebra.setBackend((LinearAlgebraBackend) null));
+    }
+
+    @Test
+    void setBackend_validName_backendIsReplaced() {
+        LinearAlgebra.setBackend("ojalgo");
+        assertTrue(LinearAlgebra.getBackend() instanceof OjAlgoBackend);
+    }
+
+    @Test
+    void ojAlgoBackend_multiply_matchesJavaBackend() {
+        Vector vector = right.getRow(0);
+        Vector expected = left.multiply(vector);
+
+        LinearAlgebra.setBackend("ojalgo");
+        assertTrue(expected.equals(left.multiply(vector), 1e-10));
+    }
+
+    @Test
+    void ojAlgoBackend_multiplyTranspose_matchesJavaBackend() {
+        Matrix expected = left.multiplyTranspose(right);
+
+        LinearAlgebra.setBackend("ojalgo");
+        assertTrue(expected.equals(left.multiplyTranspose(right), 1e-10));
+    }
+
+    @Test
+    void ojAlgoBackend_matrixMultiply_matchesJavaBackend() {
+        Matrix other = right.transpose();
+        Matrix expected = left.matrixMultiply(other);
+
+        LinearAlgebra.setBackend("ojalgo");
+        assertTrue(expected.equals(left.matrixMultiply(other), 1e-10));
+    }
+
+    @Test
+    void ojAlgoBackend_largeMultiplyTranspose_matchesJavaBackend() {
+        Matrix pool = randomMatrix(new Random(11), 2000, 11);
+        Matrix expected = pool.multiplyTranspose(right);
+
+        LinearAlgebra.setBackend("ojalgo");
+        assertTrue(expected.equals(pool.multiplyTranspose(right), 1e-10));
+    }
+
+    @Test
+    void ojAlgoBackend_multiplyTranspose_outputIsOverwritten() {
+        double[] out = new double[] {1, 1, 1, 1};
+        new OjAlgoBackend().multiplyTranspose(new double[] {1, 2, 3, 4}, 2, 2, new double[] {1, 0, 0, 1}, 2, out);
+        assertArrayEquals(new double[] {1, 2, 3, 4}, out);
+    }
+
+    @Test
+    void javaBackend_matrixMultiply_outputIsOverwritten() {
+        double[] out = new double[] {1, 1, 1, 1};
+        new JavaBackend().matrixMultiply(new double[] {1, 2, 3, 4}, 2, 2, new double[] {1, 0, 0, 1}, 2, out);
+        assertArrayEquals(new double[] {1, 2, 3, 4}, out);
+    }
+}
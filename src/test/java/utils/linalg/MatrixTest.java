@@ -24,6 +24,8 @@ import explore.statistics.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MatrixTest {
@@ -235,6 +237,82 @@ public class MatrixTest {
         assertEquals(Vector.FACTORY.make(4, 5, 6), matrix1.getRow(1));
     }
 
+    @Test
+    void copyRow_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.copyRow(-1, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> matrix1.copyRow(matrix1.rows(), new double[3]));
+    }
+
+    @Test
+    void copyRow_runOverAllValidIndexes_rowIsWrittenIntoBuffer() {
+        double[] buffer = new double[3];
+        matrix1.copyRow(0, buffer);
+        assertArrayEquals(new double[] {1, 2, 3}, buffer);
+        matrix1.copyRow(1, buffer);
+        assertArrayEquals(new double[] {4, 5, 6}, buffer);
+    }
+
+    @Test
+    void rowView_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.rowView(-1));
+        assertThrows(IllegalArgumentException.class, () -> matrix1.rowView(matrix1.rows()));
+    }
+
+    @Test
+    void rowView_runOverAllValidIndexes_viewsMatchCopiedRows() {
+        assertEquals(matrix1.getRow(0), matrix1.rowView(0).toVector());
+        assertEquals(matrix1.getRow(1), matrix1.rowView(1).toVector());
+    }
+
+    @Test
+    void rowView_matrixModifiedAfterViewCreation_viewReflectsModification() {
+        VectorView view = matrix1.rowView(1);
+        matrix1.set(1, 2, -1);
+        assertEquals(-1, view.get(2));
+    }
+
+    @Test
+    void colView_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.colView(-1));
+        assertThrows(IllegalArgumentException.class, () -> matrix1.colView(matrix1.cols()));
+    }
+
+    @Test
+    void colView_runOverAllValidIndexes_viewsMatchCopiedColumns() {
+        for (int j = 0; j < matrix1.cols(); j++) {
+            assertEquals(matrix1.getCol(j), matrix1.colView(j).toVector());
+        }
+    }
+
+    @Test
+    void rowDot_vectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.rowDot(0, Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void rowDot_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.rowDot(matrix1.rows(), Vector.FACTORY.make(1, 2, 3)));
+    }
+
+    @Test
+    void rowDot_compatibleVector_returnsExpectedScalarProduct() {
+        Vector vector = Vector.FACTORY.make(-1, 2, 0);
+        assertEquals(3, matrix1.rowDot(0, vector));
+        assertEquals(6, matrix1.rowDot(1, vector));
+    }
+
+    @Test
+    void rowSquaredDistance_vectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.rowSquaredDistance(0, Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void rowSquaredDistance_compatibleVector_returnsExpectedSquaredDistance() {
+        Vector vector = Vector.FACTORY.make(-1, 2, 0);
+        assertEquals(13, matrix1.rowSquaredDistance(0, vector));
+        assertEquals(70, matrix1.rowSquaredDistance(1, vector));
+    }
+
     @Test
     void getRows_emtpyArray_throwsException() {
         assertThrows(IllegalArgumentException.class, () -> matrix1.getRows());
@@ -881,6 +959,18 @@ public class MatrixTest {
         assertEquals(Vector.FACTORY.make(3, 6), matrix1.multiply(vector));
     }
 
+    @Test
+    void multiply_resultVectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.multiply(Vector.FACTORY.make(-1, 2, 0), Vector.FACTORY.zeros(3)));
+    }
+
+    @Test
+    void multiply_resultVectorProvided_resultOverwrittenAndReturned() {
+        Vector result = Vector.FACTORY.make(10, 10);
+        assertSame(result, matrix1.multiply(Vector.FACTORY.make(-1, 2, 0), result));
+        assertEquals(Vector.FACTORY.make(3, 6), result);
+    }
+
     /* ************************************
      *    MATRIX-MATRIX MULTIPLICATION
      * ************************************
@@ -918,6 +1008,73 @@ public class MatrixTest {
         assertEquals(Matrix.FACTORY.make(2, 2, 140, 320, 320, 770), matrix1.multiplyTranspose(matrix2));
     }
 
+    @Test
+    void multiplyTranspose_resultMatrixOfIncompatibleShape_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.multiplyTranspose(matrix2, Matrix.FACTORY.zeros(2, 3)));
+    }
+
+    @Test
+    void multiplyTranspose_resultIsInputMatrix_throwsException() {
+        Matrix square = Matrix.FACTORY.make(2, 2, 1, 2, 3, 4);
+        assertThrows(IllegalArgumentException.class, () -> square.multiplyTranspose(square, square));
+    }
+
+    @Test
+    void multiplyTranspose_resultMatrixProvided_resultOverwrittenAndReturned() {
+        Matrix result = Matrix.FACTORY.make(2, 2, 1, 1, 1, 1);
+        assertSame(result, matrix1.multiplyTranspose(matrix2, result));
+        assertEquals(Matrix.FACTORY.make(2, 2, 140, 320, 320, 770), result);
+    }
+
+    @Test
+    void multiply_largeMatrix_matchesRowByRowDotProducts() {
+        Matrix matrix = randomMatrix(1001, 37, 1);
+        Vector vector = randomMatrix(1, 37, 2).getRow(0);
+
+        Vector result = matrix.multiply(vector);
+
+        for (int i = 0; i < matrix.rows(); i++) {
+            assertEquals(matrix.getRow(i).dot(vector), result.get(i), 1e-12);
+        }
+    }
+
+    @Test
+    void multiplyMatrix_largeMatrices_matchesRowColumnDotProducts() {
+        Matrix left = randomMatrix(301, 45, 3);
+        Matrix right = randomMatrix(45, 257, 4);
+
+        Matrix result = left.matrixMultiply(right);
+
+        for (int i = 0; i < left.rows(); i++) {
+            for (int j = 0; j < right.cols(); j++) {
+                assertEquals(left.getRow(i).dot(right.getCol(j)), result.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void multiplyTranspose_largeMatrices_matchesRowRowDotProducts() {
+        Matrix left = randomMatrix(301, 45, 5);
+        Matrix right = randomMatrix(259, 45, 6);
+
+        Matrix result = left.multiplyTranspose(right);
+
+        for (int i = 0; i < left.rows(); i++) {
+            for (int j = 0; j < right.rows(); j++) {
+                assertEquals(left.getRow(i).dot(right.getRow(j)), result.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    private static Matrix randomMatrix(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[rows * cols];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        return Matrix.FACTORY.make(rows, cols, values);
+    }
+
     /* ************************************
      *              DIVISION
      * ************************************
@@ -1093,6 +1250,13 @@ public class MatrixTest {
         assertEquals(Vector.FACTORY.make(6, 15), matrix1.getRowSums());
     }
 
+    @Test
+    void getRowsSum_resultVectorProvided_resultOverwrittenAndReturned() {
+        Vector result = Vector.FACTORY.make(1, 1);
+        assertSame(result, matrix1.getRowSums(result));
+        assertEquals(Vector.FACTORY.make(6, 15), result);
+    }
+
     /* *************************************
      *           UTILITY METHODS
      * *************************************
@@ -1112,6 +1276,18 @@ public class MatrixTest {
         assertEquals(Vector.FACTORY.make(14, 77), matrix1.getRowSquaredNorms());
     }
 
+    @Test
+    void getRowSquaredNorms_resultVectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> matrix1.getRowSquaredNorms(Vector.FACTORY.zeros(3)));
+    }
+
+    @Test
+    void getRowSquaredNorms_resultVectorProvided_resultOverwrittenAndReturned() {
+        Vector result = Vector.FACTORY.make(1, 1);
+        assertSame(result, matrix1.getRowSquaredNorms(result));
+        assertEquals(Vector.FACTORY.make(14, 77), result);
+    }
+
     @Test
     void resize_negativeRowSize_throwsException() {
         assertThrows(RuntimeException.class, () -> matrix1.resize(-1, 1));
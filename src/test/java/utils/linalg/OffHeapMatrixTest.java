@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMatrixTest {
+    private Matrix matrix;
+    private OffHeapMatrix offHeapMatrix;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        matrix = Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6);
+        offHeapMatrix = OffHeapMatrix.FACTORY.make(matrix);
+        file = Files.createTempFile("matrix", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void zeros_zeroNumberOfRows_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapMatrix.FACTORY.zeros(0, 1));
+    }
+
+    @Test
+    void zeros_zeroNumberOfColumns_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapMatrix.FACTORY.zeros(1, 0));
+    }
+
+    @Test
+    void zeros_validDimensions_returnsZeroMatrix() {
+        assertEquals(Matrix.FACTORY.zeros(2, 3), OffHeapMatrix.FACTORY.zeros(2, 3).toMatrix());
+    }
+
+    @Test
+    void rowsAndCols_anyMatrix_returnsExpectedDimensions() {
+        assertEquals(3, offHeapMatrix.rows());
+        assertEquals(2, offHeapMatrix.cols());
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> offHeapMatrix.get(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> offHeapMatrix.get(0, 2));
+    }
+
+    @Test
+    void get_validIndex_returnsExpectedValue() {
+        assertEquals(4, offHeapMatrix.get(1, 1));
+    }
+
+    @Test
+    void toMatrix_anyMatrix_returnsHeapCopy() {
+        assertEquals(matrix, offHeapMatrix.toMatrix());
+    }
+
+    @Test
+    void toMatrix_validRange_returnsHeapCopyOfBlock() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 3, 4, 5, 6), offHeapMatrix.toMatrix(1, 3));
+    }
+
+    @Test
+    void toMatrix_emptyRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> offHeapMatrix.toMatrix(1, 1));
+    }
+
+    @Test
+    void getRow_validIndex_returnsExpectedVector() {
+        assertEquals(Vector.FACTORY.make(3, 4), offHeapMatrix.getRow(1));
+    }
+
+    @Test
+    void getRow_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> offHeapMatrix.getRow(-1));
+        assertThrows(IllegalArgumentException.class, () -> offHeapMatrix.getRow(3));
+    }
+
+    @Test
+    void getRows_compatibleIndexes_returnsExpectedMatrix() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 5, 6, 1, 2), offHeapMatrix.getRows(2, 0).toMatrix());
+    }
+
+    @Test
+    void getRowSlice_validRange_returnsExpectedMatrix() {
+        assertEquals(Matrix.FACTORY.make(1, 2, 3, 4), offHeapMatrix.getRowSlice(1, 2).toMatrix());
+    }
+
+    @Test
+    void getCols_compatibleIndexes_returnsExpectedMatrix() {
+        assertEquals(Matrix.FACTORY.make(3, 1, 2, 4, 6), offHeapMatrix.getCols(1).toMatrix());
+    }
+
+    @Test
+    void swapRows_validIndexes_rowsCorrectlySwapped() {
+        offHeapMatrix.swapRows(0, 2);
+        assertEquals(Matrix.FACTORY.make(3, 2, 5, 6, 3, 4, 1, 2), offHeapMatrix.toMatrix());
+    }
+
+    @Test
+    void copy_anyMatrix_modifyingCopyDoesNotChangeOriginal() {
+        OffHeapMatrix copy = offHeapMatrix.copy();
+        copy.swapRows(0, 1);
+        assertEquals(matrix, offHeapMatrix.toMatrix());
+    }
+
+    @Test
+    void map_writtenMatrix_returnsMatrixWithSameContent() {
+        OffHeapMatrix.write(matrix, file);
+        OffHeapMatrix mapped = OffHeapMatrix.FACTORY.map(file, 2);
+
+        assertEquals(matrix, mapped.toMatrix());
+        assertEquals(offHeapMatrix, mapped);
+    }
+
+    @Test
+    void map_incompatibleNumberOfColumns_throwsException() {
+        OffHeapMatrix.write(matrix, file);
+        assertThrows(IllegalArgumentException.class, () -> OffHeapMatrix.FACTORY.map(file, 4));
+    }
+
+    @Test
+    void map_regionOfLargerFile_returnsMatrixWithSameContent() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(16));
+            OffHeapMatrix.write(matrix, channel);
+            channel.write(ByteBuffer.allocate(8));
+        }
+
+        assertEquals(matrix, OffHeapMatrix.FACTORY.map(file, 16, 3, 2).toMatrix());
+    }
+
+    @Test
+    void map_regionExceedingFileSize_throwsException() {
+        OffHeapMatrix.write(matrix, file);
+        assertThrows(IllegalArgumentException.class, () -> OffHeapMatrix.FACTORY.map(file, 8, 3, 2));
+    }
+
+    @Test
+    void map_nonExistingFile_throwsException() throws IOException {
+        Files.delete(file);
+        assertThrows(RuntimeException.class, () -> OffHeapMatrix.FACTORY.map(file, 2));
+    }
+
+    @Test
+    void swapRows_mappedMatrix_throwsException() {
+        OffHeapMatrix.write(matrix, file);
+        OffHeapMatrix mapped = OffHeapMatrix.FACTORY.map(file, 2);
+
+        assertTrue(mapped.isReadOnly());
+        assertThrows(ReadOnlyBufferException.class, () -> mapped.swapRows(0, 1));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowSelectionViewTest {
+    private Matrix matrix;
+    private RowSelectionView view;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6);
+        view = new RowSelectionView(matrix, new int[] {0, 2, 1, 2}, 1, 4);
+    }
+
+    @Test
+    void constructor_emptySelection_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new RowSelectionView(matrix, new int[0]));
+    }
+
+    @Test
+    void constructor_rangeOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new RowSelectionView(matrix, new int[] {0, 1}, 1, 3));
+    }
+
+    @Test
+    void dimensions_returnsNumberOfSelectedRowsAndColumnsOfParent() {
+        assertEquals(3, view.rows());
+        assertEquals(2, view.cols());
+    }
+
+    @Test
+    void parentRow_validRow_returnsSelectedRow() {
+        assertEquals(2, view.parentRow(0));
+        assertEquals(1, view.parentRow(1));
+    }
+
+    @Test
+    void getParentRows_returnsSelectedRowsInOrder() {
+        assertArrayEquals(new int[] {2, 1, 2}, view.getParentRows());
+    }
+
+    @Test
+    void get_validPosition_readsParentRow() {
+        assertEquals(6, view.get(0, 1));
+        assertEquals(3, view.get(1, 0));
+    }
+
+    @Test
+    void getRow_validRow_returnsParentRow() {
+        assertEquals(Vector.FACTORY.make(3, 4), view.getRow(1));
+    }
+
+    @Test
+    void toMatrix_returnsSelectedRows() {
+        assertEquals(matrix.getRows(2, 1, 2), view.toMatrix());
+    }
+
+    @Test
+    void toMatrix_viewOverOffHeapMatrix_returnsSelectedRows() {
+        RowSelectionView offHeapView = new RowSelectionView(OffHeapMatrix.FACTORY.make(matrix), new int[] {2, 0});
+        assertEquals(matrix.getRows(2, 0), offHeapView.toMatrix());
+    }
+
+    @Test
+    void getRows_returnsCompactCopyOfSelectedRows() {
+        assertEquals(matrix.getRows(2, 2), view.getRows(0, 2));
+    }
+
+    @Test
+    void swapRows_throwsException() {
+        assertThrows(UnsupportedOperationException.class, () -> view.swapRows(0, 1));
+    }
+
+    @Test
+    void toMatrix_singlePrecisionParent_returnsSelectedRows() {
+        RowSelectionView floatView = new RowSelectionView(FloatMatrix.FACTORY.make(matrix), new int[] {0, 2, 1, 2}, 1, 4);
+        assertEquals(Matrix.FACTORY.make(3, 2, 5, 6, 3, 4, 5, 6), floatView.toMatrix());
+    }
+}
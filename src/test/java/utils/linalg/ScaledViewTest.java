@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScaledViewTest {
+    private Matrix matrix;
+    private Vector offset, scale;
+    private ScaledView view;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6);
+        offset = Vector.FACTORY.make(3, 4);
+        scale = Vector.FACTORY.make(2, 0.5);
+        view = new ScaledView(matrix, offset, scale);
+    }
+
+    @Test
+    void constructor_offsetOfWrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScaledView(matrix, Vector.FACTORY.make(1, 2, 3), scale));
+    }
+
+    @Test
+    void constructor_scaleOfWrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScaledView(matrix, offset, Vector.FACTORY.make(1)));
+    }
+
+    @Test
+    void get_validPosition_returnsScaledValue() {
+        assertEquals(-1, view.get(0, 0));
+        assertEquals(4, view.get(2, 1));
+    }
+
+    @Test
+    void getRow_validRow_returnsScaledRow() {
+        assertEquals(Vector.FACTORY.make(0, 0), view.getRow(1));
+    }
+
+    @Test
+    void toMatrix_returnsSameResultAsEagerScaling() {
+        assertEquals(matrix.subtractRow(offset).divideRow(scale), view.toMatrix());
+    }
+
+    @Test
+    void toMatrix_range_returnsScaledBlock() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 0, 0, 1, 4), view.toMatrix(1, 3));
+    }
+
+    @Test
+    void toMatrix_calledTwice_underlyingMatrixIsNotModified() {
+        view.toMatrix();
+        view.toMatrix();
+        assertEquals(Matrix.FACTORY.make(3, 2, 1, 2, 3, 4, 5, 6), matrix);
+    }
+
+    @Test
+    void getRows_validRows_returnsScaledRows() {
+        assertEquals(Matrix.FACTORY.make(2, 2, 1, 4, -1, -4), view.getRows(2, 0));
+    }
+
+    @Test
+    void getCols_validCols_returnsScaledColumns() {
+        assertEquals(Matrix.FACTORY.make(3, 1, -4, 0, 4), view.getCols(1));
+    }
+
+    @Test
+    void swapRows_validRows_underlyingMatrixIsSwapped() {
+        view.swapRows(0, 2);
+        assertEquals(Matrix.FACTORY.make(3, 2, 5, 6, 3, 4, 1, 2), matrix);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimdKernelsTest {
+    private final double[] a = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+    private final double[] b = {-1, 0, 1, 2, -2, 3, 0.5, 1, 1, 2, -1};
+
+    @Test
+    void dot_slicesOfArrays_returnsScalarProductOfSlices() {
+        assertEquals(2 * 2 - 3 * 2 + 4 * 3 + 5 * 0.5 + 6 * 1 + 7 * 1 + 8 * 2 + 9 * -1, SimdKernels.dot(a, 1, b, 3, 8), 1e-12);
+    }
+
+    @Test
+    void dot_emptySlice_returnsZero() {
+        assertEquals(0, SimdKernels.dot(a, 3, b, 3, 0));
+    }
+
+    @Test
+    void squaredNorm_sliceOfArray_returnsSquaredNormOfSlice() {
+        assertEquals(9 + 16 + 25 + 36 + 49 + 64 + 81 + 100 + 121, SimdKernels.squaredNorm(a, 2, 9), 1e-12);
+    }
+
+    @Test
+    void squaredDistance_slicesOfArrays_returnsSquaredDistanceOfSlices() {
+        double expected = 0;
+        for (int i = 0; i < 10; i++) {
+            double diff = a[i] - b[i + 1];
+            expected += diff * diff;
+        }
+        assertEquals(expected, SimdKernels.squaredDistance(a, 0, b, 1, 10), 1e-12);
+    }
+}
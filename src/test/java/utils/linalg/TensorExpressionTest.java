@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TensorExpressionTest {
+    private static Vector randomVector(int dim) {
+        Random random = new Random(dim);
+        double[] values = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            values[i] = random.nextGaussian();
+        }
+        return Vector.FACTORY.make(values);
+    }
+
+    private static Matrix randomMatrix(int rows, int cols) {
+        return new Matrix(rows, cols, randomVector(rows * cols).array);
+    }
+
+    @Test
+    void evaluate_chainOfMaps_returnsNewTensorWithSameResultAsEagerOperations() {
+        Vector vector = randomVector(3000);
+        Vector copy = vector.copy();
+
+        Vector result = vector.lazy().map(Math::abs).map(x -> 2 * x + 1).evaluate();
+
+        assertEquals(vector.iApplyMap(Math::abs).iApplyMap(x -> 2 * x + 1), result);
+        assertNotSame(vector, result);
+        assertEquals(copy.applyMap(Math::abs).applyMap(x -> 2 * x + 1), result);
+    }
+
+    @Test
+    void evaluate_noOperations_returnsCopy() {
+        Vector vector = Vector.FACTORY.make(1, 2, 3);
+        Vector result = vector.lazy().evaluate();
+        assertEquals(vector, result);
+        assertNotSame(vector, result);
+    }
+
+    @Test
+    void evaluateInplace_chainOfMaps_overwritesSourceTensor() {
+        Vector vector = Vector.FACTORY.make(-1, 2, -3);
+        assertSame(vector, vector.lazy().map(Math::abs).map(x -> x * x).evaluateInplace());
+        assertEquals(Vector.FACTORY.make(1, 4, 9), vector);
+    }
+
+    @Test
+    void evaluateInto_incompatibleShape_throwsException() {
+        Vector vector = Vector.FACTORY.make(1, 2, 3);
+        assertThrows(IllegalArgumentException.class, () -> vector.lazy().evaluateInto(Vector.FACTORY.zeros(2)));
+    }
+
+    @Test
+    void sum_chainOfMaps_sourceIsLeftUnchanged() {
+        Vector vector = randomVector(5000);
+        Vector copy = vector.copy();
+
+        assertEquals(copy.applyMap(Math::exp).sum(), vector.lazy().map(Math::exp).sum());
+        assertEquals(copy, vector);
+    }
+
+    @Test
+    void sum_parallel_returnsSameSumUpToRounding() {
+        Vector vector = randomVector(100000);
+        assertEquals(vector.sum(), vector.lazy().parallel().sum(), 1e-8);
+    }
+
+    @Test
+    void lazy_matrix_returnsMatrixExpressionEvaluatingToMatrix() {
+        Matrix matrix = randomMatrix(5, 3);
+        assertEquals(matrix.applyMap(Math::exp), matrix.lazy().map(Math::exp).evaluate());
+    }
+
+    @Test
+    void addRow_wrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> randomMatrix(5, 3).lazy().addRow(randomVector(5)));
+    }
+
+    @Test
+    void addColumn_wrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> randomMatrix(5, 3).lazy().addColumn(randomVector(3)));
+    }
+
+    @Test
+    void evaluate_broadcastsAndMaps_returnsSameResultAsEagerOperations() {
+        Matrix matrix = randomMatrix(40, 2500);
+        Vector row = randomVector(2500), column = randomVector(40);
+
+        Matrix expected = matrix.copy().iScalarMultiply(-2).iAddColumn(column).iAddRow(row).iApplyMap(Math::exp);
+        Matrix actual = matrix.lazy().map(x -> x * -2).addColumn(column).addRow(row).map(Math::exp).parallel().evaluate();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void rowSums_broadcastAndMap_returnsSameResultAsEagerOperations() {
+        Matrix matrix = randomMatrix(300, 1500);
+        Vector row = randomVector(1500);
+
+        Vector expected = matrix.addRow(row).iApplyMap(x -> x > 0 ? 1D : -1D).getRowSums();
+
+        assertEquals(expected, matrix.lazy().addRow(row).map(x -> x > 0 ? 1D : -1D).rowSums());
+        assertEquals(expected, matrix.lazy().addRow(row).map(x -> x > 0 ? 1D : -1D).parallel().rowSums());
+    }
+
+    @Test
+    void rowSums_resultWithWrongDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> randomMatrix(5, 3).lazy().rowSums(Vector.FACTORY.zeros(3)));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VectorViewTest {
+    private Matrix matrix;
+    private VectorView row, col;
+
+    @BeforeEach
+    void setUp() {
+        matrix = Matrix.FACTORY.make(2, 3, 1, 2, 3, 4, 5, 6);
+        row = matrix.rowView(1);
+        col = matrix.colView(2);
+    }
+
+    @Test
+    void dim_rowAndColumnViews_returnsExpectedDimensions() {
+        assertEquals(3, row.dim());
+        assertEquals(2, col.dim());
+    }
+
+    @Test
+    void get_outOfBoundsIndex_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> row.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> col.get(2));
+    }
+
+    @Test
+    void get_columnView_returnsColumnValues() {
+        assertEquals(3, col.get(0));
+        assertEquals(6, col.get(1));
+    }
+
+    @Test
+    void dot_vectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> row.dot(Vector.FACTORY.make(1, 2)));
+    }
+
+    @Test
+    void dot_compatibleVector_returnsExpectedScalarProduct() {
+        assertEquals(-4, row.dot(Vector.FACTORY.make(-1, 0, 0)));
+        assertEquals(9, col.dot(Vector.FACTORY.make(-1, 2)));
+    }
+
+    @Test
+    void dot_compatibleView_returnsExpectedScalarProduct() {
+        assertEquals(32, row.dot(matrix.rowView(0)));
+    }
+
+    @Test
+    void squaredNorm_columnView_returnsExpectedValue() {
+        assertEquals(45, col.squaredNorm());
+    }
+
+    @Test
+    void squaredDistanceTo_vectorOfIncompatibleDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> col.squaredDistanceTo(Vector.FACTORY.make(1, 2, 3)));
+    }
+
+    @Test
+    void squaredDistanceTo_compatibleVector_returnsExpectedValue() {
+        assertEquals(27, row.squaredDistanceTo(Vector.FACTORY.make(1, 2, 3)));
+    }
+
+    @Test
+    void toVector_modifyReturnedVector_matrixRemainsUnchanged() {
+        Vector copy = row.toVector();
+        copy.set(0, 100);
+        assertEquals(4, matrix.get(1, 0));
+    }
+}
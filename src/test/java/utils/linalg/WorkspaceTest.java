@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 École Polytechnique
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License, v. 2.0.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at http://mozilla.org/MPL/2.0
+ *
+ * Authors:
+ *       Luciano Di Palma <luciano.di-palma@polytechnique.edu>
+ *       Enhui Huang <enhui.huang@polytechnique.edu>
+ *       Laurent Cetinsoy <laurent.cetinsoy@gmail.com>
+ *
+ * Description:
+ * AIDEme is a large-scale interactive data exploration system that is cast in a principled active learning (AL) framework: in this context,
+ * we consider the data content as a large set of records in a data source, and the user is interested in some of them but not all.
+ * In the data exploration process, the system allows the user to label a record as “interesting” or “not interesting” in each iteration,
+ * so that it can construct an increasingly-more-accurate model of the user interest. Active learning techniques are employed to select
+ * a new record from the unlabeled data source in each iteration for the user to label next in order to improve the model accuracy.
+ * Upon convergence, the model is run through the entire data source to retrieve all relevant records.
+ */
+
+package utils.linalg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkspaceTest {
+    private Workspace workspace;
+    private Object key;
+
+    @BeforeEach
+    void setUp() {
+        workspace = Workspace.open();
+        key = new Object();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workspace.close();
+    }
+
+    @Test
+    void get_openScope_returnsScopeWorkspace() {
+        assertSame(workspace, Workspace.get());
+    }
+
+    @Test
+    void get_noOpenScope_buffersAreNotReused() {
+        workspace.close();
+        Workspace unscoped = Workspace.get();
+        assertNotSame(unscoped.matrix(key, 2, 3), unscoped.matrix(key, 2, 3));
+        workspace = Workspace.open();
+    }
+
+    @Test
+    void open_nestedScope_joinsOuterScope() {
+        Matrix matrix = workspace.matrix(key, 2, 3);
+        try (Workspace nested = Workspace.open()) {
+            assertSame(workspace, nested);
+        }
+        assertSame(matrix, Workspace.get().matrix(key, 2, 3));
+    }
+
+    @Test
+    void run_noOpenScope_buffersAreReusedUntilComputationReturns() {
+        workspace.close();
+
+        Matrix matrix = Workspace.run(() -> {
+            Matrix buffer = Workspace.get().matrix(key, 2, 3);
+            assertSame(buffer, Workspace.get().matrix(key, 2, 3));
+            return buffer;
+        });
+        assertNotSame(matrix, Workspace.get().matrix(key, 2, 3));
+
+        workspace = Workspace.open();
+    }
+
+    @Test
+    void run_computationThrowsException_scopeIsClosed() {
+        workspace.close();
+
+        Runnable failing = () -> {
+            throw new IllegalStateException();
+        };
+        assertThrows(IllegalStateException.class, () -> Workspace.run(failing));
+        assertNotSame(Workspace.get().matrix(key, 2, 3), Workspace.get().matrix(key, 2, 3));
+
+        workspace = Workspace.open();
+    }
+
+    @Test
+    void close_outermostScope_buffersAreReleased() {
+        Matrix matrix = workspace.matrix(key, 2, 3);
+        workspace.close();
+
+        workspace = Workspace.open();
+        assertNotSame(matrix, workspace.matrix(key, 2, 3));
+    }
+
+    @Test
+    void matrix_sameKeyAndShape_returnsSameMatrix() {
+        assertSame(workspace.matrix(key, 2, 3), workspace.matrix(key, 2, 3));
+    }
+
+    @Test
+    void matrix_differentShape_returnsNewMatrixOfRequestedShape() {
+        Matrix matrix = workspace.matrix(key, 2, 3);
+        Matrix resized = workspace.matrix(key, 3, 3);
+
+        assertNotSame(matrix, resized);
+        assertEquals(3, resized.rows());
+        assertEquals(3, resized.cols());
+    }
+
+    @Test
+    void matrix_differentKeys_returnsDifferentMatrices() {
+        assertNotSame(workspace.matrix(key, 2, 3), workspace.matrix(new Object(), 2, 3));
+    }
+
+    @Test
+    void vector_sameKeyAndDimension_returnsSameVector() {
+        assertSame(workspace.vector(key, 4), workspace.vector(key, 4));
+    }
+
+    @Test
+    void vector_nonPositiveDimension_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> workspace.vector(key, 0));
+    }
+
+    @Test
+    void clear_anyWorkspace_buffersAreReleased() {
+        Vector vector = workspace.vector(key, 4);
+        workspace.clear();
+        assertNotSame(vector, workspace.vector(key, 4));
+    }
+}